@@ -0,0 +1,31 @@
+package com.side.springtestbed.common.config;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CustomTransactionConfig {
+
+    /**
+     * 커스텀 트랜잭션 afterCommit/afterCompletion 콜백 실행기
+     * - 커넥션 반환 후 콜백을 별도 스레드에서 실행해서 커밋한 스레드의 응답 시간에서 제외
+     * - 큐가 가득 차면 매니저가 커밋한 스레드에서 직접 실행 (콜백 유실 없음)
+     * - 종료 시 남은 콜백을 끝까지 실행
+     */
+    @Bean(name = CustomTransactionManager.SYNCHRONIZATION_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor customTransactionSynchronizationExecutor(
+            @Value("${custom-transaction.synchronization.pool-size:4}") int poolSize,
+            @Value("${custom-transaction.synchronization.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("tx-sync-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -1,10 +1,22 @@
 package com.side.springtestbed.common.config;
 
+import com.side.springtestbed.common.listener.AdaptiveSlowQueryListener;
 import com.side.springtestbed.common.listener.FilterQueryListener;
+import com.side.springtestbed.common.listener.NPlusOneQueryListener;
+import com.side.springtestbed.common.listener.ScopedStatementCountListener;
+import com.side.springtestbed.common.listener.StatementStatisticsListener;
+import com.side.springtestbed.common.metrics.ExplainPlanCapturer;
+import com.side.springtestbed.common.nplusone.NPlusOneDetectionFilter;
+import com.side.springtestbed.common.nplusone.NPlusOneDetector;
+import com.side.springtestbed.common.utils.StatementCountScope;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionListener;
+import com.side.springtestbed.transactional.customtransactional.metrics.IdleInTransactionListener;
 import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
 import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -17,15 +29,112 @@ public class DataSourceProxyConfig {
 
     @Bean
     @Primary
-    public DataSource dataSource(DataSourceProperties properties) {
+    public DataSource dataSource(DataSourceProperties properties,
+                                 FilterQueryListener filterQueryListener,
+                                 StatementStatisticsListener statementStatisticsListener,
+                                 NPlusOneDetector nPlusOneDetector,
+                                 AdaptiveSlowQueryListener adaptiveSlowQueryListener,
+                                 @Value("${slow-query.explain-analyze:false}") boolean explainAnalyze,
+                                 @Value("${datasource-proxy.row-counting:false}") boolean rowCounting) {
         DataSource dataSource = properties.initializeDataSourceBuilder().build();
+        // 실행 계획은 프록시를 거치지 않는 원본 DataSource에서 수집
+        adaptiveSlowQueryListener.setExplainPlanCapturer(new ExplainPlanCapturer(dataSource, explainAnalyze, 10));
+        ScopedStatementCountListener scopedStatementCountListener = new ScopedStatementCountListener();
 
-        return ProxyDataSourceBuilder
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder
                 .create(dataSource)
                 .name("DataSourceProxy")
-                .listener(new FilterQueryListener())
+                .listener(filterQueryListener)
+                .listener(new IdleInTransactionListener())
+                .listener(adaptiveSlowQueryListener)
+                .listener(statementStatisticsListener)
+                .listener(new NPlusOneQueryListener(nPlusOneDetector))
+                .listener(scopedStatementCountListener);
+
+        // 조회 행 수 집계는 ResultSet.next()마다 메서드 리스너를 거치므로 datasource-proxy.row-counting=true일 때만 사용
+        if (rowCounting) {
+            builder.methodListener(statementStatisticsListener)
+                    .methodListener(scopedStatementCountListener)
+                    .proxyResultSet();
+        }
+
+        return builder
                 .multiline()
                 .countQuery()
                 .build();
     }
+
+    /**
+     * DDL을 제외한 쿼리 로깅 (비동기 기록)
+     * - 컨텍스트 종료 시 남은 로그를 기록하고 기록 스레드 종료
+     */
+    @Bean(destroyMethod = "close")
+    public FilterQueryListener filterQueryListener(
+            @Value("${query-log.queue-capacity:" + FilterQueryListener.DEFAULT_QUEUE_CAPACITY + "}") int queueCapacity,
+            @Value("${query-log.sample-rate:1}") int sampleRate) {
+        return new FilterQueryListener(queueCapacity, sampleRate);
+    }
+
+    /**
+     * SQL 지문별 실행 통계 (/sql-statistics에서 조회)
+     * - 조회 행 수는 datasource-proxy.row-counting=true일 때만 집계
+     */
+    @Bean
+    public StatementStatisticsListener statementStatisticsListener(
+            @Value("${datasource-proxy.row-counting:false}") boolean rowCounting) {
+        return new StatementStatisticsListener(StatementStatisticsListener.DEFAULT_MAX_FINGERPRINTS, rowCounting);
+    }
+
+    /**
+     * 적응형 슬로우 쿼리 감지 (지문별 p99 x factor, /sql-statistics/slow-queries에서 조회)
+     * - 지문 통계는 statementStatisticsListener와 공유
+     */
+    @Bean
+    public AdaptiveSlowQueryListener adaptiveSlowQueryListener(
+            StatementStatisticsListener statementStatisticsListener,
+            @Value("${slow-query.p99-factor:" + AdaptiveSlowQueryListener.DEFAULT_FACTOR + "}") double factor,
+            @Value("${slow-query.min-threshold-millis:" + AdaptiveSlowQueryListener.DEFAULT_MIN_THRESHOLD_MILLIS + "}") long minThresholdMillis,
+            @Value("${slow-query.explain-interval-millis:" + AdaptiveSlowQueryListener.DEFAULT_EXPLAIN_INTERVAL_MILLIS + "}") long explainIntervalMillis) {
+        return new AdaptiveSlowQueryListener(
+                statementStatisticsListener.getRegistry(), factor, minThresholdMillis,
+                AdaptiveSlowQueryListener.DEFAULT_MIN_SAMPLES, explainIntervalMillis,
+                AdaptiveSlowQueryListener.DEFAULT_MAX_OUTLIERS
+        );
+    }
+
+    /**
+     * N+1 쿼리 감지기 (HTTP 요청/커스텀 트랜잭션 범위)
+     * - 기본은 WARN (샘플링된 경고 + 지표), 테스트에서는 n-plus-one.mode=FAIL로 즉시 실패
+     */
+    @Bean
+    public NPlusOneDetector nPlusOneDetector(
+            @Value("${n-plus-one.mode:WARN}") NPlusOneDetector.Mode mode,
+            @Value("${n-plus-one.threshold:" + NPlusOneDetector.DEFAULT_THRESHOLD + "}") int threshold,
+            @Value("${n-plus-one.sample-rate:1}") int sampleRate,
+            @Value("${n-plus-one.warn-interval-millis:" + NPlusOneDetector.DEFAULT_WARN_INTERVAL_MILLIS + "}") long warnIntervalMillis) {
+        return new NPlusOneDetector(mode, threshold, sampleRate, warnIntervalMillis);
+    }
+
+    /**
+     * 커스텀 트랜잭션마다 트랜잭션 이름으로 N+1 감지 범위를 열고, 정리 시 닫음
+     */
+    @Bean
+    public CustomTransactionListener nPlusOneTransactionListener(NPlusOneDetector nPlusOneDetector) {
+        return definition -> nPlusOneDetector.open(definition.getName());
+    }
+
+    /**
+     * 커스텀 트랜잭션마다 SQL 실행 카운터 범위를 엶 (statement-count.transaction-scope=true일 때만)
+     * - CustomTransactionInfo.getTransactionScope(StatementCountScope.class)로 조회
+     */
+    @Bean
+    @ConditionalOnProperty(name = "statement-count.transaction-scope", havingValue = "true")
+    public CustomTransactionListener statementCountTransactionListener() {
+        return definition -> StatementCountScope.open(definition.getName());
+    }
+
+    @Bean
+    public FilterRegistrationBean<NPlusOneDetectionFilter> nPlusOneDetectionFilter(NPlusOneDetector nPlusOneDetector) {
+        return new FilterRegistrationBean<>(new NPlusOneDetectionFilter(nPlusOneDetector));
+    }
 }
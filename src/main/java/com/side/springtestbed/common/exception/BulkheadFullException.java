@@ -0,0 +1,8 @@
+package com.side.springtestbed.common.exception;
+
+public class BulkheadFullException extends TransactionAdmissionException {
+
+    public BulkheadFullException(String message) {
+        super( message );
+    }
+}
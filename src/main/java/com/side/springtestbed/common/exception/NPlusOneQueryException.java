@@ -0,0 +1,28 @@
+package com.side.springtestbed.common.exception;
+
+public class NPlusOneQueryException extends RuntimeException {
+
+    private final String fingerprint;
+    private final String callSite;
+    private final int count;
+
+    public NPlusOneQueryException(String scope, String fingerprint, String callSite, int count) {
+        super(String.format("N+1 query detected in %s: %d executions of [%s] at %s",
+                scope, count, fingerprint, callSite));
+        this.fingerprint = fingerprint;
+        this.callSite = callSite;
+        this.count = count;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getCallSite() {
+        return callSite;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
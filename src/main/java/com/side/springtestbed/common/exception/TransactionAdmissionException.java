@@ -0,0 +1,12 @@
+package com.side.springtestbed.common.exception;
+
+public class TransactionAdmissionException extends DataAccessException {
+
+    public TransactionAdmissionException(String message) {
+        super( message );
+    }
+
+    public TransactionAdmissionException(String message, Throwable cause) {
+        super( message, cause );
+    }
+}
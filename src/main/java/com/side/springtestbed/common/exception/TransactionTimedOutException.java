@@ -0,0 +1,12 @@
+package com.side.springtestbed.common.exception;
+
+public class TransactionTimedOutException extends DataAccessException {
+
+    public TransactionTimedOutException(String message) {
+        super( message );
+    }
+
+    public TransactionTimedOutException(String message, Throwable cause) {
+        super( message, cause );
+    }
+}
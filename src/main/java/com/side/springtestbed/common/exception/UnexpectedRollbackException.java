@@ -0,0 +1,13 @@
+package com.side.springtestbed.common.exception;
+
+/**
+ * 커밋을 요청했지만 트랜잭션이 롤백된 경우
+ * - 참여 트랜잭션이 rollback-only로 마킹한 외부 트랜잭션을 커밋하려 할 때 발생
+ * - Spring UnexpectedRollbackException 역할
+ */
+public class UnexpectedRollbackException extends DataAccessException {
+
+    public UnexpectedRollbackException(String message) {
+        super( message );
+    }
+}
@@ -0,0 +1,298 @@
+package com.side.springtestbed.common.listener;
+
+import com.side.springtestbed.common.metrics.ExplainPlanCapturer;
+import com.side.springtestbed.common.metrics.SlowQueryOutlier;
+import com.side.springtestbed.common.metrics.StatementStatistics;
+import com.side.springtestbed.common.metrics.StatementStatisticsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 적응형 슬로우 쿼리 감지 (datasource-proxy 리스너)
+ * - 지문별 임계치 = max(p99 x factor, minThresholdMillis), 지문 통계는 StatementStatisticsRegistry 공유
+ * - 표본이 minSamples보다 적은 지문은 고정 임계치(FilterQueryListener.SLOW_QUERY_MILLIS) 사용
+ * - p99는 매 쿼리가 아니라 지문별로 REFRESH_SAMPLES건마다 다시 계산
+ * - 이상치마다 최근 목록에 기록하고, 지문별 explainIntervalMillis마다 한 건만 별도 커넥션에서 실행 계획 수집
+ *   (수집 스레드 하나 + 작은 큐, 큐가 차면 수집 생략)
+ */
+@Slf4j
+public class AdaptiveSlowQueryListener implements QueryExecutionListener, AutoCloseable {
+
+    public static final double DEFAULT_FACTOR = 3.0;
+
+    public static final long DEFAULT_MIN_THRESHOLD_MILLIS = 5;
+
+    public static final long DEFAULT_MIN_SAMPLES = 100;
+
+    public static final long DEFAULT_EXPLAIN_INTERVAL_MILLIS = 60_000;
+
+    public static final int DEFAULT_MAX_OUTLIERS = 200;
+
+    private static final int REFRESH_SAMPLES = 64;
+
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+
+    private final StatementStatisticsRegistry registry;
+
+    private final double factor;
+
+    private final long minThresholdNanos;
+
+    private final long minSamples;
+
+    private final long explainIntervalMillis;
+
+    private final int maxOutliers;
+
+    private final Map<String, AdaptiveThreshold> thresholds = new ConcurrentHashMap<>();
+
+    private final Deque<SlowQueryOutlier> outliers = new ArrayDeque<>();
+
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ThreadPoolExecutor explainExecutor;
+
+    private final LongAdder outlierCount = new LongAdder();
+
+    private volatile ExplainPlanCapturer explainPlanCapturer;
+
+    public AdaptiveSlowQueryListener(StatementStatisticsRegistry registry) {
+        this(registry, DEFAULT_FACTOR, DEFAULT_MIN_THRESHOLD_MILLIS, DEFAULT_MIN_SAMPLES,
+            DEFAULT_EXPLAIN_INTERVAL_MILLIS, DEFAULT_MAX_OUTLIERS);
+    }
+
+    public AdaptiveSlowQueryListener(StatementStatisticsRegistry registry, double factor, long minThresholdMillis,
+                                     long minSamples, long explainIntervalMillis, int maxOutliers) {
+        if (factor < 1.0) {
+            throw new IllegalArgumentException("p99 배수는 1 이상이어야 함: " + factor);
+        }
+        this.registry = registry;
+        this.factor = factor;
+        this.minThresholdNanos = TimeUnit.MILLISECONDS.toNanos(minThresholdMillis);
+        this.minSamples = minSamples;
+        this.explainIntervalMillis = explainIntervalMillis;
+        this.maxOutliers = maxOutliers;
+        this.explainExecutor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * 실행 계획 수집기 설정 (null이면 이상치만 기록)
+     */
+    public void setExplainPlanCapturer(ExplainPlanCapturer explainPlanCapturer) {
+        this.explainPlanCapturer = explainPlanCapturer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        startNanos.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - startNanos.get()[0];
+        if (!executionInfo.isSuccess() || executionInfo.isBatch() || queryInfoList.size() != 1) {
+            return;
+        }
+
+        QueryInfo queryInfo = queryInfoList.get(0);
+        StatementStatistics statistics = registry.get(queryInfo.getQuery());
+        AdaptiveThreshold threshold = thresholds.computeIfAbsent(statistics.getFingerprint(), key -> new AdaptiveThreshold());
+        long thresholdNanos = threshold.current(statistics);
+        if (elapsedNanos <= thresholdNanos) {
+            return;
+        }
+
+        outlierCount.increment();
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        Map<Integer, Object> bindValues = parametersList.isEmpty() ? Map.of() : toBindValues(parametersList.get(0));
+        SlowQueryOutlier outlier = new SlowQueryOutlier(
+            statistics.getFingerprint(),
+            queryInfo.getQuery(),
+            bindValues == null ? "(재사용 불가 스트림 파라미터)" : bindValues.toString(),
+            TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+            TimeUnit.NANOSECONDS.toMicros(thresholdNanos),
+            TimeUnit.NANOSECONDS.toMicros(threshold.p99Nanos),
+            statistics.getLatency().getCount(),
+            Thread.currentThread().getName()
+        );
+        addOutlier(outlier);
+        log.warn("[슬로우 쿼리] {}ms (임계치 {}ms, p99 {}ms, 표본 {}): {}",
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos),
+            TimeUnit.NANOSECONDS.toMillis(threshold.p99Nanos), outlier.getSamples(), outlier.getFingerprint());
+
+        scheduleExplain(outlier, threshold, bindValues, QueryUtils.getQueryType(queryInfo.getQuery()) == QueryType.SELECT);
+    }
+
+    /**
+     * 최근 이상치 (최신순)
+     */
+    public List<SlowQueryOutlier> getOutliers() {
+        synchronized (outliers) {
+            return new ArrayList<>(outliers);
+        }
+    }
+
+    public long getOutlierCount() {
+        return outlierCount.sum();
+    }
+
+    /**
+     * 지문의 현재 임계치 (밀리초, 아직 실행되지 않은 지문이면 고정 임계치)
+     */
+    public double getThresholdMillis(String fingerprint) {
+        AdaptiveThreshold threshold = thresholds.get(fingerprint);
+        long nanos = threshold == null || threshold.thresholdNanos == 0
+            ? TimeUnit.MILLISECONDS.toNanos(FilterQueryListener.SLOW_QUERY_MILLIS)
+            : threshold.thresholdNanos;
+        return nanos / 1_000_000.0;
+    }
+
+    public void reset() {
+        thresholds.clear();
+        synchronized (outliers) {
+            outliers.clear();
+        }
+        outlierCount.reset();
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void addOutlier(SlowQueryOutlier outlier) {
+        synchronized (outliers) {
+            outliers.addFirst(outlier);
+            while (outliers.size() > maxOutliers) {
+                outliers.removeLast();
+            }
+        }
+    }
+
+    /**
+     * 실행 계획 수집 예약 (지문별 간격 제한, 수집 큐가 차면 생략)
+     */
+    private void scheduleExplain(SlowQueryOutlier outlier, AdaptiveThreshold threshold,
+                                 Map<Integer, Object> bindValues, boolean select) {
+        ExplainPlanCapturer capturer = explainPlanCapturer;
+        if (capturer == null) {
+            outlier.skipPlan("실행 계획 수집기 없음");
+            return;
+        }
+        if (bindValues == null) {
+            outlier.skipPlan("스트림 바인드 값은 다시 설정할 수 없음");
+            return;
+        }
+        if (!threshold.tryAcquireExplain(explainIntervalMillis)) {
+            outlier.skipPlan("샘플링 제외 (지문별 수집 간격 " + explainIntervalMillis + "ms)");
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> capture(capturer, outlier, bindValues, select));
+        } catch (RejectedExecutionException e) {
+            outlier.skipPlan("실행 계획 수집 대기열 가득 참");
+        }
+    }
+
+    private static void capture(ExplainPlanCapturer capturer, SlowQueryOutlier outlier,
+                                Map<Integer, Object> bindValues, boolean select) {
+        try {
+            String plan = capturer.capture(outlier.getSql(), select, bindValues);
+            if (plan == null) {
+                outlier.skipPlan("EXPLAIN 미지원 DB: " + capturer.getDatabaseProductName());
+            } else {
+                outlier.completePlan(plan);
+            }
+        } catch (Exception e) {
+            outlier.failPlan(e.getMessage());
+            log.debug("[슬로우 쿼리] 실행 계획 수집 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * setXxx(index, value) 기록을 인덱스별 값으로 변환 (스트림 파라미터가 있으면 null)
+     */
+    private static Map<Integer, Object> toBindValues(List<ParameterSetOperation> operations) {
+        Map<Integer, Object> bindValues = new TreeMap<>();
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (args == null || args.length < 2 || !(args[0] instanceof Integer index)) {
+                continue;
+            }
+            Object value = args[1];
+            if (value instanceof InputStream || value instanceof Reader) {
+                return null;
+            }
+            if ("setNull".equals(operation.getMethod().getName())) {
+                value = new ExplainPlanCapturer.NullValue((Integer) args[1]);
+            }
+            bindValues.put(index, value);
+        }
+        return bindValues;
+    }
+
+    /**
+     * 지문별 임계치 상태
+     */
+    private final class AdaptiveThreshold {
+
+        private volatile long thresholdNanos;
+
+        private volatile long p99Nanos;
+
+        private volatile long nextRefreshCount;
+
+        private final AtomicLong lastExplainMillis = new AtomicLong();
+
+        /**
+         * 현재 임계치 (표본이 충분하면 REFRESH_SAMPLES건마다 p99로 갱신)
+         */
+        private long current(StatementStatistics statistics) {
+            long count = statistics.getLatency().getCount();
+            if (count < minSamples) {
+                return TimeUnit.MILLISECONDS.toNanos(FilterQueryListener.SLOW_QUERY_MILLIS);
+            }
+            if (count >= nextRefreshCount) {
+                nextRefreshCount = count + REFRESH_SAMPLES;
+                long p99 = statistics.getLatency().getPercentileNanos(99);
+                p99Nanos = p99;
+                thresholdNanos = Math.max((long) (p99 * factor), minThresholdNanos);
+            }
+            return thresholdNanos;
+        }
+
+        private boolean tryAcquireExplain(long intervalMillis) {
+            long now = System.currentTimeMillis();
+            long last = lastExplainMillis.get();
+            return (last == 0 || now - last >= intervalMillis) && lastExplainMillis.compareAndSet(last, now);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.side.springtestbed.common.listener;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 쿼리 로그 기록기
+ * - 쿼리 스레드는 레코드를 큐에 넣기만 하고, 데몬 스레드 하나가 모아서 문자열 조립 후 로깅
+ * - 일반 쿼리는 배치 단위로 한 번에 INFO 로깅, 슬로우 쿼리는 건별로 WARN 로깅
+ * - 큐가 가득 차면 대기하지 않고 버린 뒤 개수만 셈
+ */
+public class AsyncQueryLogWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("DataSource.logger");
+
+    /**
+     * 기록기 자체의 오류 로깅 (쿼리 로그 로거와 분리)
+     */
+    private static final Logger log = LoggerFactory.getLogger(AsyncQueryLogWriter.class);
+
+    private static final String SEPARATOR = "ㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡ";
+
+    /**
+     * 큐가 비었을 때 기록 스레드 대기 시간
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final QueryLogQueue queue;
+
+    private final int maxBatchSize;
+
+    private final long slowQueryMillis;
+
+    /**
+     * SELECT 실행 수 (쿼리 스레드에서 증가, 기록 시점의 합계를 출력)
+     */
+    private final LongAdder selectCount = new LongAdder();
+
+    private final LongAdder enqueued = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final StringBuilder entryBuilder = new StringBuilder(512);
+
+    private final StringBuilder batchBuilder = new StringBuilder(8192);
+
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public AsyncQueryLogWriter(int queueCapacity, int maxBatchSize, long slowQueryMillis) {
+        this.queue = new QueryLogQueue(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.slowQueryMillis = slowQueryMillis;
+        this.writerThread = new Thread(this::runLoop, "query-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * 쿼리 스레드: SELECT 실행 수 증가 (샘플링과 관계없이 모든 SELECT)
+     */
+    public void recordSelect() {
+        selectCount.increment();
+    }
+
+    /**
+     * 쿼리 스레드: 레코드 복사 후 큐에 추가
+     * - 큐가 가득 차면 버림
+     */
+    public void enqueue(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList, boolean select) {
+        QueryLogRecord record = queue.claim();
+        if (record == null) {
+            dropped.increment();
+            return;
+        }
+        record.dataSourceName = executionInfo.getDataSourceName();
+        record.connectionId = executionInfo.getConnectionId();
+        record.elapsedMillis = executionInfo.getElapsedTime();
+        record.success = executionInfo.isSuccess();
+        record.batch = executionInfo.isBatch();
+        record.batchSize = executionInfo.getBatchSize();
+        record.select = select;
+        if (queryInfoList.size() == 1) {
+            record.query = queryInfoList.get(0).getQuery();
+        } else {
+            String[] queries = new String[queryInfoList.size()];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = queryInfoList.get(i).getQuery();
+            }
+            record.queries = queries;
+        }
+        queue.publish(record);
+        enqueued.increment();
+    }
+
+    /**
+     * 큐에 쌓인 레코드를 모두 기록할 때까지 대기 (테스트/종료용)
+     */
+    public void flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (written.sum() < enqueued.sum() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            Thread.sleep(1);
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * 기록 중 예외로 실패한 횟수
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * 남은 레코드를 기록하고 기록 스레드 종료
+     */
+    @Override
+    public void close() throws InterruptedException {
+        flush(1, TimeUnit.SECONDS);
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                if (drainBatch() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException e) {
+                // 로깅 실패로 기록 스레드가 죽지 않게 함
+                failed.increment();
+                log.error("[쿼리 로그] 기록 실패 (누적 {}건): {}", failed.sum(), e.getMessage());
+            }
+        }
+        drainBatch();
+    }
+
+    /**
+     * 최대 maxBatchSize건을 꺼내 기록
+     */
+    private int drainBatch() {
+        boolean infoEnabled = logger.isInfoEnabled();
+        batchBuilder.setLength(0);
+        int drained = 0;
+        QueryLogRecord record;
+        try {
+            while (drained < maxBatchSize && (record = queue.peek()) != null) {
+                try {
+                    boolean slow = record.elapsedMillis > slowQueryMillis;
+                    if (slow || infoEnabled) {
+                        format(record);
+                        if (slow) {
+                            logger.warn("SLOW QUERY DETECTED: {}", entryBuilder);
+                        } else {
+                            if (batchBuilder.length() > 0) {
+                                batchBuilder.append('\n');
+                            }
+                            batchBuilder.append(entryBuilder);
+                        }
+                    }
+                } finally {
+                    // 기록에 실패한 레코드도 반환해서 같은 레코드를 반복해서 실패하지 않게 함
+                    queue.release(record);
+                    drained++;
+                }
+            }
+            if (batchBuilder.length() > 0) {
+                logger.info(batchBuilder.toString());
+            }
+        } finally {
+            if (drained > 0) {
+                written.add(drained);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 기존 로그 형식 그대로 조립
+     */
+    private void format(QueryLogRecord record) {
+        StringBuilder sb = entryBuilder;
+        sb.setLength(0);
+        sb.append(SEPARATOR).append('\n');
+        sb.append("Name:").append(record.dataSourceName)
+            .append("\nConnection:").append(record.connectionId)
+            .append("\nTime:").append(record.elapsedMillis).append("ms")
+            .append("\nSuccess:").append(record.success)
+            .append("\nisBatch:").append(record.batch);
+
+        if (record.batch) {
+            sb.append("\nBatchSize:").append(record.batchSize);
+        }
+        if (record.select) {
+            sb.append("\nSelect Count:").append(selectCount.sum());
+        }
+        sb.append('\n');
+
+        if (record.queries == null) {
+            sb.append("Query:[\"").append(record.query).append("\"]\n");
+        } else {
+            for (String query : record.queries) {
+                sb.append("Query:[\"").append(query).append("\"]\n");
+            }
+        }
+        sb.append(SEPARATOR);
+    }
+}
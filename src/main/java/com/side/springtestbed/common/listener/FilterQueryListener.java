@@ -1,90 +1,100 @@
 package com.side.springtestbed.common.listener;
 
 import net.ttddyy.dsproxy.ExecutionInfo;
-import net.ttddyy.dsproxy.QueryCount;
-import net.ttddyy.dsproxy.QueryCountHolder;
 import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.listener.QueryExecutionListener;
-import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
-public class FilterQueryListener implements QueryExecutionListener {
+/**
+ * DDL을 제외한 쿼리 로깅
+ * - 쿼리 스레드에서는 SQL 분류(캐시)와 레코드 복사만 하고, 문자열 조립/로깅은 AsyncQueryLogWriter가 담당
+ * - sampleRate가 N이면 일반 쿼리는 N건 중 1건만 기록 (슬로우 쿼리는 항상 기록)
+ */
+public class FilterQueryListener implements QueryExecutionListener, AutoCloseable {
 
-    private static final Logger logger = LoggerFactory.getLogger("DataSource.logger");
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
 
-    @Override
-    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> list) {}
+    public static final int DEFAULT_BATCH_SIZE = 256;
 
-    @Override
-    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> list) {
+    public static final long SLOW_QUERY_MILLIS = 300;
 
-        boolean isDDLQuery = list.stream().noneMatch(queryInfo -> isDDLQuery(queryInfo.getQuery()));;
+    private static final int MAX_CACHED_QUERIES = 4096;
 
-        if(isDDLQuery)
-            print(executionInfo, list);
+    private final QueryClassifier classifier = new QueryClassifier(MAX_CACHED_QUERIES);
 
-    }
+    private final AsyncQueryLogWriter writer;
 
-    private boolean isDDLQuery(String query) {
+    private final int sampleRate;
 
-        String trimQuery = query.trim().toLowerCase();
+    private final LongAdder sampledOut = new LongAdder();
 
-        return trimQuery.startsWith("create table") ||
-                trimQuery.startsWith("drop table") ||
-                trimQuery.startsWith("create index") ||
-                trimQuery.startsWith("drop index") ||
-                trimQuery.startsWith("alter table");
+    public FilterQueryListener() {
+        this(DEFAULT_QUEUE_CAPACITY, 1);
     }
 
-    private void print(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
-        StringBuilder sb = new StringBuilder();
+    public FilterQueryListener(int queueCapacity, int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("샘플링 비율은 1 이상이어야 함: " + sampleRate);
+        }
+        this.writer = new AsyncQueryLogWriter(queueCapacity, DEFAULT_BATCH_SIZE, SLOW_QUERY_MILLIS);
+        this.sampleRate = sampleRate;
+    }
 
-        QueryCount queryCount = QueryCountHolder.getGrandTotal();
-        String lowerCaseQuery = queryInfoList.getFirst().getQuery().toLowerCase();
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> list) {}
 
-        sb.append("ㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡ\n");
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> list) {
+        if (list.isEmpty()) {
+            return;
+        }
 
-        sb.append("Name:").append(execInfo.getDataSourceName())
-                .append("\nConnection:").append(execInfo.getConnectionId())
-                .append("\nTime:").append(execInfo.getElapsedTime()).append("ms")
-                .append("\nSuccess:").append(execInfo.isSuccess())
-                .append("\nisBatch:").append(execInfo.isBatch());
+        QueryClassifier.Kind firstKind = null;
+        for (int i = 0; i < list.size(); i++) {
+            QueryClassifier.Kind kind = classifier.classify(list.get(i).getQuery());
+            if (kind == QueryClassifier.Kind.DDL) {
+                return;
+            }
+            if (firstKind == null) {
+                firstKind = kind;
+            }
+        }
 
-        if(execInfo.isBatch())
-            sb.append("\nBatchSize:").append(execInfo.getBatchSize());
-        if(lowerCaseQuery.startsWith("select"))
-            sb.append("\nSelect Count:").append(queryCount.getSelect());
+        boolean select = firstKind == QueryClassifier.Kind.SELECT;
+        if (select) {
+            writer.recordSelect();
+        }
 
-        sb.append("\n");
+        if (sampleRate > 1
+                && executionInfo.getElapsedTime() <= SLOW_QUERY_MILLIS
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            sampledOut.increment();
+            return;
+        }
 
-        for (QueryInfo queryInfo : queryInfoList) {
-            sb.append("Query:[\"").append(queryInfo.getQuery()).append("\"]\n");
-            if (!queryInfo.getParametersList().isEmpty()) {
-                queryInfo.getParametersList().forEach(parameter -> {
+        writer.enqueue(executionInfo, list, select);
+    }
 
-                    /* Parameter 로깅 활성화
-                        if(!parameter.isEmpty()) {
-                            parameter.forEach(args -> {
-                                sb.append("Params:").append(Arrays.toString(args.getArgs())).append("\n");
-                            });
-                        }
-                     */
-                });
-            }
-        }
+    public AsyncQueryLogWriter getWriter() {
+        return writer;
+    }
 
-        sb.append("ㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡㅡ");
+    public QueryClassifier getClassifier() {
+        return classifier;
+    }
 
-        // 슬로우 쿼리 체크 (300ms 이상)
-        if (execInfo.getElapsedTime() > 300) {
-            logger.warn("SLOW QUERY DETECTED: {}", sb);
-        } else {
-            logger.info(sb.toString());
-        }
+    /**
+     * 샘플링으로 기록하지 않은 쿼리 수
+     */
+    public long getSampledOut() {
+        return sampledOut.sum();
     }
 
+    @Override
+    public void close() throws InterruptedException {
+        writer.close();
+    }
 }
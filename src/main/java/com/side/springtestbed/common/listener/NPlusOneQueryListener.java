@@ -0,0 +1,57 @@
+package com.side.springtestbed.common.listener;
+
+import com.side.springtestbed.common.nplusone.NPlusOneDetector;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * N+1 감지용 조회 기록 (datasource-proxy 리스너)
+ * - 성공한 단건 SELECT만 감지기에 전달 (배치/변경 문장은 무시)
+ * - 바인드 값 해시: SQL 원문 + 파라미터 값 (리터럴이 들어간 SQL도 구분됨)
+ */
+public class NPlusOneQueryListener implements QueryExecutionListener {
+
+    private final NPlusOneDetector detector;
+
+    private final QueryClassifier classifier = new QueryClassifier(4096);
+
+    public NPlusOneQueryListener(NPlusOneDetector detector) {
+        this.detector = detector;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {}
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (!executionInfo.isSuccess() || executionInfo.isBatch() || queryInfoList.size() != 1
+                || detector.getCurrentScope().isEmpty()) {
+            return;
+        }
+        QueryInfo queryInfo = queryInfoList.get(0);
+        String sql = queryInfo.getQuery();
+        if (classifier.classify(sql) != QueryClassifier.Kind.SELECT) {
+            return;
+        }
+        detector.onQuery(sql, bindHash(sql, queryInfo.getParametersList()));
+    }
+
+    private static int bindHash(String sql, List<List<ParameterSetOperation>> parametersList) {
+        int hash = sql.hashCode();
+        for (List<ParameterSetOperation> operations : parametersList) {
+            for (ParameterSetOperation operation : operations) {
+                Object[] args = operation.getArgs();
+                if (args != null && args.length > 1) {
+                    hash = hash * 31 + Objects.hashCode(args[0]);
+                    hash = hash * 31 + Objects.hashCode(args[1]);
+                }
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+package com.side.springtestbed.common.listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 종류 분류 (DDL / SELECT / 그 밖의 문장)
+ * - PreparedStatement는 같은 SQL 문자열을 반복 실행하므로 결과를 캐시
+ * - 캐시가 가득 차면 새 SQL은 캐시하지 않고 매번 계산 (동적 SQL로 메모리가 늘어나지 않게)
+ */
+public class QueryClassifier {
+
+    public enum Kind {
+        DDL,
+        SELECT,
+        OTHER
+    }
+
+    private static final String[] DDL_PREFIXES = {
+        "create table", "drop table", "create index", "drop index", "alter table"
+    };
+
+    private final Map<String, Kind> cache = new ConcurrentHashMap<>();
+
+    private final int maxCachedQueries;
+
+    public QueryClassifier(int maxCachedQueries) {
+        this.maxCachedQueries = maxCachedQueries;
+    }
+
+    public Kind classify(String query) {
+        Kind kind = cache.get(query);
+        if (kind != null) {
+            return kind;
+        }
+        kind = compute(query);
+        if (cache.size() < maxCachedQueries) {
+            cache.put(query, kind);
+        }
+        return kind;
+    }
+
+    public int getCachedQueryCount() {
+        return cache.size();
+    }
+
+    /**
+     * 앞쪽 공백을 건너뛰고 대소문자 무시 비교 (문자열 복사 없음)
+     */
+    private static Kind compute(String query) {
+        int start = 0;
+        while (start < query.length() && Character.isWhitespace(query.charAt(start))) {
+            start++;
+        }
+        for (String prefix : DDL_PREFIXES) {
+            if (query.regionMatches(true, start, prefix, 0, prefix.length())) {
+                return Kind.DDL;
+            }
+        }
+        if (query.regionMatches(true, start, "select", 0, "select".length())) {
+            return Kind.SELECT;
+        }
+        return Kind.OTHER;
+    }
+}
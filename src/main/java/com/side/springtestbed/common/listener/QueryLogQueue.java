@@ -0,0 +1,103 @@
+package com.side.springtestbed.common.listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 쿼리 로그용 고정 크기 락프리 큐 (다중 생산자 / 단일 소비자)
+ * - 슬롯마다 미리 만든 QueryLogRecord를 재사용하므로 쿼리마다 객체를 만들지 않음
+ * - 슬롯 순번: pos면 생산자가 쓸 수 있음, pos + 1이면 소비자가 읽을 수 있음, 소비 후 pos + capacity
+ * - 가득 차면 claim()이 null을 반환 (대기하지 않음)
+ */
+class QueryLogQueue {
+
+    private final QueryLogRecord[] slots;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 소비자 위치 (소비자 스레드만 변경)
+     */
+    private volatile long head;
+
+    QueryLogQueue(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("큐 크기는 2의 거듭제곱이어야 함: " + capacity);
+        }
+        this.slots = new QueryLogRecord[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new QueryLogRecord();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 생산자: 빈 슬롯 확보 (가득 차면 null)
+     * - 확보한 레코드를 채운 뒤 반드시 publish() 호출
+     */
+    QueryLogRecord claim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    QueryLogRecord record = slots[index];
+                    record.position = position;
+                    return record;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 생산자: 채운 레코드를 소비자에게 공개
+     */
+    void publish(QueryLogRecord record) {
+        sequences.setRelease((int) (record.position & mask), record.position + 1);
+    }
+
+    /**
+     * 소비자: 다음 레코드 조회 (아직 공개되지 않았으면 null)
+     */
+    QueryLogRecord peek() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.getAcquire(index) == position + 1) {
+            return slots[index];
+        }
+        return null;
+    }
+
+    /**
+     * 소비자: 처리한 레코드 반환 (슬롯 재사용)
+     */
+    void release(QueryLogRecord record) {
+        record.clear();
+        long position = head;
+        sequences.setRelease((int) (position & mask), position + slots.length);
+        head = position + 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 대기 중인 레코드 수 (근삿값)
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
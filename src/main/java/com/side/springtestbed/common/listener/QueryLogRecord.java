@@ -0,0 +1,38 @@
+package com.side.springtestbed.common.listener;
+
+/**
+ * 쿼리 로그 한 건 (큐 슬롯에 미리 만들어 두고 재사용)
+ * - 쿼리 스레드에서는 참조와 원시값만 복사하고 문자열 조립은 기록 스레드에서 수행
+ */
+class QueryLogRecord {
+
+    long position;
+
+    String dataSourceName;
+
+    String connectionId;
+
+    long elapsedMillis;
+
+    boolean success;
+
+    boolean batch;
+
+    int batchSize;
+
+    boolean select;
+
+    /**
+     * 단건 실행의 SQL (여러 SQL이면 queries 사용)
+     */
+    String query;
+
+    String[] queries;
+
+    void clear() {
+        dataSourceName = null;
+        connectionId = null;
+        query = null;
+        queries = null;
+    }
+}
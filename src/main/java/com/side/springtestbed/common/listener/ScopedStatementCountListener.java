@@ -0,0 +1,57 @@
+package com.side.springtestbed.common.listener;
+
+import com.side.springtestbed.common.utils.StatementCountScope;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * 범위 카운터 기록 (datasource-proxy 리스너)
+ * - 현재 스레드에 열린 StatementCountScope가 없으면 아무것도 하지 않음
+ * - 문장 종류는 datasource-proxy 카운트와 같은 기준 (QueryUtils.getQueryType, 배치는 SQL마다 1건)
+ * - 읽은 행 수는 ResultSet.next()가 true를 반환한 횟수 (proxyResultSet() 필요)
+ */
+public class ScopedStatementCountListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (StatementCountScope.isActive()) {
+            startNanos.get()[0] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (!StatementCountScope.isActive() || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos.get()[0];
+        for (int i = 0; i < queryInfoList.size(); i++) {
+            StatementCountScope.recordStatement(
+                QueryUtils.getQueryType(queryInfoList.get(i).getQuery()),
+                i == 0 ? elapsedNanos : 0
+            );
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {}
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && StatementCountScope.isActive()
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            StatementCountScope.recordRowFetched();
+        }
+    }
+}
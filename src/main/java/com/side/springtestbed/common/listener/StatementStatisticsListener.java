@@ -0,0 +1,167 @@
+package com.side.springtestbed.common.listener;
+
+import com.side.springtestbed.common.metrics.StatementStatistics;
+import com.side.springtestbed.common.metrics.StatementStatisticsRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 지문별 실행 통계 수집 (datasource-proxy 리스너)
+ * - 쿼리 리스너: 실행 시간(나노초), 오류, 변경 건수(executeUpdate/executeBatch 결과)
+ * - 메서드 리스너: 조회 행 수 (ResultSet.next()가 true를 반환한 횟수, proxyResultSet() 필요)
+ * - 행 수 집계를 끄면 조회한 Statement를 추적하지 않음 (메서드 리스너/proxyResultSet 없이 사용)
+ * - 배치에 서로 다른 SQL이 섞여 있으면 실행 시간을 SQL 수로 나눠 각 지문에 기록
+ */
+public class StatementStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1000;
+
+    /**
+     * 열린 ResultSet을 추적하는 Statement 수 상한 (close 없이 버려진 Statement 대비)
+     */
+    private static final int MAX_OPEN_STATEMENTS = 10_000;
+
+    private final StatementStatisticsRegistry registry;
+
+    /**
+     * 조회 행 수 집계 여부
+     */
+    private final boolean rowCounting;
+
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * 조회를 실행한 Statement -> 행 수를 더할 통계
+     */
+    private final Map<Statement, StatementStatistics> openQueries = new ConcurrentHashMap<>();
+
+    public StatementStatisticsListener() {
+        this(DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    public StatementStatisticsListener(int maxFingerprints) {
+        this(maxFingerprints, true);
+    }
+
+    public StatementStatisticsListener(int maxFingerprints, boolean rowCounting) {
+        this.registry = new StatementStatisticsRegistry(maxFingerprints);
+        this.rowCounting = rowCounting;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        startNanos.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - startNanos.get()[0];
+        int size = queryInfoList.size();
+        if (size == 0) {
+            return;
+        }
+
+        Object result = executionInfo.getResult();
+        boolean success = executionInfo.isSuccess();
+
+        if (size == 1) {
+            StatementStatistics statistics = registry.get(queryInfoList.get(0).getQuery());
+            statistics.recordExecution(elapsedNanos, success);
+            statistics.recordRows(sumUpdateCounts(result));
+            if (rowCounting && success && result instanceof ResultSet) {
+                trackQuery(executionInfo.getStatement(), statistics);
+            }
+            return;
+        }
+
+        int[] counts = result instanceof int[] ? (int[]) result : null;
+        for (int i = 0; i < size; i++) {
+            StatementStatistics statistics = registry.get(queryInfoList.get(i).getQuery());
+            statistics.recordExecution(elapsedNanos / size, success);
+            if (counts != null && counts.length == size && counts[i] > 0) {
+                statistics.recordRows(counts[i]);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {}
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Object target = executionContext.getTarget();
+        String methodName = executionContext.getMethod().getName();
+
+        if (target instanceof ResultSet resultSet) {
+            if ("next".equals(methodName) && Boolean.TRUE.equals(executionContext.getResult())) {
+                StatementStatistics statistics = lookup(resultSet);
+                if (statistics != null) {
+                    statistics.recordRows(1);
+                }
+            }
+        } else if (target instanceof Statement && "close".equals(methodName)) {
+            openQueries.remove(target);
+        }
+    }
+
+    public StatementStatisticsRegistry getRegistry() {
+        return registry;
+    }
+
+    private void trackQuery(Statement statement, StatementStatistics statistics) {
+        if (statement == null) {
+            return;
+        }
+        if (openQueries.size() >= MAX_OPEN_STATEMENTS) {
+            openQueries.clear();
+        }
+        openQueries.put(statement, statistics);
+    }
+
+    private StatementStatistics lookup(ResultSet resultSet) {
+        try {
+            Statement statement = resultSet.getStatement();
+            return statement == null ? null : openQueries.get(statement);
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * executeUpdate(int), executeLargeUpdate(long), executeBatch(int[]) 결과의 변경 건수 합
+     * - 음수(SUCCESS_NO_INFO 등)는 제외
+     */
+    private static long sumUpdateCounts(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        if (result instanceof long[] counts) {
+            long sum = 0;
+            for (long count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return 0;
+    }
+}
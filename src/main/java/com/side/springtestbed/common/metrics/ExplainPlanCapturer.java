@@ -0,0 +1,151 @@
+package com.side.springtestbed.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 별도 커넥션에서 실행 계획 수집
+ * - 느린 쿼리를 실행한 커넥션이 아니라 dataSource에서 새로 빌린 커넥션 사용 (프록시가 아닌 DataSource 권장)
+ * - 바인드 값을 그대로 다시 설정한 뒤 EXPLAIN 실행
+ * - analyze=true이면 조회문에 한해 EXPLAIN ANALYZE (쿼리를 실제로 다시 실행하므로 기본값은 false)
+ * - 변경 문장은 항상 EXPLAIN만 사용하고, 어떤 경우든 수집 후 롤백
+ * - 지원: PostgreSQL, MySQL, MariaDB, H2, HSQLDB (그 밖의 DB는 null 반환)
+ */
+@Slf4j
+public class ExplainPlanCapturer {
+
+    /**
+     * setNull로 설정된 바인드 값
+     */
+    public static final class NullValue {
+
+        private final int sqlType;
+
+        public NullValue(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        @Override
+        public String toString() {
+            return "NULL";
+        }
+    }
+
+    private static final int MAX_PLAN_LENGTH = 16_384;
+
+    private final DataSource dataSource;
+
+    private final boolean analyze;
+
+    private final int timeoutSeconds;
+
+    /**
+     * DB 제품명 (첫 수집 시 확인)
+     */
+    private volatile String databaseProductName;
+
+    public ExplainPlanCapturer(DataSource dataSource, boolean analyze, int timeoutSeconds) {
+        this.dataSource = dataSource;
+        this.analyze = analyze;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * 실행 계획 수집
+     *
+     * @param sql        원래 SQL (? 파라미터 포함)
+     * @param select     조회문 여부 (EXPLAIN ANALYZE 허용 판단)
+     * @param bindValues 인덱스별 바인드 값
+     * @return 실행 계획 (행마다 한 줄), 지원하지 않는 DB면 null
+     */
+    public String capture(String sql, boolean select, Map<Integer, Object> bindValues) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String prefix = explainPrefix(productName(connection), select && analyze);
+            if (prefix == null) {
+                return null;
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+                statement.setQueryTimeout(timeoutSeconds);
+                for (Map.Entry<Integer, Object> entry : bindValues.entrySet()) {
+                    if (entry.getValue() instanceof NullValue nullValue) {
+                        statement.setNull(entry.getKey(), nullValue.sqlType);
+                    } else {
+                        statement.setObject(entry.getKey(), entry.getValue());
+                    }
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return readPlan(resultSet);
+                }
+            } finally {
+                connection.rollback();
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    public String getDatabaseProductName() {
+        return databaseProductName;
+    }
+
+    private String productName(Connection connection) throws SQLException {
+        String productName = databaseProductName;
+        if (productName == null) {
+            productName = connection.getMetaData().getDatabaseProductName();
+            databaseProductName = productName;
+        }
+        return productName;
+    }
+
+    /**
+     * DB별 EXPLAIN 접두어 (지원하지 않으면 null)
+     * - Oracle(EXPLAIN PLAN FOR + PLAN_TABLE), SQL Server(SHOWPLAN 세션 설정)는 문장 하나로 계획을 받을 수 없어 제외
+     */
+    static String explainPrefix(String productName, boolean analyze) {
+        String name = productName.toLowerCase();
+        if (name.contains("postgresql")) {
+            return analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ";
+        }
+        if (name.contains("mariadb")) {
+            return analyze ? "ANALYZE " : "EXPLAIN ";
+        }
+        if (name.contains("mysql") || name.equals("h2")) {
+            return analyze ? "EXPLAIN ANALYZE " : "EXPLAIN ";
+        }
+        if (name.contains("hsql")) {
+            return "EXPLAIN PLAN FOR ";
+        }
+        return null;
+    }
+
+    private static String readPlan(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columns = metaData.getColumnCount();
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next() && plan.length() < MAX_PLAN_LENGTH) {
+            if (!plan.isEmpty()) {
+                plan.append('\n');
+            }
+            for (int column = 1; column <= columns; column++) {
+                if (column > 1) {
+                    plan.append(" | ");
+                }
+                plan.append(resultSet.getString(column));
+            }
+        }
+        return plan.length() > MAX_PLAN_LENGTH ? plan.substring(0, MAX_PLAN_LENGTH) : plan.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.side.springtestbed.common.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없는 지연 시간 히스토그램 (나노초)
+ * - 로그-선형 버킷: 2의 거듭제곱 구간마다 16개 하위 버킷 (상대 오차 약 6%)
+ * - 기록은 배열 원소 하나 증가 + 합계/최댓값 갱신뿐이라 핫패스에서 사용 가능
+ * - 백분위수는 조회 시점에 버킷을 훑어서 계산 (버킷 상한값 반환)
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 이 값 미만은 값 자체가 버킷 인덱스 (선형 구간)
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private static final int LINEAR_LIMIT_EXPONENT = SUB_BUCKET_BITS + 1;
+
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - LINEAR_LIMIT_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 측정값 기록 (음수는 0으로 처리)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : totalNanos.sum() / samples;
+    }
+
+    /**
+     * 백분위수 (0 < percentile <= 100)
+     * - 해당 순위가 속한 버킷의 상한값, 단 최댓값을 넘지 않음
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * 조회용 요약 (마이크로초)
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(
+            getCount(),
+            toMicros(getMeanNanos()),
+            toMicros(getPercentileNanos(50)),
+            toMicros(getPercentileNanos(99)),
+            toMicros(getMaxNanos()),
+            toMicros(getTotalNanos())
+        );
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - LINEAR_LIMIT_EXPONENT) * SUB_BUCKETS + mantissa;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_LIMIT_EXPONENT;
+        int mantissa = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = (long) (SUB_BUCKETS + mantissa) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final long count;
+        private final long meanMicros;
+        private final long p50Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+        private final long totalMicros;
+    }
+}
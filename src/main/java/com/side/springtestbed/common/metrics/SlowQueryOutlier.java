@@ -0,0 +1,76 @@
+package com.side.springtestbed.common.metrics;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 적응형 임계치를 넘은 쿼리 한 건
+ * - 감지 당시 지문의 p99와 임계치를 함께 남겨 "평소보다 얼마나 느렸는지"를 볼 수 있음
+ * - 실행 계획은 별도 스레드에서 채워짐 (planStatus가 PENDING이면 아직 수집 중)
+ */
+@Getter
+public class SlowQueryOutlier {
+
+    public enum PlanStatus {
+        PENDING,
+        CAPTURED,
+        SKIPPED,
+        FAILED
+    }
+
+    private final String fingerprint;
+
+    private final String sql;
+
+    /**
+     * 바인드 값 (인덱스 순, 표시용 문자열)
+     */
+    private final String bindValues;
+
+    private final long elapsedMicros;
+
+    private final long thresholdMicros;
+
+    private final long p99Micros;
+
+    private final long samples;
+
+    private final String threadName;
+
+    private final LocalDateTime detectedAt = LocalDateTime.now();
+
+    private volatile PlanStatus planStatus = PlanStatus.PENDING;
+
+    /**
+     * 실행 계획 (CAPTURED) 또는 수집하지 않은 이유 (SKIPPED/FAILED)
+     */
+    private volatile String plan;
+
+    public SlowQueryOutlier(String fingerprint, String sql, String bindValues, long elapsedMicros,
+                            long thresholdMicros, long p99Micros, long samples, String threadName) {
+        this.fingerprint = fingerprint;
+        this.sql = sql;
+        this.bindValues = bindValues;
+        this.elapsedMicros = elapsedMicros;
+        this.thresholdMicros = thresholdMicros;
+        this.p99Micros = p99Micros;
+        this.samples = samples;
+        this.threadName = threadName;
+    }
+
+    public void completePlan(String plan) {
+        this.plan = plan;
+        this.planStatus = PlanStatus.CAPTURED;
+    }
+
+    public void skipPlan(String reason) {
+        this.plan = reason;
+        this.planStatus = PlanStatus.SKIPPED;
+    }
+
+    public void failPlan(String reason) {
+        this.plan = reason;
+        this.planStatus = PlanStatus.FAILED;
+    }
+}
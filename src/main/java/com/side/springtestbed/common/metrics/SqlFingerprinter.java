@@ -0,0 +1,156 @@
+package com.side.springtestbed.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 지문(fingerprint) 생성
+ * - 문자열/숫자 리터럴과 바인드 변수($1 등)를 ?로 치환, 주석 제거, 공백 정리, 소문자화
+ * - IN 목록/VALUES 튜플처럼 ?만 있는 괄호 목록은 길이와 관계없이 (...)로 합침
+ * - 예: "SELECT * FROM post WHERE id IN (1, 2, 3) AND title = 'a'" -> "select * from post where id in (...) and title = ?"
+ * - 같은 SQL 문자열은 반복 실행되므로 결과를 캐시 (가득 차면 캐시 없이 계산)
+ */
+public class SqlFingerprinter {
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\((?:\\?, )*\\?\\)");
+
+    private static final Pattern REPEATED_LISTS = Pattern.compile("\\(\\.\\.\\.\\)(?:, \\(\\.\\.\\.\\))+");
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private final int maxCachedQueries;
+
+    public SqlFingerprinter(int maxCachedQueries) {
+        this.maxCachedQueries = maxCachedQueries;
+    }
+
+    public String fingerprint(String sql) {
+        String fingerprint = cache.get(sql);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        fingerprint = normalize(sql);
+        if (cache.size() < maxCachedQueries) {
+            cache.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    public int getCachedQueryCount() {
+        return cache.size();
+    }
+
+    /**
+     * 한 번 훑으면서 토큰 단위로 정규화
+     */
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        boolean pendingSpace = false;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = true;
+                continue;
+            }
+
+            appendSeparator(out, c, pendingSpace);
+            pendingSpace = false;
+
+            if (c == '\'') {
+                // 문자열 리터럴 ('' 이스케이프 포함)
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    i++;
+                }
+                out.append('?');
+            } else if (c == '"' || c == '`') {
+                // 따옴표 식별자는 그대로
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(sql.charAt(i + 1)))) {
+                // 숫자 리터럴 (소수, 지수 포함)
+                i++;
+                while (i < length) {
+                    char next = sql.charAt(i);
+                    if (Character.isLetterOrDigit(next) || next == '.') {
+                        i++;
+                    } else if ((next == '+' || next == '-') && (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E')) {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                out.append('?');
+            } else if (c == '$' && i + 1 < length && Character.isDigit(sql.charAt(i + 1))) {
+                // PostgreSQL 위치 파라미터
+                i++;
+                while (i < length && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isLetter(c) || c == '_') {
+                // 식별자/키워드 (p1_0 같은 별칭의 숫자는 식별자의 일부)
+                while (i < length) {
+                    char next = sql.charAt(i);
+                    if (!Character.isLetterOrDigit(next) && next != '_' && next != '$') {
+                        break;
+                    }
+                    out.append(Character.toLowerCase(next));
+                    i++;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+
+        String normalized = PARAMETER_LIST.matcher(out).replaceAll("(...)");
+        return REPEATED_LISTS.matcher(normalized).replaceAll("(...)");
+    }
+
+    /**
+     * 토큰 사이 공백 규칙
+     * - 쉼표 뒤는 항상 한 칸, 여는 괄호 뒤와 쉼표/닫는 괄호 앞은 공백 없음, 나머지는 원문에 공백이 있을 때만
+     */
+    private static void appendSeparator(StringBuilder out, char next, boolean pendingSpace) {
+        if (out.isEmpty() || next == ',' || next == ')') {
+            return;
+        }
+        char last = out.charAt(out.length() - 1);
+        if (last == '(') {
+            return;
+        }
+        if (last == ',' || pendingSpace) {
+            out.append(' ');
+        }
+    }
+}
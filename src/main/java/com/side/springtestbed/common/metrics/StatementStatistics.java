@@ -0,0 +1,60 @@
+package com.side.springtestbed.common.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 지문 하나의 실행 통계
+ * - 호출 수와 지연 시간 분포는 잠금 없는 히스토그램, 행 수/오류 수는 LongAdder
+ * - 행 수: 조회는 ResultSet에서 읽은 행, 변경은 갱신 건수
+ */
+@Getter
+public class StatementStatistics {
+
+    private final String fingerprint;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder rows = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    public StatementStatistics(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public void recordExecution(long elapsedNanos, boolean success) {
+        latency.record(elapsedNanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void recordRows(long count) {
+        if (count > 0) {
+            rows.add(count);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(fingerprint, latency.getCount(), errors.sum(), rows.sum(), latency.snapshot());
+    }
+
+    public void reset() {
+        latency.reset();
+        rows.reset();
+        errors.reset();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final String fingerprint;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final LatencyHistogram.Snapshot latency;
+    }
+}
@@ -0,0 +1,68 @@
+package com.side.springtestbed.common.metrics;
+
+import com.side.springtestbed.common.listener.AdaptiveSlowQueryListener;
+import com.side.springtestbed.common.listener.StatementStatisticsListener;
+import com.side.springtestbed.common.nplusone.NPlusOneDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SQL 지문별 실행 통계 조회
+ * - 총 실행 시간이 큰 지문부터 반환 (호출 수, 평균/p50/p99/최대 지연, 행 수, 오류 수)
+ * - /n-plus-one: 감지된 N+1 쿼리 (지문, 호출 위치, 감지 횟수, 범위 안 최대 실행 횟수)
+ * - /slow-queries: 지문별 적응형 임계치를 넘은 최근 쿼리와 실행 계획
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/sql-statistics")
+public class StatementStatisticsController {
+
+    private final StatementStatisticsListener statementStatisticsListener;
+
+    private final NPlusOneDetector nPlusOneDetector;
+
+    private final AdaptiveSlowQueryListener adaptiveSlowQueryListener;
+
+    @GetMapping
+    public ResponseEntity<List<StatementStatistics.Snapshot>> top(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity
+                .ok()
+                .body(statementStatisticsListener.getRegistry().getTopByTotalTime(limit));
+    }
+
+    /**
+     * 감지된 N+1 쿼리 (감지 횟수가 많은 순)
+     */
+    @GetMapping("/n-plus-one")
+    public ResponseEntity<List<NPlusOneDetector.Snapshot>> nPlusOne() {
+        return ResponseEntity
+                .ok()
+                .body(nPlusOneDetector.getSnapshots());
+    }
+
+    /**
+     * 최근 슬로우 쿼리 이상치 (최신순, 바인드 값과 실행 계획 포함)
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryOutlier>> slowQueries() {
+        return ResponseEntity
+                .ok()
+                .body(adaptiveSlowQueryListener.getOutliers());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        statementStatisticsListener.getRegistry().reset();
+        nPlusOneDetector.reset();
+        adaptiveSlowQueryListener.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.side.springtestbed.common.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 지문별 실행 통계 저장소
+ * - 지문 수는 maxFingerprints로 제한하고, 넘치면 OTHER_FINGERPRINT 하나로 합산
+ * - 상위 N개는 총 실행 시간 기준 (호출 수 x 평균 지연 = DB에서 가장 많은 시간을 쓴 쿼리)
+ */
+public class StatementStatisticsRegistry {
+
+    public static final String OTHER_FINGERPRINT = "(other)";
+
+    private final SqlFingerprinter fingerprinter;
+
+    private final Map<String, StatementStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final int maxFingerprints;
+
+    public StatementStatisticsRegistry(int maxFingerprints) {
+        this.fingerprinter = new SqlFingerprinter(maxFingerprints * 4);
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * SQL 원문에 해당하는 통계 (없으면 생성)
+     */
+    public StatementStatistics get(String sql) {
+        String fingerprint = fingerprinter.fingerprint(sql);
+        StatementStatistics existing = statistics.get(fingerprint);
+        if (existing != null) {
+            return existing;
+        }
+        if (statistics.size() >= maxFingerprints) {
+            fingerprint = OTHER_FINGERPRINT;
+        }
+        return statistics.computeIfAbsent(fingerprint, StatementStatistics::new);
+    }
+
+    public List<StatementStatistics.Snapshot> getTopByTotalTime(int limit) {
+        return statistics.values().stream()
+                .map(StatementStatistics::snapshot)
+                .filter(snapshot -> snapshot.getCalls() > 0)
+                .sorted(Comparator.comparingLong(
+                        (StatementStatistics.Snapshot snapshot) -> snapshot.getLatency().getTotalMicros()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int getFingerprintCount() {
+        return statistics.size();
+    }
+
+    public SqlFingerprinter getFingerprinter() {
+        return fingerprinter;
+    }
+
+    /**
+     * 통계 초기화 (지문 목록은 유지하고 값만 0으로)
+     */
+    public void reset() {
+        statistics.values().forEach(StatementStatistics::reset);
+    }
+}
@@ -0,0 +1,30 @@
+package com.side.springtestbed.common.nplusone;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청 단위 N+1 감지 범위
+ * - 요청마다 "메서드 URI" 이름으로 범위를 열고 응답 후 닫음
+ */
+public class NPlusOneDetectionFilter extends OncePerRequestFilter {
+
+    private final NPlusOneDetector detector;
+
+    public NPlusOneDetectionFilter(NPlusOneDetector detector) {
+        this.detector = detector;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (NPlusOneScope ignored = detector.open(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
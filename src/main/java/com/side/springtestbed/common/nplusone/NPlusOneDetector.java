@@ -0,0 +1,302 @@
+package com.side.springtestbed.common.nplusone;
+
+import com.side.springtestbed.common.exception.NPlusOneQueryException;
+import com.side.springtestbed.common.metrics.SqlFingerprinter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * N+1 쿼리 감지기
+ * - HTTP 요청/트랜잭션 범위 안에서 같은 SQL 지문이 서로 다른 바인드 값으로 threshold번 이상 실행되면 감지
+ *   (예: PostRepository.findAll() 후 Post.comments를 순회하며 지연 로딩)
+ * - FAIL: 감지 즉시 NPlusOneQueryException (테스트용)
+ * - WARN: 지문+호출 위치별 감지 지표를 쌓고, 경고 로그는 warnIntervalMillis마다 한 번만 출력 (운영용)
+ * - sampleRate가 N이면 범위 N개 중 1개만 집계
+ */
+@Slf4j
+public class NPlusOneDetector {
+
+    public enum Mode {
+        FAIL,
+        WARN
+    }
+
+    public static final int DEFAULT_THRESHOLD = 10;
+
+    public static final long DEFAULT_WARN_INTERVAL_MILLIS = 60_000;
+
+    private static final int MAX_DETECTIONS = 1000;
+
+    private static final String APPLICATION_PACKAGE = "com.side.springtestbed.";
+
+    /**
+     * 호출 위치에서 제외할 패키지 (감지기, 프록시 리스너, 트랜잭션/JPA 인프라)
+     */
+    private static final String[] INFRASTRUCTURE_PACKAGES = {
+        "com.side.springtestbed.common.config.",
+        "com.side.springtestbed.common.listener.",
+        "com.side.springtestbed.common.nplusone.",
+        "com.side.springtestbed.transactional.customtransactional.core.",
+        "com.side.springtestbed.transactional.customtransactional.aop.",
+        "com.side.springtestbed.transactional.customtransactional.jpa."
+    };
+
+    private final ThreadLocal<NPlusOneScope> currentScope = new ThreadLocal<>();
+
+    private final SqlFingerprinter fingerprinter = new SqlFingerprinter(4096);
+
+    private final Map<String, Detection> detections = new ConcurrentHashMap<>();
+
+    private final Mode mode;
+
+    private final int threshold;
+
+    private final int sampleRate;
+
+    private final long warnIntervalMillis;
+
+    public NPlusOneDetector(Mode mode, int threshold) {
+        this(mode, threshold, 1, DEFAULT_WARN_INTERVAL_MILLIS);
+    }
+
+    public NPlusOneDetector(Mode mode, int threshold, int sampleRate, long warnIntervalMillis) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("N+1 임계치는 2 이상이어야 함: " + threshold);
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("샘플링 비율은 1 이상이어야 함: " + sampleRate);
+        }
+        this.mode = mode;
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+        this.warnIntervalMillis = warnIntervalMillis;
+    }
+
+    /**
+     * 감지 범위 시작 (try-with-resources로 닫음)
+     */
+    public NPlusOneScope open(String name) {
+        NPlusOneScope parent = currentScope.get();
+        while (parent != null && parent.isClosed()) {
+            parent = parent.getParent();
+        }
+        boolean tracked = sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        NPlusOneScope scope = new NPlusOneScope(this, name, parent, tracked);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    public Optional<NPlusOneScope> getCurrentScope() {
+        NPlusOneScope scope = currentScope.get();
+        return scope == null || scope.isClosed() ? Optional.empty() : Optional.of(scope);
+    }
+
+    /**
+     * 조회 실행 기록 (datasource-proxy 리스너에서 호출, 범위 밖이면 무시)
+     * - 현재 범위와 열려 있는 바깥 범위 모두에 집계
+     *   (트랜잭션마다 몇 번씩이라도 HTTP 요청 전체로 보면 반복인 경우도 감지)
+     * - 한 실행으로 여러 범위가 동시에 임계치에 닿으면 가장 안쪽 범위 이름으로 한 번만 감지
+     *
+     * @param sql      실행한 SQL 원문
+     * @param bindHash 바인드 값 해시 (리터럴이 들어간 SQL은 원문 해시로 구분)
+     */
+    public void onQuery(String sql, int bindHash) {
+        NPlusOneScope scope = currentScope.get();
+        if (scope == null) {
+            return;
+        }
+
+        String fingerprint = null;
+        NPlusOneScope detectedScope = null;
+        NPlusOneScope.FingerprintCounter detectedCounter = null;
+        for (; scope != null; scope = scope.getParent()) {
+            if (!scope.isTracked() || scope.isClosed()) {
+                continue;
+            }
+            if (fingerprint == null) {
+                fingerprint = fingerprinter.fingerprint(sql);
+            }
+            NPlusOneScope.FingerprintCounter counter = scope.record(fingerprint, bindHash, threshold);
+            if (counter == null) {
+                continue;
+            }
+            if (detectedCounter == null) {
+                counter.callSite = findCallSite();
+                detectedScope = scope;
+                detectedCounter = counter;
+            } else {
+                counter.callSite = detectedCounter.callSite;
+            }
+        }
+        if (detectedCounter == null) {
+            return;
+        }
+
+        Detection detection = detectionFor(fingerprint, detectedCounter.callSite);
+        detection.detections.increment();
+        detection.lastScope = detectedScope.getName();
+        detection.updateMaxExecutions(detectedCounter.executions);
+
+        if (mode == Mode.FAIL) {
+            throw new NPlusOneQueryException(detectedScope.getName(), fingerprint, detectedCounter.callSite, detectedCounter.executions);
+        }
+        if (detection.tryAcquireWarning(warnIntervalMillis)) {
+            log.warn("[N+1] {} - 같은 쿼리 {}회 이상 반복 (호출 위치: {}, 이전 경고 이후 생략 {}건): {}",
+                detectedScope.getName(), threshold, detectedCounter.callSite, detection.suppressedSinceWarning(), fingerprint);
+        }
+    }
+
+    /**
+     * 감지된 지문+호출 위치 목록 (감지 횟수가 많은 순)
+     */
+    public List<Snapshot> getSnapshots() {
+        return detections.values().stream()
+            .map(Detection::snapshot)
+            .sorted(Comparator.comparingLong(Snapshot::getDetections).reversed())
+            .toList();
+    }
+
+    public void reset() {
+        detections.clear();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 범위 종료
+     * - 안쪽 범위부터 닫히는 것이 정상이지만, 순서가 어긋나도 닫힌 범위는 스택에서 빠짐
+     * - 감지된 지문은 범위 전체의 최종 실행 횟수로 지표 갱신
+     */
+    void close(NPlusOneScope scope) {
+        NPlusOneScope current = currentScope.get();
+        if (current == scope) {
+            NPlusOneScope parent = scope.getParent();
+            while (parent != null && parent.isClosed()) {
+                parent = parent.getParent();
+            }
+            if (parent == null) {
+                currentScope.remove();
+            } else {
+                currentScope.set(parent);
+            }
+        }
+
+        for (Map.Entry<String, NPlusOneScope.FingerprintCounter> entry : scope.getCounters().entrySet()) {
+            NPlusOneScope.FingerprintCounter counter = entry.getValue();
+            if (counter.callSite != null) {
+                detectionFor(entry.getKey(), counter.callSite).updateMaxExecutions(counter.executions);
+            }
+        }
+    }
+
+    private Detection detectionFor(String fingerprint, String callSite) {
+        String key = fingerprint + '@' + callSite;
+        Detection detection = detections.get(key);
+        if (detection != null) {
+            return detection;
+        }
+        if (detections.size() >= MAX_DETECTIONS) {
+            return detections.computeIfAbsent("(other)", ignored -> new Detection("(other)", "(other)"));
+        }
+        return detections.computeIfAbsent(key, ignored -> new Detection(fingerprint, callSite));
+    }
+
+    /**
+     * 인프라 코드를 건너뛴 첫 애플리케이션 프레임 (감지 시점에만 계산)
+     */
+    private static String findCallSite() {
+        return StackWalker.getInstance()
+            .walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("(unknown)"));
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        if (!className.startsWith(APPLICATION_PACKAGE) || className.contains("$$")) {
+            return false;
+        }
+        for (String infrastructure : INFRASTRUCTURE_PACKAGES) {
+            if (className.startsWith(infrastructure)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Detection {
+
+        private final String fingerprint;
+
+        private final String callSite;
+
+        private final LongAdder detections = new LongAdder();
+
+        private final AtomicInteger maxExecutions = new AtomicInteger();
+
+        private final AtomicLong lastWarningMillis = new AtomicLong();
+
+        private final AtomicLong warnedDetections = new AtomicLong();
+
+        private volatile String lastScope;
+
+        private Detection(String fingerprint, String callSite) {
+            this.fingerprint = fingerprint;
+            this.callSite = callSite;
+        }
+
+        private void updateMaxExecutions(int executions) {
+            maxExecutions.accumulateAndGet(executions, Math::max);
+        }
+
+        /**
+         * 경고 간격이 지났으면 이번 감지에서 경고 (CAS로 한 스레드만)
+         */
+        private boolean tryAcquireWarning(long intervalMillis) {
+            long now = System.currentTimeMillis();
+            long last = lastWarningMillis.get();
+            return (last == 0 || now - last >= intervalMillis) && lastWarningMillis.compareAndSet(last, now);
+        }
+
+        /**
+         * 직전 경고 이후 로그 없이 집계만 된 감지 수
+         */
+        private long suppressedSinceWarning() {
+            long total = detections.sum();
+            long previous = warnedDetections.getAndSet(total);
+            return Math.max(0, total - previous - 1);
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(fingerprint, callSite, lastScope, detections.sum(), maxExecutions.get());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final String fingerprint;
+        private final String callSite;
+        private final String lastScope;
+        private final long detections;
+        private final int maxExecutions;
+    }
+}
@@ -0,0 +1,81 @@
+package com.side.springtestbed.common.nplusone;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * N+1 감지 범위 (HTTP 요청 하나 또는 트랜잭션 하나)
+ * - 스레드에 묶여 한 스레드에서만 사용하므로 동기화 없음
+ * - 범위가 겹치면 안쪽 범위와 열려 있는 바깥 범위 모두에 집계하고, 닫으면 바깥 범위로 돌아감
+ */
+@Getter
+public class NPlusOneScope implements AutoCloseable {
+
+    private final NPlusOneDetector detector;
+
+    private final String name;
+
+    private final NPlusOneScope parent;
+
+    /**
+     * 샘플링에서 제외된 범위는 집계하지 않음
+     */
+    private final boolean tracked;
+
+    private final Map<String, FingerprintCounter> counters;
+
+    private boolean closed;
+
+    NPlusOneScope(NPlusOneDetector detector, String name, NPlusOneScope parent, boolean tracked) {
+        this.detector = detector;
+        this.name = name;
+        this.parent = parent;
+        this.tracked = tracked;
+        this.counters = tracked ? new HashMap<>() : Map.of();
+    }
+
+    /**
+     * 지문별 실행 기록
+     *
+     * @return 이번 실행으로 서로 다른 바인드 값 수가 임계치에 도달했으면 해당 카운터, 아니면 null
+     */
+    FingerprintCounter record(String fingerprint, int bindHash, int threshold) {
+        FingerprintCounter counter = counters.computeIfAbsent(fingerprint, key -> new FingerprintCounter());
+        counter.executions++;
+        if (counter.distinctBinds.size() < threshold && counter.distinctBinds.add(bindHash)
+                && counter.distinctBinds.size() == threshold) {
+            return counter;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            detector.close(this);
+        }
+    }
+
+    static final class FingerprintCounter {
+
+        /**
+         * 실행 횟수 (같은 바인드 값 반복 포함)
+         */
+        int executions;
+
+        /**
+         * 서로 다른 바인드 값 해시 (임계치까지만 보관)
+         */
+        final Set<Integer> distinctBinds = new HashSet<>();
+
+        /**
+         * 감지 시점의 호출 위치 (감지 전이면 null)
+         */
+        String callSite;
+    }
+}
@@ -4,14 +4,24 @@ import com.side.springtestbed.common.exception.SQLStatementCountMismatchExceptio
 import net.ttddyy.dsproxy.QueryCount;
 import net.ttddyy.dsproxy.QueryCountHolder;
 
+/**
+ * SQL statement count assertions
+ * - Without a scope, reads the innermost StatementCountScope open on the current thread,
+ *   falling back to the QueryCountHolder grand total
+ * - Scope-aware overloads read only the given scope, so count tests can run in parallel
+ */
 public class SQLStatementCountValidator {
 
     private SQLStatementCountValidator() {}
 
     /**
-     * Reset the statement recorder
+     * Reset the statement recorder (and the current scope, if one is open)
      */
     public static void reset() {
+        StatementCountScope scope = StatementCountScope.current();
+        if (scope != null) {
+            scope.reset();
+        }
         QueryCountHolder.clear();
     }
 
@@ -21,6 +31,11 @@ public class SQLStatementCountValidator {
      * @param expectedSelectCount expected select statement count
      */
     public static void assertSelectCount(int expectedSelectCount) {
+        StatementCountScope scope = StatementCountScope.current();
+        if (scope != null) {
+            assertSelectCount(scope, expectedSelectCount);
+            return;
+        }
         QueryCount queryCount = QueryCountHolder.getGrandTotal();
         long recordedSelectCount = queryCount.getSelect();
         if (expectedSelectCount != recordedSelectCount) {
@@ -28,12 +43,30 @@ public class SQLStatementCountValidator {
         }
     }
 
+    /**
+     * Assert select statement count recorded in the given scope
+     *
+     * @param scope               statement count scope
+     * @param expectedSelectCount expected select statement count
+     */
+    public static void assertSelectCount(StatementCountScope scope, int expectedSelectCount) {
+        long recordedSelectCount = scope.getSelect();
+        if (expectedSelectCount != recordedSelectCount) {
+            throw new SQLStatementCountMismatchException(expectedSelectCount, recordedSelectCount);
+        }
+    }
+
     /**
      * Assert insert statement count
      *
      * @param expectedInsertCount expected insert statement count
      */
     public static void assertInsertCount(int expectedInsertCount) {
+        StatementCountScope scope = StatementCountScope.current();
+        if (scope != null) {
+            assertInsertCount(scope, expectedInsertCount);
+            return;
+        }
         QueryCount queryCount = QueryCountHolder.getGrandTotal();
         long recordedInsertCount = queryCount.getInsert();
         if (expectedInsertCount != recordedInsertCount) {
@@ -41,12 +74,30 @@ public class SQLStatementCountValidator {
         }
     }
 
+    /**
+     * Assert insert statement count recorded in the given scope
+     *
+     * @param scope               statement count scope
+     * @param expectedInsertCount expected insert statement count
+     */
+    public static void assertInsertCount(StatementCountScope scope, int expectedInsertCount) {
+        long recordedInsertCount = scope.getInsert();
+        if (expectedInsertCount != recordedInsertCount) {
+            throw new SQLStatementCountMismatchException(expectedInsertCount, recordedInsertCount);
+        }
+    }
+
     /**
      * Assert update statement count
      *
      * @param expectedUpdateCount expected update statement count
      */
     public static void assertUpdateCount(int expectedUpdateCount) {
+        StatementCountScope scope = StatementCountScope.current();
+        if (scope != null) {
+            assertUpdateCount(scope, expectedUpdateCount);
+            return;
+        }
         QueryCount queryCount = QueryCountHolder.getGrandTotal();
         long recordedUpdateCount = queryCount.getUpdate();
         if (expectedUpdateCount != recordedUpdateCount) {
@@ -54,17 +105,60 @@ public class SQLStatementCountValidator {
         }
     }
 
+    /**
+     * Assert update statement count recorded in the given scope
+     *
+     * @param scope               statement count scope
+     * @param expectedUpdateCount expected update statement count
+     */
+    public static void assertUpdateCount(StatementCountScope scope, int expectedUpdateCount) {
+        long recordedUpdateCount = scope.getUpdate();
+        if (expectedUpdateCount != recordedUpdateCount) {
+            throw new SQLStatementCountMismatchException(expectedUpdateCount, recordedUpdateCount);
+        }
+    }
+
     /**
      * Assert delete statement count
      *
      * @param expectedDeleteCount expected delete statement count
      */
     public static void assertDeleteCount(int expectedDeleteCount) {
+        StatementCountScope scope = StatementCountScope.current();
+        if (scope != null) {
+            assertDeleteCount(scope, expectedDeleteCount);
+            return;
+        }
         QueryCount queryCount = QueryCountHolder.getGrandTotal();
         long recordedDeleteCount = queryCount.getDelete();
         if (expectedDeleteCount != recordedDeleteCount) {
             throw new SQLStatementCountMismatchException(expectedDeleteCount, recordedDeleteCount);
         }
     }
-}
 
+    /**
+     * Assert delete statement count recorded in the given scope
+     *
+     * @param scope               statement count scope
+     * @param expectedDeleteCount expected delete statement count
+     */
+    public static void assertDeleteCount(StatementCountScope scope, int expectedDeleteCount) {
+        long recordedDeleteCount = scope.getDelete();
+        if (expectedDeleteCount != recordedDeleteCount) {
+            throw new SQLStatementCountMismatchException(expectedDeleteCount, recordedDeleteCount);
+        }
+    }
+
+    /**
+     * Assert number of rows fetched through ResultSet.next() in the given scope
+     *
+     * @param scope               statement count scope
+     * @param expectedRowsFetched expected fetched row count
+     */
+    public static void assertRowsFetched(StatementCountScope scope, long expectedRowsFetched) {
+        long recordedRowsFetched = scope.getRowsFetched();
+        if (expectedRowsFetched != recordedRowsFetched) {
+            throw new SQLStatementCountMismatchException(expectedRowsFetched, recordedRowsFetched);
+        }
+    }
+}
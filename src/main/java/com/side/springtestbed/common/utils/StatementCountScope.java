@@ -0,0 +1,245 @@
+package com.side.springtestbed.common.utils;
+
+import net.ttddyy.dsproxy.QueryType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 범위 단위 SQL 실행 카운터
+ * - 스레드, 트랜잭션, 명시적 블록 단위로 열고 닫는 카운터 (QueryCountHolder 전역 합계 대신 사용)
+ * - 범위는 연 스레드에 붙고, 다른 스레드는 join()으로 같은 범위에 참여
+ * - 한 스레드에 여러 범위가 열려 있으면 열린 범위 모두에 집계 (테스트 범위 + 트랜잭션 범위 등)
+ * - 문장 종류별 실행 수, ResultSet에서 읽은 행 수, JDBC 실행 시간 합계
+ * - 값 기록은 ScopedStatementCountListener가 담당
+ */
+public class StatementCountScope implements AutoCloseable {
+
+    /**
+     * 스레드별 참여 범위 목록 (가장 최근에 붙은 범위가 head)
+     */
+    private static final ThreadLocal<Attachment> ATTACHMENTS = new ThreadLocal<>();
+
+    private final String name;
+
+    private final LongAdder select = new LongAdder();
+
+    private final LongAdder insert = new LongAdder();
+
+    private final LongAdder update = new LongAdder();
+
+    private final LongAdder delete = new LongAdder();
+
+    private final LongAdder other = new LongAdder();
+
+    private final LongAdder rowsFetched = new LongAdder();
+
+    private final LongAdder jdbcNanos = new LongAdder();
+
+    private final Attachment ownerAttachment;
+
+    private volatile boolean closed;
+
+    private StatementCountScope(String name) {
+        this.name = name;
+        this.ownerAttachment = attach(this);
+    }
+
+    /**
+     * 현재 스레드에서 범위 시작 (try-with-resources로 닫음)
+     */
+    public static StatementCountScope open(String name) {
+        return new StatementCountScope(name);
+    }
+
+    /**
+     * 현재 스레드에 붙은 가장 안쪽 범위 (없으면 null)
+     */
+    public static StatementCountScope current() {
+        Attachment head = liveAttachments();
+        return head != null ? head.scope : null;
+    }
+
+    /**
+     * 현재 스레드에 열린 범위가 하나라도 있는지
+     */
+    public static boolean isActive() {
+        return liveAttachments() != null;
+    }
+
+    /**
+     * 현재 스레드의 열린 범위 모두에 문장 실행 기록
+     */
+    public static void recordStatement(QueryType type, long elapsedNanos) {
+        for (Attachment attachment = liveAttachments(); attachment != null; attachment = attachment.next) {
+            StatementCountScope scope = attachment.scope;
+            scope.counterFor(type).increment();
+            scope.jdbcNanos.add(elapsedNanos);
+        }
+    }
+
+    /**
+     * 현재 스레드의 열린 범위 모두에 읽은 행 기록
+     */
+    public static void recordRowFetched() {
+        for (Attachment attachment = liveAttachments(); attachment != null; attachment = attachment.next) {
+            attachment.scope.rowsFetched.increment();
+        }
+    }
+
+    /**
+     * 다른 스레드(작업 스레드 등)를 이 범위에 참여시킴
+     */
+    public Attachment join() {
+        if (closed) {
+            throw new IllegalStateException("이미 닫힌 범위: " + name);
+        }
+        return attach(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSelect() {
+        return select.sum();
+    }
+
+    public long getInsert() {
+        return insert.sum();
+    }
+
+    public long getUpdate() {
+        return update.sum();
+    }
+
+    public long getDelete() {
+        return delete.sum();
+    }
+
+    public long getOther() {
+        return other.sum();
+    }
+
+    public long getTotal() {
+        return getSelect() + getInsert() + getUpdate() + getDelete() + getOther();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.sum();
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos.sum();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void reset() {
+        select.reset();
+        insert.reset();
+        update.reset();
+        delete.reset();
+        other.reset();
+        rowsFetched.reset();
+        jdbcNanos.reset();
+    }
+
+    /**
+     * 범위 종료 (값은 닫은 뒤에도 조회 가능)
+     * - 다른 스레드의 참여는 닫힌 범위로 표시되어 더 이상 집계되지 않고, 각 스레드가 다음 조회/기록 때 목록에서 제거
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ownerAttachment.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[select=%d, insert=%d, update=%d, delete=%d, other=%d, rows=%d, jdbc=%dus]",
+            name, getSelect(), getInsert(), getUpdate(), getDelete(), getOther(), getRowsFetched(),
+            getJdbcNanos() / 1_000);
+    }
+
+    private LongAdder counterFor(QueryType type) {
+        return switch (type) {
+            case SELECT -> select;
+            case INSERT -> insert;
+            case UPDATE -> update;
+            case DELETE -> delete;
+            default -> other;
+        };
+    }
+
+    private static Attachment attach(StatementCountScope scope) {
+        Attachment attachment = new Attachment(scope, Thread.currentThread(), liveAttachments());
+        ATTACHMENTS.set(attachment);
+        return attachment;
+    }
+
+    /**
+     * 현재 스레드의 참여 목록에서 분리/닫힌 항목을 걷어내고 head 반환
+     * - 다른 스레드에서 닫힌 참여와 범위는 표시만 되므로 붙은 스레드가 다음 조회 때 정리
+     * - 목록이 비면 ThreadLocal 제거
+     */
+    private static Attachment liveAttachments() {
+        Attachment head = ATTACHMENTS.get();
+        if (head == null) {
+            return null;
+        }
+        Attachment live = head;
+        while (live != null && live.isDead()) {
+            live = live.next;
+        }
+        for (Attachment previous = live; previous != null; previous = previous.next) {
+            while (previous.next != null && previous.next.isDead()) {
+                previous.next = previous.next.next;
+            }
+        }
+        if (live == null) {
+            ATTACHMENTS.remove();
+        } else if (live != head) {
+            ATTACHMENTS.set(live);
+        }
+        return live;
+    }
+
+    /**
+     * 스레드 하나가 범위에 참여한 상태 (닫으면 해당 스레드에서 분리)
+     * - next는 붙은 스레드만 바꾸므로 동기화 없음
+     */
+    public static final class Attachment implements AutoCloseable {
+
+        private final StatementCountScope scope;
+
+        private final Thread thread;
+
+        private Attachment next;
+
+        private volatile boolean detached;
+
+        private Attachment(StatementCountScope scope, Thread thread, Attachment next) {
+            this.scope = scope;
+            this.thread = thread;
+            this.next = next;
+        }
+
+        /**
+         * 분리 표시 후 붙은 스레드면 바로 목록에서 제거
+         * - 다른 스레드에서 닫으면 붙은 스레드가 다음 조회/기록 때 제거
+         */
+        @Override
+        public void close() {
+            detached = true;
+            if (Thread.currentThread() == thread) {
+                liveAttachments();
+            }
+        }
+
+        private boolean isDead() {
+            return detached || scope.closed;
+        }
+    }
+}
@@ -53,4 +53,73 @@ public @interface CustomTransactional {
      * - 지정된 예외 발생해도 트랜잭션 커밋
      */
     Class<? extends Throwable>[] noRollbackFor() default {};
-}
\ No newline at end of file
+    
+    /**
+     * 최대 실행 횟수 (첫 실행 포함)
+     * - 1: 재시도하지 않음 (기본값)
+     * - 2 이상: retryForSqlStates에 해당하는 실패 시 새 트랜잭션으로 메서드 재실행
+     * - 최외곽 새 트랜잭션에만 적용, 기존 트랜잭션에 참여한 호출은 재시도하지 않음
+     */
+    int maxAttempts() default 1;
+    
+    /**
+     * 첫 재시도 대기 상한 (밀리초)
+     * - 재시도마다 두 배씩 늘어나며, 0 ~ 상한 사이에서 무작위로 대기
+     */
+    long retryBackoffMillis() default 20;
+    
+    /**
+     * 재시도 대기 상한의 최댓값 (밀리초)
+     */
+    long retryMaxBackoffMillis() default 1000;
+    
+    /**
+     * 재시도할 SQLState
+     * - 40001: 직렬화 실패 (SERIALIZABLE/REPEATABLE_READ 충돌)
+     * - 40P01: 교착 상태 감지 (PostgreSQL)
+     */
+    String[] retryForSqlStates() default {"40001", "40P01"};
+    
+    /**
+     * 이 메서드가 동시에 실행할 수 있는 최대 트랜잭션 수 (벌크헤드)
+     * - 0: 제한 없음 (기본값)
+     * - 한도가 차면 대기열에서 기다리고, 대기열이 가득 차거나 대기 시간을 넘기면 BulkheadFullException
+     * - 새 물리 트랜잭션을 여는 호출(최외곽, REQUIRES_NEW)에만 적용
+     */
+    int maxConcurrency() default 0;
+    
+    /**
+     * 벌크헤드 이름
+     * - 같은 이름을 쓰는 메서드는 한도를 공유 (maxConcurrency/bulkheadQueueSize가 같아야 함, 다르면 IllegalStateException)
+     * - 대기 시간과 우선순위는 메서드마다 다르게 지정 가능
+     * - 비어 있으면 메서드별 벌크헤드 ("클래스명.메서드명")
+     */
+    String bulkhead() default "";
+    
+    /**
+     * 벌크헤드 대기열 크기
+     * - -1: maxConcurrency와 같은 크기 (기본값)
+     * - 0: 대기하지 않고 즉시 거부
+     */
+    int bulkheadQueueSize() default -1;
+    
+    /**
+     * 벌크헤드 최대 대기 시간 (밀리초)
+     */
+    long bulkheadMaxWaitMillis() default 1000;
+    
+    /**
+     * 벌크헤드 대기 우선순위
+     * - 클수록 먼저 실행, 같으면 도착 순서 (공정)
+     */
+    int bulkheadPriority() default 0;
+    
+    /**
+     * 자동 배치 크기
+     * - 0: 사용하지 않음 (기본값)
+     * - 2 이상: 같은 SQL의 단건 INSERT executeUpdate를 이 크기까지 모아 JDBC 배치로 실행 (executeUpdate는 1 반환)
+     * - 조회나 다른 SQL 실행, Savepoint, 커밋 전에 자동으로 실행되고 롤백 시 버려짐
+     * - 새 물리 트랜잭션을 여는 메서드의 설정이 적용됨 (참여 트랜잭션은 외부 트랜잭션 설정을 따름)
+     */
+    int autoBatchSize() default 0;
+}
@@ -0,0 +1,145 @@
+package com.side.springtestbed.transactional.customtransactional.aop;
+
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionBulkheadSpec;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionRetryPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 커스텀 트랜잭션 메타데이터 소스
+ * - @CustomTransactional 어노테이션을 해석해 CustomTransactionDefinition으로 변환
+ * - Spring AnnotationTransactionAttributeSource 역할
+ * - (메서드, 대상 클래스)별로 한 번만 해석하고 결과를 캐시 (호출 경로에서 리플렉션 없음)
+ */
+@Slf4j
+public class CustomTransactionAttributeSource {
+
+    /**
+     * 메서드별 트랜잭션 정의 캐시
+     * - 키: 조인포인트에서 얻은 Method + 대상 클래스 (Spring MethodClassKey)
+     * - 상속받은 같은 메서드라도 대상 클래스마다 클래스 레벨 어노테이션/이름이 다르므로 함께 구분
+     * - 값: 메서드/클래스 어노테이션을 병합해 해석한 트랜잭션 정의
+     */
+    private final Map<MethodClassKey, CustomTransactionDefinition> definitionCache = new ConcurrentHashMap<>(256);
+
+    /**
+     * 이름별로 처음 해석한 벌크헤드 설정
+     * - 같은 이름에 다른 한도를 지정한 메서드를 해석 시점에 거부하는 데 사용
+     */
+    private final Map<String, TransactionBulkheadSpec> bulkheadSpecs = new ConcurrentHashMap<>();
+
+    /**
+     * 메서드에 적용될 트랜잭션 정의 조회
+     * - 캐시에 있으면 그대로 반환 (일반 경로)
+     * - 없으면 최초 1회만 어노테이션을 해석해서 캐시에 저장
+     */
+    public CustomTransactionDefinition getTransactionDefinition(Method method, Object target) {
+        Class<?> targetClass = target != null ? ClassUtils.getUserClass(target) : method.getDeclaringClass();
+        MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+        CustomTransactionDefinition cached = definitionCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        return definitionCache.computeIfAbsent(cacheKey, key -> resolveTransactionDefinition(method, targetClass));
+    }
+
+    /**
+     * 어노테이션 해석
+     * - 메서드 레벨 어노테이션이 클래스 레벨 어노테이션보다 우선
+     * - 프록시 대상 클래스의 구체 메서드를 먼저 확인하고, 없으면 선언 메서드/클래스 순으로 탐색
+     */
+    private CustomTransactionDefinition resolveTransactionDefinition(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+
+        CustomTransactional annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, CustomTransactional.class);
+        if (annotation == null && specificMethod != method) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method, CustomTransactional.class);
+        }
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, CustomTransactional.class);
+        }
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), CustomTransactional.class);
+        }
+        if (annotation == null) {
+            throw new IllegalStateException("@CustomTransactional 정보를 찾을 수 없음: " + method);
+        }
+
+        String name = targetClass.getSimpleName() + "." + method.getName();
+        CustomTransactionDefinition definition = new CustomTransactionDefinition(
+            annotation.propagation(),
+            annotation.isolation(),
+            annotation.readOnly(),
+            annotation.timeout(),
+            annotation.rollbackFor(),
+            annotation.noRollbackFor(),
+            name,
+            resolveRetryPolicy(annotation),
+            resolveBulkheadSpec(annotation, name),
+            annotation.autoBatchSize() >= 2 ? annotation.autoBatchSize() : 0
+        );
+        log.debug("[트랜잭션 메타데이터] 해석 완료 및 캐시 저장: {}", definition);
+        return definition;
+    }
+
+    /**
+     * 재시도 정책 해석
+     * - 재시도하지 않는 기본 설정은 공유 인스턴스 사용
+     */
+    private TransactionRetryPolicy resolveRetryPolicy(CustomTransactional annotation) {
+        if (annotation.maxAttempts() <= 1) {
+            return TransactionRetryPolicy.NONE;
+        }
+        return new TransactionRetryPolicy(
+            annotation.maxAttempts(),
+            annotation.retryBackoffMillis(),
+            annotation.retryMaxBackoffMillis(),
+            annotation.retryForSqlStates()
+        );
+    }
+
+    /**
+     * 벌크헤드 설정 해석
+     * - 이름이 없으면 메서드별 벌크헤드
+     * - 같은 이름의 벌크헤드를 다른 한도로 선언하면 IllegalStateException (처음 설정이 조용히 이기지 않도록)
+     */
+    private TransactionBulkheadSpec resolveBulkheadSpec(CustomTransactional annotation, String transactionName) {
+        if (annotation.maxConcurrency() <= 0) {
+            return TransactionBulkheadSpec.NONE;
+        }
+        String bulkheadName = annotation.bulkhead().isEmpty() ? transactionName : annotation.bulkhead();
+        int queueSize = annotation.bulkheadQueueSize() < 0 ? annotation.maxConcurrency() : annotation.bulkheadQueueSize();
+        TransactionBulkheadSpec spec = new TransactionBulkheadSpec(
+            bulkheadName,
+            annotation.maxConcurrency(),
+            queueSize,
+            annotation.bulkheadMaxWaitMillis(),
+            annotation.bulkheadPriority()
+        );
+        TransactionBulkheadSpec registered = bulkheadSpecs.putIfAbsent(bulkheadName, spec);
+        if (registered != null && !registered.hasSameLimits(spec)) {
+            throw new IllegalStateException(String.format(
+                "벌크헤드 '%s' 한도 충돌 (%s) - 같은 이름은 maxConcurrency/bulkheadQueueSize가 같아야 함: 먼저 해석된 설정 %s, 현재 설정 %s",
+                bulkheadName, transactionName, registered, spec
+            ));
+        }
+        return spec;
+    }
+
+    /**
+     * 캐시된 (메서드, 대상 클래스) 수 조회
+     * - 모니터링 및 테스트용
+     */
+    public int getCachedDefinitionCount() {
+        return definitionCache.size();
+    }
+}
@@ -1,15 +1,23 @@
 package com.side.springtestbed.transactional.customtransactional.aop;
 
-import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.common.exception.BulkheadFullException;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
 import com.side.springtestbed.transactional.customtransactional.core.*;
+import com.side.springtestbed.transactional.customtransactional.core.context.CustomTransactionContextHolder;
+import com.side.springtestbed.transactional.customtransactional.jpa.EntityManagerBinding;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 커스텀 트랜잭션 AOP 인터셉터
@@ -22,8 +30,16 @@ import java.lang.reflect.Method;
 @Component
 public class CustomTransactionalInterceptor {
     
+    /**
+     * 로그 구분선 (매 호출마다 문자열을 만들지 않도록 상수로 유지)
+     */
+    private static final String LOG_SEPARATOR_START = "\n" + "=".repeat(80);
+    private static final String LOG_SEPARATOR_END = "=".repeat(80) + "\n";
+    
     private final CustomTransactionManager transactionManager;
     
+    private final CustomTransactionAttributeSource attributeSource = new CustomTransactionAttributeSource();
+    
     @Autowired
     public CustomTransactionalInterceptor(CustomTransactionManager transactionManager) {
         this.transactionManager = transactionManager;
@@ -31,22 +47,150 @@ public class CustomTransactionalInterceptor {
     
     /**
      * @CustomTransactional 어노테이션이 붙은 메서드 가로채기
+     * - 메서드 레벨 어노테이션 또는 클래스 레벨 어노테이션(public 메서드)을 하나의 어드바이스로 처리
      * - 메서드 실행 전후로 트랜잭션 시작/커밋/롤백 처리
      * - AspectJ의 Around 어드바이스 사용
      */
-    @Around("@annotation(customTransactional)")
-    public Object intercept(ProceedingJoinPoint joinPoint, CustomTransactional customTransactional) 
-            throws Throwable {
+    @Around("@annotation(com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional) || " +
+            "(@within(com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional) && execution(public * *(..)))")
+    public Object intercept(ProceedingJoinPoint joinPoint) throws Throwable {
+        
+        // 컨텍스트 저장소가 스코프를 요구하는데 열린 스코프가 없으면 새로 열고 실행 (ScopedValue 저장소)
+        CustomTransactionContextHolder contextHolder = CustomTransactionSynchronizationManager.getContextHolder();
+        if (!contextHolder.isContextAvailable()) {
+            return contextHolder.callInNewContext(() -> invokeWithinTransaction(joinPoint));
+        }
+        return invokeWithinTransaction(joinPoint);
+    }
+    
+    /**
+     * 트랜잭션 안에서 메서드 실행
+     * - 재시도 정책이 있고 진행 중인 트랜잭션이 없으면(최외곽 새 트랜잭션) 재시도 루프로 실행
+     * - 기존 트랜잭션에 참여하는 호출은 재시도하지 않음 (실패가 외부 트랜잭션까지 전파되어야 함)
+     * - CompletableFuture/CompletionStage를 반환하는 최외곽 트랜잭션은 future 완료 시점에 커밋/롤백
+     */
+    private Object invokeWithinTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
         
-        // 메서드 정보 로깅
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        log.info("\n" + "=".repeat(80));
-        log.info("[트랜잭션 인터셉터] 메서드 가로채기 시작: {}.{}", className, methodName);
-        log.info("[트랜잭션 설정] {}", formatTransactionConfig(customTransactional));
+        // 트랜잭션 정의 조회 (메서드별 캐시, 메서드 레벨 어노테이션 우선)
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CustomTransactionDefinition definition = attributeSource.getTransactionDefinition(method, joinPoint.getTarget());
         
-        // 트랜잭션 정의 생성
-        CustomTransactionDefinition definition = createTransactionDefinition(customTransactional);
+        boolean outermost = !CustomTransactionSynchronizationManager.hasCurrentTransaction();
+        boolean asyncCompletion = isAsyncReturnType(method.getReturnType());
+        if (asyncCompletion && !outermost) {
+            log.warn("[트랜잭션 인터셉터] 진행 중인 트랜잭션 안의 비동기 메서드는 반환 시점에 완료됨: {}", definition.getName());
+            asyncCompletion = false;
+        }
+        
+        // 새 물리 트랜잭션을 여는 호출만 벌크헤드 적용 (참여/중첩 호출은 커넥션을 더 쓰지 않음)
+        TransactionBulkheadSpec bulkheadSpec = definition.getBulkheadSpec();
+        if (bulkheadSpec.isEnabled() && (outermost || definition.getPropagation() == Propagation.REQUIRES_NEW)) {
+            return invokeInBulkhead(joinPoint, definition, bulkheadSpec, outermost, asyncCompletion);
+        }
+        return invokeWithRetryPolicy(joinPoint, definition, outermost, asyncCompletion);
+    }
+    
+    private Object invokeWithRetryPolicy(ProceedingJoinPoint joinPoint, CustomTransactionDefinition definition,
+                                         boolean outermost, boolean asyncCompletion) throws Throwable {
+        TransactionRetryPolicy retryPolicy = definition.getRetryPolicy();
+        if (retryPolicy.isEnabled() && outermost) {
+            return invokeWithRetry(joinPoint, definition, retryPolicy, asyncCompletion);
+        }
+        return invokeInTransaction(joinPoint, definition, TransactionRetryPolicy.NONE, asyncCompletion);
+    }
+    
+    /**
+     * 벌크헤드 안에서 실행
+     * - 자리를 얻지 못하면 거부 지표를 남기고 BulkheadFullException 전파
+     * - 재시도는 자리를 쥔 채로 수행
+     * - 비동기 반환이면 future가 완료될 때 자리 반환
+     */
+    private Object invokeInBulkhead(ProceedingJoinPoint joinPoint, CustomTransactionDefinition definition,
+                                    TransactionBulkheadSpec bulkheadSpec, boolean outermost,
+                                    boolean asyncCompletion) throws Throwable {
+        TransactionBulkhead bulkhead = transactionManager.getBulkheadRegistry().bulkheadFor(bulkheadSpec);
+        try {
+            bulkhead.acquire(
+                bulkheadSpec.getPriority(),
+                TimeUnit.MILLISECONDS.toNanos(bulkheadSpec.getMaxWaitMillis()),
+                definition.getName()
+            );
+        } catch (BulkheadFullException e) {
+            transactionManager.getMetricsRegistry().metricsFor(definition).recordBulkheadRejection();
+            log.warn("[벌크헤드] 실행 거부: {}", e.getMessage());
+            throw e;
+        }
+        
+        boolean releaseOnCompletion = false;
+        try {
+            Object result = invokeWithRetryPolicy(joinPoint, definition, outermost, asyncCompletion);
+            if (asyncCompletion && result instanceof CompletableFuture) {
+                ((CompletableFuture<?>) result).whenComplete((value, error) -> bulkhead.release());
+                releaseOnCompletion = true;
+            }
+            return result;
+        } finally {
+            if (!releaseOnCompletion) {
+                bulkhead.release();
+            }
+        }
+    }
+    
+    /**
+     * 비동기 완료 대상 반환 타입인지 확인
+     * - CompletableFuture로 대신 반환할 수 있는 타입만 (CompletableFuture, CompletionStage)
+     */
+    private static boolean isAsyncReturnType(Class<?> returnType) {
+        return CompletionStage.class.isAssignableFrom(returnType)
+            && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+    
+    /**
+     * 재시도 루프
+     * - 재시도 대상 SQLState로 실패하면 트랜잭션이 롤백된 뒤 대기 후 새 트랜잭션으로 다시 실행
+     * - 최대 실행 횟수를 넘기거나 재시도 대상이 아닌 예외는 그대로 전파
+     * - 비동기 메서드는 future를 반환하기 전까지의 실패만 재시도
+     */
+    private Object invokeWithRetry(ProceedingJoinPoint joinPoint, CustomTransactionDefinition definition,
+                                   TransactionRetryPolicy retryPolicy, boolean asyncCompletion) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invokeInTransaction(joinPoint, definition, retryPolicy, asyncCompletion);
+            } catch (Throwable throwable) {
+                if (attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(throwable)) {
+                    throw throwable;
+                }
+                long backoffNanos = retryPolicy.backoffNanos(attempt);
+                log.warn("[트랜잭션 재시도] {} {}/{}회 실패, {}µs 후 재시도: {}",
+                    definition.getName(), attempt, retryPolicy.getMaxAttempts(),
+                    TimeUnit.NANOSECONDS.toMicros(backoffNanos), throwable.getMessage());
+                transactionManager.getMetricsRegistry().metricsFor(definition).recordRetry();
+                if (backoffNanos > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw throwable;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * 트랜잭션 한 번 실행
+     * - 트랜잭션 시작 → 비즈니스 메서드 실행 → 커밋/롤백
+     * - 재시도 대상 예외는 롤백 규칙과 관계없이 롤백 (검사 예외라도 커밋한 뒤 다시 실행하면 쓰기가 두 번 반영됨)
+     */
+    private Object invokeInTransaction(ProceedingJoinPoint joinPoint, CustomTransactionDefinition definition,
+                                       TransactionRetryPolicy retryPolicy, boolean asyncCompletion) throws Throwable {
+        
+        boolean infoEnabled = log.isInfoEnabled();
+        if (infoEnabled) {
+            log.info(LOG_SEPARATOR_START);
+            log.info("[트랜잭션 인터셉터] 메서드 가로채기 시작: {}", definition.getName());
+            log.info("[트랜잭션 설정] {}", definition);
+        }
         
         // 트랜잭션 시작
         CustomTransactionStatus status = null;
@@ -57,24 +201,35 @@ public class CustomTransactionalInterceptor {
             status = transactionManager.getTransaction(definition);
             transactionActive = true;
             
-            log.info("[비즈니스 로직] 실제 메서드 실행 시작: {}.{}", className, methodName);
+            if (infoEnabled) {
+                log.info("[비즈니스 로직] 실제 메서드 실행 시작: {}", definition.getName());
+            }
             
             // 실제 비즈니스 메서드 실행
             Object result = joinPoint.proceed();
             
-            log.info("[비즈니스 로직] 실제 메서드 실행 완료: {}.{}", className, methodName);
+            if (infoEnabled) {
+                log.info("[비즈니스 로직] 실제 메서드 실행 완료: {}", definition.getName());
+            }
+            
+            // 비동기 반환 - future가 완료될 때 커밋/롤백
+            if (asyncCompletion && result instanceof CompletionStage) {
+                return completeOnFuture(definition, status, (CompletionStage<?>) result);
+            }
             
             // 정상 완료 시 커밋
             transactionManager.commit(status);
-            log.info("[트랜잭션 인터셉터] 트랜잭션 커밋 완료");
+            if (infoEnabled) {
+                log.info("[트랜잭션 인터셉터] 트랜잭션 커밋 완료");
+            }
             
             return result;
             
         } catch (Throwable throwable) {
             
             // 예외 발생 시 롤백 여부 결정
-            if (transactionActive && status != null) {
-                if (definition.shouldRollbackFor(throwable)) {
+            if (transactionActive && status != null && !status.isCompleted()) {
+                if (definition.shouldRollbackFor(throwable) || retryPolicy.isRetryable(throwable)) {
                     log.error("[예외 처리] 롤백 대상 예외 발생: {}", throwable.getClass().getSimpleName());
                     log.error("[예외 메시지] {}", throwable.getMessage());
                     transactionManager.rollback(status);
@@ -91,72 +246,69 @@ public class CustomTransactionalInterceptor {
             throw throwable;
             
         } finally {
-            log.info("[트랜잭션 인터셉터] 메서드 가로채기 종료: {}.{}", className, methodName);
-            log.info("=".repeat(80) + "\n");
+            if (infoEnabled) {
+                log.info("[트랜잭션 인터셉터] 메서드 가로채기 종료: {}", definition.getName());
+                log.info(LOG_SEPARATOR_END);
+            }
         }
     }
     
     /**
-     * @CustomTransactional 클래스 레벨 어노테이션 처리
-     * - 클래스에 붙은 어노테이션은 모든 public 메서드에 적용
+     * 비동기 반환 메서드의 트랜잭션 완료 예약
+     * - 호출 스레드에서는 트랜잭션을 분리하고 바로 반환 (호출 스레드를 붙잡지 않음)
+     * - 원래 future가 완료된 스레드에 트랜잭션을 다시 바인딩해서 커밋/롤백
+     * - 반환하는 future는 커밋/롤백까지 끝난 뒤 완료 (커밋 실패 시 예외로 완료)
+     * - 새 트랜잭션의 EntityManager도 호출 스레드에서 분리하고, 완료 스레드에서 커밋/롤백하는 동안만 바인딩
      */
-    @Around("@within(customTransactional) && execution(public * *(..))")
-    public Object interceptClass(ProceedingJoinPoint joinPoint, CustomTransactional customTransactional) 
-            throws Throwable {
-        
-        // 메서드 레벨 어노테이션이 있는지 확인
-        Method method = getMethod(joinPoint);
-        CustomTransactional methodAnnotation = method.getAnnotation(CustomTransactional.class);
-        
-        // 메서드 레벨 어노테이션이 우선순위가 높음
-        CustomTransactional effectiveAnnotation = methodAnnotation != null ? methodAnnotation : customTransactional;
+    private CompletableFuture<Object> completeOnFuture(CustomTransactionDefinition definition,
+                                                       CustomTransactionStatus status,
+                                                       CompletionStage<?> stage) {
+        CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+        EntityManagerBinding binding = status.isNewTransaction() ? transactionInfo.getEntityManagerBinding() : null;
+        CustomTransactionSynchronizationManager.unbindTransactionInfo();
+        if (binding != null) {
+            binding.unbind();
+        }
         
-        return intercept(joinPoint, effectiveAnnotation);
+        CompletableFuture<Object> completion = new CompletableFuture<>();
+        // 완료 스레드에서는 runWithTransactionInfo가 EntityManager도 함께 바인딩/해제
+        stage.whenComplete((value, error) -> CustomTransactionSynchronizationManager.runWithTransactionInfo(
+            transactionInfo, () -> finishAsyncTransaction(definition, status, value, error, completion)
+        ));
+        return completion;
     }
     
-    /**
-     * 어노테이션 정보로부터 트랜잭션 정의 객체 생성
-     * - 전파 정책, 격리 수준, 타임아웃 등 모든 설정 포함
-     */
-    private CustomTransactionDefinition createTransactionDefinition(CustomTransactional annotation) {
-        return new CustomTransactionDefinition(
-            annotation.propagation(),
-            annotation.isolation(),
-            annotation.readOnly(),
-            annotation.timeout(),
-            annotation.rollbackFor(),
-            annotation.noRollbackFor()
-        );
-    }
-    
-    /**
-     * ProceedingJoinPoint에서 실제 Method 객체 추출
-     * - 리플렉션을 통해 메서드 정보 획득
-     */
-    private Method getMethod(ProceedingJoinPoint joinPoint) {
+    private void finishAsyncTransaction(CustomTransactionDefinition definition, CustomTransactionStatus status,
+                                        Object value, Throwable error, CompletableFuture<Object> completion) {
         try {
-            String methodName = joinPoint.getSignature().getName();
-            Class<?>[] parameterTypes = ((org.aspectj.lang.reflect.MethodSignature) joinPoint.getSignature())
-                    .getParameterTypes();
-            
-            return joinPoint.getTarget().getClass().getMethod(methodName, parameterTypes);
+            if (error == null) {
+                transactionManager.commit(status);
+                log.info("[트랜잭션 인터셉터] 비동기 트랜잭션 커밋 완료: {}", definition.getName());
+                completion.complete(value);
+                return;
+            }
             
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException("메서드 정보 추출 실패", e);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!status.isCompleted()) {
+                if (definition.shouldRollbackFor(cause)) {
+                    log.error("[예외 처리] 비동기 작업 롤백 대상 예외 발생: {}", cause.getClass().getSimpleName());
+                    transactionManager.rollback(status);
+                } else {
+                    transactionManager.commit(status);
+                }
+            }
+            completion.completeExceptionally(cause);
+        } catch (Throwable completionFailure) {
+            log.error("[트랜잭션 인터셉터] 비동기 트랜잭션 완료 실패: {}", completionFailure.getMessage());
+            completion.completeExceptionally(completionFailure);
         }
     }
     
     /**
-     * 트랜잭션 설정 정보를 보기 좋게 포맷팅
-     * - 로깅용 헬퍼 메서드
+     * 메타데이터 캐시 조회용
+     * - 모니터링 및 테스트에서 사용
      */
-    private String formatTransactionConfig(CustomTransactional annotation) {
-        return String.format(
-            "propagation=%s, isolation=%s, readOnly=%s, timeout=%ds",
-            annotation.propagation(),
-            annotation.isolation(),
-            annotation.readOnly(),
-            annotation.timeout()
-        );
+    public CustomTransactionAttributeSource getAttributeSource() {
+        return attributeSource;
     }
 }
@@ -0,0 +1,50 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import java.util.Objects;
+
+/**
+ * 키 기반 커밋 후 작업
+ * - 같은 키로 여러 번 등록해도 한 트랜잭션에서 한 번만 실행 (먼저 등록된 작업 유지)
+ * - 예: "post:1" 캐시 무효화를 루프 안에서 여러 번 등록해도 커밋 후 한 번만 수행
+ */
+public final class AfterCommitTask implements CustomTransactionSynchronization {
+
+    private final Object key;
+
+    private final Runnable task;
+
+    public AfterCommitTask(Object key, Runnable task) {
+        this.key = Objects.requireNonNull(key, "key");
+        this.task = Objects.requireNonNull(task, "task");
+    }
+
+    @Override
+    public void afterCommit() {
+        task.run();
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AfterCommitTask)) {
+            return false;
+        }
+        return key.equals(((AfterCommitTask) other).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AfterCommitTask{key=" + key + "}";
+    }
+}
@@ -0,0 +1,190 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 자동 배치 버퍼
+ * - 같은 SQL의 단건 INSERT executeUpdate를 모아 JDBC 배치 한 번으로 실행
+ * - 단건 INSERT ... VALUES만 대상 (성공하면 갱신 건수가 항상 1이므로 호출 시점에 정확한 값을 돌려줄 수 있음)
+ * - UPDATE/DELETE는 실행 전에 갱신 건수를 알 수 없으므로 버퍼에 넣지 않고 바로 실행
+ * - 커넥션 프록시의 잠금 안에서만 사용
+ */
+@Slf4j
+public class AutoBatchBuffer {
+
+    /**
+     * 단건 INSERT ... VALUES (...) 형태
+     * - VALUES 튜플 하나, 뒤에 ON CONFLICT/RETURNING 등이 없는 경우만 허용
+     */
+    private static final Pattern SINGLE_ROW_INSERT = Pattern.compile(
+        "^\\s*INSERT\\s+INTO\\s+[\\w.\"`\\[\\]]+\\s*(\\([^()]*\\))?\\s*VALUES\\s*\\(([^()]|\\([^()]*\\))*\\)\\s*;?\\s*$",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private final int batchSize;
+
+    /**
+     * 버퍼에 쌓인 SQL (비어 있으면 null)
+     */
+    private String bufferedSql;
+
+    /**
+     * 버퍼에 쌓인 실행별 파라미터
+     */
+    private final List<List<ParameterCall>> pending = new ArrayList<>();
+
+    private long batchedStatements;
+
+    private long flushes;
+
+    public AutoBatchBuffer(int batchSize) {
+        if (batchSize < 2) {
+            throw new IllegalArgumentException("자동 배치 크기는 2 이상이어야 함: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 버퍼에 넣을 수 있는 SQL인지 판단
+     */
+    public static boolean isBatchable(String sql) {
+        return sql != null && SINGLE_ROW_INSERT.matcher(sql).matches();
+    }
+
+    /**
+     * 실행 한 건 추가
+     * - 다른 SQL이 쌓여 있으면 먼저 실행
+     * - 배치 크기에 도달하면 바로 실행
+     */
+    public void add(Connection target, String sql, List<ParameterCall> parameters,
+                    StatementCustomizer customizer) throws SQLException {
+        if (bufferedSql != null && !bufferedSql.equals(sql)) {
+            flush(target, customizer);
+        }
+        bufferedSql = sql;
+        pending.add(parameters);
+        if (pending.size() >= batchSize) {
+            flush(target, customizer);
+        }
+    }
+
+    /**
+     * 쌓인 실행을 JDBC 배치로 실행
+     * - 준비된 Statement 하나에 파라미터를 다시 적용해 addBatch 후 executeBatch
+     * - 성공/실패와 관계없이 버퍼는 비움 (실패하면 트랜잭션은 롤백 대상)
+     */
+    public void flush(Connection target, StatementCustomizer customizer) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        String sql = bufferedSql;
+        int size = pending.size();
+        try (PreparedStatement carrier = target.prepareStatement(sql)) {
+            customizer.customize(carrier);
+            for (List<ParameterCall> parameters : pending) {
+                for (ParameterCall parameter : parameters) {
+                    parameter.applyTo(carrier);
+                }
+                carrier.addBatch();
+            }
+            verifyUpdateCounts(carrier.executeBatch(), sql);
+            batchedStatements += size;
+            flushes++;
+            log.debug("[자동 배치] {}건 실행: {}", size, sql);
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * 쌓인 실행 버림 (롤백/반환 시)
+     */
+    public void discard() {
+        pending.clear();
+        bufferedSql = null;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * 배치로 실행된 문장 수
+     */
+    public long getBatchedStatements() {
+        return batchedStatements;
+    }
+
+    /**
+     * 배치 실행 횟수 (DB 왕복 수)
+     */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * 호출자에게 1을 돌려줬으므로 실제 갱신 건수도 1이어야 함
+     * - 드라이버가 건수를 알려주지 않는 경우(SUCCESS_NO_INFO)는 허용
+     */
+    private static void verifyUpdateCounts(int[] updateCounts, String sql) throws SQLException {
+        for (int updateCount : updateCounts) {
+            if (updateCount != 1 && updateCount != Statement.SUCCESS_NO_INFO) {
+                throw new BatchUpdateException(
+                    "자동 배치 갱신 건수 불일치 (기대값 1): " + Arrays.toString(updateCounts) + " - " + sql,
+                    updateCounts
+                );
+            }
+        }
+    }
+
+    /**
+     * PreparedStatement 파라미터 설정 호출 (setInt, setString 등)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ParameterCall {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        public int getParameterIndex() {
+            return (Integer) args[0];
+        }
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new SQLException("자동 배치 파라미터 적용 실패: " + method.getName(), e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("자동 배치 파라미터 적용 실패: " + method.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 배치 실행용 Statement 설정 (쿼리 타임아웃 등)
+     */
+    @FunctionalInterface
+    public interface StatementCustomizer {
+        void customize(Statement statement) throws SQLException;
+    }
+}
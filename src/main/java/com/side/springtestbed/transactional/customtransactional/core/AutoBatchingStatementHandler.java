@@ -0,0 +1,122 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 자동 배치 모드의 Statement 프록시 핸들러
+ * - 버퍼 대상 SQL(단건 INSERT)의 executeUpdate는 실행하지 않고 파라미터만 버퍼에 넘긴 뒤 1을 반환
+ * - 그 밖의 실행(조회, 다른 SQL, 사용자 배치 등)은 버퍼를 먼저 비운 뒤 그대로 실행
+ * - 파라미터 설정은 실제 Statement에도 그대로 전달 (버퍼를 거치지 않는 실행에 대비)
+ */
+public class AutoBatchingStatementHandler implements InvocationHandler {
+
+    private final CustomTransactionConnectionHandler connectionHandler;
+
+    private final Statement target;
+
+    /**
+     * 버퍼 대상 SQL (대상이 아니면 null)
+     */
+    private final String batchableSql;
+
+    /**
+     * 현재 설정된 파라미터 (인덱스 순)
+     */
+    private final Map<Integer, AutoBatchBuffer.ParameterCall> parameters = new TreeMap<>();
+
+    /**
+     * 스트림 파라미터는 나중에 다시 읽을 수 없으므로 버퍼에 넣지 않음
+     */
+    private boolean streamParameter;
+
+    AutoBatchingStatementHandler(CustomTransactionConnectionHandler connectionHandler, Statement target, String sql) {
+        this.connectionHandler = connectionHandler;
+        this.target = target;
+        this.batchableSql = target instanceof PreparedStatement && AutoBatchBuffer.isBatchable(sql) ? sql : null;
+    }
+
+    /**
+     * 프록시 Statement 생성
+     * - 요청한 Statement 타입(Statement/PreparedStatement/CallableStatement)을 그대로 구현
+     */
+    Statement newProxy(Class<?> statementType) {
+        return (Statement) Proxy.newProxyInstance(
+            statementType.getClassLoader(),
+            new Class<?>[]{statementType},
+            this
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        switch (methodName) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "AutoBatchingStatement[" + target + "]";
+            case "getConnection":
+                return connectionHandler.getProxy();
+            default:
+                break;
+        }
+
+        if (batchableSql != null) {
+            if (isParameterSetter(method)) {
+                recordParameter(method, args);
+            } else if ("clearParameters".equals(methodName)) {
+                parameters.clear();
+                streamParameter = false;
+            } else if (isBufferedUpdate(methodName, args) && !streamParameter) {
+                connectionHandler.bufferUpdate(batchableSql, new ArrayList<>(parameters.values()));
+                return "executeLargeUpdate".equals(methodName) ? (Object) 1L : (Object) 1;
+            }
+        }
+
+        if (methodName.startsWith("execute") || "getGeneratedKeys".equals(methodName)) {
+            connectionHandler.flushAutoBatch();
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void recordParameter(Method method, Object[] args) {
+        parameters.put((Integer) args[0], new AutoBatchBuffer.ParameterCall(method, args.clone()));
+        for (Object arg : args) {
+            if (arg instanceof InputStream || arg instanceof Reader) {
+                streamParameter = true;
+            }
+        }
+    }
+
+    /**
+     * PreparedStatement의 인덱스 기반 파라미터 설정 메서드 (setInt(1, ...) 등)
+     */
+    private static boolean isParameterSetter(Method method) {
+        return method.getName().startsWith("set")
+            && method.getDeclaringClass() == PreparedStatement.class
+            && method.getParameterCount() >= 2
+            && method.getParameterTypes()[0] == int.class;
+    }
+
+    private static boolean isBufferedUpdate(String methodName, Object[] args) {
+        return ("executeUpdate".equals(methodName) || "executeLargeUpdate".equals(methodName))
+            && (args == null || args.length == 0);
+    }
+}
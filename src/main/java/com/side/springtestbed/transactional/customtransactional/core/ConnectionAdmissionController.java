@@ -0,0 +1,253 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import com.side.springtestbed.common.exception.TransactionAdmissionException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 커넥션 획득 승인 제어 (REQUIRES_NEW 자기 교착 방지)
+ * - REQUIRES_NEW는 외부 커넥션을 쥔 채로 두 번째 커넥션을 요청
+ * - 풀의 모든 커넥션을 외부 트랜잭션이 쥐고 내부 트랜잭션을 기다리면 풀 타임아웃까지 교착
+ *
+ * 모드
+ * - RESERVE_HEADROOM: 커넥션을 하나도 쥐지 않은 스레드(외부 트랜잭션)는 풀 크기 - 여유분까지만 승인
+ *   여유분은 이미 커넥션을 쥔 스레드의 내부 트랜잭션 전용으로 남겨둠
+ * - FAIL_FAST: 이미 커넥션을 쥔 스레드가 포화된 풀에 추가 커넥션을 요청하면 기다리지 않고 즉시 실패
+ *
+ * 공통
+ * - 컨트롤러는 만들 때 지정한 DataSource(풀) 하나만 담당하고, 커넥션 수도 그 풀 기준으로 셈
+ * - 스레드가 이미 maxConnectionsPerThread개를 쥐고 있으면 즉시 실패
+ *   (여유분 모드의 기본값 2는 한 단계 중첩, 더 깊은 중첩은 여유분도 maxConnectionsPerThread - 1 이상으로 잡아야 교착 없음)
+ */
+@Slf4j
+public class ConnectionAdmissionController {
+
+    public enum Mode {
+        RESERVE_HEADROOM,
+        FAIL_FAST
+    }
+
+    /**
+     * 여유분 모드의 스레드당 최대 커넥션 수 기본값 (외부 1개 + REQUIRES_NEW 1개)
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_THREAD = 2;
+
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 30_000;
+
+    private final Mode mode;
+
+    /**
+     * 승인 제어 대상 DataSource (매니저가 라우팅 결과와 비교)
+     */
+    private final DataSource dataSource;
+
+    private final int maxPoolSize;
+
+    private final int reservedHeadroom;
+
+    private final int maxConnectionsPerThread;
+
+    private final long acquireTimeoutMillis;
+
+    /**
+     * 외부 트랜잭션 승인 (RESERVE_HEADROOM 모드)
+     */
+    private final Semaphore outerPermits;
+
+    /**
+     * 이 컨트롤러를 거쳐 나간 커넥션 수 (Hikari 풀 정보가 없을 때 포화 판단용)
+     */
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    /**
+     * Hikari 풀이면 실제 풀 상태로 포화 여부 판단
+     */
+    private final HikariDataSource hikariDataSource;
+
+    private ConnectionAdmissionController(Mode mode, DataSource dataSource, int maxPoolSize,
+                                          int reservedHeadroom, int maxConnectionsPerThread) {
+        if (reservedHeadroom < 0 || reservedHeadroom >= maxPoolSize) {
+            throw new IllegalArgumentException(
+                "여유분은 0 이상, 풀 크기(" + maxPoolSize + ") 미만이어야 함: " + reservedHeadroom
+            );
+        }
+        if (maxConnectionsPerThread < 1) {
+            throw new IllegalArgumentException("스레드당 최대 커넥션 수는 1 이상이어야 함: " + maxConnectionsPerThread);
+        }
+        this.mode = mode;
+        this.dataSource = dataSource;
+        this.hikariDataSource = unwrapHikari(dataSource);
+        this.maxPoolSize = maxPoolSize;
+        this.reservedHeadroom = reservedHeadroom;
+        this.maxConnectionsPerThread = maxConnectionsPerThread;
+        this.acquireTimeoutMillis = hikariDataSource != null
+            ? hikariDataSource.getConnectionTimeout()
+            : DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+        this.outerPermits = new Semaphore(maxPoolSize - reservedHeadroom, true);
+    }
+
+    /**
+     * 여유분 예약 모드 (Hikari 풀이면 풀 크기 자동 조회)
+     */
+    public static ConnectionAdmissionController reserveHeadroom(DataSource dataSource, int reservedHeadroom) {
+        return reserveHeadroom(dataSource, resolveMaxPoolSize(dataSource), reservedHeadroom);
+    }
+
+    public static ConnectionAdmissionController reserveHeadroom(DataSource dataSource, int maxPoolSize,
+                                                                int reservedHeadroom) {
+        return reserveHeadroom(dataSource, maxPoolSize, reservedHeadroom, DEFAULT_MAX_CONNECTIONS_PER_THREAD);
+    }
+
+    /**
+     * 여유분 예약 모드 (스레드당 최대 커넥션 수 지정)
+     * - REQUIRES_NEW를 여러 단계 중첩하는 경우 maxConnectionsPerThread를 중첩 깊이 + 1로 설정
+     */
+    public static ConnectionAdmissionController reserveHeadroom(DataSource dataSource, int maxPoolSize,
+                                                                int reservedHeadroom, int maxConnectionsPerThread) {
+        return new ConnectionAdmissionController(
+            Mode.RESERVE_HEADROOM, dataSource, maxPoolSize, reservedHeadroom, maxConnectionsPerThread
+        );
+    }
+
+    /**
+     * 즉시 실패 모드 (Hikari 풀이면 풀 크기 자동 조회)
+     */
+    public static ConnectionAdmissionController failFast(DataSource dataSource) {
+        return failFast(dataSource, resolveMaxPoolSize(dataSource));
+    }
+
+    public static ConnectionAdmissionController failFast(DataSource dataSource, int maxPoolSize) {
+        return new ConnectionAdmissionController(Mode.FAIL_FAST, dataSource, maxPoolSize, 0, maxPoolSize);
+    }
+
+    /**
+     * 커넥션 획득 승인
+     * - heldConnections: 현재 스레드가 (중단된 트랜잭션 포함) 이 DataSource에서 이미 쥐고 있는 커넥션 수
+     * - 승인 실패 시 TransactionAdmissionException
+     */
+    public AdmissionPermit admit(int heldConnections, String transactionName) {
+        if (heldConnections >= maxConnectionsPerThread) {
+            throw new TransactionAdmissionException(String.format(
+                "[%s] 스레드가 이미 커넥션 %d개를 쥐고 있어 추가 획득 거부 (스레드당 최대 %d개)",
+                transactionName, heldConnections, maxConnectionsPerThread
+            ));
+        }
+
+        boolean outer = heldConnections == 0;
+        if (outer && mode == Mode.RESERVE_HEADROOM) {
+            acquireOuterPermit(transactionName);
+        } else if (!outer && mode == Mode.FAIL_FAST && isPoolSaturated()) {
+            throw new TransactionAdmissionException(String.format(
+                "[%s] REQUIRES_NEW 자기 교착 위험: 스레드가 커넥션 %d개를 쥔 채 포화된 풀(최대 %d개)에 추가 요청",
+                transactionName, heldConnections, maxPoolSize
+            ));
+        }
+
+        inUse.incrementAndGet();
+        return new AdmissionPermit(outer && mode == Mode.RESERVE_HEADROOM);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getMaxConnectionsPerThread() {
+        return maxConnectionsPerThread;
+    }
+
+    public int getReservedHeadroom() {
+        return reservedHeadroom;
+    }
+
+    public int getAvailableOuterPermits() {
+        return outerPermits.availablePermits();
+    }
+
+    private void acquireOuterPermit(String transactionName) {
+        try {
+            if (!outerPermits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new TransactionAdmissionException(String.format(
+                    "[%s] %dms 안에 커넥션 획득 승인을 받지 못함 (외부 트랜잭션 한도 %d개, 여유분 %d개)",
+                    transactionName, acquireTimeoutMillis, maxPoolSize - reservedHeadroom, reservedHeadroom
+                ));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionAdmissionException("[" + transactionName + "] 커넥션 획득 승인 대기 중 인터럽트", e);
+        }
+    }
+
+    /**
+     * 풀 포화 여부
+     * - Hikari: 유휴 커넥션이 없고 더 늘릴 수도 없는 상태
+     * - 그 외: 이 컨트롤러가 내보낸 커넥션 수 기준
+     */
+    private boolean isPoolSaturated() {
+        if (hikariDataSource != null) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                return pool.getIdleConnections() == 0 && pool.getTotalConnections() >= maxPoolSize;
+            }
+        }
+        return inUse.get() >= maxPoolSize;
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            if (dataSource instanceof HikariDataSource) {
+                return (HikariDataSource) dataSource;
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("[승인 제어] Hikari 풀 조회 실패: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static int resolveMaxPoolSize(DataSource dataSource) {
+        HikariDataSource hikari = unwrapHikari(dataSource);
+        if (hikari == null) {
+            throw new IllegalArgumentException("Hikari 풀이 아니면 풀 크기를 직접 지정해야 함");
+        }
+        return hikari.getMaximumPoolSize();
+    }
+
+    /**
+     * 승인 표식
+     * - 커넥션 반환 시 한 번만 해제 (트랜잭션 스레드와 워치독 중 먼저 반환한 쪽)
+     */
+    public class AdmissionPermit {
+
+        private final boolean outerPermit;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private AdmissionPermit(boolean outerPermit) {
+            this.outerPermit = outerPermit;
+        }
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inUse.decrementAndGet();
+            if (outerPermit) {
+                outerPermits.release();
+            }
+        }
+    }
+}
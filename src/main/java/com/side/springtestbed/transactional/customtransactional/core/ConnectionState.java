@@ -0,0 +1,100 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 커넥션 설정 상태
+ * - 물리 커넥션의 AutoCommit, 격리 수준, 읽기 전용 값을 기억
+ * - 처음 관찰한 값(풀 기본값)과 현재 값을 함께 보관
+ * - 값이 실제로 바뀌어야 할 때만 JDBC 호출 (드라이버에 따라 호출 하나가 네트워크 왕복)
+ */
+@Getter
+public class ConnectionState {
+
+    /**
+     * 풀 기본값
+     * - 트랜잭션 종료 시 이 값으로 복원
+     */
+    private final boolean defaultAutoCommit;
+    private final int defaultIsolation;
+    private final boolean defaultReadOnly;
+
+    /**
+     * 현재 커넥션에 적용된 값
+     */
+    private boolean autoCommit;
+    private int isolation;
+    private boolean readOnly;
+
+    private ConnectionState(boolean autoCommit, int isolation, boolean readOnly) {
+        this.defaultAutoCommit = autoCommit;
+        this.defaultIsolation = isolation;
+        this.defaultReadOnly = readOnly;
+        this.autoCommit = autoCommit;
+        this.isolation = isolation;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * 커넥션에서 현재 상태를 읽어 생성
+     * - 커넥션당 최초 1회만 호출되도록 ConnectionStateTracker가 캐시
+     */
+    public static ConnectionState read(Connection connection) throws SQLException {
+        return new ConnectionState(
+            connection.getAutoCommit(),
+            connection.getTransactionIsolation(),
+            connection.isReadOnly()
+        );
+    }
+
+    /**
+     * AutoCommit 변경 (값이 다를 때만 호출)
+     */
+    public void applyAutoCommit(Connection connection, boolean autoCommit) throws SQLException {
+        if (this.autoCommit != autoCommit) {
+            connection.setAutoCommit(autoCommit);
+            this.autoCommit = autoCommit;
+        }
+    }
+
+    /**
+     * 격리 수준 변경 (값이 다를 때만 호출)
+     */
+    public void applyIsolation(Connection connection, int isolation) throws SQLException {
+        if (this.isolation != isolation) {
+            connection.setTransactionIsolation(isolation);
+            this.isolation = isolation;
+        }
+    }
+
+    /**
+     * 읽기 전용 변경 (값이 다를 때만 호출)
+     */
+    public void applyReadOnly(Connection connection, boolean readOnly) throws SQLException {
+        if (this.readOnly != readOnly) {
+            connection.setReadOnly(readOnly);
+            this.readOnly = readOnly;
+        }
+    }
+
+    /**
+     * 풀 기본값으로 복원
+     * - 격리 수준/읽기 전용을 먼저 되돌리고 AutoCommit은 마지막에 복원
+     */
+    public void restoreDefaults(Connection connection) throws SQLException {
+        applyIsolation(connection, defaultIsolation);
+        applyReadOnly(connection, defaultReadOnly);
+        applyAutoCommit(connection, defaultAutoCommit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "ConnectionState{autoCommit=%s, isolation=%d, readOnly=%s}",
+            autoCommit, isolation, readOnly
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 풀링된 커넥션별 상태 추적기
+ * - 풀 프록시(Hikari, datasource-proxy 등)를 벗겨낸 물리 커넥션을 키로 상태를 캐시
+ * - 물리 커넥션이 풀에서 제거되면 WeakHashMap에서 자동으로 정리
+ * - 커넥션을 바꾼 쪽이 반납 전에 원래대로 돌려놓는다는 전제 (풀 리셋과 동일한 전제)
+ */
+@Slf4j
+public class ConnectionStateTracker {
+
+    /**
+     * 프록시 체인을 벗길 최대 단계
+     */
+    private static final int MAX_UNWRAP_DEPTH = 8;
+
+    private final Map<Connection, ConnectionState> states = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 커넥션의 추적 상태 조회
+     * - 처음 보는 물리 커넥션이면 현재 값을 한 번 읽어서 등록
+     */
+    public ConnectionState stateOf(Connection connection) throws SQLException {
+        Connection physicalConnection = unwrapPhysicalConnection(connection);
+
+        ConnectionState state = states.get(physicalConnection);
+        if (state == null) {
+            state = ConnectionState.read(connection);
+            states.put(physicalConnection, state);
+            log.debug("[커넥션 상태 추적] 신규 물리 커넥션 등록: {}", state);
+        }
+        return state;
+    }
+
+    /**
+     * 추적 중인 물리 커넥션 수
+     */
+    public int getTrackedConnectionCount() {
+        return states.size();
+    }
+
+    /**
+     * 프록시 체인을 따라가며 물리 커넥션 추출
+     * - 더 이상 벗겨지지 않는 지점을 물리 커넥션으로 간주
+     */
+    private Connection unwrapPhysicalConnection(Connection connection) throws SQLException {
+        Connection current = connection;
+        for (int depth = 0; depth < MAX_UNWRAP_DEPTH; depth++) {
+            if (!current.isWrapperFor(Connection.class)) {
+                break;
+            }
+            Connection unwrapped = current.unwrap(Connection.class);
+            if (unwrapped == null || unwrapped == current) {
+                break;
+            }
+            current = unwrapped;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,414 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 트랜잭션 커넥션 프록시 핸들러
+ * - 트랜잭션이 사용하는 Connection을 감싸는 동적 프록시
+ * - Statement 생성 시 남은 트랜잭션 시간만큼 쿼리 타임아웃 설정
+ * - 워치독이 커넥션을 강제로 반환한 뒤에는 모든 호출을 거부
+ *   (반환 전에 실행 중인 Statement를 취소해서 롤백이 쿼리 뒤에서 기다리지 않게 함)
+ * - 지연 획득 모드에서는 첫 사용 시점에 물리 커넥션을 획득
+ *   (획득 전 commit/rollback/close는 할 일이 없으므로 물리 커넥션 없이 처리)
+ * - 자동 배치 모드에서는 연속된 단건 INSERT를 모아 JDBC 배치로 실행
+ *   (다른 실행, Savepoint, 커밋 전에 버퍼를 비우고 롤백/반환 시 버림)
+ */
+@Slf4j
+public class CustomTransactionConnectionHandler implements InvocationHandler {
+
+    /**
+     * 워치독이 커넥션 사용 중인 스레드를 기다리는 최대 시간
+     */
+    private static final long RELEASE_LOCK_WAIT_MILLIS = 100;
+
+    /**
+     * 보관 중인 Statement가 이 수를 넘으면 닫힌 Statement 정리
+     */
+    private static final int STATEMENT_PRUNE_THRESHOLD = 64;
+
+    /**
+     * 물리 커넥션 (지연 획득 모드에서는 첫 사용 전까지 null)
+     */
+    private volatile Connection target;
+
+    /**
+     * 지연 획득 시 물리 커넥션을 가져오는 함수
+     */
+    private ConnectionAcquirer connectionAcquirer;
+
+    /**
+     * 트랜잭션 마감 시각 (System.nanoTime 기준, 0이면 타임아웃 없음)
+     */
+    private final long deadlineNanos;
+
+    /**
+     * 트랜잭션 스레드와 워치독 사이의 커넥션 사용 직렬화
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 커넥션 반환 여부
+     * - 정상 close 또는 워치독의 강제 반환
+     */
+    private volatile boolean released = false;
+
+    /**
+     * 이 커넥션에서 만든 Statement (마감 시각이 있을 때만, 워치독이 실행 중인 쿼리 취소에 사용)
+     */
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 자동 배치 버퍼 (비활성화 시 null)
+     */
+    private AutoBatchBuffer autoBatchBuffer;
+
+    private Connection proxy;
+
+    public CustomTransactionConnectionHandler(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 즉시 획득한 물리 커넥션 연결
+     */
+    public void bindTarget(Connection target) {
+        this.target = target;
+    }
+
+    /**
+     * 지연 획득 함수 설정
+     * - 첫 Statement 생성 등 실제 커넥션이 필요한 호출에서 한 번만 실행
+     */
+    public void setConnectionAcquirer(ConnectionAcquirer connectionAcquirer) {
+        this.connectionAcquirer = connectionAcquirer;
+    }
+
+    /**
+     * 자동 배치 활성화
+     * - 트랜잭션 시작 시 한 번 설정
+     */
+    public void enableAutoBatching(int batchSize) {
+        this.autoBatchBuffer = new AutoBatchBuffer(batchSize);
+    }
+
+    public AutoBatchBuffer getAutoBatchBuffer() {
+        return autoBatchBuffer;
+    }
+
+    /**
+     * 프록시 Connection 생성
+     */
+    public Connection newProxy() {
+        proxy = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            this
+        );
+        return proxy;
+    }
+
+    public Connection getProxy() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "CustomTransactionConnection[" + (target != null ? target : "미획득") + "]";
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            case "isClosed":
+                if (released || target == null) {
+                    return released;
+                }
+                break;
+            case "close":
+                if (released) {
+                    return null;
+                }
+                break;
+            case "getAutoCommit":
+                // 트랜잭션 커넥션은 항상 autoCommit=false (EntityManager 세션 생성 등으로 지연 획득이 풀리지 않게)
+                if (target == null && !released) {
+                    return false;
+                }
+                break;
+            case "commit":
+            case "rollback":
+                // 물리 커넥션을 쓴 적 없으면 커밋/롤백할 내용도 없음
+                if (target == null && (args == null || args.length == 0)) {
+                    return null;
+                }
+                break;
+            default:
+                break;
+        }
+
+        lock.lock();
+        try {
+            if (released) {
+                throw new SQLTimeoutException("트랜잭션 타임아웃으로 커넥션이 이미 반환됨");
+            }
+
+            if (target == null && "close".equals(method.getName())) {
+                released = true;
+                return null;
+            }
+
+            boolean statementCreation = isStatementCreation(method.getName());
+            if (statementCreation) {
+                checkDeadline();
+            } else if (autoBatchBuffer != null) {
+                prepareAutoBatch(method.getName());
+            }
+
+            Object result = method.invoke(obtainTarget(), args);
+
+            if (statementCreation) {
+                applyQueryTimeout((Statement) result);
+                if (autoBatchBuffer != null && result != null) {
+                    // 버퍼 대상은 prepareStatement(String)로 만든 Statement만
+                    // (생성 키/커서 옵션이 붙은 Statement는 실제 Statement에서 실행해야 getGeneratedKeys 등이 동작)
+                    // 나머지도 프록시로 감싸서 실행 전에 버퍼를 먼저 비움
+                    String sql = "prepareStatement".equals(method.getName()) && args != null && args.length == 1
+                        ? (String) args[0]
+                        : null;
+                    return new AutoBatchingStatementHandler(this, (Statement) result, sql)
+                        .newProxy(method.getReturnType());
+                }
+            } else if ("close".equals(method.getName())) {
+                released = true;
+                statements.clear();
+            }
+            return result;
+
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 워치독에 의한 강제 반환
+     * - 커넥션을 사용 중인 스레드를 잠깐 기다린 뒤 롤백 작업 실행 후 반환
+     * - 대기 시간 안에 잠금을 얻지 못하면 이번 스캔에서는 포기하고 다음 스캔에서 재시도
+     */
+    public boolean forceRelease(ConnectionReleaseAction releaseAction) {
+        try {
+            if (!lock.tryLock(RELEASE_LOCK_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            if (released) {
+                return true;
+            }
+            released = true;
+            if (autoBatchBuffer != null) {
+                autoBatchBuffer.discard();
+            }
+            statements.clear();
+            if (target != null) {
+                releaseAction.release(target);
+            }
+            return true;
+        } catch (SQLException e) {
+            log.error("[워치독] 커넥션 강제 반환 실패: {}", e.getMessage());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실행 중인 Statement 취소 (워치독에서 호출, 잠금 없이 실행)
+     * - 쿼리가 실행 중인 커넥션의 롤백은 대부분의 드라이버에서 쿼리가 끝날 때까지 막히므로 먼저 취소
+     * - 실행 중이 아니거나 이미 닫힌 Statement의 취소 실패는 무시
+     */
+    public void cancelStatements() {
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                log.debug("[워치독] Statement 취소 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    public Connection getTarget() {
+        return target;
+    }
+
+    /**
+     * 물리 커넥션 획득 여부
+     */
+    public boolean isAcquired() {
+        return target != null;
+    }
+
+    /**
+     * 남은 트랜잭션 시간 (나노초)
+     */
+    public long getRemainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * 자동 배치 버퍼에 실행 한 건 추가 (Statement 프록시에서 호출)
+     */
+    void bufferUpdate(String sql, List<AutoBatchBuffer.ParameterCall> parameters) throws SQLException {
+        lock.lock();
+        try {
+            if (released) {
+                throw new SQLTimeoutException("트랜잭션 타임아웃으로 커넥션이 이미 반환됨");
+            }
+            checkDeadline();
+            autoBatchBuffer.add(obtainTarget(), sql, parameters, this::applyQueryTimeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 자동 배치 버퍼 비우기 (버퍼를 거치지 않는 실행 전에 호출)
+     */
+    void flushAutoBatch() throws SQLException {
+        if (autoBatchBuffer == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!released && !autoBatchBuffer.isEmpty()) {
+                autoBatchBuffer.flush(obtainTarget(), this::applyQueryTimeout);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Connection 호출 전 버퍼 처리 (잠금 안에서 호출)
+     * - 롤백/반환: 실행할 필요가 없으므로 버림
+     * - 그 밖의 호출(커밋, Savepoint 생성/해제 등): 먼저 실행
+     */
+    private void prepareAutoBatch(String methodName) throws SQLException {
+        if (autoBatchBuffer.isEmpty()) {
+            return;
+        }
+        if ("rollback".equals(methodName) || "close".equals(methodName)) {
+            autoBatchBuffer.discard();
+        } else {
+            autoBatchBuffer.flush(obtainTarget(), this::applyQueryTimeout);
+        }
+    }
+
+    /**
+     * 물리 커넥션 조회, 없으면 지연 획득 (잠금 안에서 호출)
+     */
+    private Connection obtainTarget() throws SQLException {
+        Connection connection = target;
+        if (connection == null) {
+            if (connectionAcquirer == null) {
+                throw new SQLException("물리 커넥션이 연결되지 않음");
+            }
+            connection = connectionAcquirer.acquire();
+            target = connection;
+            log.info("[지연 커넥션] 첫 사용 시점에 물리 커넥션 획득: {}", connection.hashCode());
+        }
+        return connection;
+    }
+
+    private void checkDeadline() throws SQLTimeoutException {
+        if (deadlineNanos != 0 && getRemainingNanos() <= 0) {
+            throw new SQLTimeoutException("트랜잭션 타임아웃 초과, Statement 생성 거부");
+        }
+    }
+
+    /**
+     * 남은 시간만큼 쿼리 타임아웃 설정
+     * - JDBC 쿼리 타임아웃은 초 단위이므로 올림 처리 (최소 1초)
+     * - 워치독이 취소할 수 있도록 Statement 보관
+     */
+    private void applyQueryTimeout(Statement statement) throws SQLException {
+        if (deadlineNanos == 0 || statement == null) {
+            return;
+        }
+        trackStatement(statement);
+        long remainingNanos = getRemainingNanos();
+        int remainingSeconds = (int) Math.max(1, (remainingNanos + 999_999_999L) / 1_000_000_000L);
+        statement.setQueryTimeout(remainingSeconds);
+    }
+
+    private void trackStatement(Statement statement) {
+        if (statements.size() >= STATEMENT_PRUNE_THRESHOLD) {
+            statements.removeIf(CustomTransactionConnectionHandler::isClosedQuietly);
+        }
+        statements.add(statement);
+    }
+
+    private static boolean isClosedQuietly(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static boolean isStatementCreation(String methodName) {
+        return "createStatement".equals(methodName)
+            || "prepareStatement".equals(methodName)
+            || "prepareCall".equals(methodName);
+    }
+
+    /**
+     * 지연 획득 시 물리 커넥션을 가져와 트랜잭션 설정까지 적용하는 함수
+     */
+    @FunctionalInterface
+    public interface ConnectionAcquirer {
+        Connection acquire() throws SQLException;
+    }
+
+    /**
+     * 강제 반환 시 실제 커넥션에 수행할 작업
+     */
+    @FunctionalInterface
+    public interface ConnectionReleaseAction {
+        void release(Connection target) throws SQLException;
+    }
+}
@@ -50,6 +50,37 @@ public class CustomTransactionDefinition {
      */
     private final Class<? extends Throwable>[] noRollbackFor;
     
+    /**
+     * 트랜잭션 이름
+     * - "클래스명.메서드명" 형태, 로깅 및 모니터링용
+     */
+    private final String name;
+    
+    /**
+     * 재시도 정책
+     * - 직렬화 실패/교착 상태 시 메서드를 새 트랜잭션으로 다시 실행
+     */
+    private final TransactionRetryPolicy retryPolicy;
+    
+    /**
+     * 벌크헤드 설정
+     * - 동시에 실행할 수 있는 트랜잭션 수 제한
+     */
+    private final TransactionBulkheadSpec bulkheadSpec;
+    
+    /**
+     * 자동 배치 크기
+     * - 0이면 비활성화, 2 이상이면 연속된 단건 INSERT를 이 크기까지 모아 JDBC 배치로 실행
+     */
+    private final int autoBatchSize;
+    
+    public CustomTransactionDefinition(Propagation propagation, Isolation isolation, boolean readOnly, int timeout,
+                                       Class<? extends Throwable>[] rollbackFor,
+                                       Class<? extends Throwable>[] noRollbackFor, String name) {
+        this(propagation, isolation, readOnly, timeout, rollbackFor, noRollbackFor, name,
+            TransactionRetryPolicy.NONE, TransactionBulkheadSpec.NONE, 0);
+    }
+    
     /**
      * 예외가 롤백 대상인지 판단
      * - rollbackFor와 noRollbackFor 설정을 기반으로 결정
@@ -77,8 +108,8 @@ public class CustomTransactionDefinition {
     @Override
     public String toString() {
         return String.format(
-            "CustomTransactionDefinition{propagation=%s, isolation=%s, readOnly=%s, timeout=%d}",
-            propagation, isolation, readOnly, timeout
+            "CustomTransactionDefinition{name=%s, propagation=%s, isolation=%s, readOnly=%s, timeout=%d}",
+            name, propagation, isolation, readOnly, timeout
         );
     }
 }
@@ -1,9 +1,20 @@
 package com.side.springtestbed.transactional.customtransactional.core;
 
+import com.side.springtestbed.transactional.customtransactional.jpa.EntityManagerBinding;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionMetrics;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionTimeline;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 트랜잭션 세부 정보
@@ -39,6 +50,42 @@ public class CustomTransactionInfo {
      */
     private final long startTime;
     
+    /**
+     * 트랜잭션 시작 시각 (System.nanoTime 기준)
+     * - 지표 기록용 (벽시계 변경에 영향 없음)
+     */
+    private final long startNanos;
+    
+    /**
+     * 물리 커넥션 획득 시각 (System.nanoTime 기준)
+     * - 새 트랜잭션에서 커넥션을 실제로 획득한 경우에만 설정
+     */
+    private long connectionAcquiredNanos;
+    
+    /**
+     * 이 트랜잭션 메서드의 지표
+     * - 새/중첩 트랜잭션 생성 시 설정
+     */
+    private TransactionMetrics metrics;
+    
+    /**
+     * 커넥션 점유 타임라인 (SQL 시간 / idle 시간)
+     * - idle in transaction 프로파일러 리스너가 첫 Statement 실행 시 생성, 없으면 null
+     */
+    private TransactionTimeline timeline;
+    
+    /**
+     * 트랜잭션 커넥션에 묶인 EntityManager
+     * - EntityManagerFactory가 설정된 경우 새 트랜잭션에서만 설정됨
+     */
+    private EntityManagerBinding entityManagerBinding;
+    
+    /**
+     * CustomTransactionListener가 연 범위 (SQL 실행 카운터, N+1 감지 등)
+     * - 새 트랜잭션에서만 설정되고, 트랜잭션 정리 시 역순으로 닫힘
+     */
+    private List<AutoCloseable> transactionScopes = List.of();
+    
     /**
      * 이전 트랜잭션 정보 (스택 구조)
      * - REQUIRES_NEW나 NESTED에서 기존 트랜잭션 정보를 백업
@@ -46,6 +93,25 @@ public class CustomTransactionInfo {
      */
     private CustomTransactionInfo previousTransactionInfo;
     
+    /**
+     * REQUIRES_NEW로 중단된 외부 트랜잭션 정보
+     * - 이 트랜잭션 완료 후 다시 활성화
+     * - 스레드가 쥐고 있는 커넥션 수 계산에도 사용
+     */
+    private CustomTransactionInfo suspendedTransactionInfo;
+    
+    /**
+     * 커넥션을 획득한 DataSource (primary, replica 또는 격리 수준 파티션)
+     * - 새 트랜잭션에서 커넥션을 실제로 획득한 경우에만 설정
+     */
+    private DataSource connectionDataSource;
+    
+    /**
+     * 커넥션 획득 승인 표식 (승인 제어 사용 시)
+     * - 커넥션 반환 시 해제
+     */
+    private ConnectionAdmissionController.AdmissionPermit admissionPermit;
+    
     /**
      * Savepoint 이름 (중첩 트랜잭션용)
      * - NESTED 전파 정책에서 사용
@@ -53,6 +119,54 @@ public class CustomTransactionInfo {
      */
     private String savepointName;
     
+    /**
+     * Savepoint 핸들 (중첩 트랜잭션용)
+     * - 롤백/해제 시 새로 만들지 않고 생성 시점의 핸들을 그대로 사용
+     */
+    private Savepoint savepoint;
+    
+    /**
+     * Savepoint 이름 발급 카운터
+     * - 물리 트랜잭션(새 트랜잭션)에서만 사용, 같은 커넥션 안에서 이름 충돌 방지
+     */
+    private int savepointCounter = 0;
+    
+    /**
+     * 커넥션 설정 상태
+     * - 트랜잭션 시작 시 적용한 설정과 복원할 기본값
+     * - 새 트랜잭션에서만 설정됨
+     */
+    private ConnectionState connectionState;
+    
+    /**
+     * 트랜잭션 마감 시각 (System.nanoTime 기준)
+     * - 0이면 타임아웃 없음
+     * - 중첩 트랜잭션은 외부 물리 트랜잭션의 마감 시각을 그대로 사용
+     */
+    private long deadlineNanos;
+    
+    /**
+     * 커넥션 프록시 핸들러
+     * - 새 트랜잭션에서만 설정됨
+     */
+    private CustomTransactionConnectionHandler connectionHandler;
+    
+    /**
+     * 워치독에 의한 타임아웃 처리 여부
+     * - true면 이미 롤백되고 커넥션이 반환된 상태
+     */
+    private volatile boolean abortedByWatchdog = false;
+    
+    /**
+     * 트랜잭션 동기화 콜백 목록
+     * - 새 트랜잭션(물리 트랜잭션)에만 보관, 첫 등록 시 생성
+     * - 등록 순서 유지, equals가 같은 콜백은 병합
+     * - 트랜잭션 컨텍스트를 넘겨받은 다른 스레드에서도 등록할 수 있으므로 이 객체의 모니터로 보호
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<CustomTransactionSynchronization> synchronizations;
+    
     /**
      * 롤백 전용 마킹
      * - 참여 트랜잭션에서 예외 발생 시 true로 설정
@@ -80,6 +194,7 @@ public class CustomTransactionInfo {
         this.definition = definition;
         this.newTransaction = newTransaction;
         this.startTime = startTime;
+        this.startNanos = System.nanoTime();
     }
     
     /**
@@ -87,20 +202,83 @@ public class CustomTransactionInfo {
      * - 성능 모니터링용
      */
     public long getExecutionTime() {
-        return System.currentTimeMillis() - startTime;
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
     
     /**
      * 타임아웃 체크
-     * - 설정된 타임아웃을 초과했는지 확인
+     * - 마감 시각을 지났거나 워치독이 이미 타임아웃 처리했는지 확인
      */
     public boolean isTimedOut() {
-        if (definition.getTimeout() <= 0) {
+        if (abortedByWatchdog) {
+            return true;
+        }
+        if (deadlineNanos == 0) {
             return false; // 타임아웃 설정 없음
         }
         
-        long executionTimeSeconds = getExecutionTime() / 1000;
-        return executionTimeSeconds > definition.getTimeout();
+        return System.nanoTime() - deadlineNanos > 0;
+    }
+    
+    /**
+     * 물리 트랜잭션 정보 조회
+     * - 참여/중첩 트랜잭션이면 스택을 따라 올라가 새 트랜잭션 정보를 반환
+     */
+    public CustomTransactionInfo getPhysicalTransactionInfo() {
+        CustomTransactionInfo info = this;
+        while (!info.isNewTransaction() && info.getPreviousTransactionInfo() != null) {
+            info = info.getPreviousTransactionInfo();
+        }
+        return info;
+    }
+    
+    /**
+     * 리스너가 연 범위 중 주어진 타입의 첫 범위 조회 (없으면 null)
+     * - 예: getTransactionScope(StatementCountScope.class)로 트랜잭션의 SQL 실행 카운터 조회
+     */
+    public <T> T getTransactionScope(Class<T> scopeType) {
+        for (AutoCloseable scope : transactionScopes) {
+            if (scopeType.isInstance(scope)) {
+                return scopeType.cast(scope);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 커밋/롤백 시작 시각 기록 (타임라인이 있을 때만)
+     */
+    public void markCompletionStarted() {
+        if (timeline != null) {
+            timeline.markCompletion();
+        }
+    }
+    
+    /**
+     * 다음 Savepoint 이름 발급
+     * - 물리 트랜잭션 단위로 1부터 증가 (SAVEPOINT_1, SAVEPOINT_2, ...)
+     */
+    public String nextSavepointName() {
+        return "SAVEPOINT_" + (++savepointCounter);
+    }
+    
+    /**
+     * 동기화 콜백 등록
+     * - 이미 같은(equals) 콜백이 있으면 false 반환
+     */
+    public synchronized boolean addSynchronization(CustomTransactionSynchronization synchronization) {
+        if (synchronizations == null) {
+            synchronizations = new LinkedHashSet<>(4);
+        }
+        return synchronizations.add(synchronization);
+    }
+    
+    /**
+     * 등록된 동기화 콜백 목록의 복사본 (없으면 빈 Set)
+     * - 순회 중 다른 스레드나 콜백 자신이 새 콜백을 등록해도 안전
+     */
+    public synchronized Set<CustomTransactionSynchronization> getSynchronizations() {
+        return synchronizations == null ? Collections.emptySet() : new LinkedHashSet<>(synchronizations);
     }
     
     /**
@@ -0,0 +1,19 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+/**
+ * 물리 트랜잭션 범위 리스너
+ * - 새 트랜잭션이 시작될 때마다 호출되어 트랜잭션 동안 유지할 범위를 염
+ * - 반환한 범위는 CustomTransactionInfo에 보관되고, 트랜잭션 정리 시 연 순서의 역순으로 닫힘
+ * - SQL 실행 카운터, N+1 감지 등 부가 기능을 매니저 수정 없이 붙이는 확장 지점
+ */
+@FunctionalInterface
+public interface CustomTransactionListener {
+
+    /**
+     * 새 트랜잭션 시작 직후 호출 (트랜잭션을 시작한 스레드)
+     * - 참여/중첩 트랜잭션에서는 호출되지 않음
+     *
+     * @return 트랜잭션 정리 시 닫을 범위 (열 범위가 없으면 null)
+     */
+    AutoCloseable transactionBegun(CustomTransactionDefinition definition);
+}
@@ -2,12 +2,39 @@ package com.side.springtestbed.transactional.customtransactional.core;
 
 import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
 import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.common.exception.TransactionTimedOutException;
+import com.side.springtestbed.common.exception.UnexpectedRollbackException;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionBeginEvent;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionCommitEvent;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionResumeEvent;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionRollbackEvent;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionSavepointEvent;
+import com.side.springtestbed.transactional.customtransactional.jfr.TransactionSuspendEvent;
+import com.side.springtestbed.transactional.customtransactional.jpa.EntityManagerBinding;
+import com.side.springtestbed.transactional.customtransactional.jpa.TransactionalEntityManagerBinder;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionMetricsRegistry;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionTimeline;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import jakarta.persistence.EntityManagerFactory;
+
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 커스텀 트랜잭션 매니저
@@ -16,12 +43,183 @@ import java.sql.SQLException;
  */
 @Slf4j
 @Component
-public class CustomTransactionManager {
+public class CustomTransactionManager implements DisposableBean {
+    
+    /**
+     * afterCommit/afterCompletion 콜백 실행기 빈 이름
+     */
+    public static final String SYNCHRONIZATION_EXECUTOR_BEAN_NAME = "customTransactionSynchronizationExecutor";
+    
+    /**
+     * 트랜잭션별 DataSource 선택 (쓰기는 primary, readOnly는 replica)
+     */
+    private final TransactionDataSourceRouter dataSourceRouter;
     
-    private final DataSource dataSource;
+    /**
+     * 풀링된 커넥션별 상태 캐시
+     * - 이미 원하는 값인 설정은 JDBC 호출을 생략
+     */
+    private final ConnectionStateTracker connectionStateTracker = new ConnectionStateTracker();
+    
+    /**
+     * 커넥션 상태 추적 여부
+     * - true: 물리 커넥션별로 상태를 캐시해서 필요한 변경만 전송 (기본값)
+     * - false: 트랜잭션마다 커넥션에서 현재 상태를 다시 읽음
+     */
+    private boolean connectionStateTracking = true;
+    
+    /**
+     * 커넥션 지연 획득 여부
+     * - true: 첫 Statement 생성 시점에 커넥션을 획득하고 트랜잭션 설정 적용
+     * - false: 트랜잭션 시작 시점에 커넥션 획득 (기본값)
+     */
+    private boolean lazyConnectionAcquisition = false;
+    
+    /**
+     * 커밋 후 콜백 실행기 (null이면 호출 스레드에서 실행)
+     */
+    private volatile Executor synchronizationExecutor;
+    
+    /**
+     * DataSource별 커넥션 획득 승인 제어 (등록되지 않은 DataSource는 사용 안 함)
+     * - REQUIRES_NEW가 외부 커넥션을 쥔 채 풀과 교착되는 상황 방지
+     * - 승인 계산은 라우팅된 DataSource 기준 (replica/파티션 트래픽이 primary 승인을 소모하지 않음)
+     */
+    private final Map<DataSource, ConnectionAdmissionController> admissionControllers = new ConcurrentHashMap<>();
+    
+    /**
+     * 트랜잭션 커넥션에 EntityManager를 묶는 생성기 (null이면 JDBC 커넥션만 사용)
+     */
+    private volatile TransactionalEntityManagerBinder entityManagerBinder;
+    
+    /**
+     * 새 트랜잭션마다 범위를 여는 리스너 (SQL 실행 카운터, N+1 감지 등)
+     */
+    private final List<CustomTransactionListener> transactionListeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * 메서드별 트랜잭션 지표
+     */
+    private final TransactionMetricsRegistry metricsRegistry = new TransactionMetricsRegistry();
+    
+    /**
+     * 이름별 벌크헤드 (인터셉터가 메서드별 동시 실행 한도 적용에 사용)
+     */
+    private final TransactionBulkheadRegistry bulkheadRegistry = new TransactionBulkheadRegistry();
+    
+    /**
+     * 트랜잭션 타임아웃 워치독
+     * - 마감 시각을 넘긴 트랜잭션을 롤백하고 커넥션을 풀에 반환
+     */
+    private final CustomTransactionWatchdog watchdog;
     
     public CustomTransactionManager(DataSource dataSource) {
-        this.dataSource = dataSource;
+        this.dataSourceRouter = new TransactionDataSourceRouter(dataSource);
+        this.watchdog = new CustomTransactionWatchdog(
+            this::abortTimedOutTransaction, CustomTransactionWatchdog.DEFAULT_SCAN_INTERVAL_MILLIS
+        );
+    }
+    
+    public void setConnectionStateTracking(boolean connectionStateTracking) {
+        this.connectionStateTracking = connectionStateTracking;
+    }
+    
+    /**
+     * readOnly 트랜잭션용 replica DataSource 설정
+     * - 여러 개면 라운드 로빈으로 분산, 쓰기 트랜잭션은 항상 primary
+     */
+    public void setReplicaDataSources(List<DataSource> replicaDataSources) {
+        dataSourceRouter.setReplicaDataSources(replicaDataSources);
+    }
+    
+    /**
+     * 격리 수준/readOnly별 하위 풀 설정
+     * - 커넥션이 처음부터 요청한 모드로 만들어지므로 트랜잭션마다 설정/복원 호출이 생기지 않음
+     * - 하위 풀의 생명주기(close)는 호출한 쪽이 관리
+     */
+    public void setPartitionedPools(IsolationPartitionedPools partitionedPools) {
+        dataSourceRouter.setPartitionedPools(partitionedPools);
+    }
+    
+    public IsolationPartitionedPools getPartitionedPools() {
+        return dataSourceRouter.getPartitionedPools();
+    }
+    
+    /**
+     * JPA EntityManager 바인딩 설정
+     * - 새 트랜잭션마다 트랜잭션 커넥션 위에 EntityManager를 열어 Spring 리소스로 바인딩
+     * - Spring Data 리포지토리가 별도 커넥션 없이 같은 트랜잭션에 참여
+     * - readOnly 트랜잭션은 FlushMode.MANUAL + 읽기 전용 로딩
+     */
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerBinder = entityManagerFactory == null
+            ? null
+            : new TransactionalEntityManagerBinder(entityManagerFactory);
+    }
+    
+    /**
+     * 트랜잭션 리스너 설정 (컨텍스트에 등록된 CustomTransactionListener 빈 전체)
+     * - 기존에 추가된 리스너를 대체함
+     */
+    @Autowired(required = false)
+    public void setTransactionListeners(List<CustomTransactionListener> transactionListeners) {
+        this.transactionListeners.clear();
+        this.transactionListeners.addAll(transactionListeners);
+    }
+    
+    /**
+     * 트랜잭션 리스너 추가
+     * - 이후 시작되는 새 트랜잭션부터 적용
+     */
+    public void addTransactionListener(CustomTransactionListener transactionListener) {
+        transactionListeners.add(transactionListener);
+    }
+    
+    /**
+     * 커넥션 획득 승인 제어 설정 (기존 등록을 모두 대체, null이면 사용 안 함)
+     * - ConnectionAdmissionController.reserveHeadroom(): 내부 트랜잭션용 여유분 예약
+     * - ConnectionAdmissionController.failFast(): 포화된 풀에 대한 중첩 획득 즉시 실패
+     */
+    public void setAdmissionController(ConnectionAdmissionController admissionController) {
+        admissionControllers.clear();
+        if (admissionController != null) {
+            addAdmissionController(admissionController);
+        }
+    }
+    
+    /**
+     * 커넥션 획득 승인 제어 추가
+     * - 컨트롤러를 만든 DataSource로 라우팅된 트랜잭션에만 적용 (replica마다 따로 등록)
+     */
+    public void addAdmissionController(ConnectionAdmissionController admissionController) {
+        admissionControllers.put(admissionController.getDataSource(), admissionController);
+    }
+    
+    /**
+     * 커넥션 지연 획득 모드 설정
+     * - SQL 실행 전 긴 애플리케이션 로직이 있거나 SQL을 실행하지 않는 메서드의 커넥션 점유 시간 단축
+     */
+    public void setLazyConnectionAcquisition(boolean lazyConnectionAcquisition) {
+        this.lazyConnectionAcquisition = lazyConnectionAcquisition;
+    }
+    
+    /**
+     * afterCommit/afterCompletion 콜백 실행기 설정
+     * - null이면 커밋/롤백한 스레드에서 커넥션 반환 직후 실행 (기본값)
+     * - 스프링 컨텍스트에서는 SYNCHRONIZATION_EXECUTOR_BEAN_NAME 빈이 주입됨
+     */
+    @Autowired(required = false)
+    @Qualifier(SYNCHRONIZATION_EXECUTOR_BEAN_NAME)
+    public void setSynchronizationExecutor(Executor synchronizationExecutor) {
+        this.synchronizationExecutor = synchronizationExecutor;
+    }
+    
+    public TransactionMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+    
+    public TransactionBulkheadRegistry getBulkheadRegistry() {
+        return bulkheadRegistry;
     }
     
     /**
@@ -36,7 +234,15 @@ public class CustomTransactionManager {
         CustomTransactionInfo currentTransaction = CustomTransactionSynchronizationManager.getCurrentTransactionInfo();
         
         // 전파 정책에 따른 트랜잭션 처리
-        return handlePropagation(definition, currentTransaction);
+        TransactionBeginEvent event = new TransactionBeginEvent();
+        event.begin();
+        CustomTransactionStatus status = handlePropagation(definition, currentTransaction);
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(status);
+            event.commit();
+        }
+        return status;
     }
     
     /**
@@ -54,18 +260,23 @@ public class CustomTransactionManager {
             case REQUIRED:
                 if (currentTransaction != null && currentTransaction.isActive()) {
                     log.info("[전파정책-REQUIRED] 기존 트랜잭션 참여");
-                    return new CustomTransactionStatus(currentTransaction, false);
+                    return new CustomTransactionStatus(currentTransaction, false, definition);
                 } else {
                     log.info("[전파정책-REQUIRED] 새 트랜잭션 생성");
-                    return createNewTransaction(definition);
+                    return createNewTransaction(definition, null);
                 }
                 
             case REQUIRES_NEW:
                 log.info("[전파정책-REQUIRES_NEW] 새 트랜잭션 생성 (기존 트랜잭션 중단)");
-                if (currentTransaction != null) {
-                    suspendCurrentTransaction(currentTransaction);
+                CustomTransactionInfo suspended = currentTransaction != null
+                    ? suspendCurrentTransaction(currentTransaction)
+                    : null;
+                try {
+                    return createNewTransaction(definition, suspended);
+                } catch (RuntimeException e) {
+                    resumeTransaction(suspended);
+                    throw e;
                 }
-                return createNewTransaction(definition);
                 
             case NESTED:
                 if (currentTransaction != null && currentTransaction.isActive()) {
@@ -73,7 +284,7 @@ public class CustomTransactionManager {
                     return createNestedTransaction(currentTransaction, definition);
                 } else {
                     log.info("[전파정책-NESTED] 기존 트랜잭션 없음, 새 트랜잭션 생성");
-                    return createNewTransaction(definition);
+                    return createNewTransaction(definition, null);
                 }
                 
             default:
@@ -83,59 +294,161 @@ public class CustomTransactionManager {
     
     /**
      * 새로운 트랜잭션 생성
-     * - DataSource에서 Connection 획득
+     * - DataSource에서 Connection 획득 (지연 획득 모드면 첫 Statement 생성 시점으로 미룸)
      * - 격리 수준, 읽기 전용 등 트랜잭션 속성 설정
      * - ThreadLocal에 트랜잭션 정보 바인딩
+     * - REQUIRES_NEW면 중단된 외부 트랜잭션을 기억해두고 완료 후 복원
      */
-    private CustomTransactionStatus createNewTransaction(CustomTransactionDefinition definition) {
+    private CustomTransactionStatus createNewTransaction(CustomTransactionDefinition definition,
+                                                         CustomTransactionInfo suspended) {
+        // 마감 시각 계산 및 커넥션 프록시 생성 (Statement마다 남은 시간만큼 쿼리 타임아웃)
+        long deadlineNanos = calculateDeadline(definition);
+        CustomTransactionConnectionHandler connectionHandler = new CustomTransactionConnectionHandler(deadlineNanos);
+        
+        // 트랜잭션 정보 생성
+        CustomTransactionInfo transactionInfo = new CustomTransactionInfo(
+            connectionHandler.newProxy(), definition, true, System.currentTimeMillis()
+        );
+        transactionInfo.setConnectionHandler(connectionHandler);
+        transactionInfo.setDeadlineNanos(deadlineNanos);
+        transactionInfo.setSuspendedTransactionInfo(suspended);
+        transactionInfo.setMetrics(metricsRegistry.metricsFor(definition));
+        
+        if (definition.getAutoBatchSize() > 0) {
+            connectionHandler.enableAutoBatching(definition.getAutoBatchSize());
+        }
+        
+        if (lazyConnectionAcquisition) {
+            connectionHandler.setConnectionAcquirer(() -> acquireTransactionConnection(transactionInfo));
+            log.info("[트랜잭션 생성] 커넥션 지연 획득 - 첫 Statement 생성 시 획득");
+        } else {
+            try {
+                connectionHandler.bindTarget(acquireTransactionConnection(transactionInfo));
+            } catch (SQLException e) {
+                log.error("[트랜잭션 생성 실패] {}", e.getMessage());
+                throw new RuntimeException("트랜잭션 생성 실패", e);
+            }
+        }
+        
+        // ThreadLocal 바인딩
+        CustomTransactionSynchronizationManager.bindTransactionInfo(transactionInfo);
+        watchdog.register(transactionInfo);
+        
+        // 리스너 범위 (SQL 실행 카운터, N+1 감지 등)
+        openTransactionScopes(transactionInfo, definition);
+        
+        // EntityManager 바인딩 (트랜잭션 커넥션 공유)
+        TransactionalEntityManagerBinder binder = entityManagerBinder;
+        if (binder != null) {
+            transactionInfo.setEntityManagerBinding(binder.bind(
+                transactionInfo.getConnection(), definition.isReadOnly(), definition.getName()
+            ));
+        }
+        
+        return new CustomTransactionStatus(transactionInfo, true);
+    }
+    
+    /**
+     * 물리 커넥션 획득 및 트랜잭션 설정 적용
+     * - 즉시 획득 모드: 트랜잭션 시작 시 호출
+     * - 지연 획득 모드: 커넥션 프록시의 첫 사용 시 호출 (미뤄둔 설정을 이때 적용)
+     */
+    private Connection acquireTransactionConnection(CustomTransactionInfo transactionInfo) throws SQLException {
+        // Connection 획득 대상 (readOnly면 replica로 라우팅)
+        DataSource dataSource = dataSourceRouter.route(transactionInfo.getDefinition());
+        
+        // 승인 제어 (같은 DataSource에서 스레드가 이미 쥔 커넥션 수 기준)
+        ConnectionAdmissionController controller = admissionControllers.isEmpty() ? null : admissionControllers.get(dataSource);
+        ConnectionAdmissionController.AdmissionPermit admissionPermit = controller == null
+            ? null
+            : controller.admit(countHeldConnections(transactionInfo, dataSource), transactionInfo.getDefinition().getName());
+        
+        Connection connection = null;
         try {
-            // Connection 획득
-            Connection connection = dataSource.getConnection();
-            log.info("[트랜잭션 생성] Connection 획득: {}", connection.hashCode());
+            connection = dataSource.getConnection();
+            transactionInfo.setConnectionDataSource(dataSource);
+            transactionInfo.setConnectionAcquiredNanos(System.nanoTime());
+            log.info("[트랜잭션 생성] Connection 획득: {} (primary: {})",
+                connection.hashCode(), dataSource == dataSourceRouter.getPrimaryDataSource());
             
             // 트랜잭션 설정 적용
-            setupTransactionConnection(connection, definition);
-            
-            // 트랜잭션 정보 생성 및 ThreadLocal 바인딩
-            CustomTransactionInfo transactionInfo = new CustomTransactionInfo(
-                connection, definition, true, System.currentTimeMillis()
+            transactionInfo.setConnectionState(
+                setupTransactionConnection(connection, transactionInfo.getDefinition())
             );
+            transactionInfo.setAdmissionPermit(admissionPermit);
+            return connection;
             
-            CustomTransactionSynchronizationManager.bindTransactionInfo(transactionInfo);
-            
-            return new CustomTransactionStatus(transactionInfo, true);
-            
-        } catch (SQLException e) {
-            log.error("[트랜잭션 생성 실패] {}", e.getMessage());
-            throw new RuntimeException("트랜잭션 생성 실패", e);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection);
+            if (admissionPermit != null) {
+                admissionPermit.release();
+            }
+            throw e;
         }
     }
     
+    /**
+     * 현재 스레드가 주어진 DataSource에서 쥐고 있는 물리 커넥션 수
+     * - REQUIRES_NEW로 중단된 외부 트랜잭션들을 따라가며 같은 DataSource에서 커넥션을 획득한 물리 트랜잭션 개수를 셈
+     */
+    private int countHeldConnections(CustomTransactionInfo transactionInfo, DataSource dataSource) {
+        int held = 0;
+        CustomTransactionInfo suspended = transactionInfo.getSuspendedTransactionInfo();
+        while (suspended != null) {
+            CustomTransactionInfo physical = suspended.getPhysicalTransactionInfo();
+            CustomTransactionConnectionHandler connectionHandler = physical.getConnectionHandler();
+            if (connectionHandler != null && connectionHandler.isAcquired() && !connectionHandler.isReleased()
+                    && physical.getConnectionDataSource() == dataSource) {
+                held++;
+            }
+            suspended = physical.getSuspendedTransactionInfo();
+        }
+        return held;
+    }
+    
+    /**
+     * 트랜잭션 마감 시각 계산
+     * - timeout(초)이 0 이하이면 타임아웃 없음
+     */
+    private long calculateDeadline(CustomTransactionDefinition definition) {
+        if (definition.getTimeout() <= 0) {
+            return 0;
+        }
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(definition.getTimeout());
+        return deadlineNanos == 0 ? 1 : deadlineNanos;
+    }
+    
     /**
      * Connection에 트랜잭션 설정 적용
      * - 자동 커밋 비활성화
      * - 격리 수준 설정
      * - 읽기 전용 설정
+     * - 커넥션의 현재 상태와 다른 값만 실제로 JDBC 호출
      */
-    private void setupTransactionConnection(Connection connection, CustomTransactionDefinition definition) 
+    private ConnectionState setupTransactionConnection(Connection connection, CustomTransactionDefinition definition) 
             throws SQLException {
         
+        ConnectionState state = connectionStateTracking
+                ? connectionStateTracker.stateOf(connection)
+                : ConnectionState.read(connection);
+        
         // 자동 커밋 비활성화 (트랜잭션 모드)
-        connection.setAutoCommit(false);
+        state.applyAutoCommit(connection, false);
         log.info("[Connection 설정] AutoCommit=false");
         
         // 격리 수준 설정
         if (definition.getIsolation() != Isolation.DEFAULT) {
-            int isolationLevel = convertIsolationLevel(definition.getIsolation());
-            connection.setTransactionIsolation(isolationLevel);
+            state.applyIsolation(connection, convertIsolationLevel(definition.getIsolation()));
             log.info("[Connection 설정] 격리수준: {}", definition.getIsolation());
         }
         
         // 읽기 전용 설정
+        state.applyReadOnly(connection, definition.isReadOnly());
         if (definition.isReadOnly()) {
-            connection.setReadOnly(true);
             log.info("[Connection 설정] ReadOnly=true");
         }
+        
+        return state;
     }
     
     /**
@@ -148,9 +461,23 @@ public class CustomTransactionManager {
         try {
             Connection connection = currentTransaction.getConnection();
             
-            // Savepoint 생성
-            String savepointName = "SAVEPOINT_" + System.currentTimeMillis();
-            connection.setSavepoint(savepointName);
+            // 영속성 컨텍스트 변경을 먼저 반영해야 Savepoint 경계가 맞음
+            EntityManagerBinding binding = currentTransaction.getPhysicalTransactionInfo().getEntityManagerBinding();
+            if (binding != null) {
+                binding.flush();
+            }
+            
+            // Savepoint 생성 (이름은 물리 트랜잭션 안에서 순번으로 발급)
+            String savepointName = currentTransaction.getPhysicalTransactionInfo().nextSavepointName();
+            TransactionSavepointEvent event = new TransactionSavepointEvent();
+            event.begin();
+            Savepoint savepoint = connection.setSavepoint(savepointName);
+            event.end();
+            if (event.shouldCommit()) {
+                event.describe(currentTransaction);
+                event.setSavepoint(TransactionSavepointEvent.CREATE, savepointName);
+                event.commit();
+            }
             log.info("[중첩 트랜잭션] Savepoint 생성: {}", savepointName);
             
             // 중첩 트랜잭션 정보 생성
@@ -158,6 +485,9 @@ public class CustomTransactionManager {
                 connection, definition, false, System.currentTimeMillis()
             );
             nestedInfo.setSavepointName(savepointName);
+            nestedInfo.setSavepoint(savepoint);
+            nestedInfo.setMetrics(metricsRegistry.metricsFor(definition));
+            nestedInfo.setDeadlineNanos(currentTransaction.getDeadlineNanos());
             
             CustomTransactionSynchronizationManager.bindTransactionInfo(nestedInfo);
             
@@ -174,9 +504,43 @@ public class CustomTransactionManager {
      * - REQUIRES_NEW에서 사용
      * - 기존 트랜잭션 정보를 백업하고 ThreadLocal에서 제거
      */
-    private void suspendCurrentTransaction(CustomTransactionInfo currentTransaction) {
+    private CustomTransactionInfo suspendCurrentTransaction(CustomTransactionInfo currentTransaction) {
         log.info("[트랜잭션 중단] 기존 트랜잭션 일시 중단");
-        CustomTransactionSynchronizationManager.suspendCurrentTransaction();
+        TransactionSuspendEvent event = new TransactionSuspendEvent();
+        event.describe(currentTransaction);
+        event.begin();
+        CustomTransactionInfo suspended = CustomTransactionSynchronizationManager.suspendCurrentTransaction();
+        EntityManagerBinding binding = suspended.getPhysicalTransactionInfo().getEntityManagerBinding();
+        if (binding != null) {
+            binding.unbind();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+        return suspended;
+    }
+    
+    /**
+     * 중단된 트랜잭션 재개
+     * - REQUIRES_NEW 완료(또는 생성 실패) 후 외부 트랜잭션 복원
+     */
+    private void resumeTransaction(CustomTransactionInfo suspended) {
+        if (suspended == null) {
+            return;
+        }
+        TransactionResumeEvent event = new TransactionResumeEvent();
+        event.begin();
+        CustomTransactionSynchronizationManager.resumeTransaction(suspended);
+        EntityManagerBinding binding = suspended.getPhysicalTransactionInfo().getEntityManagerBinding();
+        if (binding != null) {
+            binding.bind();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(suspended);
+            event.commit();
+        }
     }
     
     /**
@@ -185,24 +549,124 @@ public class CustomTransactionManager {
      * - 참여 트랜잭션인 경우 아무것도 하지 않음 (외부 트랜잭션이 담당)
      */
     public void commit(CustomTransactionStatus status) {
+        TransactionCommitEvent event = new TransactionCommitEvent();
+        event.describe(status);
+        event.begin();
+        try {
+            processCommit(status);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+    
+    private void processCommit(CustomTransactionStatus status) {
+        assertNotCompleted(status);
         log.info("[트랜잭션 커밋] 커밋 시작 - 새트랜잭션: {}", status.isNewTransaction());
         
+        // 이 범위에서 직접 rollback-only로 마킹했으면 예외 없이 롤백 (참여 트랜잭션이면 외부 트랜잭션 마킹)
+        if (status.isLocalRollbackOnly()) {
+            log.info("[트랜잭션 커밋] 범위에서 rollback-only 마킹 - 커밋 대신 롤백");
+            rollback(status);
+            return;
+        }
+        
         if (status.isNewTransaction()) {
+            CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+            
+            // 마감 시각을 넘긴 트랜잭션은 커밋하지 않고 롤백
+            if (transactionInfo.isTimedOut()) {
+                rollbackTimedOutTransaction(status);
+            }
+            
+            // 참여 트랜잭션(Spring 쪽 참여 포함)이 rollback-only로 마킹했으면 커밋 대신 롤백 후 호출자에게 알림
+            EntityManagerBinding binding = transactionInfo.getEntityManagerBinding();
+            if (transactionInfo.isRollbackOnly() || (binding != null && binding.isRollbackOnly())) {
+                log.warn("[트랜잭션 커밋] rollback-only 마킹된 트랜잭션 - 커밋 대신 롤백");
+                rollback(status);
+                throw new UnexpectedRollbackException(
+                    "참여 트랜잭션이 rollback-only로 마킹해서 롤백됨: " + transactionInfo.getDefinition().getName()
+                );
+            }
+            
+            // 커밋 직전 콜백 (실패 시 롤백)
+            try {
+                triggerBeforeCommit(transactionInfo);
+            } catch (RuntimeException e) {
+                log.error("[트랜잭션 커밋] beforeCommit 콜백 실패로 롤백: {}", e.getMessage());
+                rollback(status);
+                throw e;
+            }
+            
+            // 남은 쓰기(JPA 변경 내용, 자동 배치 버퍼)를 커밋 전에 실행하고, 실패하면 롤백
+            // (커밋 안에서 실패하면 이전 문장이 롤백되지 않은 채 커넥션이 반환될 수 있음)
             try {
-                Connection connection = status.getTransactionInfo().getConnection();
-                connection.commit();
+                if (binding != null) {
+                    binding.flush();
+                }
+                flushAutoBatch(transactionInfo);
+            } catch (SQLException e) {
+                log.error("[트랜잭션 커밋] 커밋 전 쓰기 실행 실패로 롤백: {}", e.getMessage());
+                rollback(status);
+                throw new RuntimeException("커밋 전 쓰기 실행 실패", e);
+            }
+            
+            try {
+                Connection connection = transactionInfo.getConnection();
+                transactionInfo.markCompletionStarted();
+                long commitStartNanos = System.nanoTime();
+                if (binding != null) {
+                    // flush 후 같은 커넥션에서 커밋
+                    binding.commit();
+                } else {
+                    connection.commit();
+                }
+                transactionInfo.getMetrics().recordCommit(System.nanoTime() - commitStartNanos);
                 log.info("[트랜잭션 커밋] DB 커밋 완료");
                 
             } catch (SQLException e) {
                 log.error("[트랜잭션 커밋 실패] {}", e.getMessage());
+                // 정리 중 autoCommit 복원이 열린 트랜잭션을 커밋하지 않도록 먼저 롤백
+                rollbackAfterCommitFailure(transactionInfo);
+                cleanupTransaction(status, CustomTransactionSynchronization.STATUS_ROLLED_BACK);
+                if (transactionInfo.isAbortedByWatchdog()) {
+                    throw new TransactionTimedOutException(
+                        "트랜잭션 타임아웃으로 워치독이 롤백함: " + transactionInfo.getDefinition().getName(), e
+                    );
+                }
                 throw new RuntimeException("커밋 실패", e);
             }
+        } else if (status.getTransactionInfo().isNested()) {
+            CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+            
+            // 중첩 범위 안의 참여 트랜잭션이 rollback-only로 마킹했으면 Savepoint로 롤백
+            if (transactionInfo.isRollbackOnly()) {
+                log.warn("[트랜잭션 커밋] rollback-only 마킹된 중첩 트랜잭션 - Savepoint로 롤백");
+                rollback(status);
+                return;
+            }
+            
+            // 자동 배치 버퍼 실행 (Savepoint 해제는 실패를 무시하므로 여기서 먼저 확인)
+            try {
+                flushAutoBatch(transactionInfo);
+            } catch (SQLException e) {
+                log.error("[트랜잭션 커밋] 자동 배치 실행 실패로 Savepoint 롤백: {}", e.getMessage());
+                rollback(status);
+                throw new RuntimeException("자동 배치 실행 실패", e);
+            }
+            
+            // 중첩 트랜잭션 - Savepoint 해제 (실제 커밋은 외부 트랜잭션이 담당)
+            long releaseStartNanos = System.nanoTime();
+            releaseSavepointQuietly(transactionInfo);
+            transactionInfo.getMetrics().recordCommit(System.nanoTime() - releaseStartNanos);
         } else {
             log.info("[트랜잭션 커밋] 참여 트랜잭션 - 실제 커밋은 외부 트랜잭션이 담당");
         }
         
         // 트랜잭션 정리
-        cleanupTransaction(status);
+        cleanupTransaction(status, CustomTransactionSynchronization.STATUS_COMMITTED);
     }
     
     /**
@@ -212,68 +676,391 @@ public class CustomTransactionManager {
      * - 참여 트랜잭션: rollback-only 마킹
      */
     public void rollback(CustomTransactionStatus status) {
+        TransactionRollbackEvent event = new TransactionRollbackEvent();
+        event.describe(status);
+        event.begin();
+        try {
+            processRollback(status);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+    
+    private void processRollback(CustomTransactionStatus status) {
+        assertNotCompleted(status);
         log.info("[트랜잭션 롤백] 롤백 시작 - 새트랜잭션: {}", status.isNewTransaction());
         
         CustomTransactionInfo transactionInfo = status.getTransactionInfo();
         
         try {
-            if (status.isNewTransaction()) {
+            if (status.isNewTransaction() && transactionInfo.isAbortedByWatchdog()) {
+                // 워치독이 이미 롤백하고 커넥션을 반환함
+                log.info("[트랜잭션 롤백] 타임아웃으로 이미 롤백된 트랜잭션");
+                
+            } else if (status.isNewTransaction()) {
                 // 새 트랜잭션 - 전체 롤백
                 Connection connection = transactionInfo.getConnection();
-                connection.rollback();
+                transactionInfo.markCompletionStarted();
+                long rollbackStartNanos = System.nanoTime();
+                EntityManagerBinding binding = transactionInfo.getEntityManagerBinding();
+                if (binding != null) {
+                    binding.rollback();
+                } else {
+                    connection.rollback();
+                }
+                transactionInfo.getMetrics().recordRollback(System.nanoTime() - rollbackStartNanos);
                 log.info("[트랜잭션 롤백] DB 전체 롤백 완료");
                 
-            } else if (transactionInfo.getSavepointName() != null) {
-                // 중첩 트랜잭션 - Savepoint로 롤백
-                Connection connection = transactionInfo.getConnection();
-                connection.rollback(connection.setSavepoint(transactionInfo.getSavepointName()));
+            } else if (transactionInfo.isNested()) {
+                // 중첩 트랜잭션 - 생성 시점의 Savepoint로 롤백 후 해제
+                long rollbackStartNanos = System.nanoTime();
+                transactionInfo.getConnection().rollback(transactionInfo.getSavepoint());
+                transactionInfo.getMetrics().recordRollback(System.nanoTime() - rollbackStartNanos);
+                EntityManagerBinding binding = transactionInfo.getPhysicalTransactionInfo().getEntityManagerBinding();
+                if (binding != null) {
+                    // 메모리의 엔티티 상태가 DB와 달라졌으므로 분리
+                    binding.clear();
+                }
                 log.info("[트랜잭션 롤백] Savepoint 롤백 완료: {}", transactionInfo.getSavepointName());
+                releaseSavepointQuietly(transactionInfo);
                 
             } else {
                 // 참여 트랜잭션 - rollback-only 마킹
                 transactionInfo.setRollbackOnly(true);
+                metricsRegistry.metricsFor(status.getDefinition()).recordRollbackOnlyMark();
                 log.info("[트랜잭션 롤백] 참여 트랜잭션 rollback-only 마킹");
             }
             
         } catch (SQLException e) {
             log.error("[트랜잭션 롤백 실패] {}", e.getMessage());
+            cleanupTransaction(status, CustomTransactionSynchronization.STATUS_ROLLED_BACK);
             throw new RuntimeException("롤백 실패", e);
         }
         
         // 트랜잭션 정리
-        cleanupTransaction(status);
+        cleanupTransaction(status, CustomTransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+    
+    /**
+     * 커밋 실패 후 롤백 (실패는 로그만 남김)
+     * - 워치독이 이미 롤백하고 커넥션을 반환했으면 생략
+     * - EntityManager가 있으면 세션 트랜잭션도 함께 정리
+     */
+    private void rollbackAfterCommitFailure(CustomTransactionInfo transactionInfo) {
+        if (transactionInfo.isAbortedByWatchdog()) {
+            return;
+        }
+        EntityManagerBinding binding = transactionInfo.getEntityManagerBinding();
+        try {
+            if (binding != null) {
+                binding.rollback();
+            }
+            transactionInfo.getConnection().rollback();
+        } catch (SQLException e) {
+            log.error("[트랜잭션 커밋 실패] 롤백 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 물리 트랜잭션 커넥션의 자동 배치 버퍼 실행
+     */
+    private void flushAutoBatch(CustomTransactionInfo transactionInfo) throws SQLException {
+        CustomTransactionConnectionHandler connectionHandler =
+            transactionInfo.getPhysicalTransactionInfo().getConnectionHandler();
+        if (connectionHandler != null) {
+            connectionHandler.flushAutoBatch();
+        }
+    }
+    
+    /**
+     * Savepoint 해제
+     * - 서버에 쌓이는 Savepoint 상태 정리 (반복/깊은 NESTED 작업)
+     * - 해제를 지원하지 않는 드라이버도 있으므로 실패해도 트랜잭션은 계속 진행
+     */
+    private void releaseSavepointQuietly(CustomTransactionInfo transactionInfo) {
+        TransactionSavepointEvent event = new TransactionSavepointEvent();
+        event.begin();
+        try {
+            transactionInfo.getConnection().releaseSavepoint(transactionInfo.getSavepoint());
+            event.end();
+            if (event.shouldCommit()) {
+                event.describe(transactionInfo);
+                event.setSavepoint(TransactionSavepointEvent.RELEASE, transactionInfo.getSavepointName());
+                event.commit();
+            }
+            log.info("[중첩 트랜잭션] Savepoint 해제: {}", transactionInfo.getSavepointName());
+        } catch (SQLException e) {
+            log.debug("[중첩 트랜잭션] Savepoint 해제 실패 (무시): {}", e.getMessage());
+        }
     }
     
     /**
      * 트랜잭션 정리
      * - Connection 설정 복원 및 반환
      * - ThreadLocal 정보 정리
+     * - 커넥션 반환 후 afterCommit/afterCompletion 콜백 실행 (새 트랜잭션만)
      */
-    private void cleanupTransaction(CustomTransactionStatus status) {
+    private void cleanupTransaction(CustomTransactionStatus status, int completionStatus) {
         CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+        status.markCompleted();
+        
+        // 참여 트랜잭션은 외부 트랜잭션의 컨텍스트를 건드리지 않음
+        if (!status.isNewTransaction() && !transactionInfo.isNested()) {
+            return;
+        }
         
         if (status.isNewTransaction()) {
-            try {
-                Connection connection = transactionInfo.getConnection();
+            watchdog.unregister(transactionInfo);
+            
+            // EntityManager 정리 (세션만 닫고 커넥션은 아래에서 반환)
+            if (transactionInfo.getEntityManagerBinding() != null) {
+                transactionInfo.getEntityManagerBinding().close();
+            }
+            closeTransactionScopes(transactionInfo);
+            
+            CustomTransactionConnectionHandler connectionHandler = transactionInfo.getConnectionHandler();
+            if (!connectionHandler.isAcquired()) {
+                // 지연 획득 모드에서 SQL을 실행하지 않은 트랜잭션 - 반환할 커넥션 없음
+                closeQuietly(transactionInfo.getConnection());
+                log.info("[트랜잭션 정리] 물리 커넥션 미사용 트랜잭션");
                 
-                // Connection 설정 복원
-                connection.setAutoCommit(true);
-                if (transactionInfo.getDefinition().isReadOnly()) {
-                    connection.setReadOnly(false);
+            } else if (!connectionHandler.isReleased()) {
+                try {
+                    Connection connection = transactionInfo.getConnection();
+                    
+                    // Connection 설정 복원 (격리 수준 포함, 바뀐 값만 되돌림)
+                    transactionInfo.getConnectionState().restoreDefaults(connection);
+                    
+                    // Connection 반환
+                    connection.close();
+                    recordConnectionHold(transactionInfo);
+                    log.info("[트랜잭션 정리] Connection 반환 완료");
+                    
+                } catch (SQLException e) {
+                    log.error("[트랜잭션 정리 실패] {}", e.getMessage());
                 }
-                
-                // Connection 반환
-                connection.close();
-                log.info("[트랜잭션 정리] Connection 반환 완료");
-                
-            } catch (SQLException e) {
-                log.error("[트랜잭션 정리 실패] {}", e.getMessage());
             }
+            releaseAdmission(transactionInfo);
         }
+        transactionInfo.getMetrics().getTransactionTime().record(System.nanoTime() - transactionInfo.getStartNanos());
         
         // ThreadLocal 정리 및 이전 트랜잭션 복원
         CustomTransactionSynchronizationManager.cleanupTransactionInfo();
         log.info("[트랜잭션 정리] ThreadLocal 정리 완료");
+        
+        // REQUIRES_NEW로 중단했던 외부 트랜잭션 재개
+        if (status.isNewTransaction() && transactionInfo.getSuspendedTransactionInfo() != null) {
+            resumeTransaction(transactionInfo.getSuspendedTransactionInfo());
+        }
+        
+        if (status.isNewTransaction()) {
+            triggerAfterCompletion(transactionInfo, completionStatus);
+        }
+    }
+    
+    /**
+     * beforeCommit 콜백 실행
+     * - getSynchronizations()는 복사본이므로 콜백 안에서 새 콜백을 등록해도 안전
+     */
+    private void triggerBeforeCommit(CustomTransactionInfo transactionInfo) {
+        Set<CustomTransactionSynchronization> synchronizations = transactionInfo.getSynchronizations();
+        if (synchronizations.isEmpty()) {
+            return;
+        }
+        
+        boolean readOnly = transactionInfo.getDefinition().isReadOnly();
+        for (CustomTransactionSynchronization synchronization : synchronizations) {
+            synchronization.beforeCommit(readOnly);
+        }
+    }
+    
+    /**
+     * afterCommit/afterCompletion 콜백 실행
+     * - 커넥션이 이미 풀에 반환된 상태에서 호출
+     * - 동기화 실행기가 있으면 그 실행기에서, 없으면 현재 스레드에서 실행
+     */
+    private void triggerAfterCompletion(CustomTransactionInfo transactionInfo, int completionStatus) {
+        Set<CustomTransactionSynchronization> synchronizations = transactionInfo.getSynchronizations();
+        if (synchronizations.isEmpty()) {
+            return;
+        }
+        
+        List<CustomTransactionSynchronization> callbacks = new ArrayList<>(synchronizations);
+        Runnable task = () -> invokeAfterCompletion(callbacks, completionStatus);
+        
+        Executor executor = synchronizationExecutor;
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("[동기화 콜백] 실행기가 작업을 거부해서 현재 스레드에서 실행");
+            task.run();
+        }
+    }
+    
+    private void invokeAfterCompletion(List<CustomTransactionSynchronization> callbacks, int completionStatus) {
+        if (completionStatus == CustomTransactionSynchronization.STATUS_COMMITTED) {
+            for (CustomTransactionSynchronization callback : callbacks) {
+                try {
+                    callback.afterCommit();
+                } catch (RuntimeException e) {
+                    log.error("[동기화 콜백] afterCommit 실패: {} - {}", callback, e.getMessage());
+                }
+            }
+        }
+        
+        for (CustomTransactionSynchronization callback : callbacks) {
+            try {
+                callback.afterCompletion(completionStatus);
+            } catch (RuntimeException e) {
+                log.error("[동기화 콜백] afterCompletion 실패: {} - {}", callback, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 마감 시각을 넘긴 트랜잭션 롤백 후 예외 발생
+     * - 커밋 시점에 타임아웃이 확인된 경우 사용
+     * - EntityManager가 있으면 세션 트랜잭션으로 롤백 (세션에 활성 트랜잭션이 남지 않도록)
+     */
+    private void rollbackTimedOutTransaction(CustomTransactionStatus status) {
+        CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+        log.warn("[트랜잭션 타임아웃] {} - 커밋 대신 롤백", transactionInfo.getDefinition().getName());
+        
+        if (!transactionInfo.isAbortedByWatchdog()) {
+            try {
+                long rollbackStartNanos = System.nanoTime();
+                EntityManagerBinding binding = transactionInfo.getEntityManagerBinding();
+                if (binding != null) {
+                    binding.rollback();
+                } else {
+                    transactionInfo.getConnection().rollback();
+                }
+                transactionInfo.getMetrics().recordRollback(System.nanoTime() - rollbackStartNanos);
+            } catch (SQLException e) {
+                log.error("[트랜잭션 타임아웃 롤백 실패] {}", e.getMessage());
+            }
+        }
+        cleanupTransaction(status, CustomTransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        throw new TransactionTimedOutException(
+            "트랜잭션 타임아웃 초과 (" + transactionInfo.getDefinition().getTimeout() + "s): "
+                + transactionInfo.getDefinition().getName()
+        );
+    }
+    
+    /**
+     * 워치독 타임아웃 처리
+     * - 워치독 처리 스레드에서 호출됨 (검사 스레드를 막지 않음)
+     * - 실행 중인 Statement를 먼저 취소해서 롤백이 쿼리 뒤에서 기다리지 않게 함
+     * - 물리 커넥션 롤백, 설정 복원 후 풀에 반환
+     * - 트랜잭션 스레드는 이후 커넥션 사용 시 SQLTimeoutException, 커밋 시 TransactionTimedOutException
+     */
+    private void abortTimedOutTransaction(CustomTransactionInfo transactionInfo) {
+        CustomTransactionConnectionHandler connectionHandler = transactionInfo.getConnectionHandler();
+        connectionHandler.cancelStatements();
+        
+        boolean released = connectionHandler.forceRelease(target -> {
+            transactionInfo.setAbortedByWatchdog(true);
+            try {
+                long rollbackStartNanos = System.nanoTime();
+                target.rollback();
+                transactionInfo.getMetrics().recordRollback(System.nanoTime() - rollbackStartNanos);
+                transactionInfo.getConnectionState().restoreDefaults(target);
+            } finally {
+                target.close();
+                recordConnectionHold(transactionInfo);
+            }
+        });
+        
+        if (released) {
+            watchdog.unregister(transactionInfo);
+            releaseAdmission(transactionInfo);
+            log.warn("[워치독] 타임아웃 트랜잭션 롤백 및 커넥션 반환: {}", transactionInfo.getDefinition().getName());
+        }
+    }
+    
+    private void recordConnectionHold(CustomTransactionInfo transactionInfo) {
+        long releasedNanos = System.nanoTime();
+        transactionInfo.getMetrics().getConnectionHoldTime()
+            .record(releasedNanos - transactionInfo.getConnectionAcquiredNanos());
+        
+        // idle in transaction 프로파일러가 기록한 타임라인 집계
+        TransactionTimeline timeline = transactionInfo.getTimeline();
+        if (timeline != null) {
+            transactionInfo.getMetrics().recordTimeline(timeline.finish(releasedNanos));
+        }
+    }
+    
+    private void releaseAdmission(CustomTransactionInfo transactionInfo) {
+        ConnectionAdmissionController.AdmissionPermit admissionPermit = transactionInfo.getAdmissionPermit();
+        if (admissionPermit != null) {
+            admissionPermit.release();
+        }
+    }
+    
+    private void assertNotCompleted(CustomTransactionStatus status) {
+        if (status.isCompleted()) {
+            throw new IllegalStateException("이미 커밋 또는 롤백이 완료된 트랜잭션: " + status);
+        }
+    }
+    
+    /**
+     * 트랜잭션 리스너가 반환한 범위를 CustomTransactionInfo에 보관
+     */
+    private void openTransactionScopes(CustomTransactionInfo transactionInfo, CustomTransactionDefinition definition) {
+        if (transactionListeners.isEmpty()) {
+            return;
+        }
+        List<AutoCloseable> scopes = new ArrayList<>(transactionListeners.size());
+        for (CustomTransactionListener listener : transactionListeners) {
+            AutoCloseable scope = listener.transactionBegun(definition);
+            if (scope != null) {
+                scopes.add(scope);
+            }
+        }
+        transactionInfo.setTransactionScopes(scopes);
+    }
+    
+    /**
+     * 트랜잭션 리스너 범위 정리 (연 순서의 역순)
+     * - 범위 하나가 실패해도 나머지 범위와 커넥션 반환은 계속 진행
+     */
+    private void closeTransactionScopes(CustomTransactionInfo transactionInfo) {
+        List<AutoCloseable> scopes = transactionInfo.getTransactionScopes();
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            try {
+                scopes.get(i).close();
+            } catch (Exception e) {
+                log.error("[트랜잭션 범위 정리 실패] {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.error("[Connection 반환 실패] {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 워치독 종료 (애플리케이션 종료 시)
+     */
+    @Override
+    public void destroy() {
+        watchdog.shutdown();
     }
     
     /**
@@ -1,6 +1,5 @@
 package com.side.springtestbed.transactional.customtransactional.core;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
@@ -9,7 +8,6 @@ import lombok.Getter;
  * - Spring TransactionStatus 인터페이스 역할
  */
 @Getter
-@AllArgsConstructor
 public class CustomTransactionStatus {
     
     /**
@@ -25,30 +23,61 @@ public class CustomTransactionStatus {
      */
     private final boolean newTransaction;
     
+    /**
+     * 이 상태 객체를 요청한 메서드의 트랜잭션 정의
+     * - 참여 트랜잭션은 외부 트랜잭션 정보를 공유하므로 자신의 정의를 따로 보관 (지표 기록용)
+     */
+    private final CustomTransactionDefinition definition;
+    
+    /**
+     * 이 상태 객체 기준 완료 여부
+     * - 커밋 또는 롤백 처리가 끝나면 true
+     * - 참여 트랜잭션은 외부 트랜잭션과 별개로 자신의 완료 여부만 기록
+     */
+    private boolean completed = false;
+    
+    /**
+     * 이 범위에서 직접 마킹한 rollback-only
+     * - 커밋 시 예외 없이 롤백 (참여 트랜잭션이 물리 트랜잭션에 남긴 마킹과 구분)
+     */
+    private boolean localRollbackOnly = false;
+    
+    public CustomTransactionStatus(CustomTransactionInfo transactionInfo, boolean newTransaction) {
+        this(transactionInfo, newTransaction, transactionInfo.getDefinition());
+    }
+    
+    public CustomTransactionStatus(CustomTransactionInfo transactionInfo, boolean newTransaction,
+                                   CustomTransactionDefinition definition) {
+        this.transactionInfo = transactionInfo;
+        this.newTransaction = newTransaction;
+        this.definition = definition;
+    }
+    
     /**
      * 트랜잭션이 롤백 전용으로 마킹되었는지 확인
-     * - 참여 트랜잭션에서 예외 발생 시 rollback-only로 마킹
+     * - 이 범위에서 직접 마킹했거나(setRollbackOnly) 참여 트랜잭션이 물리 트랜잭션을 마킹한 경우
      * - 외부 트랜잭션이 커밋을 시도해도 실제로는 롤백됨
      */
     public boolean isRollbackOnly() {
-        return transactionInfo.isRollbackOnly();
+        return localRollbackOnly || transactionInfo.isRollbackOnly();
     }
+
     
     /**
-     * 트랜잭션이 완료되었는지 확인
-     * - 커밋되었거나 롤백된 상태
+     * 완료 처리
+     * - 트랜잭션 매니저가 정리 단계에서 호출
      */
-    public boolean isCompleted() {
-        return transactionInfo.isCompleted();
+    void markCompleted() {
+        this.completed = true;
     }
     
     /**
-     * 현재 트랜잭션을 rollback-only로 마킹
-     * - 참여 트랜잭션에서 예외 발생 시 사용
-     * - 외부 트랜잭션의 커밋을 방지
+     * 현재 범위를 rollback-only로 마킹 (Spring TransactionStatus.setRollbackOnly 역할)
+     * - 이 범위를 커밋하면 예외 없이 롤백
+     * - 참여 트랜잭션이면 커밋 시 외부 트랜잭션이 rollback-only로 마킹되어 외부 커밋이 UnexpectedRollbackException으로 실패
      */
     public void setRollbackOnly() {
-        transactionInfo.setRollbackOnly(true);
+        this.localRollbackOnly = true;
     }
     
     @Override
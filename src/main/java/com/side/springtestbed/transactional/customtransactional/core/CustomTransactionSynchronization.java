@@ -0,0 +1,43 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+/**
+ * 트랜잭션 동기화 콜백
+ * - Spring TransactionSynchronization 역할
+ * - 물리 트랜잭션(새 트랜잭션) 단위로 등록되며, 참여/중첩 트랜잭션에서 등록해도 외부 트랜잭션에 붙음
+ * - equals/hashCode가 같은 콜백은 한 트랜잭션 안에서 한 번만 등록됨 (중복 병합)
+ */
+public interface CustomTransactionSynchronization {
+
+    /**
+     * 커밋 완료
+     */
+    int STATUS_COMMITTED = 0;
+
+    /**
+     * 롤백 완료
+     */
+    int STATUS_ROLLED_BACK = 1;
+
+    /**
+     * 커밋 직전 호출
+     * - 아직 트랜잭션 커넥션을 사용 중이므로 DB 작업 가능 (예: 플러시)
+     * - 예외를 던지면 트랜잭션은 롤백됨
+     */
+    default void beforeCommit(boolean readOnly) {
+    }
+
+    /**
+     * 커밋 후 호출
+     * - 커넥션이 풀에 반환된 뒤 실행 (캐시 무효화, 이벤트 발행 등)
+     * - 동기화 실행기가 설정되어 있으면 별도 스레드에서 실행
+     */
+    default void afterCommit() {
+    }
+
+    /**
+     * 트랜잭션 완료 후 호출 (커밋/롤백 모두)
+     * - afterCommit 다음에 같은 스레드에서 실행
+     */
+    default void afterCompletion(int status) {
+    }
+}
@@ -1,10 +1,14 @@
 package com.side.springtestbed.transactional.customtransactional.core;
 
+import com.side.springtestbed.transactional.customtransactional.core.context.CustomTransactionContextHolder;
+import com.side.springtestbed.transactional.customtransactional.core.context.ThreadLocalTransactionContextHolder;
+import com.side.springtestbed.transactional.customtransactional.jpa.EntityManagerBinding;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 트랜잭션 동기화 매니저
- * - ThreadLocal을 이용한 트랜잭션 정보 관리
+ * - 컨텍스트 저장소(CustomTransactionContextHolder)를 이용한 트랜잭션 정보 관리
+ * - 기본 저장소는 ThreadLocal, 시스템 프로퍼티로 ScopedValue 저장소 선택 가능
  * - Spring TransactionSynchronizationManager 역할
  * - 스레드별 독립적인 트랜잭션 컨텍스트 제공
  */
@@ -12,12 +16,64 @@ import lombok.extern.slf4j.Slf4j;
 public class CustomTransactionSynchronizationManager {
     
     /**
-     * 스레드별 트랜잭션 정보 저장소
-     * - 각 스레드마다 독립적인 트랜잭션 컨텍스트 유지
+     * 컨텍스트 저장소 선택 시스템 프로퍼티
+     * - threadlocal (기본값), scopedvalue, 또는 구현 클래스의 FQCN
+     */
+    public static final String CONTEXT_HOLDER_PROPERTY = "customtransaction.context-holder";
+    
+    /**
+     * ScopedValue 저장소 구현 클래스 (preview 소스셋)
+     * - Java 21 preview API를 쓰므로 기본 빌드에 포함하지 않고 이름으로 로딩
+     * - 사용하려면 preview 소스셋 출력을 클래스패스에 추가하고 --enable-preview로 실행
+     */
+    static final String SCOPED_VALUE_HOLDER_CLASS =
+            "com.side.springtestbed.transactional.customtransactional.core.context.ScopedValueTransactionContextHolder";
+    
+    /**
+     * 트랜잭션 정보 저장소
+     * - 실행 흐름(스레드 또는 스코프)마다 독립적인 트랜잭션 컨텍스트 유지
      * - 중첩 트랜잭션 시 스택 구조로 이전 정보 백업/복원
      */
-    private static final ThreadLocal<CustomTransactionInfo> transactionInfoThreadLocal = 
-            new ThreadLocal<>();
+    private static volatile CustomTransactionContextHolder contextHolder =
+            createContextHolder(System.getProperty(CONTEXT_HOLDER_PROPERTY, "threadlocal"));
+    
+    /**
+     * 컨텍스트 저장소 교체
+     * - 트랜잭션이 진행 중이지 않을 때(애플리케이션 시작 시) 호출해야 함
+     */
+    public static void setContextHolder(CustomTransactionContextHolder holder) {
+        contextHolder = holder;
+        log.info("[컨텍스트 저장소] {} 사용", holder.getClass().getSimpleName());
+    }
+    
+    public static CustomTransactionContextHolder getContextHolder() {
+        return contextHolder;
+    }
+    
+    /**
+     * 프로퍼티 값으로 컨텍스트 저장소 생성
+     */
+    static CustomTransactionContextHolder createContextHolder(String name) {
+        switch (name.toLowerCase()) {
+            case "threadlocal":
+                return new ThreadLocalTransactionContextHolder();
+            case "scopedvalue":
+                return instantiateContextHolder(SCOPED_VALUE_HOLDER_CLASS);
+            default:
+                return instantiateContextHolder(name);
+        }
+    }
+    
+    private static CustomTransactionContextHolder instantiateContextHolder(String className) {
+        try {
+            return (CustomTransactionContextHolder) Class.forName(className)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // preview 클래스가 없거나 --enable-preview 없이 실행하면 LinkageError(UnsupportedClassVersionError)
+            throw new IllegalArgumentException("컨텍스트 저장소 생성 실패: " + className, e);
+        }
+    }
     
     /**
      * 현재 스레드의 트랜잭션 정보 조회
@@ -25,7 +81,7 @@ public class CustomTransactionSynchronizationManager {
      * - 없으면 null 반환
      */
     public static CustomTransactionInfo getCurrentTransactionInfo() {
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         if (current != null) {
             log.debug("[ThreadLocal 조회] 현재 트랜잭션: {}", current);
         } else {
@@ -42,7 +98,7 @@ public class CustomTransactionSynchronizationManager {
      */
     public static void bindTransactionInfo(CustomTransactionInfo transactionInfo) {
         // 기존 트랜잭션 정보 백업
-        CustomTransactionInfo previous = transactionInfoThreadLocal.get();
+        CustomTransactionInfo previous = contextHolder.get();
         if (previous != null) {
             transactionInfo.setPreviousTransactionInfo(previous);
             log.info("[ThreadLocal 바인딩] 기존 트랜잭션 백업하고 새 트랜잭션 설정");
@@ -54,7 +110,7 @@ public class CustomTransactionSynchronizationManager {
         }
         
         // 새 트랜잭션 정보 설정
-        transactionInfoThreadLocal.set(transactionInfo);
+        contextHolder.set(transactionInfo);
     }
     
     /**
@@ -64,10 +120,10 @@ public class CustomTransactionSynchronizationManager {
      * - 새 트랜잭션 완료 후 복원 가능하도록 정보 반환
      */
     public static CustomTransactionInfo suspendCurrentTransaction() {
-        CustomTransactionInfo suspended = transactionInfoThreadLocal.get();
+        CustomTransactionInfo suspended = contextHolder.get();
         if (suspended != null) {
             suspended.setActive(false);
-            transactionInfoThreadLocal.remove();
+            contextHolder.remove();
             log.info("[ThreadLocal 중단] 트랜잭션 일시 중단");
             log.debug("  - 중단된 트랜잭션: {}", suspended);
         } else {
@@ -84,7 +140,7 @@ public class CustomTransactionSynchronizationManager {
     public static void resumeTransaction(CustomTransactionInfo suspendedTransaction) {
         if (suspendedTransaction != null) {
             suspendedTransaction.setActive(true);
-            transactionInfoThreadLocal.set(suspendedTransaction);
+            contextHolder.set(suspendedTransaction);
             log.info("[ThreadLocal 복원] 중단된 트랜잭션 복원");
             log.debug("  - 복원된 트랜잭션: {}", suspendedTransaction);
         } else {
@@ -99,7 +155,7 @@ public class CustomTransactionSynchronizationManager {
      * - 중첩 트랜잭션의 스택 구조에서 이전 레벨로 복귀
      */
     public static void cleanupTransactionInfo() {
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         if (current != null) {
             // 현재 트랜잭션 완료 처리
             current.setCompleted(true);
@@ -108,12 +164,12 @@ public class CustomTransactionSynchronizationManager {
             // 이전 트랜잭션 복원
             CustomTransactionInfo previous = current.getPreviousTransactionInfo();
             if (previous != null) {
-                transactionInfoThreadLocal.set(previous);
+                contextHolder.set(previous);
                 log.info("[ThreadLocal 정리] 이전 트랜잭션으로 복원");
                 log.debug("  - 완료된 트랜잭션: {}", current);
                 log.debug("  - 복원된 트랜잭션: {}", previous);
             } else {
-                transactionInfoThreadLocal.remove();
+                contextHolder.remove();
                 log.info("[ThreadLocal 정리] ThreadLocal 완전 제거");
                 log.debug("  - 완료된 트랜잭션: {}", current);
             }
@@ -128,12 +184,112 @@ public class CustomTransactionSynchronizationManager {
      * - 메모리 누수 방지용
      */
     public static void clear() {
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         if (current != null) {
             log.warn("[ThreadLocal 강제 초기화] 활성 트랜잭션이 있지만 강제 정리");
             log.debug("  - 정리된 트랜잭션: {}", current);
         }
-        transactionInfoThreadLocal.remove();
+        contextHolder.remove();
+    }
+    
+    /**
+     * 현재 실행 흐름에서 트랜잭션 정보만 분리
+     * - 트랜잭션은 완료하지 않고 다른 스레드에서 이어서 완료할 때 사용 (비동기 반환 메서드)
+     * - 최외곽 트랜잭션에서만 호출해야 함 (이전 트랜잭션 복원 없음)
+     */
+    public static void unbindTransactionInfo() {
+        contextHolder.remove();
+        log.debug("[ThreadLocal 분리] 트랜잭션을 현재 실행 흐름에서 분리");
+    }
+    
+    /**
+     * 주어진 트랜잭션을 현재 실행 흐름에 바인딩한 상태로 작업 실행
+     * - 비동기 후속 작업 스레드로 트랜잭션 컨텍스트를 전달할 때 사용
+     * - 트랜잭션에 EntityManager가 묶여 있으면 작업 동안 Spring 리소스로도 바인딩 (리포지토리가 같은 세션 사용)
+     * - 작업이 끝나면 원래 바인딩 복원
+     * - 스코프가 필요한 저장소(ScopedValue)는 새 스코프를 열고 실행
+     */
+    public static void runWithTransactionInfo(CustomTransactionInfo transactionInfo, Runnable task) {
+        CustomTransactionContextHolder holder = contextHolder;
+        if (holder.isContextAvailable()) {
+            runBound(holder, transactionInfo, task);
+            return;
+        }
+        try {
+            holder.callInNewContext(() -> {
+                runBound(holder, transactionInfo, task);
+                return null;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+    
+    /**
+     * 현재 트랜잭션 컨텍스트를 캡처한 작업으로 감싸기
+     * - 활성 트랜잭션이 없으면 원래 작업 그대로 반환
+     */
+    public static Runnable wrapWithCurrentTransaction(Runnable task) {
+        CustomTransactionInfo captured = contextHolder.get();
+        if (captured == null || !captured.isActive()) {
+            return task;
+        }
+        return () -> runWithTransactionInfo(captured, task);
+    }
+    
+    private static void runBound(CustomTransactionContextHolder holder, CustomTransactionInfo transactionInfo, Runnable task) {
+        CustomTransactionInfo previous = holder.get();
+        holder.set(transactionInfo);
+        EntityManagerBinding binding = transactionInfo.getPhysicalTransactionInfo().getEntityManagerBinding();
+        boolean entityManagerBound = binding != null && binding.bind();
+        try {
+            task.run();
+        } finally {
+            if (entityManagerBound) {
+                binding.unbind();
+            }
+            if (previous != null) {
+                holder.set(previous);
+            } else {
+                holder.remove();
+            }
+        }
+    }
+    
+    /**
+     * 현재 트랜잭션에 동기화 콜백 등록
+     * - 참여/중첩 트랜잭션에서 호출해도 물리 트랜잭션에 등록됨
+     * - 같은(equals) 콜백은 한 번만 등록 (중복 병합)
+     */
+    public static boolean registerSynchronization(CustomTransactionSynchronization synchronization) {
+        CustomTransactionInfo current = contextHolder.get();
+        if (current == null || !current.isActive()) {
+            throw new IllegalStateException("활성 트랜잭션이 없어 동기화 콜백을 등록할 수 없음");
+        }
+        
+        boolean registered = current.getPhysicalTransactionInfo().addSynchronization(synchronization);
+        if (!registered) {
+            log.debug("[동기화 등록] 중복 콜백 병합: {}", synchronization);
+        }
+        return registered;
+    }
+    
+    /**
+     * 커밋 후 작업 등록
+     * - 같은 키의 작업은 트랜잭션당 한 번만 실행
+     * - 커넥션 반환 후 실행되므로 트랜잭션 커넥션 점유 시간을 늘리지 않음
+     */
+    public static boolean registerAfterCommit(Object key, Runnable task) {
+        return registerSynchronization(new AfterCommitTask(key, task));
+    }
+    
+    /**
+     * 동기화 콜백 등록 가능 여부 (활성 트랜잭션 존재 여부)
+     */
+    public static boolean isSynchronizationActive() {
+        return hasCurrentTransaction();
     }
     
     /**
@@ -141,7 +297,7 @@ public class CustomTransactionSynchronizationManager {
      * - 활성화된 트랜잭션이 있는지 간단히 체크
      */
     public static boolean hasCurrentTransaction() {
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         return current != null && current.isActive();
     }
     
@@ -152,7 +308,7 @@ public class CustomTransactionSynchronizationManager {
      */
     public static int getTransactionStackDepth() {
         int depth = 0;
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         
         while (current != null) {
             depth++;
@@ -167,7 +323,7 @@ public class CustomTransactionSynchronizationManager {
      * - 개발 및 디버깅 시 트랜잭션 상태 확인용
      */
     public static String getDebugInfo() {
-        CustomTransactionInfo current = transactionInfoThreadLocal.get();
+        CustomTransactionInfo current = contextHolder.get();
         if (current == null) {
             return "No active transaction";
         }
@@ -0,0 +1,141 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 트랜잭션 타임아웃 워치독
+ * - 마감 시각이 있는 물리 트랜잭션을 등록받아 주기적으로 검사
+ * - 마감 시각을 넘긴 트랜잭션은 타임아웃 처리기(쿼리 취소 + 롤백 + 커넥션 반환)에 넘김
+ * - 검사는 데몬 스레드 하나로 동작하며 첫 등록 시점에 시작
+ * - 타임아웃 처리는 별도 스레드에서 실행 (DB가 느려 롤백이 막혀도 다른 트랜잭션 검사가 밀리지 않음)
+ */
+@Slf4j
+public class CustomTransactionWatchdog {
+
+    /**
+     * 기본 검사 주기
+     */
+    public static final long DEFAULT_SCAN_INTERVAL_MILLIS = 500;
+
+    private final Set<CustomTransactionInfo> activeTransactions = ConcurrentHashMap.newKeySet();
+
+    private final Consumer<CustomTransactionInfo> timeoutHandler;
+
+    private final long scanIntervalMillis;
+
+    /**
+     * 타임아웃 처리 중인 트랜잭션 (처리가 끝나기 전 다음 검사에서 중복 처리 방지)
+     */
+    private final Set<CustomTransactionInfo> abortingTransactions = ConcurrentHashMap.newKeySet();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private volatile ExecutorService abortExecutor;
+
+    public CustomTransactionWatchdog(Consumer<CustomTransactionInfo> timeoutHandler, long scanIntervalMillis) {
+        this.timeoutHandler = timeoutHandler;
+        this.scanIntervalMillis = scanIntervalMillis;
+    }
+
+    /**
+     * 감시 대상 트랜잭션 등록
+     * - 마감 시각이 없는 트랜잭션은 등록하지 않음
+     */
+    public void register(CustomTransactionInfo transactionInfo) {
+        if (transactionInfo.getDeadlineNanos() == 0) {
+            return;
+        }
+        ensureStarted();
+        activeTransactions.add(transactionInfo);
+    }
+
+    /**
+     * 감시 대상 해제 (트랜잭션 정상 종료 시)
+     */
+    public void unregister(CustomTransactionInfo transactionInfo) {
+        activeTransactions.remove(transactionInfo);
+    }
+
+    /**
+     * 감시 중인 트랜잭션 수
+     */
+    public int getActiveTransactionCount() {
+        return activeTransactions.size();
+    }
+
+    /**
+     * 워치독 종료
+     */
+    public void shutdown() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.shutdownNow();
+        }
+        ExecutorService currentAbortExecutor = abortExecutor;
+        if (currentAbortExecutor != null) {
+            currentAbortExecutor.shutdownNow();
+        }
+        activeTransactions.clear();
+        abortingTransactions.clear();
+    }
+
+    private void ensureStarted() {
+        if (scheduler != null) {
+            return;
+        }
+        synchronized (this) {
+            if (scheduler == null) {
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "custom-transaction-watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                // 처리 중인 트랜잭션 수는 커넥션 수를 넘지 않으므로 필요한 만큼 스레드 생성
+                abortExecutor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "custom-transaction-watchdog-abort");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleWithFixedDelay(this::scan, scanIntervalMillis, scanIntervalMillis, TimeUnit.MILLISECONDS);
+                scheduler = executor;
+                log.info("[워치독] 트랜잭션 타임아웃 감시 시작 (주기: {}ms)", scanIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * 마감 시각이 지난 트랜잭션 검사
+     * - 처리기는 처리 스레드에서 실행하고, 끝나기 전에는 같은 트랜잭션을 다시 넘기지 않음
+     */
+    private void scan() {
+        long now = System.nanoTime();
+        for (CustomTransactionInfo transactionInfo : activeTransactions) {
+            if (now - transactionInfo.getDeadlineNanos() > 0 && abortingTransactions.add(transactionInfo)) {
+                try {
+                    abortExecutor.execute(() -> abort(transactionInfo));
+                } catch (RuntimeException e) {
+                    abortingTransactions.remove(transactionInfo);
+                    log.error("[워치독] 타임아웃 처리 예약 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void abort(CustomTransactionInfo transactionInfo) {
+        try {
+            timeoutHandler.accept(transactionInfo);
+        } catch (RuntimeException e) {
+            log.error("[워치독] 타임아웃 처리 실패: {}", e.getMessage());
+        } finally {
+            abortingTransactions.remove(transactionInfo);
+        }
+    }
+}
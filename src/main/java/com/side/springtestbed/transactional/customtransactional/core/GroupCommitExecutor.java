@@ -0,0 +1,267 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 그룹 커밋 실행기
+ * - 여러 호출자가 제출한 작은 트랜잭션 작업을 모아 하나의 물리 트랜잭션에서 실행
+ * - 작업마다 NESTED(Savepoint)로 감싸서 실패한 작업만 롤백
+ * - 공유 커밋이 끝난 뒤 각 호출자의 future 완료 (커밋 실패 시 성공 작업도 모두 실패 처리)
+ * - 커밋/fsync 비용을 배치 크기만큼 나눠 내는 대신 호출자는 배치를 채우는 대기 시간만큼 늦게 완료됨
+ */
+@Slf4j
+public class GroupCommitExecutor implements AutoCloseable {
+
+    private final CustomTransactionManager transactionManager;
+
+    private final CustomTransactionDefinition batchDefinition;
+
+    private final CustomTransactionDefinition unitDefinition;
+
+    private final int maxBatchSize;
+
+    /**
+     * 첫 작업 이후 배치를 채우기 위해 추가로 기다리는 최대 시간
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * 종료 표식 (close()가 마지막으로 넣는 항목)
+     * - 워커는 표식 앞의 작업을 모두 처리한 뒤 종료
+     */
+    private static final PendingUnit<?> SHUTDOWN = new PendingUnit<>(connection -> null);
+
+    private final BlockingQueue<PendingUnit<?>> queue = new LinkedBlockingQueue<>();
+
+    private final Thread worker;
+
+    /**
+     * 제출/종료 직렬화용 락
+     * - 종료 표식 뒤에 작업이 들어가 처리되지 않은 채 남는 경합 방지
+     */
+    private final Object submitLock = new Object();
+
+    private volatile boolean running = true;
+
+    public GroupCommitExecutor(CustomTransactionManager transactionManager, String name,
+                               int maxBatchSize, long maxWait, TimeUnit unit) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("배치 크기는 1 이상이어야 함: " + maxBatchSize);
+        }
+        this.transactionManager = transactionManager;
+        this.batchDefinition = new CustomTransactionDefinition(
+            Propagation.REQUIRES_NEW, Isolation.DEFAULT, false, -1,
+            new Class[]{Throwable.class}, new Class[]{}, name + ".batch"
+        );
+        this.unitDefinition = new CustomTransactionDefinition(
+            Propagation.NESTED, Isolation.DEFAULT, false, -1,
+            new Class[]{Throwable.class}, new Class[]{}, name + ".unit"
+        );
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.worker = new Thread(this::runLoop, "custom-transaction-group-commit-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 작업 제출
+     * - 반환된 future는 작업이 포함된 배치가 커밋된 뒤 완료
+     */
+    public <T> CompletableFuture<T> submit(TransactionalUnit<T> transactionalUnit) {
+        PendingUnit<T> pendingUnit = new PendingUnit<>(transactionalUnit);
+        synchronized (submitLock) {
+            if (!running) {
+                throw new RejectedExecutionException("그룹 커밋 실행기가 종료됨");
+            }
+            queue.add(pendingUnit);
+        }
+        return pendingUnit.future;
+    }
+
+    /**
+     * 대기 중인 작업을 모두 처리한 뒤 종료
+     * - 워커를 인터럽트하지 않고 종료 표식을 넣어 배치 수집 중인 작업도 그대로 실행
+     */
+    @Override
+    public void close() {
+        synchronized (submitLock) {
+            if (running) {
+                running = false;
+                queue.add(SHUTDOWN);
+            }
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        List<PendingUnit<?>> batch = new ArrayList<>(maxBatchSize);
+        boolean shutdown = false;
+        while (!shutdown) {
+            try {
+                shutdown = collectBatch(batch);
+            } catch (InterruptedException e) {
+                // 종료는 종료 표식으로만 처리 - 모은 작업은 그대로 실행하고 계속 대기
+                log.warn("[그룹 커밋] 워커 인터럽트 무시 - close()로 종료해야 함");
+            }
+            if (!batch.isEmpty()) {
+                executeBatch(batch);
+                batch.clear();
+            }
+        }
+        log.info("[그룹 커밋] 실행기 종료");
+    }
+
+    /**
+     * 첫 작업은 올 때까지 기다리고, 이후 최대 대기 시간 동안 배치 크기만큼 모음
+     * - 종료 표식을 만나면 수집을 멈추고 true 반환 (표식 앞의 작업은 배치에 포함됨)
+     */
+    private boolean collectBatch(List<PendingUnit<?>> batch) throws InterruptedException {
+        PendingUnit<?> first = queue.take();
+        if (first == SHUTDOWN) {
+            return true;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            PendingUnit<?> next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            if (next == SHUTDOWN) {
+                return true;
+            }
+            batch.add(next);
+        }
+        return false;
+    }
+
+    private void executeBatch(List<PendingUnit<?>> batch) {
+        try {
+            CustomTransactionSynchronizationManager.getContextHolder().callInNewContext(() -> {
+                runInSharedTransaction(batch);
+                return null;
+            });
+        } catch (Throwable t) {
+            log.error("[그룹 커밋] 배치 {}건 실패: {}", batch.size(), t.getMessage());
+            for (PendingUnit<?> pendingUnit : batch) {
+                pendingUnit.fail(t);
+            }
+        }
+    }
+
+    /**
+     * 배치를 하나의 물리 트랜잭션에서 실행
+     * - 작업마다 Savepoint, 실패한 작업은 Savepoint로 롤백하고 나머지는 계속 진행
+     */
+    private void runInSharedTransaction(List<PendingUnit<?>> batch) {
+        CustomTransactionStatus status = transactionManager.getTransaction(batchDefinition);
+        Connection connection = status.getTransactionInfo().getConnection();
+
+        try {
+            for (PendingUnit<?> pendingUnit : batch) {
+                runUnit(pendingUnit, connection);
+            }
+        } catch (RuntimeException e) {
+            // Savepoint 생성/롤백 실패 - 커넥션 상태를 신뢰할 수 없으므로 배치 전체 롤백
+            if (!status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+            throw e;
+        }
+
+        try {
+            transactionManager.commit(status);
+        } catch (RuntimeException e) {
+            log.error("[그룹 커밋] 공유 커밋 실패 - 배치 {}건 모두 실패 처리: {}", batch.size(), e.getMessage());
+            for (PendingUnit<?> pendingUnit : batch) {
+                pendingUnit.fail(e);
+            }
+            return;
+        }
+
+        for (PendingUnit<?> pendingUnit : batch) {
+            pendingUnit.complete();
+        }
+        log.debug("[그룹 커밋] 배치 {}건 커밋", batch.size());
+    }
+
+    private void runUnit(PendingUnit<?> pendingUnit, Connection connection) {
+        CustomTransactionStatus unitStatus = transactionManager.getTransaction(unitDefinition);
+        try {
+            pendingUnit.execute(connection);
+        } catch (Throwable t) {
+            pendingUnit.error = t;
+            transactionManager.rollback(unitStatus);
+            return;
+        }
+        transactionManager.commit(unitStatus);
+    }
+
+    /**
+     * 그룹 커밋으로 실행할 작업
+     * - 공유 트랜잭션의 커넥션을 받아 실행, 예외를 던지면 이 작업만 롤백
+     */
+    @FunctionalInterface
+    public interface TransactionalUnit<T> {
+        T execute(Connection connection) throws Exception;
+    }
+
+    private static class PendingUnit<T> {
+
+        private final TransactionalUnit<T> transactionalUnit;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private T result;
+
+        private Throwable error;
+
+        PendingUnit(TransactionalUnit<T> transactionalUnit) {
+            this.transactionalUnit = transactionalUnit;
+        }
+
+        void execute(Connection connection) throws Exception {
+            result = transactionalUnit.execute(connection);
+        }
+
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        void fail(Throwable cause) {
+            future.completeExceptionally(error != null ? error : cause);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 격리 수준/읽기 전용별 하위 커넥션 풀
+ * - (격리 수준, readOnly) 조합마다 Hikari 풀을 따로 두고, 커넥션을 처음부터 그 모드로 생성
+ *   (autoCommit=false, 격리 수준, readOnly가 풀 기본값이므로 트랜잭션 시작/종료 시 JDBC 설정 호출이 없음)
+ * - 하위 풀은 처음 요청된 조합에 대해 만들어짐
+ * - 전체 커넥션 수는 totalConnections 안에서 하위 풀끼리 나눠 씀
+ *   (하위 풀 수는 totalConnections / minConnectionsPerPartition까지, 넘으면 기존 하위 풀에 합침)
+ * - 균형기가 주기적으로 각 풀의 수요(사용 중 + 대기 스레드)를 보고 최대 크기를 재배분
+ *   (줄어든 풀은 새 커넥션을 만들지 않고, 새 최대 크기를 넘는 커넥션은 idleTimeout/maxLifetime에 따라 정리됨)
+ */
+@Slf4j
+public class IsolationPartitionedPools implements AutoCloseable {
+
+    /**
+     * 수요 지수 이동 평균 가중치 (새 표본 비중)
+     */
+    private static final double DEMAND_SMOOTHING = 0.5;
+
+    private final HikariConfig baseConfig;
+
+    private final int totalConnections;
+
+    private final int minConnectionsPerPartition;
+
+    private final Map<PartitionKey, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * 하위 풀 수 한도를 넘어 기존 하위 풀에 합쳐진 조합
+     * - 커넥션 기본값이 요청과 다르므로 트랜잭션마다 격리 수준/readOnly 설정 후 복원
+     */
+    private final Map<PartitionKey, Partition> mergedPartitions = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService balancer;
+
+    private volatile boolean closed;
+
+    /**
+     * @param baseConfig                 하위 풀 공통 설정 (URL, 계정, 타임아웃 등, 풀 크기/격리 수준은 무시)
+     * @param totalConnections           모든 하위 풀의 최대 크기 합
+     * @param minConnectionsPerPartition 수요가 없어도 하위 풀마다 보장하는 최대 크기
+     */
+    public IsolationPartitionedPools(HikariConfig baseConfig, int totalConnections, int minConnectionsPerPartition) {
+        if (minConnectionsPerPartition < 1 || totalConnections < minConnectionsPerPartition) {
+            throw new IllegalArgumentException(String.format(
+                "풀 크기 설정 오류: 전체 %d, 하위 풀 최소 %d", totalConnections, minConnectionsPerPartition
+            ));
+        }
+        this.baseConfig = baseConfig;
+        this.totalConnections = totalConnections;
+        this.minConnectionsPerPartition = minConnectionsPerPartition;
+    }
+
+    /**
+     * 트랜잭션 설정에 맞는 하위 풀 선택
+     * - 처음 요청된 조합이면 하위 풀을 만들고 바로 재배분
+     * - 하위 풀 수가 한도에 닿았으면 가장 가까운 기존 하위 풀을 함께 사용
+     */
+    public DataSource route(CustomTransactionDefinition definition) {
+        PartitionKey key = new PartitionKey(definition.getIsolation(), definition.isReadOnly());
+        Partition partition = partitions.get(key);
+        if (partition == null) {
+            partition = mergedPartitions.get(key);
+        }
+        if (partition == null) {
+            partition = createPartition(key);
+        }
+        return partition.dataSource;
+    }
+
+    /**
+     * 주기적 재배분 시작
+     * - 데몬 스레드 하나로 동작
+     */
+    public synchronized void startBalancer(long interval, TimeUnit unit) {
+        if (balancer != null) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "custom-transaction-pool-balancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::rebalanceQuietly, interval, interval, unit);
+        balancer = executor;
+        log.info("[하위 풀] 균형기 시작 (주기: {}ms)", unit.toMillis(interval));
+    }
+
+    /**
+     * 수요에 비례해 하위 풀 최대 크기 재배분
+     * - 하위 풀마다 최소 크기를 먼저 보장하고, 남는 용량을 수요 비율로 나눔
+     * - 수요 = 사용 중 커넥션 + 커넥션을 기다리는 스레드 (Hikari 풀 MXBean 기준, 지수 이동 평균)
+     */
+    public synchronized void rebalance() {
+        List<Partition> current = new ArrayList<>(partitions.values());
+        if (current.isEmpty() || closed) {
+            return;
+        }
+
+        double totalWeight = 0;
+        for (Partition partition : current) {
+            HikariPoolMXBean pool = partition.dataSource.getHikariPoolMXBean();
+            int sample = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            partition.demand = partition.demand * (1 - DEMAND_SMOOTHING) + sample * DEMAND_SMOOTHING;
+            // 수요가 없는 풀도 조금은 나눠 받도록 1을 더함
+            totalWeight += partition.demand + 1;
+        }
+
+        int spare = Math.max(0, totalConnections - minConnectionsPerPartition * current.size());
+        int assigned = 0;
+        for (Partition partition : current) {
+            int share = (int) Math.floor(spare * (partition.demand + 1) / totalWeight);
+            partition.targetSize = minConnectionsPerPartition + share;
+            assigned += share;
+        }
+
+        // 나머지는 수요가 큰 풀부터 하나씩
+        current.sort(Comparator.comparingDouble((Partition partition) -> partition.demand).reversed());
+        for (int i = 0; spare - assigned > 0; i = (i + 1) % current.size()) {
+            current.get(i).targetSize++;
+            assigned++;
+        }
+
+        for (Partition partition : current) {
+            resize(partition, partition.targetSize);
+        }
+    }
+
+    public List<PartitionSnapshot> getSnapshots() {
+        List<PartitionSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<PartitionKey, Partition> entry : partitions.entrySet()) {
+            Partition partition = entry.getValue();
+            HikariPoolMXBean pool = partition.dataSource.getHikariPoolMXBean();
+            snapshots.add(new PartitionSnapshot(
+                partition.dataSource.getPoolName(),
+                entry.getKey().isolation,
+                entry.getKey().readOnly,
+                partition.dataSource.getHikariConfigMXBean().getMaximumPoolSize(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection(),
+                partition.demand
+            ));
+        }
+        snapshots.sort(Comparator.comparing(PartitionSnapshot::getPoolName));
+        return snapshots;
+    }
+
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * 하위 풀 수 한도 (모든 하위 풀에 최소 크기를 보장할 수 있는 수)
+     */
+    public int getMaxPartitions() {
+        return totalConnections / minConnectionsPerPartition;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * 균형기와 모든 하위 풀 종료
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        ScheduledExecutorService current = balancer;
+        if (current != null) {
+            current.shutdownNow();
+        }
+        for (Partition partition : partitions.values()) {
+            partition.dataSource.close();
+        }
+        partitions.clear();
+        mergedPartitions.clear();
+    }
+
+    private synchronized Partition createPartition(PartitionKey key) {
+        Partition existing = partitions.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Partition merged = mergedPartitions.get(key);
+        if (merged != null) {
+            return merged;
+        }
+        if (closed) {
+            throw new IllegalStateException("하위 풀이 이미 종료됨");
+        }
+        if (partitions.size() >= getMaxPartitions()) {
+            return mergePartition(key);
+        }
+
+        HikariConfig config = new HikariConfig();
+        baseConfig.copyStateTo(config);
+        config.setPoolName(poolNamePrefix() + "-" + key.label());
+        config.setAutoCommit(false);
+        config.setReadOnly(key.readOnly);
+        if (key.isolation != Isolation.DEFAULT) {
+            config.setTransactionIsolation(toHikariIsolation(key.isolation));
+        }
+        config.setMaximumPoolSize(minConnectionsPerPartition);
+        config.setMinimumIdle(0);
+
+        Partition partition = new Partition(new HikariDataSource(config), partitions.size());
+        partitions.put(key, partition);
+        log.info("[하위 풀] 생성: {}", config.getPoolName());
+        rebalance();
+        return partition;
+    }
+
+    /**
+     * 한도를 넘은 조합을 기존 하위 풀에 합침
+     * - 같은 격리 수준 > 같은 readOnly > 가장 먼저 만든 하위 풀 순으로 선택
+     */
+    private Partition mergePartition(PartitionKey key) {
+        Partition target = null;
+        int bestScore = -1;
+        for (Map.Entry<PartitionKey, Partition> entry : partitions.entrySet()) {
+            PartitionKey candidate = entry.getKey();
+            int score = (candidate.isolation == key.isolation ? 2 : 0) + (candidate.readOnly == key.readOnly ? 1 : 0);
+            if (score > bestScore || (score == bestScore && entry.getValue().sequence < target.sequence)) {
+                target = entry.getValue();
+                bestScore = score;
+            }
+        }
+        mergedPartitions.put(key, target);
+        log.warn("[하위 풀] 하위 풀 수 한도({}) 도달: {} 조합은 {} 사용",
+            getMaxPartitions(), key.label(), target.dataSource.getPoolName());
+        return target;
+    }
+
+    /**
+     * 최대 크기 변경
+     * - 줄여도 기존 커넥션은 닫지 않음 (재배분마다 재연결하고 서버 쪽 준비 상태를 잃지 않도록)
+     * - Hikari는 새 최대 크기 이상으로는 커넥션을 만들지 않고, 넘는 유휴 커넥션은 idleTimeout/maxLifetime에 정리
+     *   (minimumIdle이 0이므로 유휴 커넥션은 모두 idleTimeout 대상)
+     */
+    private void resize(Partition partition, int maximumPoolSize) {
+        HikariConfigMXBean config = partition.dataSource.getHikariConfigMXBean();
+        int previous = config.getMaximumPoolSize();
+        if (previous == maximumPoolSize) {
+            return;
+        }
+        config.setMaximumPoolSize(maximumPoolSize);
+        log.debug("[하위 풀] {} 최대 크기 {} -> {} (수요 {})",
+            partition.dataSource.getPoolName(), previous, maximumPoolSize, String.format("%.1f", partition.demand));
+    }
+
+    private void rebalanceQuietly() {
+        try {
+            rebalance();
+        } catch (RuntimeException e) {
+            log.error("[하위 풀] 재배분 실패: {}", e.getMessage());
+        }
+    }
+
+    private String poolNamePrefix() {
+        return baseConfig.getPoolName() != null ? baseConfig.getPoolName() : "custom-tx";
+    }
+
+    private static String toHikariIsolation(Isolation isolation) {
+        return switch (isolation) {
+            case READ_UNCOMMITTED -> "TRANSACTION_READ_UNCOMMITTED";
+            case READ_COMMITTED -> "TRANSACTION_READ_COMMITTED";
+            case REPEATABLE_READ -> "TRANSACTION_REPEATABLE_READ";
+            case SERIALIZABLE -> "TRANSACTION_SERIALIZABLE";
+            default -> throw new IllegalArgumentException("지원하지 않는 격리 수준: " + isolation);
+        };
+    }
+
+    /**
+     * 하위 풀 키
+     */
+    private static final class PartitionKey {
+
+        private final Isolation isolation;
+
+        private final boolean readOnly;
+
+        private PartitionKey(Isolation isolation, boolean readOnly) {
+            this.isolation = isolation;
+            this.readOnly = readOnly;
+        }
+
+        private String label() {
+            return isolation.name().toLowerCase() + (readOnly ? "-ro" : "-rw");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PartitionKey)) {
+                return false;
+            }
+            PartitionKey that = (PartitionKey) other;
+            return isolation == that.isolation && readOnly == that.readOnly;
+        }
+
+        @Override
+        public int hashCode() {
+            return isolation.hashCode() * 31 + (readOnly ? 1 : 0);
+        }
+    }
+
+    private static final class Partition {
+
+        private final HikariDataSource dataSource;
+
+        /**
+         * 생성 순서 (합칠 하위 풀 선택 시 동점 처리)
+         */
+        private final int sequence;
+
+        /**
+         * 수요 지수 이동 평균
+         */
+        private volatile double demand;
+
+        private int targetSize;
+
+        private Partition(HikariDataSource dataSource, int sequence) {
+            this.dataSource = dataSource;
+            this.sequence = sequence;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PartitionSnapshot {
+        private final String poolName;
+        private final Isolation isolation;
+        private final boolean readOnly;
+        private final int maximumPoolSize;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int threadsAwaitingConnection;
+        private final double demand;
+    }
+}
@@ -0,0 +1,196 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import com.side.springtestbed.common.exception.BulkheadFullException;
+import com.side.springtestbed.common.exception.TransactionAdmissionException;
+import com.side.springtestbed.common.metrics.LatencyHistogram;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 트랜잭션 벌크헤드
+ * - 메서드(또는 이름 붙인 메서드 묶음)가 동시에 잡을 수 있는 트랜잭션 수 제한
+ * - 한 워크로드가 커넥션 풀 전체를 차지해서 다른 워크로드가 굶는 상황 방지
+ * - 한도가 차면 제한된 크기의 대기열에서 기다림 (우선순위가 높은 순, 같으면 도착 순서 = 공정)
+ * - 대기열이 가득 찼거나 최대 대기 시간을 넘기면 BulkheadFullException
+ * - 반환 시 빈자리를 늘리지 않고 다음 대기자에게 바로 넘김 (새로 도착한 호출이 끼어들지 못함)
+ */
+public class TransactionBulkhead {
+
+    private static final Comparator<Waiter> WAITER_ORDER = Comparator
+        .comparingInt((Waiter waiter) -> waiter.priority).reversed()
+        .thenComparingLong(waiter -> waiter.arrival);
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    private final int maxQueueSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(WAITER_ORDER);
+
+    private int active;
+
+    private long arrivalSequence;
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 대기 후 승인된 호출의 대기 시간
+     */
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    public TransactionBulkhead(String name, int maxConcurrency, int maxQueueSize) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("동시 실행 한도는 1 이상이어야 함: " + maxConcurrency);
+        }
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * 실행 승인
+     * - 자리가 있고 대기자가 없으면 바로 승인
+     * - 없으면 대기열에서 최대 maxWaitNanos 동안 대기
+     */
+    public void acquire(int priority, long maxWaitNanos, String transactionName) {
+        long startNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (active < maxConcurrency && waiters.isEmpty()) {
+                active++;
+                admitted.increment();
+                return;
+            }
+            if (waiters.size() >= maxQueueSize || maxWaitNanos <= 0) {
+                rejected.increment();
+                throw new BulkheadFullException(String.format(
+                    "[%s] 벌크헤드 '%s' 포화: 실행 %d/%d, 대기 %d/%d",
+                    transactionName, name, active, maxConcurrency, waiters.size(), maxQueueSize
+                ));
+            }
+
+            Waiter waiter = new Waiter(priority, arrivalSequence++, lock.newCondition());
+            waiters.add(waiter);
+            awaitTurn(waiter, maxWaitNanos, transactionName);
+            admitted.increment();
+            waitTime.record(System.nanoTime() - startNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실행 종료
+     * - 대기자가 있으면 자리를 그대로 넘기고, 없으면 자리 반환
+     */
+    public void release() {
+        lock.lock();
+        try {
+            handOff();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(
+                name, maxConcurrency, maxQueueSize, active, waiters.size(),
+                admitted.sum(), rejected.sum(), waitTime.snapshot()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    private void awaitTurn(Waiter waiter, long maxWaitNanos, String transactionName) {
+        long remainingNanos = maxWaitNanos;
+        try {
+            while (!waiter.granted) {
+                if (remainingNanos <= 0) {
+                    waiters.remove(waiter);
+                    rejected.increment();
+                    throw new BulkheadFullException(String.format(
+                        "[%s] 벌크헤드 '%s' 대기 시간 초과 (%dms, 실행 %d/%d)",
+                        transactionName, name, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos), active, maxConcurrency
+                    ));
+                }
+                remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                // 자리를 넘겨받은 직후 인터럽트 - 받은 자리를 다음 대기자에게 다시 넘김
+                handOff();
+            } else {
+                waiters.remove(waiter);
+            }
+            Thread.currentThread().interrupt();
+            throw new TransactionAdmissionException("[" + transactionName + "] 벌크헤드 '" + name + "' 대기 중 인터럽트", e);
+        }
+    }
+
+    private void handOff() {
+        Waiter next = waiters.poll();
+        if (next != null) {
+            next.granted = true;
+            next.condition.signal();
+        } else {
+            active--;
+        }
+    }
+
+    private static class Waiter {
+
+        private final int priority;
+
+        private final long arrival;
+
+        private final Condition condition;
+
+        private boolean granted;
+
+        Waiter(int priority, long arrival, Condition condition) {
+            this.priority = priority;
+            this.arrival = arrival;
+            this.condition = condition;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final String name;
+        private final int maxConcurrency;
+        private final int maxQueueSize;
+        private final int active;
+        private final int waiting;
+        private final long admitted;
+        private final long rejected;
+        private final LatencyHistogram.Snapshot waitTime;
+    }
+}
@@ -0,0 +1,51 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * 이름별 트랜잭션 벌크헤드 저장소
+ * - 같은 이름을 쓰는 메서드는 하나의 벌크헤드를 공유
+ */
+@Slf4j
+public class TransactionBulkheadRegistry {
+
+    private final ConcurrentMap<String, TransactionBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 설정에 해당하는 벌크헤드 조회 (없으면 생성)
+     * - 이미 있는 벌크헤드와 한도가 다르면 IllegalStateException
+     */
+    public TransactionBulkhead bulkheadFor(TransactionBulkheadSpec spec) {
+        TransactionBulkhead bulkhead = bulkheads.get(spec.getName());
+        if (bulkhead == null) {
+            bulkhead = bulkheads.computeIfAbsent(spec.getName(), name -> {
+                log.info("[벌크헤드] '{}' 생성 - 동시 실행 {}개, 대기열 {}개", name, spec.getMaxConcurrency(), spec.getMaxQueueSize());
+                return new TransactionBulkhead(name, spec.getMaxConcurrency(), spec.getMaxQueueSize());
+            });
+        }
+        if (bulkhead.getMaxConcurrency() != spec.getMaxConcurrency() || bulkhead.getMaxQueueSize() != spec.getMaxQueueSize()) {
+            throw new IllegalStateException(String.format(
+                "벌크헤드 '%s' 한도 충돌 - 등록된 한도: 동시 실행 %d개, 대기열 %d개 / 요청한 설정: %s",
+                spec.getName(), bulkhead.getMaxConcurrency(), bulkhead.getMaxQueueSize(), spec
+            ));
+        }
+        return bulkhead;
+    }
+
+    public TransactionBulkhead getBulkhead(String name) {
+        return bulkheads.get(name);
+    }
+
+    public List<TransactionBulkhead.Snapshot> getSnapshots() {
+        return bulkheads.values().stream()
+            .map(TransactionBulkhead::snapshot)
+            .sorted(Comparator.comparing(TransactionBulkhead.Snapshot::getName))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.Getter;
+
+/**
+ * 트랜잭션 벌크헤드 설정
+ * - @CustomTransactional의 maxConcurrency / bulkhead 속성에서 해석
+ * - 같은 이름의 벌크헤드는 여러 메서드가 공유 (동시 실행/대기열 한도가 다르면 해석 시 실패)
+ * - 대기 시간과 우선순위는 메서드마다 다르게 지정 가능
+ */
+@Getter
+public final class TransactionBulkheadSpec {
+
+    /**
+     * 벌크헤드 없음 (기본값)
+     */
+    public static final TransactionBulkheadSpec NONE = new TransactionBulkheadSpec(null, 0, 0, 0, 0);
+
+    private final String name;
+
+    /**
+     * 동시에 실행할 수 있는 최대 트랜잭션 수
+     */
+    private final int maxConcurrency;
+
+    /**
+     * 한도가 찼을 때 기다릴 수 있는 최대 호출 수 (넘으면 즉시 거부)
+     */
+    private final int maxQueueSize;
+
+    /**
+     * 대기 최대 시간 (밀리초, 넘으면 거부)
+     */
+    private final long maxWaitMillis;
+
+    /**
+     * 대기 우선순위 (클수록 먼저, 같으면 도착 순서)
+     */
+    private final int priority;
+
+    public TransactionBulkheadSpec(String name, int maxConcurrency, int maxQueueSize, long maxWaitMillis, int priority) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.priority = priority;
+    }
+
+    public boolean isEnabled() {
+        return maxConcurrency > 0;
+    }
+
+    /**
+     * 공유 벌크헤드의 한도(동시 실행 수, 대기열 크기)가 같은지 확인
+     */
+    public boolean hasSameLimits(TransactionBulkheadSpec other) {
+        return maxConcurrency == other.maxConcurrency && maxQueueSize == other.maxQueueSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "TransactionBulkheadSpec{name=%s, maxConcurrency=%d, maxQueueSize=%d, maxWaitMillis=%d, priority=%d}",
+            name, maxConcurrency, maxQueueSize, maxWaitMillis, priority
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 트랜잭션 컨텍스트 전달 실행기
+ * - 작업을 제출한 시점의 트랜잭션을 실행 스레드에 바인딩한 뒤 실행
+ * - 트랜잭션에 EntityManager가 묶여 있으면 작업 동안 함께 바인딩 (Spring Data 리포지토리가 같은 세션/커넥션 사용)
+ * - CompletableFuture를 반환하는 @CustomTransactional 메서드의 후속 작업에 사용
+ *   (예: supplyAsync(..., transactionContextExecutor), thenApplyAsync(..., transactionContextExecutor))
+ * - JDBC 커넥션과 Hibernate 세션은 스레드 안전하지 않으므로 같은 트랜잭션의 작업은 순차적으로 연결해서 실행해야 함
+ */
+public class TransactionContextExecutor implements Executor {
+
+    private final Executor delegate;
+
+    public TransactionContextExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(CustomTransactionSynchronizationManager.wrapWithCurrentTransaction(task));
+    }
+}
@@ -0,0 +1,85 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 트랜잭션 DataSource 라우터
+ * - 쓰기 트랜잭션은 항상 primary DataSource 사용
+ * - readOnly 트랜잭션은 replica DataSource로 분산 (여러 개면 라운드 로빈)
+ * - replica가 없으면 readOnly 트랜잭션도 primary 사용
+ * - 하위 풀이 설정되어 있으면 primary 대신 격리 수준/readOnly에 맞는 하위 풀 사용
+ */
+@Slf4j
+public class TransactionDataSourceRouter {
+
+    private final DataSource primaryDataSource;
+
+    private volatile List<DataSource> replicaDataSources = List.of();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile IsolationPartitionedPools partitionedPools;
+
+    public TransactionDataSourceRouter(DataSource primaryDataSource) {
+        this.primaryDataSource = primaryDataSource;
+    }
+
+    /**
+     * replica 목록 교체
+     * - 빈 목록이면 모든 트랜잭션이 primary로 감
+     */
+    public void setReplicaDataSources(List<DataSource> replicaDataSources) {
+        this.replicaDataSources = List.copyOf(replicaDataSources);
+        log.info("[DataSource 라우팅] replica {}개 설정", this.replicaDataSources.size());
+    }
+
+    /**
+     * 격리 수준/readOnly별 하위 풀 설정 (null이면 primary DataSource 사용)
+     */
+    public void setPartitionedPools(IsolationPartitionedPools partitionedPools) {
+        this.partitionedPools = partitionedPools;
+        log.info("[DataSource 라우팅] 하위 풀 {}", partitionedPools != null ? "사용" : "사용 안 함");
+    }
+
+    /**
+     * 트랜잭션이 사용할 DataSource 결정
+     */
+    public DataSource route(CustomTransactionDefinition definition) {
+        if (!definition.isReadOnly()) {
+            return routePrimary(definition);
+        }
+
+        List<DataSource> replicas = replicaDataSources;
+        if (replicas.isEmpty()) {
+            return routePrimary(definition);
+        }
+        if (replicas.size() == 1) {
+            return replicas.get(0);
+        }
+        return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * primary 쪽 DataSource (하위 풀이 있으면 설정에 맞는 하위 풀)
+     */
+    private DataSource routePrimary(CustomTransactionDefinition definition) {
+        IsolationPartitionedPools pools = partitionedPools;
+        return pools != null ? pools.route(definition) : primaryDataSource;
+    }
+
+    public IsolationPartitionedPools getPartitionedPools() {
+        return partitionedPools;
+    }
+
+    public DataSource getPrimaryDataSource() {
+        return primaryDataSource;
+    }
+
+    public int getReplicaCount() {
+        return replicaDataSources.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.side.springtestbed.transactional.customtransactional.core;
+
+import lombok.Getter;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트랜잭션 재시도 정책
+ * - 직렬화 실패(40001), 교착 상태(40P01)처럼 다시 실행하면 성공할 수 있는 실패에 사용
+ * - 최외곽 새 트랜잭션에만 적용 (참여 트랜잭션은 외부 트랜잭션이 이미 오염되었으므로 재시도하지 않음)
+ * - 대기 시간은 지수 증가 상한 안에서 무작위로 고름 (full jitter, 경쟁 트랜잭션끼리 다시 부딪히는 것 방지)
+ */
+@Getter
+public final class TransactionRetryPolicy {
+
+    /**
+     * 재시도하지 않는 정책 (기본값)
+     */
+    public static final TransactionRetryPolicy NONE = new TransactionRetryPolicy(1, 0, 0, new String[]{});
+
+    /**
+     * 최대 실행 횟수 (첫 실행 포함)
+     */
+    private final int maxAttempts;
+
+    /**
+     * 첫 재시도 대기 상한 (밀리초), 재시도마다 두 배씩 증가
+     */
+    private final long backoffMillis;
+
+    /**
+     * 대기 상한의 최댓값 (밀리초)
+     */
+    private final long maxBackoffMillis;
+
+    /**
+     * 재시도 대상 SQLState
+     */
+    private final Set<String> sqlStates;
+
+    public TransactionRetryPolicy(int maxAttempts, long backoffMillis, long maxBackoffMillis, String[] sqlStates) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("최대 실행 횟수는 1 이상이어야 함: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = Math.max(0, backoffMillis);
+        this.maxBackoffMillis = Math.max(this.backoffMillis, maxBackoffMillis);
+        // 애너테이션에 같은 SQLState가 중복되어도 실패하지 않도록 Set.of 대신 copyOf 사용
+        this.sqlStates = Set.copyOf(Arrays.asList(sqlStates));
+    }
+
+    public boolean isEnabled() {
+        return maxAttempts > 1 && !sqlStates.isEmpty();
+    }
+
+    /**
+     * 재시도 대상 예외인지 판단
+     * - 커밋 실패처럼 RuntimeException으로 감싸진 경우도 있으므로 원인 체인을 따라가며 SQLState 확인
+     * - 배치 실패(BatchUpdateException)처럼 실제 원인이 getNextException()에 달린 경우도 확인
+     */
+    public boolean isRetryable(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLException && matches((SQLException) current)) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * SQLException과 그 next 예외 체인 중 재시도 대상 SQLState가 있는지 확인
+     */
+    private boolean matches(SQLException exception) {
+        for (SQLException current = exception; current != null; current = current.getNextException()) {
+            String sqlState = current.getSQLState();
+            if (sqlState != null && sqlStates.contains(sqlState)) {
+                return true;
+            }
+            if (current.getNextException() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 재시도 전 대기 시간 (나노초)
+     * - attempt: 실패한 실행 횟수 (1부터)
+     */
+    public long backoffNanos(int attempt) {
+        if (backoffMillis == 0) {
+            return 0;
+        }
+        long ceilingMillis = backoffMillis << Math.min(attempt - 1, 20);
+        ceilingMillis = Math.min(ceilingMillis, maxBackoffMillis);
+        return ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(ceilingMillis) + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "TransactionRetryPolicy{maxAttempts=%d, backoffMillis=%d, maxBackoffMillis=%d, sqlStates=%s}",
+            maxAttempts, backoffMillis, maxBackoffMillis, sqlStates
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.side.springtestbed.transactional.customtransactional.core.context;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+
+/**
+ * 트랜잭션 컨텍스트 저장소 SPI
+ * - CustomTransactionSynchronizationManager가 현재 트랜잭션 정보를 어디에 보관할지 결정
+ * - 기본 구현: ThreadLocalTransactionContextHolder
+ * - 가상 스레드/구조적 동시성용 구현: ScopedValueTransactionContextHolder
+ */
+public interface CustomTransactionContextHolder {
+
+    /**
+     * 현재 실행 흐름의 트랜잭션 정보 조회 (없으면 null)
+     */
+    CustomTransactionInfo get();
+
+    /**
+     * 현재 실행 흐름에 트랜잭션 정보 설정
+     */
+    void set(CustomTransactionInfo transactionInfo);
+
+    /**
+     * 현재 실행 흐름의 트랜잭션 정보 제거
+     */
+    void remove();
+
+    /**
+     * 지금 set()을 호출할 수 있는 컨텍스트가 열려 있는지 여부
+     * - ThreadLocal 구현은 항상 true
+     * - ScopedValue 구현은 바인딩된 스코프 안에서만 true
+     */
+    default boolean isContextAvailable() {
+        return true;
+    }
+
+    /**
+     * 새 컨텍스트를 열고 작업 실행
+     * - ThreadLocal 구현은 그대로 실행
+     * - ScopedValue 구현은 새 스코프를 바인딩한 뒤 실행
+     */
+    default <T> T callInNewContext(ContextCallback<T> callback) throws Throwable {
+        return callback.call();
+    }
+
+    /**
+     * 컨텍스트 안에서 실행할 작업
+     */
+    @FunctionalInterface
+    interface ContextCallback<T> {
+        T call() throws Throwable;
+    }
+}
@@ -0,0 +1,28 @@
+package com.side.springtestbed.transactional.customtransactional.core.context;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+
+/**
+ * ThreadLocal 기반 트랜잭션 컨텍스트 저장소 (기본값)
+ * - 스레드별 독립적인 트랜잭션 컨텍스트
+ * - 플랫폼 스레드 풀 환경에 적합
+ */
+public class ThreadLocalTransactionContextHolder implements CustomTransactionContextHolder {
+
+    private final ThreadLocal<CustomTransactionInfo> transactionInfoThreadLocal = new ThreadLocal<>();
+
+    @Override
+    public CustomTransactionInfo get() {
+        return transactionInfoThreadLocal.get();
+    }
+
+    @Override
+    public void set(CustomTransactionInfo transactionInfo) {
+        transactionInfoThreadLocal.set(transactionInfo);
+    }
+
+    @Override
+    public void remove() {
+        transactionInfoThreadLocal.remove();
+    }
+}
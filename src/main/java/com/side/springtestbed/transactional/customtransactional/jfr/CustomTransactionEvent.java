@@ -0,0 +1,66 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 커스텀 트랜잭션 JFR 이벤트 공통 필드
+ * - 트랜잭션 이름, 전파 정책, 격리 수준, 스택 깊이 (지속 시간은 JFR 이벤트 기본 필드)
+ * - 기록이 꺼져 있으면 describe()가 아무것도 하지 않으므로 항상 켜두어도 비용이 거의 없음
+ * - 스택 트레이스는 기본으로 수집하지 않음 (필요하면 JFR 설정에서 켬)
+ */
+@Category({"Spring Test Bed", "Custom Transaction"})
+@StackTrace(false)
+public abstract class CustomTransactionEvent extends Event {
+
+    @Label("Transaction Name")
+    String transactionName;
+
+    @Label("Propagation")
+    String propagation;
+
+    @Label("Isolation")
+    String isolation;
+
+    @Label("Read Only")
+    boolean readOnly;
+
+    @Label("New Transaction")
+    boolean newTransaction;
+
+    @Label("Nested")
+    boolean nested;
+
+    @Label("Stack Depth")
+    int depth;
+
+    public void describe(CustomTransactionStatus status) {
+        if (!isEnabled()) {
+            return;
+        }
+        fill(status.getDefinition(), status.isNewTransaction(), status.getTransactionInfo().isNested());
+    }
+
+    public void describe(CustomTransactionInfo transactionInfo) {
+        if (!isEnabled()) {
+            return;
+        }
+        fill(transactionInfo.getDefinition(), transactionInfo.isNewTransaction(), transactionInfo.isNested());
+    }
+
+    private void fill(CustomTransactionDefinition definition, boolean newTransaction, boolean nested) {
+        this.transactionName = definition.getName();
+        this.propagation = definition.getPropagation().name();
+        this.isolation = definition.getIsolation().name();
+        this.readOnly = definition.isReadOnly();
+        this.newTransaction = newTransaction;
+        this.nested = nested;
+        this.depth = CustomTransactionSynchronizationManager.getTransactionStackDepth();
+    }
+}
@@ -0,0 +1,14 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 트랜잭션 시작 (전파 정책 처리 + 커넥션 획득)
+ */
+@Name("com.side.springtestbed.CustomTransactionBegin")
+@Label("Custom Transaction Begin")
+@Description("Propagation handling and connection acquisition in getTransaction")
+public class TransactionBeginEvent extends CustomTransactionEvent {
+}
@@ -0,0 +1,14 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 트랜잭션 커밋 (정리와 커넥션 반환 포함)
+ */
+@Name("com.side.springtestbed.CustomTransactionCommit")
+@Label("Custom Transaction Commit")
+@Description("Commit including cleanup and connection release")
+public class TransactionCommitEvent extends CustomTransactionEvent {
+}
@@ -0,0 +1,14 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 중단된 외부 트랜잭션 재개
+ */
+@Name("com.side.springtestbed.CustomTransactionResume")
+@Label("Custom Transaction Resume")
+@Description("Suspended outer transaction resumed")
+public class TransactionResumeEvent extends CustomTransactionEvent {
+}
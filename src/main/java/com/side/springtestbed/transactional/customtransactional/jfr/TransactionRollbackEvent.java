@@ -0,0 +1,14 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 트랜잭션 롤백 (중첩이면 Savepoint 롤백, 참여면 rollback-only 마킹)
+ */
+@Name("com.side.springtestbed.CustomTransactionRollback")
+@Label("Custom Transaction Rollback")
+@Description("Rollback, savepoint rollback or rollback-only marking")
+public class TransactionRollbackEvent extends CustomTransactionEvent {
+}
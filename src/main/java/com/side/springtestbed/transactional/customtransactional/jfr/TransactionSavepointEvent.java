@@ -0,0 +1,29 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * NESTED Savepoint 생성/해제
+ */
+@Name("com.side.springtestbed.CustomTransactionSavepoint")
+@Label("Custom Transaction Savepoint")
+@Description("Savepoint created or released for a NESTED transaction")
+public class TransactionSavepointEvent extends CustomTransactionEvent {
+
+    public static final String CREATE = "CREATE";
+
+    public static final String RELEASE = "RELEASE";
+
+    @Label("Action")
+    String action;
+
+    @Label("Savepoint Name")
+    String savepointName;
+
+    public void setSavepoint(String action, String savepointName) {
+        this.action = action;
+        this.savepointName = savepointName;
+    }
+}
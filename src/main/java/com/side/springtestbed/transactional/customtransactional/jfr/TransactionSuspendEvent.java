@@ -0,0 +1,14 @@
+package com.side.springtestbed.transactional.customtransactional.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * REQUIRES_NEW로 외부 트랜잭션 일시 중단
+ */
+@Name("com.side.springtestbed.CustomTransactionSuspend")
+@Label("Custom Transaction Suspend")
+@Description("Outer transaction suspended for REQUIRES_NEW")
+public class TransactionSuspendEvent extends CustomTransactionEvent {
+}
@@ -0,0 +1,18 @@
+package com.side.springtestbed.transactional.customtransactional.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.EntityManagerHolder;
+
+/**
+ * 커스텀 트랜잭션이 바인딩한 EntityManager 보관
+ * - 트랜잭션 활성 + 동기화 완료 상태로 표시해서 Spring 쪽이 새 EntityManager/트랜잭션을 만들지 않게 함
+ *   (SharedEntityManager는 이 EntityManager를 그대로 사용, JpaTransactionManager는 기존 트랜잭션 참여로 처리)
+ */
+public class CustomEntityManagerHolder extends EntityManagerHolder {
+
+    public CustomEntityManagerHolder(EntityManager entityManager) {
+        super(entityManager);
+        setTransactionActive(true);
+        setSynchronizedWithTransaction(true);
+    }
+}
@@ -0,0 +1,155 @@
+package com.side.springtestbed.transactional.customtransactional.jpa;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 물리 트랜잭션 하나에 묶인 EntityManager
+ * - 트랜잭션 커넥션 위에 연 Hibernate 세션을 Spring 리소스로 바인딩 (리포지토리가 같은 커넥션 사용)
+ * - 커밋/롤백은 세션의 리소스 로컬 트랜잭션으로 수행 (flush 후 같은 커넥션에서 commit)
+ * - Spring 리소스 바인딩은 스레드별 (트랜잭션 시작 스레드, 컨텍스트를 넘겨받은 후속 작업 스레드)
+ * - 세션은 스레드 안전하지 않으므로 여러 스레드에 바인딩되더라도 순차적으로만 사용해야 함
+ */
+@Slf4j
+public class EntityManagerBinding {
+
+    /**
+     * 바인딩 전에 걸려 있던 EntityManager가 없음을 나타내는 표식 (ConcurrentHashMap은 null 값 불가)
+     */
+    private static final Object NO_PREVIOUS_HOLDER = new Object();
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Session session;
+
+    private final CustomEntityManagerHolder holder;
+
+    private final boolean readOnly;
+
+    /**
+     * 이 홀더를 바인딩한 스레드별 이전 EntityManager (OpenEntityManagerInView 등, 없으면 표식), 해제 시 복원
+     */
+    private final Map<Thread, Object> boundThreads = new ConcurrentHashMap<>();
+
+    EntityManagerBinding(EntityManagerFactory entityManagerFactory, Session session, boolean readOnly) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.session = session;
+        this.holder = new CustomEntityManagerHolder(session);
+        this.readOnly = readOnly;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Spring 쪽 참여 트랜잭션이 rollback-only로 마킹했는지
+     */
+    public boolean isRollbackOnly() {
+        return holder.isRollbackOnly();
+    }
+
+    /**
+     * 현재 스레드에 바인딩 (트랜잭션 시작/재개, 후속 작업 스레드로 컨텍스트 전달 시)
+     * - 이 호출로 새로 바인딩했으면 true (이미 바인딩되어 있거나 세션이 닫혔으면 false)
+     */
+    public boolean bind() {
+        Thread thread = Thread.currentThread();
+        if (boundThreads.containsKey(thread) || !session.isOpen()) {
+            return false;
+        }
+        Object previousHolder = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        boundThreads.put(thread, previousHolder != null ? previousHolder : NO_PREVIOUS_HOLDER);
+        return true;
+    }
+
+    /**
+     * 현재 스레드에서 해제 (트랜잭션 중단, 후속 작업 종료 시)
+     * - 현재 스레드에 걸린 리소스가 이 홀더일 때만 해제 (다른 스레드의 바인딩은 건드리지 않음)
+     */
+    public void unbind() {
+        Object previousHolder = boundThreads.remove(Thread.currentThread());
+        if (previousHolder == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) == holder) {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        }
+        if (previousHolder != NO_PREVIOUS_HOLDER) {
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, previousHolder);
+        }
+    }
+
+    /**
+     * 변경 내용을 DB에 반영 (Savepoint 생성 전 등)
+     * - 읽기 전용이면 반영할 변경이 없으므로 생략
+     */
+    public void flush() throws SQLException {
+        if (readOnly) {
+            return;
+        }
+        try {
+            session.flush();
+        } catch (RuntimeException e) {
+            throw new SQLException("EntityManager flush 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 영속성 컨텍스트 비우기
+     * - Savepoint로 롤백하면 메모리의 엔티티 상태가 DB와 달라지므로 전부 분리
+     */
+    public void clear() {
+        session.clear();
+    }
+
+    /**
+     * flush 후 커밋 (읽기 전용이면 FlushMode.MANUAL이라 flush 없이 커밋)
+     * - flush가 실패하면 Hibernate가 커넥션을 롤백한 뒤 예외를 던짐
+     */
+    public void commit() throws SQLException {
+        try {
+            session.getTransaction().commit();
+        } catch (RuntimeException e) {
+            throw new SQLException("EntityManager 커밋 실패: " + e.getMessage(), e);
+        }
+    }
+
+    public void rollback() throws SQLException {
+        try {
+            EntityTransaction transaction = session.getTransaction();
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (RuntimeException e) {
+            throw new SQLException("EntityManager 롤백 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 스레드의 바인딩 해제 후 세션 종료 (커넥션은 트랜잭션 매니저가 반환)
+     * - 다른 스레드의 바인딩은 그 스레드가 작업을 마칠 때 해제
+     */
+    public void close() {
+        unbind();
+        try {
+            if (session.isOpen()) {
+                session.close();
+            }
+        } catch (RuntimeException e) {
+            log.warn("[EntityManager] 세션 종료 실패: {}", e.getMessage());
+        }
+    }
+}
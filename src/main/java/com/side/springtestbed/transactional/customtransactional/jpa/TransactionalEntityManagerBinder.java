@@ -0,0 +1,57 @@
+package com.side.springtestbed.transactional.customtransactional.jpa;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.sql.Connection;
+
+/**
+ * 커스텀 트랜잭션용 EntityManager 생성기
+ * - 트랜잭션 커넥션(프록시)을 그대로 쓰는 Hibernate 세션을 열어 EntityManagerBinding으로 감쌈
+ * - readOnly 트랜잭션: FlushMode.MANUAL + 읽기 전용 로딩
+ *   (dirty checking과 엔티티 스냅샷 사본이 없어져 대량 조회 시 CPU/메모리 절약)
+ */
+@Slf4j
+public class TransactionalEntityManagerBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SessionFactory sessionFactory;
+
+    public TransactionalEntityManagerBinder(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * 트랜잭션 커넥션 위에 세션을 열고 현재 스레드에 바인딩
+     */
+    public EntityManagerBinding bind(Connection connection, boolean readOnly, String transactionName) {
+        Session session = sessionFactory.withOptions()
+            .connection(connection)
+            .openSession();
+        try {
+            if (readOnly) {
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+            }
+            // 커넥션은 이미 autoCommit=false이므로 begin은 세션 상태만 바꿈
+            session.getTransaction().begin();
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+
+        EntityManagerBinding binding = new EntityManagerBinding(entityManagerFactory, session, readOnly);
+        binding.bind();
+        log.info("[EntityManager] 트랜잭션 커넥션에 바인딩: {} (readOnly: {})", transactionName, readOnly);
+        return binding;
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return entityManagerFactory;
+    }
+}
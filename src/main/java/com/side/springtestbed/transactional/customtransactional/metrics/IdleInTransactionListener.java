@@ -0,0 +1,54 @@
+package com.side.springtestbed.transactional.customtransactional.metrics;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * idle in transaction 프로파일러 (datasource-proxy 리스너)
+ * - 커스텀 트랜잭션 안에서 실행되는 Statement의 시작/종료 시각을 물리 트랜잭션 타임라인에 기록
+ * - 트랜잭션 밖에서 실행되는 쿼리는 무시
+ * - 커넥션 반환 시 트랜잭션 매니저가 타임라인을 메서드별 지표에 집계
+ */
+public class IdleInTransactionListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        TransactionTimeline timeline = currentTimeline();
+        if (timeline != null) {
+            timeline.beforeStatement();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        TransactionTimeline timeline = currentTimeline();
+        if (timeline != null) {
+            timeline.afterStatement();
+        }
+    }
+
+    /**
+     * 현재 물리 트랜잭션의 타임라인 (처음 실행되는 Statement면 생성)
+     */
+    private TransactionTimeline currentTimeline() {
+        CustomTransactionInfo current = CustomTransactionSynchronizationManager.getCurrentTransactionInfo();
+        if (current == null || !current.isActive()) {
+            return null;
+        }
+        CustomTransactionInfo physical = current.getPhysicalTransactionInfo();
+        if (physical.getConnectionAcquiredNanos() == 0) {
+            return null;
+        }
+        TransactionTimeline timeline = physical.getTimeline();
+        if (timeline == null) {
+            timeline = new TransactionTimeline(physical.getConnectionAcquiredNanos());
+            physical.setTimeline(timeline);
+        }
+        return timeline;
+    }
+}
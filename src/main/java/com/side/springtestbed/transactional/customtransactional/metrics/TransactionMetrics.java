@@ -0,0 +1,171 @@
+package com.side.springtestbed.transactional.customtransactional.metrics;
+
+import com.side.springtestbed.common.metrics.LatencyHistogram;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메서드(트랜잭션 이름)별 트랜잭션 지표
+ * - 트랜잭션 전체 시간, 커넥션 점유 시간, 커밋/롤백 지연 시간 (나노초 히스토그램)
+ * - 커밋/롤백 횟수와 참여 트랜잭션의 rollback-only 마킹 횟수
+ * - 직렬화 실패/교착 상태로 인한 재시도 횟수, 벌크헤드 거부 횟수
+ * - 커넥션 점유 시간 중 SQL 실행 시간과 idle in transaction 시간, 가장 긴 idle 구간 (프로파일러 리스너 사용 시)
+ */
+@Getter
+public class TransactionMetrics {
+
+    private final String name;
+
+    /**
+     * 트랜잭션 시작부터 정리까지
+     */
+    private final LatencyHistogram transactionTime = new LatencyHistogram();
+
+    /**
+     * 물리 커넥션 획득부터 풀 반환까지
+     */
+    private final LatencyHistogram connectionHoldTime = new LatencyHistogram();
+
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+
+    private final LatencyHistogram rollbackLatency = new LatencyHistogram();
+
+    /**
+     * 트랜잭션당 JDBC 실행 시간 합계 (커밋/롤백 포함)
+     */
+    private final LatencyHistogram sqlTime = new LatencyHistogram();
+
+    /**
+     * 트랜잭션당 Statement 사이 시간 합계 (커넥션을 잡고 애플리케이션 코드를 실행한 시간)
+     */
+    private final LatencyHistogram idleTime = new LatencyHistogram();
+
+    /**
+     * 지금까지 관측된 가장 긴 idle 구간
+     */
+    private final AtomicReference<TransactionTimeline.IdleGap> worstIdleGap = new AtomicReference<>();
+
+    private final LongAdder commits = new LongAdder();
+
+    private final LongAdder rollbacks = new LongAdder();
+
+    /**
+     * 참여 트랜잭션으로 실행되다 예외로 rollback-only 마킹한 횟수
+     */
+    private final LongAdder rollbackOnlyMarks = new LongAdder();
+
+    /**
+     * 재시도 정책에 따라 메서드를 다시 실행한 횟수
+     */
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * 벌크헤드 한도 초과로 실행을 거부한 횟수
+     */
+    private final LongAdder bulkheadRejections = new LongAdder();
+
+    public TransactionMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordCommit(long latencyNanos) {
+        commitLatency.record(latencyNanos);
+        commits.increment();
+    }
+
+    public void recordRollback(long latencyNanos) {
+        rollbackLatency.record(latencyNanos);
+        rollbacks.increment();
+    }
+
+    public void recordRollbackOnlyMark() {
+        rollbackOnlyMarks.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordBulkheadRejection() {
+        bulkheadRejections.increment();
+    }
+
+    public void recordTimeline(TransactionTimeline.Summary summary) {
+        sqlTime.record(summary.getSqlNanos());
+        idleTime.record(summary.getIdleNanos());
+
+        TransactionTimeline.IdleGap gap = summary.getLongestIdleGap();
+        if (gap == null) {
+            return;
+        }
+        TransactionTimeline.IdleGap current = worstIdleGap.get();
+        while ((current == null || gap.getNanos() > current.getNanos())
+                && !worstIdleGap.compareAndSet(current, gap)) {
+            current = worstIdleGap.get();
+        }
+    }
+
+    /**
+     * 롤백 횟수 / rollback-only 마킹 횟수 (마킹이 없으면 0)
+     */
+    public double getRollbackToRollbackOnlyRatio() {
+        long marks = rollbackOnlyMarks.sum();
+        return marks == 0 ? 0 : (double) rollbacks.sum() / marks;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(
+            name,
+            commits.sum(),
+            rollbacks.sum(),
+            rollbackOnlyMarks.sum(),
+            retries.sum(),
+            bulkheadRejections.sum(),
+            getRollbackToRollbackOnlyRatio(),
+            transactionTime.snapshot(),
+            connectionHoldTime.snapshot(),
+            commitLatency.snapshot(),
+            rollbackLatency.snapshot(),
+            sqlTime.snapshot(),
+            idleTime.snapshot(),
+            worstIdleGap.get()
+        );
+    }
+
+    public void reset() {
+        transactionTime.reset();
+        connectionHoldTime.reset();
+        commitLatency.reset();
+        rollbackLatency.reset();
+        commits.reset();
+        rollbacks.reset();
+        rollbackOnlyMarks.reset();
+        retries.reset();
+        bulkheadRejections.reset();
+        sqlTime.reset();
+        idleTime.reset();
+        worstIdleGap.set(null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final String name;
+        private final long commits;
+        private final long rollbacks;
+        private final long rollbackOnlyMarks;
+        private final long retries;
+        private final long bulkheadRejections;
+        private final double rollbackToRollbackOnlyRatio;
+        private final LatencyHistogram.Snapshot transactionTime;
+        private final LatencyHistogram.Snapshot connectionHoldTime;
+        private final LatencyHistogram.Snapshot commitLatency;
+        private final LatencyHistogram.Snapshot rollbackLatency;
+        private final LatencyHistogram.Snapshot sqlTime;
+        private final LatencyHistogram.Snapshot idleTime;
+        private final TransactionTimeline.IdleGap worstIdleGap;
+    }
+}
@@ -0,0 +1,74 @@
+package com.side.springtestbed.transactional.customtransactional.metrics;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.IsolationPartitionedPools;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionBulkhead;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 커스텀 트랜잭션 지표 조회
+ * - 커넥션 점유 시간 합계가 큰 메서드부터 반환
+ * - /idle: idle in transaction 시간 합계가 큰 메서드부터 반환
+ * - /bulkheads: 벌크헤드별 실행/대기/거부 현황
+ * - /pools: 격리 수준/readOnly별 하위 풀 크기와 수요
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/custom-transaction/metrics")
+public class TransactionMetricsController {
+
+    private final CustomTransactionManager transactionManager;
+
+    @GetMapping
+    public ResponseEntity<List<TransactionMetrics.Snapshot>> metrics() {
+        return ResponseEntity
+                .ok()
+                .body(transactionManager.getMetricsRegistry().getSnapshots());
+    }
+
+    /**
+     * idle in transaction 시간이 긴 메서드 (가장 긴 idle 구간의 앞뒤 코드 위치 포함)
+     */
+    @GetMapping("/idle")
+    public ResponseEntity<List<TransactionMetrics.Snapshot>> idleOffenders(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity
+                .ok()
+                .body(transactionManager.getMetricsRegistry().getIdleOffenders(limit));
+    }
+
+    /**
+     * 벌크헤드별 실행/대기/거부 현황
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<List<TransactionBulkhead.Snapshot>> bulkheads() {
+        return ResponseEntity
+                .ok()
+                .body(transactionManager.getBulkheadRegistry().getSnapshots());
+    }
+
+    /**
+     * 하위 풀별 최대 크기와 사용 현황 (하위 풀을 쓰지 않으면 빈 목록)
+     */
+    @GetMapping("/pools")
+    public ResponseEntity<List<IsolationPartitionedPools.PartitionSnapshot>> pools() {
+        IsolationPartitionedPools partitionedPools = transactionManager.getPartitionedPools();
+        return ResponseEntity
+                .ok()
+                .body(partitionedPools != null ? partitionedPools.getSnapshots() : List.of());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        transactionManager.getMetricsRegistry().reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.side.springtestbed.transactional.customtransactional.metrics;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * 트랜잭션 이름(Class.method)별 지표 저장소
+ */
+public class TransactionMetricsRegistry {
+
+    private final ConcurrentMap<String, TransactionMetrics> metricsByName = new ConcurrentHashMap<>();
+
+    /**
+     * 트랜잭션 정의에 해당하는 지표 조회 (없으면 생성)
+     */
+    public TransactionMetrics metricsFor(CustomTransactionDefinition definition) {
+        String name = definition.getName() != null ? definition.getName() : "unnamed";
+        TransactionMetrics metrics = metricsByName.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        return metricsByName.computeIfAbsent(name, TransactionMetrics::new);
+    }
+
+    public TransactionMetrics getMetrics(String name) {
+        return metricsByName.get(name);
+    }
+
+    /**
+     * 전체 지표 요약
+     * - 커넥션 점유 시간 합계가 큰 메서드부터 정렬
+     */
+    public List<TransactionMetrics.Snapshot> getSnapshots() {
+        return metricsByName.values().stream()
+            .map(TransactionMetrics::snapshot)
+            .sorted(Comparator.comparingLong(
+                (TransactionMetrics.Snapshot snapshot) -> snapshot.getConnectionHoldTime().getTotalMicros()
+            ).reversed())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * idle in transaction 시간 합계가 큰 메서드 (프로파일러 리스너가 기록한 메서드만)
+     */
+    public List<TransactionMetrics.Snapshot> getIdleOffenders(int limit) {
+        return metricsByName.values().stream()
+            .map(TransactionMetrics::snapshot)
+            .filter(snapshot -> snapshot.getIdleTime().getCount() > 0)
+            .sorted(Comparator.comparingLong(
+                (TransactionMetrics.Snapshot snapshot) -> snapshot.getIdleTime().getTotalMicros()
+            ).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        metricsByName.values().forEach(TransactionMetrics::reset);
+    }
+}
@@ -0,0 +1,175 @@
+package com.side.springtestbed.transactional.customtransactional.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 물리 트랜잭션 하나의 커넥션 점유 타임라인
+ * - 커넥션 점유 시간을 JDBC 실행 시간(SQL)과 실행 사이 시간(애플리케이션, idle in transaction)으로 분리
+ * - 가장 긴 idle 구간과 그 앞뒤 Statement를 실행한 코드 위치 기록
+ * - 트랜잭션 커넥션은 한 번에 한 스레드만 사용하므로 동기화하지 않음
+ */
+public class TransactionTimeline {
+
+    /**
+     * 커넥션 획득 직후 (첫 Statement 앞 구간의 시작 위치)
+     */
+    public static final String BEGIN = "<begin>";
+
+    /**
+     * 커밋/롤백 시작 (마지막 Statement 뒤 구간의 끝 위치)
+     */
+    public static final String COMPLETION = "<commit/rollback>";
+
+    /**
+     * 코드 위치 탐색 시 건너뛸 프레임 (JDBC 드라이버, 풀, 프록시, 트랜잭션 인프라)
+     */
+    private static final String[] INFRASTRUCTURE_PREFIXES = {
+        "java.", "javax.", "jdk.", "sun.", "com.sun.", "jakarta.",
+        "net.ttddyy.", "com.zaxxer.", "org.h2.", "org.hsqldb.", "org.hibernate.",
+        "org.springframework.", "org.aspectj.",
+        "com.side.springtestbed.transactional.customtransactional.core.",
+        "com.side.springtestbed.transactional.customtransactional.metrics.",
+        "com.side.springtestbed.transactional.customtransactional.aop."
+    };
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(Set.of(), 16);
+
+    private long lastStatementEndNanos;
+
+    private String lastStatementLocation = BEGIN;
+
+    private long statementStartNanos;
+
+    private String statementLocation;
+
+    private long completionStartNanos;
+
+    private long sqlNanos;
+
+    private long idleNanos;
+
+    private int statementCount;
+
+    private IdleGap longestIdleGap;
+
+    public TransactionTimeline(long connectionAcquiredNanos) {
+        this.lastStatementEndNanos = connectionAcquiredNanos;
+    }
+
+    /**
+     * Statement 실행 직전
+     * - 직전 Statement 종료 이후 구간을 idle로 기록
+     */
+    public void beforeStatement() {
+        long now = System.nanoTime();
+        statementStartNanos = now;
+        statementLocation = callerLocation();
+        recordIdle(now - lastStatementEndNanos, statementLocation);
+    }
+
+    /**
+     * Statement 실행 직후
+     */
+    public void afterStatement() {
+        if (statementStartNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        sqlNanos += now - statementStartNanos;
+        statementCount++;
+        lastStatementEndNanos = now;
+        lastStatementLocation = statementLocation;
+        statementStartNanos = 0;
+    }
+
+    /**
+     * 커밋/롤백 시작
+     * - 마지막 Statement 이후 커밋까지의 구간을 idle로 기록, 이후 반환까지는 SQL(커밋) 시간
+     */
+    public void markCompletion() {
+        if (completionStartNanos != 0) {
+            return;
+        }
+        completionStartNanos = System.nanoTime();
+        recordIdle(completionStartNanos - lastStatementEndNanos, COMPLETION);
+    }
+
+    /**
+     * 커넥션 반환 시점에 타임라인 마감
+     */
+    public Summary finish(long connectionReleasedNanos) {
+        if (completionStartNanos == 0) {
+            recordIdle(connectionReleasedNanos - lastStatementEndNanos, COMPLETION);
+        } else {
+            sqlNanos += connectionReleasedNanos - completionStartNanos;
+        }
+        return new Summary(sqlNanos, idleNanos, statementCount, longestIdleGap);
+    }
+
+    private void recordIdle(long gapNanos, String afterLocation) {
+        if (gapNanos <= 0) {
+            return;
+        }
+        idleNanos += gapNanos;
+        if (longestIdleGap == null || gapNanos > longestIdleGap.getNanos()) {
+            longestIdleGap = new IdleGap(gapNanos, lastStatementLocation, afterLocation);
+        }
+    }
+
+    /**
+     * Statement를 실행한 애플리케이션 코드 위치 (Class.method:line)
+     */
+    static String callerLocation() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> !isInfrastructure(frame.getClassName()))
+            .findFirst()
+            .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse("<unknown>"));
+    }
+
+    private static boolean isInfrastructure(String className) {
+        if (className.contains("$$") || className.startsWith("jdk.proxy")) {
+            return true;
+        }
+        for (String prefix : INFRASTRUCTURE_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * 가장 긴 idle 구간
+     * - before: 구간 직전에 실행된 Statement 위치 (없으면 <begin>)
+     * - after: 구간 직후에 실행된 Statement 위치 (커밋이면 <commit/rollback>)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class IdleGap {
+        private final long nanos;
+        private final String before;
+        private final String after;
+
+        public long getMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Summary {
+        private final long sqlNanos;
+        private final long idleNanos;
+        private final int statementCount;
+        private final IdleGap longestIdleGap;
+    }
+}
@@ -5,20 +5,32 @@ import com.side.springtestbed.transactional.customtransactional.core.CustomTrans
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 트랜잭션 전파 분석기
  * - 트랜잭션 상태 변화를 실시간으로 추적하고 분석
  * - 스레드와 트랜잭션의 관계를 시각화
+ * - 스냅샷은 고정 크기 링 버퍼에 기본형으로 저장하고 문자열은 리포트 생성 시에만 조합
+ * - 샘플링 비율을 조정해서 멀티스레드 서비스에서도 켜둘 수 있음 (메모리 상한 = 버퍼 크기)
  */
 @Slf4j
 @Component
 public class PropagationAnalyzer {
     
     /**
-     * 트랜잭션 상태 스냅샷
+     * 기본 링 버퍼 크기
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+    
+    /**
+     * 기본 문자열(위치/스레드/트랜잭션 이름) 테이블 상한
+     */
+    public static final int DEFAULT_MAX_DISTINCT_STRINGS = 1024;
+    
+    /**
+     * 트랜잭션 상태 스냅샷 (리포트 생성 시 링 버퍼에서 복원)
      */
     public static class TransactionSnapshot {
         public final long timestamp;
@@ -29,17 +41,31 @@ public class PropagationAnalyzer {
         public final String transactionDetails;
         public final String location;
         
-        public TransactionSnapshot(String location) {
-            this.timestamp = System.currentTimeMillis();
-            Thread currentThread = Thread.currentThread();
-            this.threadName = currentThread.getName();
-            this.threadId = currentThread.getId();
-            this.stackDepth = CustomTransactionSynchronizationManager.getTransactionStackDepth();
-            this.hasActiveTransaction = CustomTransactionSynchronizationManager.hasCurrentTransaction();
-            this.transactionDetails = CustomTransactionSynchronizationManager.getDebugInfo();
+        TransactionSnapshot(long timestamp, String threadName, long threadId, int stackDepth, int flags,
+                            String transactionName, String location) {
+            this.timestamp = timestamp;
+            this.threadName = threadName;
+            this.threadId = threadId;
+            this.stackDepth = stackDepth;
+            this.hasActiveTransaction = (flags & SnapshotRingBuffer.FLAG_ACTIVE) != 0;
+            this.transactionDetails = renderDetails(stackDepth, flags, transactionName);
             this.location = location;
         }
         
+        private static String renderDetails(int stackDepth, int flags, String transactionName) {
+            if (transactionName == null) {
+                return "No active transaction";
+            }
+            return String.format(
+                "Transaction Stack (depth: %d):%n  Top: name=%s, new=%s, nested=%s, rollbackOnly=%s, active=%s",
+                stackDepth, transactionName,
+                (flags & SnapshotRingBuffer.FLAG_NEW_TRANSACTION) != 0,
+                (flags & SnapshotRingBuffer.FLAG_NESTED) != 0,
+                (flags & SnapshotRingBuffer.FLAG_ROLLBACK_ONLY) != 0,
+                (flags & SnapshotRingBuffer.FLAG_ACTIVE) != 0
+            );
+        }
+        
         @Override
         public String toString() {
             return String.format(
@@ -49,18 +75,78 @@ public class PropagationAnalyzer {
         }
     }
     
-    private final List<TransactionSnapshot> snapshots = new ArrayList<>();
+    private final SnapshotRingBuffer recorder;
+    
+    /**
+     * 기록 여부
+     */
+    private volatile boolean enabled = true;
+    
+    /**
+     * 샘플링 비율 (N건 중 1건 기록, 1이면 전부 기록)
+     */
+    private volatile int sampleRate = 1;
+    
+    public PropagationAnalyzer() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_DISTINCT_STRINGS);
+    }
+    
+    public PropagationAnalyzer(int capacity, int maxDistinctStrings) {
+        this.recorder = new SnapshotRingBuffer(capacity, maxDistinctStrings);
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("샘플링 비율은 1 이상이어야 함: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
     
     /**
      * 현재 트랜잭션 상태 캡처
-     * - 특정 시점의 트랜잭션 상태를 스냅샷으로 저장
+     * - 특정 시점의 트랜잭션 상태를 링 버퍼에 기록 (샘플링에서 제외되면 기록하지 않음)
+     * - 트랜잭션 스택은 한 번만 순회 (깊이 + 최상위 트랜잭션 정보)
+     * - 기록했으면 true
      */
-    public TransactionSnapshot captureSnapshot(String location) {
-        TransactionSnapshot snapshot = new TransactionSnapshot(location);
-        snapshots.add(snapshot);
+    public boolean captureSnapshot(String location) {
+        if (!enabled) {
+            return false;
+        }
+        int rate = sampleRate;
+        if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) {
+            return false;
+        }
         
-        log.info("[스냅샷 캡처] {}", snapshot);
-        return snapshot;
+        CustomTransactionInfo top = CustomTransactionSynchronizationManager.getCurrentTransactionInfo();
+        int depth = 0;
+        for (CustomTransactionInfo info = top; info != null; info = info.getPreviousTransactionInfo()) {
+            depth++;
+        }
+        
+        int flags = 0;
+        String transactionName = null;
+        if (top != null) {
+            transactionName = top.getDefinition().getName();
+            flags |= top.isActive() ? SnapshotRingBuffer.FLAG_ACTIVE : 0;
+            flags |= top.isNewTransaction() ? SnapshotRingBuffer.FLAG_NEW_TRANSACTION : 0;
+            flags |= top.isNested() ? SnapshotRingBuffer.FLAG_NESTED : 0;
+            flags |= top.isRollbackOnly() ? SnapshotRingBuffer.FLAG_ROLLBACK_ONLY : 0;
+        }
+        
+        recorder.record(System.currentTimeMillis(), Thread.currentThread(), location, transactionName, depth, flags);
+        log.debug("[스냅샷 캡처] {} Stack[{}]", location, depth);
+        return true;
+    }
+    
+    /**
+     * 현재 버퍼에 남아 있는 스냅샷 (오래된 순)
+     */
+    public List<TransactionSnapshot> getSnapshots() {
+        return recorder.snapshots();
     }
     
     /**
@@ -68,6 +154,8 @@ public class PropagationAnalyzer {
      * - 캡처된 스냅샷들을 분석하여 리포트 생성
      */
     public void generateAnalysisReport() {
+        List<TransactionSnapshot> snapshots = recorder.snapshots();
+        
         log.info("\n" + "=".repeat(100));
         log.info("트랜잭션 전파 분석 리포트");
         log.info("=".repeat(100));
@@ -78,16 +166,16 @@ public class PropagationAnalyzer {
         }
         
         // 1. 기본 통계
-        generateBasicStatistics();
+        generateBasicStatistics(snapshots);
         
         // 2. 스레드 분석
-        analyzeThreadUsage();
+        analyzeThreadUsage(snapshots);
         
         // 3. 트랜잭션 스택 변화 분석
-        analyzeStackDepthChanges();
+        analyzeStackDepthChanges(snapshots);
         
         // 4. 시간순 상세 분석
-        generateTimelineAnalysis();
+        generateTimelineAnalysis(snapshots);
         
         log.info("=".repeat(100));
     }
@@ -95,9 +183,10 @@ public class PropagationAnalyzer {
     /**
      * 기본 통계 생성
      */
-    private void generateBasicStatistics() {
+    private void generateBasicStatistics(List<TransactionSnapshot> snapshots) {
         log.info("\n[1. 기본 통계]");
-        log.info("총 스냅샷 수: {}", snapshots.size());
+        log.info("총 스냅샷 수: {} (누적 기록 {}, 버퍼 크기 {}, 샘플링 1/{})",
+            snapshots.size(), recorder.getRecordedCount(), recorder.capacity(), sampleRate);
         
         long totalExecutionTime = snapshots.isEmpty() ? 0 : 
             snapshots.get(snapshots.size() - 1).timestamp - snapshots.get(0).timestamp;
@@ -118,7 +207,7 @@ public class PropagationAnalyzer {
     /**
      * 스레드 사용 분석
      */
-    private void analyzeThreadUsage() {
+    private void analyzeThreadUsage(List<TransactionSnapshot> snapshots) {
         log.info("\n[2. 스레드 분석]");
         
         // 사용된 스레드 목록
@@ -143,7 +232,7 @@ public class PropagationAnalyzer {
     /**
      * 트랜잭션 스택 깊이 변화 분석
      */
-    private void analyzeStackDepthChanges() {
+    private void analyzeStackDepthChanges(List<TransactionSnapshot> snapshots) {
         log.info("\n[3. 트랜잭션 스택 깊이 변화]");
         
         for (int i = 0; i < snapshots.size(); i++) {
@@ -171,7 +260,7 @@ public class PropagationAnalyzer {
     /**
      * 시간순 상세 분석
      */
-    private void generateTimelineAnalysis() {
+    private void generateTimelineAnalysis(List<TransactionSnapshot> snapshots) {
         log.info("\n[4. 시간순 상세 분석]");
         
         long baseTime = snapshots.isEmpty() ? 0 : snapshots.get(0).timestamp;
@@ -201,23 +290,24 @@ public class PropagationAnalyzer {
      */
     public void validatePropagationPattern(String propagationType) {
         log.info("\n[전파 정책 패턴 검증: {}]", propagationType);
+        List<TransactionSnapshot> snapshots = recorder.snapshots();
         
         switch (propagationType.toUpperCase()) {
             case "REQUIRED":
-                validateRequiredPattern();
+                validateRequiredPattern(snapshots);
                 break;
             case "REQUIRES_NEW":
-                validateRequiresNewPattern();
+                validateRequiresNewPattern(snapshots);
                 break;
             case "NESTED":
-                validateNestedPattern();
+                validateNestedPattern(snapshots);
                 break;
             default:
                 log.warn("알 수 없는 전파 정책: {}", propagationType);
         }
     }
     
-    private void validateRequiredPattern() {
+    private void validateRequiredPattern(List<TransactionSnapshot> snapshots) {
         // REQUIRED는 스택 깊이가 1을 유지해야 함
         boolean validRequired = snapshots.stream()
             .filter(s -> s.hasActiveTransaction)
@@ -230,7 +320,7 @@ public class PropagationAnalyzer {
         }
     }
     
-    private void validateRequiresNewPattern() {
+    private void validateRequiresNewPattern(List<TransactionSnapshot> snapshots) {
         // REQUIRES_NEW는 스택 깊이 증가와 감소가 있어야 함
         int maxDepth = snapshots.stream()
             .mapToInt(s -> s.stackDepth)
@@ -244,17 +334,17 @@ public class PropagationAnalyzer {
         }
     }
     
-    private void validateNestedPattern() {
+    private void validateNestedPattern(List<TransactionSnapshot> snapshots) {
         // NESTED는 같은 Connection을 사용하므로 특별한 패턴은 없지만
         // 스택 깊이 변화는 있어야 함
-        validateRequiresNewPattern(); // 유사한 검증 로직 재사용
+        validateRequiresNewPattern(snapshots); // 유사한 검증 로직 재사용
     }
     
     /**
      * 스냅샷 초기화
      */
     public void clearSnapshots() {
-        snapshots.clear();
+        recorder.clear();
         log.info("[스냅샷 초기화] 모든 스냅샷이 삭제되었습니다.");
     }
     
@@ -262,6 +352,6 @@ public class PropagationAnalyzer {
      * 현재 저장된 스냅샷 개수 반환
      */
     public int getSnapshotCount() {
-        return snapshots.size();
+        return recorder.size();
     }
 }
@@ -0,0 +1,208 @@
+package com.side.springtestbed.transactional.propagation;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 트랜잭션 스냅샷 링 버퍼
+ * - 고정 크기, 락 없는 다중 생산자 버퍼 (가득 차면 가장 오래된 칸부터 덮어씀)
+ * - 스냅샷을 칸별 기본형 배열로 저장하고, 문자열(위치, 스레드 이름, 트랜잭션 이름)은 정수 ID로 인코딩
+ * - 문자열 조합은 리포트를 만들 때만 수행
+ * - 칸마다 게시된 순번을 두어 읽는 쪽이 쓰는 중이거나 덮어쓴 칸을 건너뜀 (seqlock)
+ */
+public class SnapshotRingBuffer {
+
+    /**
+     * 문자열 테이블이 가득 찼을 때 사용하는 ID
+     */
+    static final int OVERFLOW_ID = 0;
+
+    private static final long WRITING = -1;
+
+    static final int FLAG_ACTIVE = 1;
+
+    static final int FLAG_NEW_TRANSACTION = 1 << 1;
+
+    static final int FLAG_NESTED = 1 << 2;
+
+    static final int FLAG_ROLLBACK_ONLY = 1 << 3;
+
+    private final int mask;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * 칸별 게시 순번 (쓰는 중이면 -1)
+     */
+    private final AtomicLongArray published;
+
+    private final long[] timestamps;
+
+    private final long[] threadIds;
+
+    private final int[] threadNameIds;
+
+    private final int[] locationIds;
+
+    private final int[] transactionNameIds;
+
+    private final int[] stackDepths;
+
+    private final int[] flags;
+
+    private final StringTable strings;
+
+    public SnapshotRingBuffer(int capacity, int maxDistinctStrings) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2 이상의 2의 거듭제곱이어야 함: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, WRITING);
+        }
+        this.timestamps = new long[capacity];
+        this.threadIds = new long[capacity];
+        this.threadNameIds = new int[capacity];
+        this.locationIds = new int[capacity];
+        this.transactionNameIds = new int[capacity];
+        this.stackDepths = new int[capacity];
+        this.flags = new int[capacity];
+        this.strings = new StringTable(maxDistinctStrings);
+    }
+
+    /**
+     * 스냅샷 기록 (할당 없음, 처음 보는 문자열만 테이블에 등록)
+     */
+    public void record(long timestamp, Thread thread, String location, String transactionName, int stackDepth, int flagBits) {
+        long sequence = cursor.getAndIncrement();
+        int index = (int) (sequence & mask);
+
+        published.set(index, WRITING);
+        VarHandle.storeStoreFence();
+
+        timestamps[index] = timestamp;
+        threadIds[index] = thread.threadId();
+        threadNameIds[index] = strings.idOf(thread.getName());
+        locationIds[index] = strings.idOf(location);
+        transactionNameIds[index] = transactionName != null ? strings.idOf(transactionName) : -1;
+        stackDepths[index] = stackDepth;
+        flags[index] = flagBits;
+
+        published.set(index, sequence);
+    }
+
+    /**
+     * 현재 버퍼에 남아 있는 스냅샷을 오래된 순으로 복원
+     * - 읽는 도중 덮어써진 칸은 제외
+     */
+    public List<PropagationAnalyzer.TransactionSnapshot> drainTo(List<PropagationAnalyzer.TransactionSnapshot> target) {
+        long end = cursor.get();
+        long start = Math.max(0, end - (mask + 1));
+        for (long sequence = start; sequence < end; sequence++) {
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                continue;
+            }
+            long timestamp = timestamps[index];
+            long threadId = threadIds[index];
+            int threadNameId = threadNameIds[index];
+            int locationId = locationIds[index];
+            int transactionNameId = transactionNameIds[index];
+            int stackDepth = stackDepths[index];
+            int flagBits = flags[index];
+            VarHandle.loadLoadFence();
+            if (published.get(index) != sequence) {
+                continue;
+            }
+            target.add(new PropagationAnalyzer.TransactionSnapshot(
+                timestamp, strings.nameOf(threadNameId), threadId, stackDepth, flagBits,
+                transactionNameId >= 0 ? strings.nameOf(transactionNameId) : null,
+                strings.nameOf(locationId)
+            ));
+        }
+        return target;
+    }
+
+    public List<PropagationAnalyzer.TransactionSnapshot> snapshots() {
+        return drainTo(new ArrayList<>());
+    }
+
+    /**
+     * 지금까지 기록된 총 스냅샷 수 (덮어쓴 것 포함)
+     */
+    public long getRecordedCount() {
+        return cursor.get();
+    }
+
+    /**
+     * 버퍼에 남아 있는 스냅샷 수
+     */
+    public int size() {
+        return (int) Math.min(cursor.get(), mask + 1);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 버퍼 비우기 (문자열 테이블은 유지)
+     * - 기록 중인 생산자와 겹치면 일부 스냅샷이 남을 수 있음
+     */
+    public void clear() {
+        long end = cursor.get();
+        for (long sequence = Math.max(0, end - (mask + 1)); sequence < end; sequence++) {
+            published.compareAndSet((int) (sequence & mask), sequence, WRITING);
+        }
+    }
+
+    /**
+     * 문자열 ↔ 정수 ID 테이블
+     * - 위치/스레드/트랜잭션 이름처럼 종류가 제한된 문자열을 한 번만 저장
+     * - 상한을 넘으면 더 이상 등록하지 않고 OVERFLOW_ID 반환 (메모리 상한 유지)
+     */
+    private static class StringTable {
+
+        private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+        private final AtomicReferenceArray<String> names;
+
+        private final AtomicInteger nextId = new AtomicInteger(1);
+
+        StringTable(int maxDistinctStrings) {
+            this.names = new AtomicReferenceArray<>(maxDistinctStrings + 1);
+            this.names.set(OVERFLOW_ID, "<overflow>");
+        }
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            if (nextId.get() >= names.length()) {
+                return OVERFLOW_ID;
+            }
+            return ids.computeIfAbsent(value, key -> {
+                int newId = nextId.getAndIncrement();
+                if (newId >= names.length()) {
+                    return OVERFLOW_ID;
+                }
+                names.set(newId, key);
+                return newId;
+            });
+        }
+
+        String nameOf(int id) {
+            String name = names.get(id);
+            return name != null ? name : "<unknown>";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.side.springtestbed.transactional.customtransactional.core.context;
+
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+
+/**
+ * ScopedValue 기반 트랜잭션 컨텍스트 저장소 (Java 21 preview)
+ * - 스코프마다 작은 컨텍스트 셀 하나를 바인딩하고, 트랜잭션 스택은 그 셀에 보관
+ * - 스레드가 끝나도 남는 ThreadLocalMap이 없어 대량의 가상 스레드에서 메모리 부담이 적음
+ * - StructuredTaskScope로 fork한 자식 스레드는 부모 셀을 상속받아 부모 트랜잭션을 조회만 가능
+ * - 자식 스레드에서 트랜잭션을 시작하려면 callInNewContext로 자신의 스코프를 열어야 함
+ */
+public class ScopedValueTransactionContextHolder implements CustomTransactionContextHolder {
+
+    private static final ScopedValue<ContextCell> CONTEXT = ScopedValue.newInstance();
+
+    @Override
+    public CustomTransactionInfo get() {
+        return CONTEXT.isBound() ? CONTEXT.get().transactionInfo : null;
+    }
+
+    @Override
+    public void set(CustomTransactionInfo transactionInfo) {
+        ownedCell().transactionInfo = transactionInfo;
+    }
+
+    @Override
+    public void remove() {
+        if (CONTEXT.isBound()) {
+            ownedCell().transactionInfo = null;
+        }
+    }
+
+    @Override
+    public boolean isContextAvailable() {
+        return CONTEXT.isBound() && CONTEXT.get().owner == Thread.currentThread();
+    }
+
+    @Override
+    public <T> T callInNewContext(ContextCallback<T> callback) throws Throwable {
+        try {
+            return ScopedValue.where(CONTEXT, new ContextCell(Thread.currentThread())).call(() -> {
+                try {
+                    return callback.call();
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new CallbackThrowableHolder(t);
+                }
+            });
+        } catch (CallbackThrowableHolder holder) {
+            throw holder.getCause();
+        }
+    }
+
+    /**
+     * 현재 스레드가 연 셀 조회
+     * - 스코프 밖이거나 상속받은 셀(자식 스레드)이면 변경 불가
+     */
+    private ContextCell ownedCell() {
+        if (!CONTEXT.isBound()) {
+            throw new IllegalStateException("트랜잭션 컨텍스트 스코프가 없음: callInNewContext 안에서 실행해야 함");
+        }
+        ContextCell cell = CONTEXT.get();
+        if (cell.owner != Thread.currentThread()) {
+            throw new IllegalStateException("상속받은 트랜잭션 컨텍스트는 변경할 수 없음: 자식 스레드는 callInNewContext로 새 스코프를 열어야 함");
+        }
+        return cell;
+    }
+
+    /**
+     * Exception/Error가 아닌 Throwable을 Callable 밖으로 전달하기 위한 래퍼
+     */
+    private static final class CallbackThrowableHolder extends RuntimeException {
+
+        private CallbackThrowableHolder(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * 스코프별 컨텍스트 셀
+     * - 소유 스레드만 값을 바꾸므로 별도 동기화 불필요
+     */
+    private static final class ContextCell {
+
+        private final Thread owner;
+
+        private CustomTransactionInfo transactionInfo;
+
+        private ContextCell(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.side.springtestbed.common.listener;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.metrics.ExplainPlanCapturer;
+import com.side.springtestbed.common.metrics.SlowQueryOutlier;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 적응형 슬로우 쿼리 감지
+ * - 평소 빠른 쿼리는 고정 임계치(300ms)보다 훨씬 짧은 지연에서도 이상치로 감지
+ * - 평소 느린 쿼리는 같은 지연이어도 이상치가 아님 (지문별 임계치)
+ * - 이상치의 바인드 값으로 별도 커넥션에서 EXPLAIN ANALYZE 수집, 지문별 수집 간격 적용
+ */
+@DisplayName("적응형 슬로우 쿼리 감지")
+public class AdaptiveSlowQueryListenerTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set(AdaptiveSlowQueryListener.class, Level.ERROR);
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveSlowQueryListenerTest.class);
+
+    private static final String QUERY = "SELECT name FROM slow_item WHERE id = ? AND PAUSE(?) = 0";
+
+    private static final String SLOW_QUERY = "SELECT name FROM slow_item WHERE id > ? AND PAUSE(?) = 0";
+
+    private static final int WARMUP = 300;
+
+    private static JdbcDataSource h2;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:adaptiveSlowQuery;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE slow_item (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("CREATE ALIAS PAUSE FOR \"" + AdaptiveSlowQueryListenerTest.class.getName() + ".pause\"");
+            for (int id = 0; id < 100; id++) {
+                statement.execute("INSERT INTO slow_item VALUES (" + id + ", 'item-" + id + "')");
+            }
+        }
+    }
+
+    /**
+     * H2 함수 (PAUSE(millis)): 지정한 시간만큼 지연 후 0 반환
+     */
+    public static int pause(int millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+        return 0;
+    }
+
+    @Test
+    @DisplayName("지문별 임계치: 평소 빠른 쿼리의 지연만 이상치로 감지하고 실행 계획 수집")
+    void detectsOutliersPerFingerprint() throws Exception {
+        StatementStatisticsListener statistics = new StatementStatisticsListener();
+        try (AdaptiveSlowQueryListener listener = new AdaptiveSlowQueryListener(
+                statistics.getRegistry(), 3.0, 20, 100, 60_000, 50)) {
+            listener.setExplainPlanCapturer(new ExplainPlanCapturer(h2, true, 10));
+            DataSource dataSource = proxy(listener, statistics);
+
+            try (Connection connection = dataSource.getConnection()) {
+                // 평소: QUERY는 지연 없음, SLOW_QUERY는 항상 30ms
+                for (int i = 0; i < WARMUP; i++) {
+                    run(connection, QUERY, i % 100, 0);
+                }
+                for (int i = 0; i < 120; i++) {
+                    run(connection, SLOW_QUERY, 90, 30);
+                }
+                assertThat(listener.getOutlierCount()).isZero();
+
+                // 같은 40ms 지연: 빠른 쿼리만 이상치
+                run(connection, SLOW_QUERY, 90, 40);
+                run(connection, QUERY, 42, 40);
+                // 같은 지문의 두 번째 이상치는 수집 간격 안이라 실행 계획 생략
+                run(connection, QUERY, 43, 40);
+            }
+
+            List<SlowQueryOutlier> outliers = listener.getOutliers();
+            log.info("[적응형 슬로우 쿼리] 임계치 - 빠른 쿼리 {}ms, 느린 쿼리 {}ms, 고정 {}ms",
+                    String.format("%.2f", listener.getThresholdMillis(outliers.get(0).getFingerprint())),
+                    String.format("%.2f", listener.getThresholdMillis(statistics.getRegistry().getFingerprinter().fingerprint(SLOW_QUERY))),
+                    FilterQueryListener.SLOW_QUERY_MILLIS);
+
+            assertThat(outliers).hasSize(2);
+            assertThat(outliers).allMatch(outlier -> outlier.getSql().equals(QUERY));
+            assertThat(outliers.get(0).getElapsedMicros()).isLessThan(TimeUnit.MILLISECONDS.toMicros(FilterQueryListener.SLOW_QUERY_MILLIS));
+            assertThat(outliers.get(0).getPlanStatus()).isEqualTo(SlowQueryOutlier.PlanStatus.SKIPPED);
+
+            SlowQueryOutlier first = outliers.get(1);
+            assertThat(first.getBindValues()).isEqualTo("{1=42, 2=40}");
+            assertThat(first.getThresholdMicros()).isLessThan(first.getElapsedMicros());
+            waitForPlan(first);
+            assertThat(first.getPlanStatus()).isEqualTo(SlowQueryOutlier.PlanStatus.CAPTURED);
+            assertThat(first.getPlan()).containsIgnoringCase("slow_item");
+            log.info("[적응형 슬로우 쿼리] {}us (임계치 {}us, p99 {}us) 실행 계획:\n{}",
+                    first.getElapsedMicros(), first.getThresholdMicros(), first.getP99Micros(), first.getPlan());
+        }
+    }
+
+    @Test
+    @DisplayName("표본이 적은 지문은 고정 임계치 사용")
+    void usesFixedThresholdUntilEnoughSamples() throws Exception {
+        StatementStatisticsListener statistics = new StatementStatisticsListener();
+        try (AdaptiveSlowQueryListener listener = new AdaptiveSlowQueryListener(statistics.getRegistry())) {
+            DataSource dataSource = proxy(listener, statistics);
+            try (Connection connection = dataSource.getConnection()) {
+                for (int i = 0; i < 10; i++) {
+                    run(connection, QUERY, i, 0);
+                }
+                run(connection, QUERY, 11, 40);
+            }
+            assertThat(listener.getOutlierCount()).isZero();
+        }
+    }
+
+    private static DataSource proxy(AdaptiveSlowQueryListener listener, StatementStatisticsListener statistics) {
+        return ProxyDataSourceBuilder.create(h2)
+                .listener(listener)
+                .listener(statistics)
+                .build();
+    }
+
+    private static void run(Connection connection, String sql, int id, int pauseMillis) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, id);
+            statement.setInt(2, pauseMillis);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getString(1);
+                }
+            }
+        }
+    }
+
+    private static void waitForPlan(SlowQueryOutlier outlier) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outlier.getPlanStatus() == SlowQueryOutlier.PlanStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.side.springtestbed.common.listener;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 쿼리 로그 파이프라인
+ * - 기존 로그 형식 유지, DDL 제외, 슬로우 쿼리 WARN 검증
+ * - 동시 쿼리 스레드에서 afterQuery 호출 비용과 기록/버림/샘플링 건수 합계 검증
+ */
+@DisplayName("FilterQueryListener 비동기 로깅")
+class FilterQueryListenerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterQueryListenerTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int CALLS_PER_THREAD = 200_000;
+
+    private final ch.qos.logback.classic.Logger dataSourceLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("DataSource.logger");
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = dataSourceLogger.getLevel();
+        appender.start();
+        dataSourceLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSourceLogger.detachAppender(appender);
+        dataSourceLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("DDL은 기록하지 않고, 일반 쿼리는 배치로 INFO, 슬로우 쿼리는 WARN")
+    void writesInOriginalFormat() throws Exception {
+        dataSourceLogger.setLevel(Level.INFO);
+        try (FilterQueryListener listener = new FilterQueryListener(64, 1)) {
+            listener.afterQuery(execution(1), List.of(new QueryInfo("  CREATE TABLE post (id bigint)")));
+            listener.afterQuery(execution(2), List.of(new QueryInfo("select * from post where id = ?")));
+            listener.afterQuery(execution(3), List.of(new QueryInfo("insert into post values (?)")));
+            listener.afterQuery(execution(500), List.of(new QueryInfo("update post set title = ?")));
+            listener.getWriter().flush(5, TimeUnit.SECONDS);
+
+            String info = appender.list.stream()
+                    .filter(event -> event.getLevel() == Level.INFO)
+                    .map(ILoggingEvent::getFormattedMessage)
+                    .reduce("", String::concat);
+            String warn = appender.list.stream()
+                    .filter(event -> event.getLevel() == Level.WARN)
+                    .map(ILoggingEvent::getFormattedMessage)
+                    .reduce("", String::concat);
+
+            assertThat(info).doesNotContain("CREATE TABLE");
+            assertThat(info).contains("Query:[\"select * from post where id = ?\"]", "Select Count:1",
+                    "Query:[\"insert into post values (?)\"]", "Time:3ms");
+            assertThat(warn).startsWith("SLOW QUERY DETECTED: ").contains("update post set title = ?", "Time:500ms");
+            assertThat(listener.getWriter().getWritten()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("동시 호출: afterQuery 비용과 기록/버림/샘플링 건수")
+    void concurrentQueriesAreNeverBlocked() throws Exception {
+        // 문자열 조립 비용 없이 큐/분류 비용만 측정
+        dataSourceLogger.setLevel(Level.WARN);
+        run("전체 기록", 1);
+        run("10건 중 1건 샘플링", 10);
+    }
+
+    private void run(String label, int sampleRate) throws Exception {
+        String[] queries = {
+                "select * from post where id = ?",
+                "insert into post_comment (post_id, review) values (?, ?)",
+                "update post set title = ? where id = ?"
+        };
+        try (FilterQueryListener listener = new FilterQueryListener(1024, sampleRate)) {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                Future<?>[] futures = new Future<?>[THREADS];
+                for (int t = 0; t < THREADS; t++) {
+                    futures[t] = executor.submit(() -> {
+                        ExecutionInfo executionInfo = execution(1);
+                        List<List<QueryInfo>> queryLists = List.of(
+                                List.of(new QueryInfo(queries[0])),
+                                List.of(new QueryInfo(queries[1])),
+                                List.of(new QueryInfo(queries[2]))
+                        );
+                        start.await();
+                        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                            listener.afterQuery(executionInfo, queryLists.get(i % 3));
+                        }
+                        return null;
+                    });
+                }
+
+                long startNanos = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+                long elapsedNanos = System.nanoTime() - startNanos;
+                listener.getWriter().flush(10, TimeUnit.SECONDS);
+
+                long total = (long) THREADS * CALLS_PER_THREAD;
+                AsyncQueryLogWriter writer = listener.getWriter();
+                log.info("[쿼리 로그 - {}] {}건, 호출당 {}ns, 기록 {}, 버림 {}, 샘플링 제외 {}",
+                        label, total, elapsedNanos * THREADS / total,
+                        writer.getWritten(), writer.getDropped(), listener.getSampledOut());
+
+                assertThat(writer.getWritten() + writer.getDropped() + listener.getSampledOut()).isEqualTo(total);
+                assertThat(writer.getPending()).isZero();
+                assertThat(listener.getClassifier().getCachedQueryCount()).isEqualTo(queries.length);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName("DataSourceProxy");
+        executionInfo.setConnectionId("1");
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+}
@@ -0,0 +1,157 @@
+package com.side.springtestbed.common.metrics;
+
+import com.side.springtestbed.common.listener.StatementStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SQL 지문별 실행 통계
+ * - 리터럴/IN 목록 정규화 검증
+ * - H2에서 호출 수/행 수/오류 수 집계와 총 실행 시간 순위 검증
+ * - 통계 수집 끔 vs 켬 쿼리 처리 시간 비교
+ */
+@DisplayName("SQL 지문별 실행 통계")
+class StatementStatisticsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatisticsTest.class);
+
+    private static final int QUERIES = 20_000;
+
+    private static JdbcDataSource h2;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statementStatistics;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+            for (int id = 0; id < 100; id++) {
+                statement.execute("INSERT INTO item VALUES (" + id + ", 'item-" + id + "')");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("리터럴은 ?로, IN 목록과 VALUES 튜플은 길이와 관계없이 (...)로 정규화")
+    void normalizesLiteralsAndLists() {
+        assertThat(SqlFingerprinter.normalize("SELECT * FROM item WHERE id IN (1, 2, 3) AND name = 'it''s'"))
+                .isEqualTo("select * from item where id in (...) and name = ?");
+        assertThat(SqlFingerprinter.normalize("select *  from item\n where id in (7)  -- comment"))
+                .isEqualTo("select * from item where id in (...)");
+        assertThat(SqlFingerprinter.normalize("insert into item (id, name) values (1, 'a'), (2, 'b')"))
+                .isEqualTo("insert into item (id, name) values (...)");
+        assertThat(SqlFingerprinter.normalize("select i1_0.id from item i1_0 where i1_0.id=? /* hint */ limit 10"))
+                .isEqualTo("select i1_0.id from item i1_0 where i1_0.id=? limit ?");
+        assertThat(SqlFingerprinter.normalize("select \"Name\" from item where price > 1.5e-3 and id = $1"))
+                .isEqualTo("select \"Name\" from item where price > ? and id = ?");
+    }
+
+    @Test
+    @DisplayName("호출 수/행 수/오류 수를 지문별로 집계하고 총 실행 시간 순으로 정렬")
+    void aggregatesByFingerprint() throws SQLException {
+        StatementStatisticsListener listener = new StatementStatisticsListener();
+        DataSource dataSource = proxy(listener);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (int size = 1; size <= 10; size++) {
+                StringBuilder in = new StringBuilder();
+                for (int id = 0; id < size; id++) {
+                    in.append(id == 0 ? "" : ", ").append(id);
+                }
+                try (ResultSet resultSet = statement.executeQuery("SELECT name FROM item WHERE id IN (" + in + ")")) {
+                    while (resultSet.next()) {
+                        resultSet.getString(1);
+                    }
+                }
+            }
+            assertThat(statement.executeUpdate("UPDATE item SET name = 'x' WHERE id < 5")).isEqualTo(5);
+            assertThatThrownBy(() -> statement.executeQuery("SELECT missing FROM item"))
+                    .isInstanceOf(SQLException.class);
+        }
+
+        List<StatementStatistics.Snapshot> top = listener.getRegistry().getTopByTotalTime(10);
+        StatementStatistics.Snapshot select = find(top, "select name from item where id in (...)");
+        StatementStatistics.Snapshot update = find(top, "update item set name = ? where id < ?");
+        StatementStatistics.Snapshot error = find(top, "select missing from item");
+
+        assertThat(select.getCalls()).isEqualTo(10);
+        assertThat(select.getRows()).isEqualTo(55);
+        assertThat(update.getCalls()).isEqualTo(1);
+        assertThat(update.getRows()).isEqualTo(5);
+        assertThat(error.getErrors()).isEqualTo(1);
+        assertThat(top).isSortedAccordingTo((left, right) ->
+                Long.compare(right.getLatency().getTotalMicros(), left.getLatency().getTotalMicros()));
+
+        listener.getRegistry().reset();
+        assertThat(listener.getRegistry().getTopByTotalTime(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PreparedStatement 반복 조회: 통계 수집 끔 vs 켬")
+    void compareOverhead() throws SQLException {
+        StatementStatisticsListener listener = new StatementStatisticsListener();
+        DataSource plain = ProxyDataSourceBuilder.create(h2).build();
+        DataSource withStatistics = proxy(listener);
+
+        // 워밍업
+        runQueries(plain, QUERIES / 5);
+        runQueries(withStatistics, QUERIES / 5);
+
+        long plainNanos = runQueries(plain, QUERIES);
+        long statisticsNanos = runQueries(withStatistics, QUERIES);
+
+        StatementStatistics.Snapshot snapshot = listener.getRegistry().getTopByTotalTime(1).get(0);
+        log.info("[SQL 통계] 조회 {}건 - 끔 {}ms, 켬 {}ms (p50 {}us, p99 {}us)",
+                QUERIES, TimeUnit.NANOSECONDS.toMillis(plainNanos), TimeUnit.NANOSECONDS.toMillis(statisticsNanos),
+                snapshot.getLatency().getP50Micros(), snapshot.getLatency().getP99Micros());
+        assertThat(snapshot.getCalls()).isEqualTo(QUERIES + QUERIES / 5);
+    }
+
+    private static long runQueries(DataSource dataSource, int queries) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+            for (int i = 0; i < queries; i++) {
+                statement.setInt(1, i % 100);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static DataSource proxy(StatementStatisticsListener listener) {
+        return ProxyDataSourceBuilder.create(h2)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+    }
+
+    private static StatementStatistics.Snapshot find(List<StatementStatistics.Snapshot> snapshots, String fingerprint) {
+        return snapshots.stream()
+                .filter(snapshot -> snapshot.getFingerprint().equals(fingerprint))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("지문 없음: " + fingerprint + " in " + snapshots.stream()
+                        .map(StatementStatistics.Snapshot::getFingerprint).toList()));
+    }
+}
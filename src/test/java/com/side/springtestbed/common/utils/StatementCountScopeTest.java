@@ -0,0 +1,263 @@
+package com.side.springtestbed.common.utils;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.SQLStatementCountMismatchException;
+import com.side.springtestbed.common.listener.ScopedStatementCountListener;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.side.springtestbed.utils.utils.StatementCountExtension;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 범위 단위 SQL 실행 카운터
+ * - 병렬로 실행되는 테스트마다 자기 범위의 카운트만 검증 (StatementCountExtension)
+ * - 카운트 검증 테스트만 메서드 단위로 병렬 실행 (클래스는 다른 벤치마크 테스트와 순차 실행)
+ * - 작업 스레드 참여(join), 트랜잭션별 범위, 읽은 행 수/JDBC 시간 검증
+ * - 카운트 검증 작업 묶음: 순차 실행 vs 병렬 실행 처리 시간 비교
+ */
+@DisplayName("범위 단위 SQL 실행 카운터")
+@ExtendWith(StatementCountExtension.class)
+class StatementCountScopeTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCountScopeTest.class);
+
+    private static final int ITEMS = 10;
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1_000);
+
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statementCountScope;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+
+        ScopedStatementCountListener listener = new ScopedStatementCountListener();
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .countQuery()
+                .build();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS count_item (id INT PRIMARY KEY, name VARCHAR(50))");
+            for (int id = 0; id < ITEMS; id++) {
+                statement.execute("INSERT INTO count_item VALUES (" + id + ", 'item-" + id + "')");
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "작업량 {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8})
+    @Execution(ExecutionMode.CONCURRENT)
+    @DisplayName("병렬 테스트마다 자기 범위의 카운트만 보임")
+    void countsOnlyOwnStatements(int workload, StatementCountScope scope) throws SQLException {
+        runWorkload(workload);
+
+        SQLStatementCountValidator.assertSelectCount(workload);
+        SQLStatementCountValidator.assertInsertCount(workload);
+        SQLStatementCountValidator.assertDeleteCount(workload);
+        SQLStatementCountValidator.assertUpdateCount(0);
+        SQLStatementCountValidator.assertRowsFetched(scope, (long) workload * ITEMS);
+        assertThat(scope.getJdbcNanos()).isPositive();
+
+        SQLStatementCountValidator.reset();
+        SQLStatementCountValidator.assertSelectCount(0);
+    }
+
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    @DisplayName("작업 스레드는 join()으로 같은 범위에 참여")
+    void workerThreadsJoinScope(StatementCountScope scope) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    try (StatementCountScope.Attachment ignored = scope.join()) {
+                        runWorkload(2);
+                    }
+                    // 분리된 뒤의 실행은 집계되지 않음
+                    runWorkload(1);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SQLStatementCountValidator.assertSelectCount(scope, 8);
+        SQLStatementCountValidator.assertInsertCount(scope, 8);
+        assertThatThrownBy(() -> SQLStatementCountValidator.assertSelectCount(scope, 12))
+                .isInstanceOf(SQLStatementCountMismatchException.class);
+    }
+
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    @DisplayName("트랜잭션별 범위는 트랜잭션 안의 실행만 집계하고 바깥 범위에도 함께 집계")
+    void transactionScope(StatementCountScope scope) throws SQLException {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        transactionManager.addTransactionListener(definition -> StatementCountScope.open(definition.getName()));
+        try {
+            runWorkload(1);
+
+            CustomTransactionStatus status = transactionManager.getTransaction(new CustomTransactionDefinition(
+                    Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+                    new Class[]{RuntimeException.class}, new Class[]{}, "StatementCountScopeTest.transaction"
+            ));
+            runWorkload(status.getTransactionInfo().getConnection(), 3);
+            transactionManager.commit(status);
+
+            StatementCountScope transactionScope = status.getTransactionInfo().getTransactionScope(StatementCountScope.class);
+            assertThat(transactionScope.isClosed()).isTrue();
+            SQLStatementCountValidator.assertSelectCount(transactionScope, 3);
+            SQLStatementCountValidator.assertInsertCount(transactionScope, 3);
+            SQLStatementCountValidator.assertSelectCount(scope, 4);
+            assertThat(StatementCountScope.current()).isSameAs(scope);
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    @DisplayName("다른 스레드에서 닫은 참여와 범위는 붙은 스레드가 다음 조회 때 정리")
+    void prunesAttachmentsClosedFromOtherThreads(StatementCountScope scope) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 작업 스레드의 참여를 테스트 스레드에서 닫음
+            StatementCountScope.Attachment attachment = executor.submit(scope::join).get(10, TimeUnit.SECONDS);
+            attachment.close();
+            assertThat(executor.submit(StatementCountScope::isActive).get(10, TimeUnit.SECONDS)).isFalse();
+
+            // 테스트 스레드에서 연 범위를 작업 스레드에서 닫음
+            StatementCountScope inner = StatementCountScope.open("inner");
+            executor.submit(inner::close).get(10, TimeUnit.SECONDS);
+            assertThat(StatementCountScope.current()).isSameAs(scope);
+
+            runWorkload(1);
+            SQLStatementCountValidator.assertSelectCount(inner, 0);
+            SQLStatementCountValidator.assertSelectCount(scope, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("카운트 검증 작업 묶음: 순차 실행 vs 병렬 실행")
+    void compareSequentialAndParallel() throws Exception {
+        int suites = 8;
+        int workload = 200;
+
+        // 워밍업
+        runSuites(suites, workload / 4, 1);
+        runSuites(suites, workload / 4, suites);
+
+        long sequentialNanos = runSuites(suites, workload, 1);
+        long parallelNanos = runSuites(suites, workload, suites);
+
+        log.info("[범위 카운터] 검증 작업 {}개 x 쿼리 {}건 - 순차 {}ms, 병렬 {}ms",
+                suites, workload * 3, TimeUnit.NANOSECONDS.toMillis(sequentialNanos),
+                TimeUnit.NANOSECONDS.toMillis(parallelNanos));
+    }
+
+    /**
+     * 작업마다 자기 범위를 열고 카운트를 검증 (전역 카운터였다면 병렬 실행 시 서로 섞임)
+     */
+    private static long runSuites(int suites, int workload, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long startNanos = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < suites; i++) {
+                futures.add(executor.submit(() -> {
+                    try (StatementCountScope scope = StatementCountScope.open("suite")) {
+                        runWorkload(workload);
+                        SQLStatementCountValidator.assertSelectCount(scope, workload);
+                        SQLStatementCountValidator.assertInsertCount(scope, workload);
+                        SQLStatementCountValidator.assertDeleteCount(scope, workload);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static void runWorkload(int repeat) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            runWorkload(connection, repeat);
+        }
+    }
+
+    /**
+     * 조회 1건 + 추가 1건 + 삭제 1건을 repeat번
+     */
+    private static void runWorkload(Connection connection, int repeat) throws SQLException {
+        for (int i = 0; i < repeat; i++) {
+            int id = NEXT_ID.getAndIncrement();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT id, name FROM count_item WHERE id < " + ITEMS)) {
+                while (resultSet.next()) {
+                    resultSet.getString(2);
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO count_item VALUES (?, ?)")) {
+                insert.setInt(1, id);
+                insert.setString(2, "temp-" + id);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM count_item WHERE id = ?")) {
+                delete.setInt(1, id);
+                delete.executeUpdate();
+            }
+        }
+    }
+}
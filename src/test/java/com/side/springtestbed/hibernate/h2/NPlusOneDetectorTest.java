@@ -0,0 +1,246 @@
+package com.side.springtestbed.hibernate.h2;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.NPlusOneQueryException;
+import com.side.springtestbed.common.listener.NPlusOneQueryListener;
+import com.side.springtestbed.common.nplusone.NPlusOneDetector;
+import com.side.springtestbed.common.nplusone.NPlusOneScope;
+import com.side.springtestbed.hibernate.postgresql.entity.Post;
+import com.side.springtestbed.hibernate.postgresql.entity.PostComment;
+import com.side.springtestbed.hibernate.postgresql.repository.PostRepository;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * N+1 쿼리 감지
+ * - PostRepository.findAll() 후 Post.comments를 순회하는 지연 로딩을 트랜잭션 범위에서 감지
+ * - FAIL: 임계치 도달 즉시 예외 (호출 위치 포함), WARN: 감지 지표에 최종 실행 횟수 기록
+ * - 같은 바인드 값 반복 조회는 N+1로 보지 않음
+ */
+@DisplayName("N+1 쿼리 감지")
+class NPlusOneDetectorTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional", Level.WARN)
+            .set("org.hibernate", Level.WARN);
+
+    private static final int POSTS = 20;
+
+    private static final int THRESHOLD = 5;
+
+    private static final CustomTransactionDefinition READ = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, true, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "NPlusOneDetectorTest.read"
+    );
+
+    private static final CustomTransactionDefinition WRITE = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "NPlusOneDetectorTest.write"
+    );
+
+    private static HikariDataSource hikari;
+
+    private static LocalContainerEntityManagerFactoryBean factoryBean;
+
+    private static PostRepository postRepository;
+
+    /**
+     * 트랜잭션 밖 조회(EntityManagerFactory 기본 커넥션)에 연결된 감지기
+     */
+    private static final NPlusOneDetector unscopedDetector = new NPlusOneDetector(NPlusOneDetector.Mode.FAIL, THRESHOLD);
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:nPlusOne;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        hikari = new HikariDataSource(config);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(proxy(unscopedDetector));
+        factoryBean.setPackagesToScan("com.side.springtestbed.hibernate.postgresql.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+
+        postRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(factoryBean.getObject()))
+                .getRepository(PostRepository.class);
+
+        CustomTransactionManager transactionManager = newTransactionManager(unscopedDetector);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(WRITE);
+            List<Post> posts = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                Post post = Post.builder().title("post-" + i).createdDate(LocalDateTime.now()).build();
+                post.addComment(PostComment.builder().review("review-" + i).build());
+                posts.add(post);
+            }
+            postRepository.saveAll(posts);
+            transactionManager.commit(status);
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factoryBean.destroy();
+        hikari.close();
+    }
+
+    @Test
+    @DisplayName("FAIL: 지연 로딩 반복이 임계치에 도달하면 호출 위치와 함께 즉시 실패")
+    void failsFastOnLazyLoadingLoop() {
+        NPlusOneDetector detector = new NPlusOneDetector(NPlusOneDetector.Mode.FAIL, THRESHOLD);
+        CustomTransactionManager transactionManager = newTransactionManager(detector);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(READ);
+            try {
+                for (Post post : postRepository.findAll()) {
+                    post.getComments().size();
+                }
+                fail("N+1이 감지되지 않음");
+            } catch (RuntimeException e) {
+                NPlusOneQueryException detected = findCause(e);
+                assertThat(detected.getCount()).isEqualTo(THRESHOLD);
+                assertThat(detected.getFingerprint()).contains("from post_comment");
+                assertThat(detected.getCallSite()).startsWith(NPlusOneDetectorTest.class.getName());
+            } finally {
+                transactionManager.rollback(status);
+            }
+            assertThat(detector.getCurrentScope()).isEmpty();
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("WARN: 실패 없이 감지 지표에 범위 전체 실행 횟수를 기록")
+    void recordsDetectionInWarnMode() {
+        NPlusOneDetector detector = new NPlusOneDetector(NPlusOneDetector.Mode.WARN, THRESHOLD);
+        CustomTransactionManager transactionManager = newTransactionManager(detector);
+        try {
+            for (int round = 0; round < 3; round++) {
+                CustomTransactionStatus status = transactionManager.getTransaction(READ);
+                int comments = 0;
+                for (Post post : postRepository.findAll()) {
+                    comments += post.getComments().size();
+                }
+                transactionManager.commit(status);
+                assertThat(comments).isEqualTo(POSTS);
+            }
+        } finally {
+            transactionManager.destroy();
+        }
+
+        List<NPlusOneDetector.Snapshot> snapshots = detector.getSnapshots();
+        assertThat(snapshots).hasSize(1);
+        NPlusOneDetector.Snapshot snapshot = snapshots.get(0);
+        assertThat(snapshot.getDetections()).isEqualTo(3);
+        assertThat(snapshot.getMaxExecutions()).isEqualTo(POSTS);
+        assertThat(snapshot.getLastScope()).isEqualTo(READ.getName());
+        assertThat(snapshot.getCallSite()).startsWith(NPlusOneDetectorTest.class.getName());
+    }
+
+    @Test
+    @DisplayName("요청 범위: 트랜잭션마다는 임계치 미만이어도 요청 전체로 반복되면 감지")
+    void detectsRepetitionAcrossTransactionsInRequestScope() {
+        NPlusOneDetector detector = new NPlusOneDetector(NPlusOneDetector.Mode.WARN, THRESHOLD);
+        List<Post> posts = postRepository.findAll();
+        CustomTransactionManager transactionManager = newTransactionManager(detector);
+        try (NPlusOneScope request = detector.open("GET /posts")) {
+            // 트랜잭션 하나에 서로 다른 바인드 값 2개씩 (트랜잭션 범위에서는 감지되지 않음)
+            for (int i = 0; i < POSTS; i += 2) {
+                CustomTransactionStatus status = transactionManager.getTransaction(READ);
+                postRepository.countCommentsByPostId(posts.get(i).getId());
+                postRepository.countCommentsByPostId(posts.get(i + 1).getId());
+                transactionManager.commit(status);
+            }
+            assertThat(detector.getCurrentScope()).containsSame(request);
+        } finally {
+            transactionManager.destroy();
+        }
+
+        List<NPlusOneDetector.Snapshot> snapshots = detector.getSnapshots();
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.get(0).getDetections()).isEqualTo(1);
+        assertThat(snapshots.get(0).getLastScope()).isEqualTo("GET /posts");
+        assertThat(snapshots.get(0).getMaxExecutions()).isEqualTo(POSTS);
+    }
+
+    @Test
+    @DisplayName("같은 바인드 값 반복 조회와 범위 밖 조회는 감지하지 않음")
+    void ignoresRepeatedBindValuesAndUnscopedQueries() {
+        NPlusOneDetector detector = new NPlusOneDetector(NPlusOneDetector.Mode.FAIL, THRESHOLD);
+        List<Post> posts = postRepository.findAll();
+
+        // 범위 밖 (트랜잭션/요청 없음)
+        for (Post post : posts) {
+            assertThat(postRepository.countCommentsByPostId(post.getId())).isEqualTo(1);
+        }
+        assertThat(unscopedDetector.getSnapshots()).isEmpty();
+
+        // 같은 바인드 값 반복
+        CustomTransactionManager transactionManager = newTransactionManager(detector);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(READ);
+            for (int i = 0; i < POSTS; i++) {
+                assertThat(postRepository.countCommentsByPostId(posts.get(0).getId())).isEqualTo(1);
+            }
+            transactionManager.commit(status);
+        } finally {
+            transactionManager.destroy();
+        }
+        assertThat(detector.getSnapshots()).isEmpty();
+    }
+
+    private static CustomTransactionManager newTransactionManager(NPlusOneDetector detector) {
+        CustomTransactionManager manager = new CustomTransactionManager(proxy(detector));
+        manager.setEntityManagerFactory(factoryBean.getObject());
+        manager.addTransactionListener(definition -> detector.open(definition.getName()));
+        return manager;
+    }
+
+    private static DataSource proxy(NPlusOneDetector detector) {
+        return ProxyDataSourceBuilder.create(hikari)
+                .listener(new NPlusOneQueryListener(detector))
+                .build();
+    }
+
+    private static NPlusOneQueryException findCause(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof NPlusOneQueryException detected) {
+                return detected;
+            }
+        }
+        throw new AssertionError("NPlusOneQueryException이 아님", throwable);
+    }
+}
@@ -0,0 +1,168 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionalInterceptor;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionContextExecutor;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CompletableFuture를 반환하는 @CustomTransactional 메서드
+ * - future가 완료될 때까지 트랜잭션이 열려 있고, 후속 작업 스레드에서도 같은 트랜잭션을 사용하는지 검증
+ * - 호출 스레드에는 트랜잭션이 남지 않아야 함
+ */
+@DisplayName("비동기 반환 @CustomTransactional")
+class AsyncCustomTransactionalTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.WARN);
+
+    private static HikariDataSource dataSource;
+
+    private static CustomTransactionManager transactionManager;
+
+    private static ExecutorService pool;
+
+    private static AsyncService asyncService;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:asyncTransactional;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE async_item (id INT PRIMARY KEY, step INT NOT NULL)");
+        }
+
+        transactionManager = new CustomTransactionManager(dataSource);
+        pool = Executors.newFixedThreadPool(4);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new AsyncService(new TransactionContextExecutor(pool)));
+        proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+        asyncService = proxyFactory.getProxy();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdownNow();
+        transactionManager.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("future 완료 전에는 커밋되지 않고, 완료 후 후속 단계까지 한 번에 커밋")
+    void commitsWhenFutureCompletes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> future = asyncService.insertThenUpdate(1, release, false);
+
+        // 호출 스레드는 트랜잭션을 붙잡지 않음
+        assertThat(CustomTransactionSynchronizationManager.hasCurrentTransaction()).isFalse();
+        assertThat(future).isNotDone();
+        assertThat(findStep(1)).isNull();
+
+        release.countDown();
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(findStep(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("후속 단계에서 예외가 나면 앞 단계 작업까지 롤백")
+    void rollsBackWhenFutureFails() {
+        CountDownLatch release = new CountDownLatch(0);
+
+        CompletableFuture<Integer> future = asyncService.insertThenUpdate(2, release, true);
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(findStep(2)).isNull();
+    }
+
+    private static Integer findStep(int id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT step FROM async_item WHERE id = ?")) {
+            statement.setInt(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : null;
+            }
+        }
+    }
+
+    public static class AsyncService {
+
+        private final TransactionContextExecutor executor;
+
+        public AsyncService(TransactionContextExecutor executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * 첫 단계에서 INSERT, 다른 스레드의 두 번째 단계에서 UPDATE
+         */
+        @CustomTransactional
+        public CompletableFuture<Integer> insertThenUpdate(int id, CountDownLatch release, boolean failAfterUpdate) {
+            return CompletableFuture
+                    .supplyAsync(() -> {
+                        await(release);
+                        return execute("INSERT INTO async_item (id, step) VALUES (" + id + ", 1)");
+                    }, executor)
+                    .thenApplyAsync(inserted -> {
+                        execute("UPDATE async_item SET step = 2 WHERE id = " + id);
+                        if (failAfterUpdate) {
+                            throw new IllegalStateException("두 번째 단계 실패");
+                        }
+                        return 2;
+                    }, executor);
+        }
+
+        private static int execute(String sql) {
+            Connection connection = CustomTransactionSynchronizationManager.getCurrentTransactionInfo().getConnection();
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate(sql);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.AutoBatchBuffer;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionBulkheadSpec;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionRetryPolicy;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 자동 배치 벤치마크
+ * - TCP로 접속한 H2에서 트랜잭션 하나 안에 단건 INSERT를 반복 (실행마다 DB 왕복 발생)
+ * - 자동 배치 끔 vs 켬 처리 시간 비교 (1,000건 / 10,000건)
+ * - 조회 전 자동 실행, 롤백 시 버림, 중첩 트랜잭션 Savepoint 경계도 함께 검증
+ * - 커밋 직전 버퍼 실행이 실패하면 앞서 실행한 문장까지 롤백
+ * - 생성 키를 요청한 INSERT는 버퍼에 넣지 않고 바로 실행 (IDENTITY 키 조회)
+ */
+@DisplayName("자동 배치 벤치마크")
+class AutoBatchingBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(AutoBatchingBenchmarkTest.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_SQL = "INSERT INTO batch_item (id, name) VALUES (?, ?)";
+
+    private static Server server;
+
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:tcp://localhost:" + port + "/mem:autobatch;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE batch_item (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("CREATE TABLE identity_item (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50))");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+        server.stop();
+    }
+
+    @BeforeEach
+    void clearTable() throws SQLException {
+        clearRows();
+    }
+
+    @ParameterizedTest(name = "{0}건")
+    @ValueSource(ints = {1_000, 10_000})
+    @DisplayName("단건 INSERT 반복: 자동 배치 끔 vs 켬")
+    void compareInsertLoop(int rows) throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        try {
+            // 워밍업
+            insertLoop(transactionManager, definition(0), rows);
+            insertLoop(transactionManager, definition(BATCH_SIZE), rows);
+
+            long offNanos = insertLoop(transactionManager, definition(0), rows);
+            long onNanos = insertLoop(transactionManager, definition(BATCH_SIZE), rows);
+
+            log.info("[자동 배치] {}건 - 끔 {}ms, 켬(배치 {}) {}ms, {}배",
+                    rows, TimeUnit.NANOSECONDS.toMillis(offNanos), BATCH_SIZE,
+                    TimeUnit.NANOSECONDS.toMillis(onNanos), String.format("%.1f", (double) offNanos / onNanos));
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("조회 전에는 버퍼를 실행하고, 롤백하면 버림")
+    void flushesBeforeReadAndDiscardsOnRollback() throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(definition(BATCH_SIZE));
+            Connection connection = status.getTransactionInfo().getConnection();
+            AutoBatchBuffer buffer = status.getTransactionInfo().getConnectionHandler().getAutoBatchBuffer();
+            insertRows(connection, 0, 10);
+
+            assertThat(buffer.isEmpty()).isFalse();
+            assertThat(countRows(connection)).isEqualTo(10);
+            assertThat(buffer.getFlushes()).isEqualTo(1);
+            assertThat(buffer.getBatchedStatements()).isEqualTo(10);
+
+            insertRows(connection, 10, 20);
+            transactionManager.rollback(status);
+            assertThat(buffer.getBatchedStatements()).isEqualTo(10);
+
+            try (Connection plain = dataSource.getConnection()) {
+                assertThat(countRows(plain)).isZero();
+            }
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("중첩 트랜잭션 롤백은 Savepoint 이후 버퍼만 버림")
+    void nestedRollbackKeepsRowsBeforeSavepoint() throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        CustomTransactionDefinition nested = new CustomTransactionDefinition(
+                Propagation.NESTED, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "AutoBatchingBenchmarkTest.nested"
+        );
+        try {
+            CustomTransactionStatus outer = transactionManager.getTransaction(definition(BATCH_SIZE));
+            Connection connection = outer.getTransactionInfo().getConnection();
+            insertRows(connection, 0, 5);
+
+            CustomTransactionStatus inner = transactionManager.getTransaction(nested);
+            insertRows(connection, 5, 10);
+            transactionManager.rollback(inner);
+
+            CustomTransactionStatus committedInner = transactionManager.getTransaction(nested);
+            insertRows(connection, 10, 15);
+            transactionManager.commit(committedInner);
+
+            transactionManager.commit(outer);
+
+            try (Connection plain = dataSource.getConnection()) {
+                assertThat(countRows(plain)).isEqualTo(10);
+            }
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("커밋 직전 버퍼 실행이 PK 위반으로 실패하면 앞선 UPDATE까지 롤백")
+    void failedFlushOnCommitRollsBackEarlierStatements() throws Exception {
+        try (Connection plain = dataSource.getConnection()) {
+            insertRows(plain, 0, 1);
+        }
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(definition(BATCH_SIZE));
+            Connection connection = status.getTransactionInfo().getConnection();
+            try (Statement statement = connection.createStatement()) {
+                assertThat(statement.executeUpdate("UPDATE batch_item SET name = 'updated' WHERE id = 0")).isEqualTo(1);
+            }
+            // 1, 2는 정상, 0은 PK 위반 - 모두 버퍼에 쌓였다가 커밋 직전에 실행
+            insertRows(connection, 1, 3);
+            insertRows(connection, 0, 1);
+            assertThat(status.getTransactionInfo().getConnectionHandler().getAutoBatchBuffer().isEmpty()).isFalse();
+
+            assertThatThrownBy(() -> transactionManager.commit(status))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasCauseInstanceOf(SQLException.class);
+            assertThat(status.isCompleted()).isTrue();
+
+            try (Connection plain = dataSource.getConnection();
+                 Statement statement = plain.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT name FROM batch_item WHERE id = 0")) {
+                assertThat(resultSet.next()).isTrue();
+                log.info("[자동 배치] 커밋 직전 실행 실패 후 id=0 name: {}, 전체 {}건", resultSet.getString(1), countRows(plain));
+                assertThat(resultSet.getString(1)).isEqualTo("item-0");
+                assertThat(countRows(plain)).isEqualTo(1);
+            }
+        } finally {
+            transactionManager.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("생성 키를 요청한 INSERT는 버퍼를 거치지 않고 getGeneratedKeys로 키를 받음")
+    void generatedKeysBypassBuffer() throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+        try {
+            CustomTransactionStatus status = transactionManager.getTransaction(definition(BATCH_SIZE));
+            Connection connection = status.getTransactionInfo().getConnection();
+            AutoBatchBuffer buffer = status.getTransactionInfo().getConnectionHandler().getAutoBatchBuffer();
+
+            // 앞서 쌓인 단건 INSERT는 생성 키 INSERT 실행 전에 먼저 실행
+            insertRows(connection, 0, 3);
+
+            long previousKey = 0;
+            for (int i = 0; i < 5; i++) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO identity_item (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+                    statement.setString(1, "identity-" + i);
+                    assertThat(statement.executeUpdate()).isEqualTo(1);
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        assertThat(keys.next()).isTrue();
+                        long key = keys.getLong(1);
+                        assertThat(key).isGreaterThan(previousKey);
+                        previousKey = key;
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO identity_item (name) VALUES (?)", new String[]{"id"})) {
+                statement.setString(1, "identity-named");
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    assertThat(keys.next()).isTrue();
+                    assertThat(keys.getLong(1)).isGreaterThan(previousKey);
+                }
+            }
+
+            assertThat(buffer.isEmpty()).isTrue();
+            assertThat(buffer.getBatchedStatements()).isEqualTo(3);
+            transactionManager.commit(status);
+
+            try (Connection plain = dataSource.getConnection()) {
+                assertThat(countRows(plain)).isEqualTo(3);
+            }
+        } finally {
+            transactionManager.destroy();
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM identity_item");
+            }
+        }
+    }
+
+    private static long insertLoop(CustomTransactionManager transactionManager,
+                                   CustomTransactionDefinition definition, int rows) throws SQLException {
+        clearRows();
+        long startNanos = System.nanoTime();
+        CustomTransactionStatus status = transactionManager.getTransaction(definition);
+        try {
+            insertRows(status.getTransactionInfo().getConnection(), 0, rows);
+            transactionManager.commit(status);
+        } catch (SQLException | RuntimeException e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        try (Connection plain = dataSource.getConnection()) {
+            assertThat(countRows(plain)).isEqualTo(rows);
+        }
+        return elapsedNanos;
+    }
+
+    /**
+     * 서비스 코드처럼 매번 PreparedStatement를 만들고 executeUpdate 결과를 확인
+     */
+    private static void insertRows(Connection connection, int fromId, int toId) throws SQLException {
+        for (int id = fromId; id < toId; id++) {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setInt(1, id);
+                statement.setString(2, "item-" + id);
+                assertThat(statement.executeUpdate()).isEqualTo(1);
+            }
+        }
+    }
+
+    private static int countRows(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM batch_item")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static void clearRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM batch_item");
+        }
+    }
+
+    private static CustomTransactionDefinition definition(int autoBatchSize) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "AutoBatchingBenchmarkTest.insert",
+                TransactionRetryPolicy.NONE, TransactionBulkheadSpec.NONE, autoBatchSize
+        );
+    }
+}
@@ -0,0 +1,179 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 짧은 트랜잭션당 커넥션 설정 JDBC 호출 수와 지연 시간 측정
+ * - 물리 커넥션의 상태 관련 호출을 세고, 호출마다 네트워크 왕복을 흉내내는 지연을 넣음
+ * - 상태 추적 비활성(매 트랜잭션 상태 조회) vs 활성(커넥션별 캐시) 비교
+ */
+@DisplayName("커넥션 상태 추적 JDBC 호출 수 비교")
+class ConnectionStateTrackingBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionStateTrackingBenchmarkTest.class);
+
+    private static final Set<String> STATE_METHODS = Set.of(
+            "setAutoCommit", "getAutoCommit",
+            "setTransactionIsolation", "getTransactionIsolation",
+            "setReadOnly", "isReadOnly"
+    );
+
+    /**
+     * 상태 호출 하나당 흉내낼 네트워크 왕복 시간
+     */
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int WARM_UP_TRANSACTIONS = 2_000;
+
+    private static final int MEASURED_TRANSACTIONS = 10_000;
+
+    private static final AtomicLong stateCallCount = new AtomicLong();
+
+    @Test
+    @DisplayName("짧은 트랜잭션당 상태 호출 수와 지연 시간")
+    void compareStateCallsPerTransaction() {
+        CustomTransactionDefinition definition = new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.SERIALIZABLE, true, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "ConnectionStateTrackingBenchmarkTest.short"
+        );
+
+        try (HikariDataSource dataSource = newDataSource("untracked")) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            transactionManager.setConnectionStateTracking(false);
+            run("상태 추적 비활성", transactionManager, definition);
+        }
+
+        try (HikariDataSource dataSource = newDataSource("tracked")) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            double callsPerTransaction = run("상태 추적 활성", transactionManager, definition);
+
+            // 매 트랜잭션 isolation/readOnly/autoCommit 변경 + 복원 = 6회, 상태 조회는 커넥션당 1회뿐
+            assertThat(callsPerTransaction).isLessThanOrEqualTo(6.0);
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 종료 후 격리 수준 복원")
+    void restoresIsolationAfterTransaction() throws SQLException {
+        CustomTransactionDefinition definition = new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.SERIALIZABLE, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "ConnectionStateTrackingBenchmarkTest.restore"
+        );
+
+        try (HikariDataSource dataSource = newDataSource("restore")) {
+            int defaultIsolation;
+            try (Connection connection = dataSource.getConnection()) {
+                defaultIsolation = connection.getTransactionIsolation();
+            }
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            CustomTransactionStatus status = transactionManager.getTransaction(definition);
+            assertThat(status.getTransactionInfo().getConnection().getTransactionIsolation())
+                    .isEqualTo(Connection.TRANSACTION_SERIALIZABLE);
+            transactionManager.commit(status);
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat(connection.getTransactionIsolation()).isEqualTo(defaultIsolation);
+                assertThat(connection.getAutoCommit()).isTrue();
+                assertThat(connection.isReadOnly()).isFalse();
+            }
+        }
+    }
+
+    private double run(String label, CustomTransactionManager transactionManager, CustomTransactionDefinition definition) {
+        for (int i = 0; i < WARM_UP_TRANSACTIONS; i++) {
+            transactionManager.commit(transactionManager.getTransaction(definition));
+        }
+
+        stateCallCount.set(0);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_TRANSACTIONS; i++) {
+            transactionManager.commit(transactionManager.getTransaction(definition));
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        double callsPerTransaction = (double) stateCallCount.get() / MEASURED_TRANSACTIONS;
+        log.info("[{}] 트랜잭션 {}개, 트랜잭션당 상태 호출 {}회, 트랜잭션당 {}us",
+                label, MEASURED_TRANSACTIONS, String.format("%.2f", callsPerTransaction),
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos / MEASURED_TRANSACTIONS));
+        return callsPerTransaction;
+    }
+
+    private static HikariDataSource newDataSource(String name) {
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        h2DataSource.setUser("sa");
+        h2DataSource.setPassword("");
+
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(new CountingDataSource(h2DataSource));
+        config.setMaximumPoolSize(2);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * 물리 커넥션의 상태 관련 호출을 세는 DataSource
+     */
+    private static class CountingDataSource extends org.springframework.jdbc.datasource.DelegatingDataSource {
+
+        CountingDataSource(JdbcDataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingProxy(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingProxy(super.getConnection(username, password));
+        }
+
+        private Connection countingProxy(Connection target) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATE_METHODS.contains(method.getName())) {
+                            stateCallCount.incrementAndGet();
+                            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
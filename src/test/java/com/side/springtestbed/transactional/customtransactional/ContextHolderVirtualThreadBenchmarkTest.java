@@ -0,0 +1,167 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import com.side.springtestbed.transactional.customtransactional.core.context.CustomTransactionContextHolder;
+import com.side.springtestbed.transactional.customtransactional.core.context.ScopedValueTransactionContextHolder;
+import com.side.springtestbed.transactional.customtransactional.core.context.ThreadLocalTransactionContextHolder;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Statement;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량의 가상 스레드에서 트랜잭션 컨텍스트 저장소별 처리량과 메모리 사용량 비교
+ * - StructuredTaskScope로 10,000개 가상 스레드를 fork해서 각각 짧은 트랜잭션 실행
+ * - ThreadLocal 저장소 vs ScopedValue 저장소
+ */
+@DisplayName("가상 스레드 트랜잭션 컨텍스트 저장소 비교")
+class ContextHolderVirtualThreadBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(ContextHolderVirtualThreadBenchmarkTest.class);
+
+    private static final int VIRTUAL_THREADS = 10_000;
+
+    private static final CustomTransactionDefinition DEFINITION = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "ContextHolderVirtualThreadBenchmarkTest.task"
+    );
+
+    @AfterEach
+    void restoreDefaultHolder() {
+        CustomTransactionSynchronizationManager.setContextHolder(new ThreadLocalTransactionContextHolder());
+    }
+
+    @Test
+    @DisplayName("ThreadLocal vs ScopedValue 처리량과 최대 힙 사용량")
+    void compareContextHolders() throws Exception {
+        // 워밍업
+        run("워밍업", new ThreadLocalTransactionContextHolder());
+
+        run("ThreadLocal", new ThreadLocalTransactionContextHolder());
+        run("ScopedValue", new ScopedValueTransactionContextHolder());
+    }
+
+    private void run(String label, CustomTransactionContextHolder holder) throws Exception {
+        CustomTransactionSynchronizationManager.setContextHolder(holder);
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:contextHolder;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(32);
+        config.setConnectionTimeout(TimeUnit.SECONDS.toMillis(60));
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            AtomicInteger committed = new AtomicInteger();
+
+            System.gc();
+            HeapSampler heapSampler = new HeapSampler();
+            heapSampler.start();
+
+            long startNanos = System.nanoTime();
+            try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+                for (int i = 0; i < VIRTUAL_THREADS; i++) {
+                    scope.fork(() -> {
+                        runTransaction(transactionManager);
+                        return committed.incrementAndGet();
+                    });
+                }
+                scope.join();
+                scope.throwIfFailed();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            heapSampler.stop();
+            transactionManager.destroy();
+
+            assertThat(committed.get()).isEqualTo(VIRTUAL_THREADS);
+
+            long throughput = VIRTUAL_THREADS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            log.info("[{}] 가상 스레드 {}개, {}ms, {} tx/s, 최대 힙 증가량 {}KB",
+                    label, VIRTUAL_THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), throughput,
+                    heapSampler.getMaxGrowthBytes() / 1024);
+        }
+    }
+
+    private static void runTransaction(CustomTransactionManager transactionManager) {
+        try {
+            CustomTransactionSynchronizationManager.getContextHolder().callInNewContext(() -> {
+                CustomTransactionStatus status = transactionManager.getTransaction(DEFINITION);
+                try (Statement statement = status.getTransactionInfo().getConnection().createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                assertThat(CustomTransactionSynchronizationManager.hasCurrentTransaction()).isTrue();
+                transactionManager.commit(status);
+                return null;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * 측정 구간 동안 힙 사용량을 주기적으로 샘플링
+     */
+    private static class HeapSampler {
+
+        private final long baselineBytes = usedHeap();
+
+        private final AtomicLong maxUsedBytes = new AtomicLong(baselineBytes);
+
+        private volatile boolean running = true;
+
+        private Thread samplerThread;
+
+        void start() {
+            samplerThread = Thread.ofPlatform().daemon().start(() -> {
+                while (running) {
+                    maxUsedBytes.accumulateAndGet(usedHeap(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            samplerThread.join();
+        }
+
+        long getMaxGrowthBytes() {
+            return Math.max(0, maxUsedBytes.get() - baselineBytes);
+        }
+
+        private static long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.UnexpectedRollbackException;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * rollback-only 트랜잭션 커밋 처리 검증
+ * - 범위에서 직접 마킹(setRollbackOnly): 커밋 시 예외 없이 롤백
+ * - 참여 트랜잭션이 마킹: 외부 커밋 시 롤백 후 UnexpectedRollbackException
+ */
+@DisplayName("rollback-only 트랜잭션 커밋")
+class CustomTransactionRollbackOnlyTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.ERROR)
+            .set("com.zaxxer.hikari", Level.ERROR);
+
+    private HikariDataSource dataSource;
+
+    private CustomTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:customTransactionRollbackOnly;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS rollback_only_entry");
+            statement.execute("CREATE TABLE rollback_only_entry (id INT PRIMARY KEY)");
+        }
+        transactionManager = new CustomTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionManager.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("참여 트랜잭션이 rollback-only로 마킹하면 외부 커밋은 롤백 후 UnexpectedRollbackException")
+    void participantMarkingFailsOuterCommit() throws SQLException {
+        CustomTransactionStatus outer = transactionManager.getTransaction(definition());
+        insert(outer, 1);
+
+        CustomTransactionStatus inner = transactionManager.getTransaction(definition());
+        insert(inner, 2);
+        transactionManager.rollback(inner);
+
+        assertThatThrownBy(() -> transactionManager.commit(outer))
+                .isInstanceOf(UnexpectedRollbackException.class);
+        assertThat(outer.isCompleted()).isTrue();
+        assertThat(countEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("범위에서 직접 setRollbackOnly로 마킹하면 커밋은 예외 없이 롤백")
+    void localMarkingRollsBackSilently() throws SQLException {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition());
+        insert(status, 1);
+        status.setRollbackOnly();
+
+        transactionManager.commit(status);
+
+        assertThat(status.isCompleted()).isTrue();
+        assertThat(countEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("참여 범위에서 setRollbackOnly 후 커밋하면 외부 커밋이 UnexpectedRollbackException")
+    void participantLocalMarkingPropagatesToOuter() throws SQLException {
+        CustomTransactionStatus outer = transactionManager.getTransaction(definition());
+        insert(outer, 1);
+
+        CustomTransactionStatus inner = transactionManager.getTransaction(definition());
+        inner.setRollbackOnly();
+        transactionManager.commit(inner);
+        assertThat(outer.isRollbackOnly()).isTrue();
+
+        assertThatThrownBy(() -> transactionManager.commit(outer))
+                .isInstanceOf(UnexpectedRollbackException.class);
+        assertThat(countEntries()).isZero();
+    }
+
+    private static void insert(CustomTransactionStatus status, int id) throws SQLException {
+        try (PreparedStatement statement = status.getTransactionInfo().getConnection()
+                .prepareStatement("INSERT INTO rollback_only_entry (id) VALUES (?)")) {
+            statement.setInt(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private int countEntries() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM rollback_only_entry")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static CustomTransactionDefinition definition() {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "CustomTransactionRollbackOnlyTest.transaction"
+        );
+    }
+}
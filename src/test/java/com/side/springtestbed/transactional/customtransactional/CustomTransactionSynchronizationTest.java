@@ -0,0 +1,240 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.AfterCommitTask;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionInfo;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronization;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 트랜잭션 동기화 콜백 검증
+ * - 같은 키의 커밋 후 작업은 물리 트랜잭션당 한 번만 실행
+ * - beforeCommit 실패 시 커밋 대신 롤백
+ * - 동기화 실행기가 있으면 커넥션 반환 후 실행기 스레드에서 afterCommit 실행
+ * - 여러 스레드에서 동시에 등록해도 콜백이 유실되지 않음
+ */
+@DisplayName("커스텀 트랜잭션 동기화 콜백")
+class CustomTransactionSynchronizationTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.ERROR)
+            .set("com.zaxxer.hikari", Level.ERROR);
+
+    private static final Logger log = LoggerFactory.getLogger(CustomTransactionSynchronizationTest.class);
+
+    private HikariDataSource dataSource;
+
+    private CustomTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:customTransactionSynchronization;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(1_000);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS synchronization_entry");
+            statement.execute("CREATE TABLE synchronization_entry (id INT PRIMARY KEY)");
+        }
+        transactionManager = new CustomTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionManager.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("같은 키의 커밋 후 작업은 참여 트랜잭션에서 등록해도 한 번만 실행")
+    void coalesceAfterCommitTasks() {
+        Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
+        CustomTransactionStatus outer = transactionManager.getTransaction(definition(Propagation.REQUIRED));
+        List<Boolean> registered = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            registered.add(registerInvalidation(invocations, "post:1"));
+        }
+
+        CustomTransactionStatus inner = transactionManager.getTransaction(definition(Propagation.REQUIRED));
+        registered.add(registerInvalidation(invocations, "post:1"));
+        registered.add(registerInvalidation(invocations, "post:2"));
+        transactionManager.commit(inner);
+
+        // 참여 트랜잭션 커밋은 물리 트랜잭션이 아니므로 아직 실행 전
+        assertThat(invocations).isEmpty();
+        transactionManager.commit(outer);
+
+        assertThat(registered).containsExactly(true, false, false, false, true);
+        assertThat(invocations).containsOnlyKeys("post:1", "post:2");
+        assertThat(invocations.get("post:1")).hasValue(1);
+        assertThat(invocations.get("post:2")).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("beforeCommit 실패 시 커밋 대신 롤백하고 afterCommit은 실행하지 않음")
+    void beforeCommitFailureRollsBack() throws SQLException {
+        AtomicInteger afterCommits = new AtomicInteger();
+        AtomicReference<Integer> completionStatus = new AtomicReference<>();
+
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(Propagation.REQUIRED));
+        insert(status.getTransactionInfo().getConnection(), 1);
+        CustomTransactionSynchronizationManager.registerSynchronization(new CustomTransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                throw new IllegalStateException("beforeCommit 실패");
+            }
+
+            @Override
+            public void afterCommit() {
+                afterCommits.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int completion) {
+                completionStatus.set(completion);
+            }
+        });
+
+        assertThatThrownBy(() -> transactionManager.commit(status))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("beforeCommit 실패");
+
+        assertThat(status.isCompleted()).isTrue();
+        assertThat(countEntries()).isZero();
+        assertThat(afterCommits).hasValue(0);
+        assertThat(completionStatus.get()).isEqualTo(CustomTransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    @Test
+    @DisplayName("동기화 실행기가 있으면 커넥션 반환 후 실행기 스레드에서 afterCommit 실행")
+    void afterCommitRunsOnExecutorAfterConnectionRelease() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "tx-sync-test"));
+        transactionManager.setSynchronizationExecutor(executor);
+        try {
+            CountDownLatch executed = new CountDownLatch(1);
+            AtomicReference<String> threadName = new AtomicReference<>();
+            AtomicInteger activeConnections = new AtomicInteger(-1);
+
+            CustomTransactionStatus status = transactionManager.getTransaction(definition(Propagation.REQUIRED));
+            insert(status.getTransactionInfo().getConnection(), 1);
+            CustomTransactionSynchronizationManager.registerAfterCommit("entry:1", () -> {
+                threadName.set(Thread.currentThread().getName());
+                activeConnections.set(dataSource.getHikariPoolMXBean().getActiveConnections());
+                executed.countDown();
+            });
+            transactionManager.commit(status);
+
+            assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+            log.info("afterCommit 실행 스레드: {}, 실행 시점 사용 중 커넥션: {}", threadName.get(), activeConnections.get());
+            assertThat(threadName.get()).isEqualTo("tx-sync-test");
+            assertThat(activeConnections.get()).isZero();
+            assertThat(countEntries()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 등록해도 콜백이 유실되지 않음")
+    void concurrentRegistration() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 1_000;
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(Propagation.REQUIRED));
+        CustomTransactionInfo transactionInfo = status.getTransactionInfo();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < tasksPerThread; i++) {
+                    // 키 절반은 다른 스레드와 겹치도록 등록 (병합 대상)
+                    Object key = i % 2 == 0 ? "shared:" + i : "thread:" + thread + ":" + i;
+                    transactionInfo.addSynchronization(new AfterCommitTask(key, () -> { }));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int expected = tasksPerThread / 2 + threads * tasksPerThread / 2;
+        assertThat(transactionInfo.getSynchronizations()).hasSize(expected);
+        transactionManager.commit(status);
+    }
+
+    private static boolean registerInvalidation(Map<String, AtomicInteger> invocations, String key) {
+        return CustomTransactionSynchronizationManager.registerAfterCommit(key,
+                () -> invocations.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet());
+    }
+
+    private static void insert(Connection connection, int id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO synchronization_entry (id) VALUES (?)")) {
+            statement.setInt(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private int countEntries() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM synchronization_entry")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static CustomTransactionDefinition definition(Propagation propagation) {
+        return new CustomTransactionDefinition(
+                propagation, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "CustomTransactionSynchronizationTest.transaction"
+        );
+    }
+}
@@ -0,0 +1,277 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.TransactionTimedOutException;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.h2.jdbcx.JdbcDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 트랜잭션 타임아웃 (마감 시각 + 워치독) 검증
+ * - Statement마다 남은 시간이 쿼리 타임아웃으로 설정됨
+ * - 마감 시각이 지난 뒤 Statement 생성은 SQLTimeoutException
+ * - 워치독이 마감 시각을 넘긴 트랜잭션을 롤백하고 커넥션을 풀에 반환
+ * - 마감 시각이 지난 뒤 커밋은 TransactionTimedOutException
+ * - 워치독은 실행 중인 Statement를 취소하고, 롤백이 막힌 트랜잭션이 있어도 다른 트랜잭션을 처리
+ */
+@DisplayName("커스텀 트랜잭션 타임아웃")
+class CustomTransactionTimeoutTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.ERROR)
+            .set("com.zaxxer.hikari", Level.ERROR);
+
+    private static final Logger log = LoggerFactory.getLogger(CustomTransactionTimeoutTest.class);
+
+    /**
+     * 워치독 검사 주기(500ms)를 두 번 넘기는 대기 시간
+     */
+    private static final long WATCHDOG_WAIT_MILLIS = 3_000;
+
+    private HikariDataSource dataSource;
+
+    private CustomTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:customTransactionTimeout;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(1_000);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS timeout_entry");
+            statement.execute("CREATE TABLE timeout_entry (id INT PRIMARY KEY)");
+        }
+        transactionManager = new CustomTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionManager.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Statement마다 남은 트랜잭션 시간이 쿼리 타임아웃으로 설정됨")
+    void queryTimeoutIsRemainingBudget() throws SQLException {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(10));
+        Connection connection = status.getTransactionInfo().getConnection();
+
+        try (Statement statement = connection.createStatement();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1")) {
+            log.info("쿼리 타임아웃 - Statement: {}s, PreparedStatement: {}s",
+                    statement.getQueryTimeout(), preparedStatement.getQueryTimeout());
+            assertThat(statement.getQueryTimeout()).isBetween(9, 10);
+            assertThat(preparedStatement.getQueryTimeout()).isBetween(9, 10);
+        }
+        transactionManager.commit(status);
+    }
+
+    @Test
+    @DisplayName("마감 시각이 지난 뒤 Statement 생성은 SQLTimeoutException")
+    void statementPastDeadlineFails() throws Exception {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(1));
+        Connection connection = status.getTransactionInfo().getConnection();
+        insert(connection, 1);
+
+        TimeUnit.MILLISECONDS.sleep(1_200);
+
+        // 워치독이 먼저 커넥션을 반환했어도 같은 예외
+        assertThatThrownBy(connection::createStatement).isInstanceOf(SQLTimeoutException.class);
+        assertThatThrownBy(() -> transactionManager.commit(status))
+                .isInstanceOf(TransactionTimedOutException.class);
+        assertThat(countEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("워치독이 마감 시각을 넘긴 트랜잭션을 롤백하고 커넥션을 풀에 반환")
+    void watchdogRollsBackAndReleasesConnection() throws Exception {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(1));
+        insert(status.getTransactionInfo().getConnection(), 1);
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+
+        long startNanos = System.nanoTime();
+        while (dataSource.getHikariPoolMXBean().getActiveConnections() > 0
+                && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < WATCHDOG_WAIT_MILLIS) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        log.info("워치독 커넥션 반환까지 {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        // 트랜잭션 스레드가 커밋하지 않았는데도 커넥션이 풀로 돌아옴 (풀 크기 1에서 다시 획득 가능)
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        assertThat(status.getTransactionInfo().isAbortedByWatchdog()).isTrue();
+        assertThat(countEntries()).isZero();
+
+        assertThatThrownBy(() -> transactionManager.commit(status))
+                .isInstanceOf(TransactionTimedOutException.class);
+    }
+
+    @Test
+    @DisplayName("마감 시각이 지난 뒤 커밋은 롤백 후 TransactionTimedOutException")
+    void commitPastDeadlineFails() throws Exception {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition(1));
+        insert(status.getTransactionInfo().getConnection(), 1);
+
+        TimeUnit.MILLISECONDS.sleep(1_200);
+
+        assertThatThrownBy(() -> transactionManager.commit(status))
+                .isInstanceOf(TransactionTimedOutException.class);
+        assertThat(status.isCompleted()).isTrue();
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        assertThat(countEntries()).isZero();
+    }
+
+    @Test
+    @DisplayName("워치독은 실행 중인 Statement를 취소하고, 롤백이 막힌 트랜잭션이 있어도 다른 트랜잭션을 처리")
+    void watchdogCancelsStatementsAndDoesNotBlockOnStuckRollback() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch unblockRollback = new CountDownLatch(1);
+        Set<String> rollbackThreads = ConcurrentHashMap.newKeySet();
+        CustomTransactionManager stuckManager = new CustomTransactionManager(
+                stuckRollbackDataSource(cancelled, unblockRollback, rollbackThreads));
+        ExecutorService otherThread = Executors.newSingleThreadExecutor();
+        try {
+            // 첫 트랜잭션: 롤백이 풀리지 않는 커넥션 (쿼리 취소를 무시하는 드라이버 흉내)
+            CustomTransactionStatus stuck = stuckManager.getTransaction(definition(1));
+            Statement runningStatement = stuck.getTransactionInfo().getConnection().createStatement();
+
+            // 두 번째 트랜잭션: 다른 스레드에서 열어 둔 채로 마감 시각을 넘김
+            CustomTransactionStatus other = otherThread.submit(() -> {
+                CustomTransactionStatus status = stuckManager.getTransaction(definition(1));
+                insert(status.getTransactionInfo().getConnection(), 1);
+                return status;
+            }).get(5, TimeUnit.SECONDS);
+
+            long startNanos = System.nanoTime();
+            while (!other.getTransactionInfo().isAbortedByWatchdog()
+                    && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < WATCHDOG_WAIT_MILLIS) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            log.info("[워치독] 롤백이 막힌 트랜잭션이 있는 동안 다른 트랜잭션 처리까지 {}ms, 롤백 스레드: {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), rollbackThreads);
+
+            assertThat(cancelled.await(WATCHDOG_WAIT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+            assertThat(other.getTransactionInfo().isAbortedByWatchdog()).isTrue();
+            assertThat(rollbackThreads).allMatch(name -> name.startsWith("custom-transaction-watchdog-abort"));
+
+            unblockRollback.countDown();
+            runningStatement.close();
+        } finally {
+            unblockRollback.countDown();
+            otherThread.shutdownNow();
+            stuckManager.destroy();
+        }
+    }
+
+    /**
+     * 첫 커넥션의 롤백은 풀어 줄 때까지 막히고, Statement 취소와 롤백 스레드를 기록하는 DataSource
+     */
+    private static DataSource stuckRollbackDataSource(CountDownLatch cancelled, CountDownLatch unblockRollback,
+                                                      Set<String> rollbackThreads) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:customTransactionTimeout;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        h2.setPassword("");
+        AtomicInteger connections = new AtomicInteger();
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (dataSourceProxy, dataSourceMethod, dataSourceArgs) -> {
+                    Object result = invokeTarget(h2, dataSourceMethod, dataSourceArgs);
+                    if (!"getConnection".equals(dataSourceMethod.getName())) {
+                        return result;
+                    }
+                    boolean stuck = connections.getAndIncrement() == 0;
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                            (connectionProxy, method, args) -> {
+                                if ("rollback".equals(method.getName()) && args == null) {
+                                    rollbackThreads.add(Thread.currentThread().getName());
+                                    if (stuck) {
+                                        unblockRollback.await(10, TimeUnit.SECONDS);
+                                    }
+                                }
+                                Object value = invokeTarget(connection, method, args);
+                                if (value instanceof Statement statement && "createStatement".equals(method.getName())) {
+                                    return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                                            (statementProxy, statementMethod, statementArgs) -> {
+                                                if ("cancel".equals(statementMethod.getName())) {
+                                                    cancelled.countDown();
+                                                }
+                                                return invokeTarget(statement, statementMethod, statementArgs);
+                                            });
+                                }
+                                return value;
+                            });
+                });
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static void insert(Connection connection, int id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO timeout_entry (id) VALUES (?)")) {
+            statement.setInt(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private int countEntries() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM timeout_entry")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static CustomTransactionDefinition definition(int timeoutSeconds) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, false, timeoutSeconds,
+                new Class[]{RuntimeException.class}, new Class[]{}, "CustomTransactionTimeoutTest.transaction"
+        );
+    }
+}
@@ -0,0 +1,173 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionAttributeSource;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionalInterceptor;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커스텀 트랜잭션 인터셉터 호출당 오버헤드 측정
+ * - 같은 H2 커넥션 풀 위에서 Spring TransactionInterceptor와 비교
+ * - AutoCommitTest와 같은 워밍업 후 측정 방식
+ */
+@DisplayName("CustomTransactionalInterceptor vs Spring TransactionInterceptor 호출 오버헤드")
+class CustomTransactionalInterceptorBenchmarkTest {
+
+    // 로깅 비용이 측정값을 덮지 않도록 트랜잭션 로그 레벨을 낮춤
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(CustomTransactionalInterceptorBenchmarkTest.class);
+
+    private static final int WARM_UP_ITERATIONS = 20_000;
+
+    private static final int MEASUREMENT_ITERATIONS = 100_000;
+
+    private static HikariDataSource dataSource;
+
+    private static CustomTransactionManager customTransactionManager;
+
+    private static CustomTransactionalInterceptor customInterceptor;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:interceptorBenchmark;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+
+        customTransactionManager = new CustomTransactionManager(dataSource);
+        customInterceptor = new CustomTransactionalInterceptor(customTransactionManager);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("호출당 평균 오버헤드 비교 (ns/op)")
+    void compareInterceptorOverhead() {
+        AspectJProxyFactory customProxyFactory = new AspectJProxyFactory(new CustomBenchmarkService());
+        customProxyFactory.addAspect(customInterceptor);
+        CustomBenchmarkService customService = customProxyFactory.getProxy();
+
+        ProxyFactory springProxyFactory = new ProxyFactory(new SpringBenchmarkService());
+        springProxyFactory.setProxyTargetClass(true);
+        springProxyFactory.addAdvice(new TransactionInterceptor(
+                new DataSourceTransactionManager(dataSource),
+                new AnnotationTransactionAttributeSource()
+        ));
+        SpringBenchmarkService springService = (SpringBenchmarkService) springProxyFactory.getProxy();
+
+        long customNanosPerOp = measure("CustomTransactionalInterceptor", customService::methodLevel);
+        long customClassNanosPerOp = measure("CustomTransactionalInterceptor(class level)", customService::classLevel);
+        long springNanosPerOp = measure("Spring TransactionInterceptor", springService::methodLevel);
+
+        log.info("[결과] custom={}ns/op, custom(class level)={}ns/op, spring={}ns/op",
+                customNanosPerOp, customClassNanosPerOp, springNanosPerOp);
+
+        // 메서드당 한 번만 해석되어야 함
+        assertThat(customInterceptor.getAttributeSource().getCachedDefinitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("상속받은 같은 메서드도 대상 클래스별로 따로 해석")
+    void cachesDefinitionPerTargetClass() throws Exception {
+        CustomTransactionAttributeSource attributeSource = new CustomTransactionAttributeSource();
+        Method inherited = BaseService.class.getMethod("inherited");
+
+        CustomTransactionDefinition readOnly = attributeSource.getTransactionDefinition(inherited, new ReadOnlyService());
+        CustomTransactionDefinition write = attributeSource.getTransactionDefinition(inherited, new WriteService());
+
+        assertThat(readOnly.isReadOnly()).isTrue();
+        assertThat(readOnly.getName()).isEqualTo("ReadOnlyService.inherited");
+        assertThat(write.isReadOnly()).isFalse();
+        assertThat(write.getName()).isEqualTo("WriteService.inherited");
+        assertThat(attributeSource.getTransactionDefinition(inherited, new ReadOnlyService())).isSameAs(readOnly);
+        assertThat(attributeSource.getCachedDefinitionCount()).isEqualTo(2);
+    }
+
+    private long measure(String label, IntSupplier call) {
+        int checksum = 0;
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            checksum += call.getAsInt();
+        }
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            checksum += call.getAsInt();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        assertThat(checksum).isEqualTo(WARM_UP_ITERATIONS + MEASUREMENT_ITERATIONS);
+
+        long nanosPerOp = elapsedNanos / MEASUREMENT_ITERATIONS;
+        log.info("[{}] {} 호출, 총 {}ms, {}ns/op",
+                label, MEASUREMENT_ITERATIONS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), nanosPerOp);
+        return nanosPerOp;
+    }
+
+    @CustomTransactional(readOnly = true)
+    public static class CustomBenchmarkService {
+
+        @CustomTransactional
+        public int methodLevel() {
+            return 1;
+        }
+
+        public int classLevel() {
+            return 1;
+        }
+    }
+
+    public static class BaseService {
+
+        public int inherited() {
+            return 1;
+        }
+    }
+
+    @CustomTransactional(readOnly = true)
+    public static class ReadOnlyService extends BaseService {
+    }
+
+    @CustomTransactional
+    public static class WriteService extends BaseService {
+    }
+
+    public static class SpringBenchmarkService {
+
+        @Transactional
+        public int methodLevel() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.hibernate.postgresql.entity.Post;
+import com.side.springtestbed.hibernate.postgresql.repository.PostRepository;
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionalInterceptor;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionContextExecutor;
+import com.side.springtestbed.transactional.customtransactional.jpa.CustomEntityManagerHolder;
+import com.side.springtestbed.transactional.customtransactional.jpa.EntityManagerBinding;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EntityManager 바인딩
+ * - Spring Data 리포지토리가 커스텀 트랜잭션 커넥션을 그대로 쓰는지 검증 (커넥션 하나)
+ * - readOnly 트랜잭션: FlushMode.MANUAL + 읽기 전용 로딩으로 변경 내용이 반영되지 않는지 검증
+ * - 대량 조회 트랜잭션: 쓰기 트랜잭션 vs readOnly 트랜잭션 처리 시간 비교
+ * - 비동기 반환 트랜잭션: 호출 스레드에 EntityManager가 남지 않고, 완료 스레드에서 커밋되는지 검증
+ * - TransactionContextExecutor 후속 작업: 리포지토리 쓰기가 같은 트랜잭션의 세션으로 실행되는지 검증
+ */
+@DisplayName("EntityManager 바인딩")
+class EntityManagerBindingTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional", Level.WARN)
+            .set("org.hibernate", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(EntityManagerBindingTest.class);
+
+    private static final int POSTS = 5_000;
+
+    private static final CustomTransactionDefinition WRITE = definition(false);
+
+    private static final CustomTransactionDefinition READ_ONLY = definition(true);
+
+    private static HikariDataSource dataSource;
+
+    private static LocalContainerEntityManagerFactoryBean factoryBean;
+
+    private static PostRepository postRepository;
+
+    private CustomTransactionManager transactionManager;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:entityManagerBinding;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.side.springtestbed.hibernate.postgresql.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        postRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(PostRepository.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factoryBean.destroy();
+        dataSource.close();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        if (transactionManager != null) {
+            transactionManager.destroy();
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM post");
+        }
+    }
+
+    @Test
+    @DisplayName("리포지토리는 커스텀 트랜잭션 커넥션에 참여하고 커밋/롤백을 따름")
+    void repositoryJoinsCustomTransaction() throws Exception {
+        transactionManager = newTransactionManager();
+
+        CustomTransactionStatus status = transactionManager.getTransaction(WRITE);
+        postRepository.saveAndFlush(newPost("joined"));
+
+        // 같은 커넥션에서는 보이고, 커넥션은 하나만 사용
+        assertThat(countPosts(status.getTransactionInfo().getConnection())).isEqualTo(1);
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+        transactionManager.commit(status);
+        assertThat(countCommittedPosts()).isEqualTo(1);
+
+        status = transactionManager.getTransaction(WRITE);
+        postRepository.save(newPost("rolled-back"));
+        transactionManager.rollback(status);
+        assertThat(countCommittedPosts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 FlushMode.MANUAL + 읽기 전용 로딩, 변경 내용은 반영되지 않음")
+    void readOnlyTransactionSkipsDirtyChecking() throws Exception {
+        transactionManager = newTransactionManager();
+        insertPosts(10);
+
+        CustomTransactionStatus status = transactionManager.getTransaction(READ_ONLY);
+        EntityManagerBinding binding = status.getTransactionInfo().getEntityManagerBinding();
+        Session session = binding.getSession();
+        List<Post> posts = postRepository.findAll();
+        posts.forEach(post -> post.setTitle("changed"));
+
+        assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+        assertThat(posts).allMatch(session::isReadOnly);
+        transactionManager.commit(status);
+
+        assertThat(postRepository.findByTitleContaining("changed")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대량 조회 트랜잭션: 쓰기 트랜잭션 vs readOnly 트랜잭션")
+    void compareLargeReadTransactions() throws Exception {
+        transactionManager = newTransactionManager();
+        insertPosts(POSTS);
+
+        // 워밍업
+        readAll(WRITE);
+        readAll(READ_ONLY);
+
+        long writeNanos = readAll(WRITE);
+        long readOnlyNanos = readAll(READ_ONLY);
+
+        log.info("[EntityManager 바인딩] 엔티티 {}건 조회 - 쓰기 트랜잭션 {}ms, readOnly 트랜잭션 {}ms",
+                POSTS, TimeUnit.NANOSECONDS.toMillis(writeNanos), TimeUnit.NANOSECONDS.toMillis(readOnlyNanos));
+    }
+
+    @Test
+    @DisplayName("비동기 반환 트랜잭션은 호출 스레드에 EntityManager를 남기지 않고 완료 스레드에서 커밋")
+    void asyncTransactionDoesNotLeaveHolderOnCallingThread() throws Exception {
+        transactionManager = newTransactionManager();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new AsyncPostService(pool));
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            AsyncPostService service = proxyFactory.getProxy();
+
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> future = service.saveThenAwait("async", release);
+
+            // 트랜잭션이 열려 있는 동안에도 호출 스레드에는 바인딩이 없음
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory)).isNull();
+            assertThat(future).isNotDone();
+            assertThat(countCommittedPosts()).isZero();
+
+            release.countDown();
+            future.get(10, TimeUnit.SECONDS);
+            assertThat(countCommittedPosts()).isEqualTo(1);
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory)).isNull();
+
+            // 호출 스레드의 다음 트랜잭션은 새 세션으로 정상 동작
+            CustomTransactionStatus status = transactionManager.getTransaction(WRITE);
+            postRepository.saveAndFlush(newPost("after-async"));
+            transactionManager.commit(status);
+            assertThat(countCommittedPosts()).isEqualTo(2);
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory)).isNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("TransactionContextExecutor 후속 작업의 리포지토리 쓰기는 같은 트랜잭션 세션으로 커밋/롤백")
+    void repositoryWriteOnContinuationThread() throws Exception {
+        transactionManager = newTransactionManager();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new AsyncPostService(pool));
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            AsyncPostService service = proxyFactory.getProxy();
+
+            // 바인딩이 없으면 SharedEntityManager가 트랜잭션 없는 EntityManager를 써서 saveAndFlush가 실패함
+            Object continuationHolder = service.saveOnContinuation("continuation", false).get(10, TimeUnit.SECONDS);
+            assertThat(continuationHolder).isInstanceOf(CustomEntityManagerHolder.class);
+            assertThat(countCommittedPosts()).isEqualTo(1);
+
+            // 후속 작업이 실패하면 그 작업의 쓰기도 트랜잭션과 함께 롤백
+            assertThatThrownBy(() -> service.saveOnContinuation("continuation-failed", true).get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(countCommittedPosts()).isEqualTo(1);
+
+            // 작업을 마친 실행기 스레드에는 바인딩이 남지 않음
+            Object leftover = CompletableFuture.supplyAsync(
+                    () -> TransactionSynchronizationManager.getResource(entityManagerFactory), pool).get(10, TimeUnit.SECONDS);
+            assertThat(leftover).isNull();
+            log.info("[EntityManager 바인딩] 후속 작업 스레드의 EntityManager: {}", continuationHolder);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long readAll(CustomTransactionDefinition definition) {
+        long startNanos = System.nanoTime();
+        CustomTransactionStatus status = transactionManager.getTransaction(definition);
+        assertThat(postRepository.findAll()).hasSize(POSTS);
+        // 커밋 시 쓰기 트랜잭션은 모든 엔티티를 스냅샷과 비교 (readOnly는 생략)
+        transactionManager.commit(status);
+        return System.nanoTime() - startNanos;
+    }
+
+    private void insertPosts(int count) {
+        CustomTransactionStatus status = transactionManager.getTransaction(WRITE);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            posts.add(newPost("post-" + i));
+        }
+        postRepository.saveAll(posts);
+        transactionManager.commit(status);
+    }
+
+    private static CustomTransactionManager newTransactionManager() {
+        CustomTransactionManager manager = new CustomTransactionManager(dataSource);
+        manager.setEntityManagerFactory(factoryBean.getObject());
+        return manager;
+    }
+
+    private static Post newPost(String title) {
+        return Post.builder()
+                .title(title)
+                .content("content of " + title)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+
+    private static int countCommittedPosts() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return countPosts(connection);
+        }
+    }
+
+    private static int countPosts(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM post")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    public static class AsyncPostService {
+
+        private final ExecutorService executor;
+
+        private final TransactionContextExecutor contextExecutor;
+
+        public AsyncPostService(ExecutorService executor) {
+            this.executor = executor;
+            this.contextExecutor = new TransactionContextExecutor(executor);
+        }
+
+        /**
+         * 호출 스레드에서 저장하고, 다른 스레드에서 완료되는 future 반환
+         */
+        @CustomTransactional
+        public CompletableFuture<Void> saveThenAwait(String title, CountDownLatch release) {
+            postRepository.save(newPost(title));
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, executor);
+        }
+
+        /**
+         * 후속 작업 스레드에서 리포지토리로 저장 (트랜잭션 세션이 바인딩되어 있어야 같은 커넥션에 쓰임)
+         * - 후속 작업 스레드에 바인딩된 EntityManager 홀더를 반환하고, fail이면 저장 후 예외
+         */
+        @CustomTransactional
+        public CompletableFuture<Object> saveOnContinuation(String title, boolean fail) {
+            EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+            return CompletableFuture.supplyAsync(() -> {
+                postRepository.saveAndFlush(newPost(title));
+                if (fail) {
+                    throw new IllegalStateException("후속 작업 실패");
+                }
+                return TransactionSynchronizationManager.getResource(entityManagerFactory);
+            }, contextExecutor);
+        }
+    }
+
+    private static CustomTransactionDefinition definition(boolean readOnly) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, readOnly, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "EntityManagerBindingTest." + (readOnly ? "read" : "write")
+        );
+    }
+}
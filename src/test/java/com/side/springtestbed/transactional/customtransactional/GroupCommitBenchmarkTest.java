@@ -0,0 +1,266 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.GroupCommitExecutor;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 그룹 커밋 실행기 벤치마크
+ * - 파일 기반 H2/HSQLDB에서 동시 호출자 16명이 한 행씩 INSERT
+ * - 호출마다 물리 트랜잭션 하나 vs 그룹 커밋(배치당 물리 트랜잭션 하나)의 초당 커밋 수 비교
+ * - 실패한 작업은 자기 Savepoint만 롤백되는지 함께 검증
+ */
+@DisplayName("그룹 커밋 벤치마크")
+class GroupCommitBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitBenchmarkTest.class);
+
+    private static final int CALLERS = 16;
+
+    private static final int WARM_UP_UNITS = 2_000;
+
+    private static final int MEASURE_UNITS = 10_000;
+
+    private static final CustomTransactionDefinition PER_CALL = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "GroupCommitBenchmarkTest.perCall"
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "H2, jdbc:h2:file:{dir}/groupcommit",
+            "HSQLDB, jdbc:hsqldb:file:{dir}/groupcommit;hsqldb.write_delay=false"
+    })
+    @DisplayName("호출당 트랜잭션 vs 그룹 커밋 초당 커밋 수")
+    void compareCommitsPerSecond(String database, String jdbcUrlTemplate) throws Exception {
+        String jdbcUrl = jdbcUrlTemplate.replace("{dir}", tempDir.toAbsolutePath().toString());
+
+        try (HikariDataSource dataSource = dataSource(jdbcUrl)) {
+            createTable(dataSource);
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+            try (GroupCommitExecutor groupCommitExecutor =
+                         new GroupCommitExecutor(transactionManager, "GroupCommitBenchmarkTest", 64, 1, TimeUnit.MILLISECONDS)) {
+                AtomicInteger ids = new AtomicInteger();
+
+                // 워밍업
+                runPerCall(callers, transactionManager, ids, WARM_UP_UNITS);
+                runGroupCommit(callers, groupCommitExecutor, ids, WARM_UP_UNITS);
+
+                long perCallNanos = runPerCall(callers, transactionManager, ids, MEASURE_UNITS);
+                long groupCommitNanos = runGroupCommit(callers, groupCommitExecutor, ids, MEASURE_UNITS);
+
+                assertThat(countRows(dataSource)).isEqualTo(ids.get());
+
+                log.info("[{}] 호출당 트랜잭션: {} commits/s, 그룹 커밋: {} units/s",
+                        database, perSecond(MEASURE_UNITS, perCallNanos), perSecond(MEASURE_UNITS, groupCommitNanos));
+            } finally {
+                callers.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("실패한 작업만 Savepoint로 롤백되고 나머지는 공유 커밋으로 반영")
+    void failedUnitRollsBackOnlyItself() throws Exception {
+        try (HikariDataSource dataSource = dataSource("jdbc:h2:file:" + tempDir.toAbsolutePath() + "/isolation")) {
+            createTable(dataSource);
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+
+            try (GroupCommitExecutor groupCommitExecutor =
+                         new GroupCommitExecutor(transactionManager, "GroupCommitBenchmarkTest", 64, 50, TimeUnit.MILLISECONDS)) {
+                List<CompletableFuture<Integer>> futures = new ArrayList<>();
+                for (int id = 0; id < 10; id++) {
+                    int rowId = id;
+                    futures.add(groupCommitExecutor.submit(connection -> {
+                        insert(connection, rowId);
+                        if (rowId == 3) {
+                            throw new IllegalStateException("작업 실패: " + rowId);
+                        }
+                        return rowId;
+                    }));
+                }
+
+                for (int id = 0; id < 10; id++) {
+                    if (id == 3) {
+                        assertThatThrownBy(futures.get(id)::get)
+                                .isInstanceOf(ExecutionException.class)
+                                .hasCauseInstanceOf(IllegalStateException.class);
+                    } else {
+                        assertThat(futures.get(id).get(10, TimeUnit.SECONDS)).isEqualTo(id);
+                    }
+                }
+            } finally {
+                transactionManager.destroy();
+            }
+
+            assertThat(countRows(dataSource)).isEqualTo(9);
+        }
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 제출된 작업은 모두 커밋되거나 제출 시점에 거부됨")
+    void closeRacingWithSubmit() throws Exception {
+        try (HikariDataSource dataSource = dataSource("jdbc:h2:file:" + tempDir.toAbsolutePath() + "/close")) {
+            createTable(dataSource);
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+            AtomicInteger ids = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            List<CompletableFuture<Integer>> accepted = Collections.synchronizedList(new ArrayList<>());
+
+            try {
+                // 배치 수집 대기 시간을 길게 잡아 close()가 수집 도중에 호출되도록 함
+                GroupCommitExecutor groupCommitExecutor =
+                        new GroupCommitExecutor(transactionManager, "GroupCommitBenchmarkTest", 64, 200, TimeUnit.MILLISECONDS);
+                List<Future<?>> submitters = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    submitters.add(callers.submit(() -> {
+                        while (true) {
+                            CompletableFuture<Integer> future;
+                            try {
+                                future = groupCommitExecutor.submit(connection -> insert(connection, ids.getAndIncrement()));
+                            } catch (RejectedExecutionException e) {
+                                rejected.incrementAndGet();
+                                return null;
+                            }
+                            accepted.add(future);
+                            future.get(10, TimeUnit.SECONDS);
+                        }
+                    }));
+                }
+                TimeUnit.MILLISECONDS.sleep(50);
+                groupCommitExecutor.close();
+                for (Future<?> submitter : submitters) {
+                    submitter.get(10, TimeUnit.SECONDS);
+                }
+
+                for (CompletableFuture<Integer> future : accepted) {
+                    assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+                }
+                log.info("종료 경합 - 수락 {}건, 거부된 호출자 {}명", accepted.size(), rejected.get());
+                assertThat(rejected.get()).isEqualTo(CALLERS);
+                assertThat(countRows(dataSource)).isEqualTo(accepted.size());
+            } finally {
+                callers.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    private static long runPerCall(ExecutorService callers, CustomTransactionManager transactionManager,
+                                   AtomicInteger ids, int units) throws Exception {
+        long startNanos = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(units);
+        for (int i = 0; i < units; i++) {
+            futures.add(callers.submit(() -> {
+                CustomTransactionStatus status = transactionManager.getTransaction(PER_CALL);
+                insert(status.getTransactionInfo().getConnection(), ids.getAndIncrement());
+                transactionManager.commit(status);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static long runGroupCommit(ExecutorService callers, GroupCommitExecutor groupCommitExecutor,
+                                       AtomicInteger ids, int units) throws Exception {
+        long startNanos = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(units);
+        for (int i = 0; i < units; i++) {
+            // 호출자 스레드는 커밋 완료까지 대기 (호출당 트랜잭션과 같은 조건)
+            futures.add(callers.submit(() -> groupCommitExecutor
+                    .submit(connection -> insert(connection, ids.getAndIncrement()))
+                    .get()));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static int insert(Connection connection, int id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO group_unit (id) VALUES (?)")) {
+            statement.setInt(1, id);
+            return statement.executeUpdate();
+        }
+    }
+
+    private static HikariDataSource dataSource(String jdbcUrl) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(CALLERS);
+        return new HikariDataSource(config);
+    }
+
+    private static void createTable(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE group_unit (id INT PRIMARY KEY)");
+        }
+    }
+
+    private static int countRows(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM group_unit")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static long perSecond(int units, long elapsedNanos) {
+        return units * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
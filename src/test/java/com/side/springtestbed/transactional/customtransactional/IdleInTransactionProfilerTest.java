@@ -0,0 +1,120 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.metrics.IdleInTransactionListener;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionMetrics;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionTimeline;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * idle in transaction 프로파일러
+ * - Statement 사이에서 애플리케이션 코드가 오래 걸린 트랜잭션의 커넥션 점유 시간이 SQL/idle로 분리되는지 검증
+ * - 가장 긴 idle 구간의 앞뒤 Statement 위치가 기록되는지 검증
+ */
+@DisplayName("idle in transaction 프로파일러")
+class IdleInTransactionProfilerTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(IdleInTransactionProfilerTest.class);
+
+    private static final long APPLICATION_WORK_MILLIS = 100;
+
+    private static final CustomTransactionDefinition DEFINITION = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "IdleInTransactionProfilerTest.slowBetweenStatements"
+    );
+
+    @Test
+    @DisplayName("Statement 사이 애플리케이션 시간이 idle로 집계되고 최악 구간 위치가 남음")
+    void splitsConnectionHoldIntoSqlAndIdle() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:idleProfiler;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+
+        try (HikariDataSource hikariDataSource = new HikariDataSource(config)) {
+            DataSource dataSource = ProxyDataSourceBuilder
+                    .create(hikariDataSource)
+                    .name("IdleProfilerProxy")
+                    .listener(new IdleInTransactionListener())
+                    .build();
+
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE idle_item (id INT PRIMARY KEY)");
+            }
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            try {
+                CustomTransactionStatus status = transactionManager.getTransaction(DEFINITION);
+                Connection connection = status.getTransactionInfo().getConnection();
+
+                insertFirst(connection);
+                TimeUnit.MILLISECONDS.sleep(APPLICATION_WORK_MILLIS);
+                insertSecond(connection);
+
+                transactionManager.commit(status);
+
+                TransactionMetrics metrics = transactionManager.getMetricsRegistry().getMetrics(DEFINITION.getName());
+                TransactionMetrics.Snapshot snapshot = metrics.snapshot();
+                TransactionTimeline.IdleGap worstGap = snapshot.getWorstIdleGap();
+
+                log.info("[idle 프로파일] 커넥션 점유 {}µs = SQL {}µs + idle {}µs, 최장 idle {}µs ({} -> {})",
+                        snapshot.getConnectionHoldTime().getTotalMicros(),
+                        snapshot.getSqlTime().getTotalMicros(),
+                        snapshot.getIdleTime().getTotalMicros(),
+                        worstGap.getMicros(), worstGap.getBefore(), worstGap.getAfter());
+
+                assertThat(snapshot.getIdleTime().getTotalMicros())
+                        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(APPLICATION_WORK_MILLIS));
+                assertThat(worstGap.getNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(APPLICATION_WORK_MILLIS));
+                assertThat(worstGap.getBefore()).contains("insertFirst");
+                assertThat(worstGap.getAfter()).contains("insertSecond");
+
+                List<TransactionMetrics.Snapshot> offenders = transactionManager.getMetricsRegistry().getIdleOffenders(5);
+                assertThat(offenders).extracting(TransactionMetrics.Snapshot::getName).containsExactly(DEFINITION.getName());
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    private static void insertFirst(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO idle_item (id) VALUES (1)");
+        }
+    }
+
+    private static void insertSecond(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO idle_item (id) VALUES (2)");
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.ConnectionState;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.IsolationPartitionedPools;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 격리 수준/readOnly별 하위 풀
+ * - 하위 풀에서 빌린 커넥션은 이미 요청한 모드라 설정/복원 호출이 없는지 검증
+ * - 격리 수준을 번갈아 쓰는 트랜잭션: 단일 풀 vs 하위 풀 처리 시간 비교 (TCP로 접속한 H2)
+ * - 균형기가 수요가 많은 하위 풀로 용량을 옮기는지 검증
+ * - 하위 풀 수 한도와 최대 크기 합 상한이 지켜지는지 검증
+ * - 줄어든 하위 풀이 커넥션을 한꺼번에 닫지 않고, 새 최대 크기 이상으로 늘리지도 않는지 검증
+ */
+@DisplayName("격리 수준별 하위 풀")
+class IsolationPartitionedPoolsTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(IsolationPartitionedPoolsTest.class);
+
+    private static final int TRANSACTIONS = 5_000;
+
+    private static final CustomTransactionDefinition SERIALIZABLE = definition(Isolation.SERIALIZABLE, false);
+
+    private static final CustomTransactionDefinition READ_COMMITTED = definition(Isolation.READ_COMMITTED, false);
+
+    private static Server server;
+
+    private static String jdbcUrl;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        jdbcUrl = "jdbc:h2:tcp://localhost:" + port + "/mem:partitioned;DB_CLOSE_DELAY=-1";
+    }
+
+    @AfterAll
+    static void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("하위 풀 커넥션은 요청한 모드로 빌려지고 반납 시 복원할 것이 없음")
+    void borrowsConnectionsAlreadyInRequestedMode() throws Exception {
+        try (HikariDataSource primary = new HikariDataSource(baseConfig());
+             IsolationPartitionedPools pools = new IsolationPartitionedPools(baseConfig(), 8, 2)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(primary);
+            transactionManager.setPartitionedPools(pools);
+            try {
+                for (CustomTransactionDefinition definition :
+                        List.of(SERIALIZABLE, READ_COMMITTED, definition(Isolation.REPEATABLE_READ, true))) {
+                    CustomTransactionStatus status = transactionManager.getTransaction(definition);
+                    ConnectionState state = status.getTransactionInfo().getConnectionState();
+
+                    // 풀 기본값 == 트랜잭션에 필요한 값
+                    assertThat(state.isDefaultAutoCommit()).isFalse();
+                    assertThat(state.getDefaultIsolation()).isEqualTo(state.getIsolation());
+                    assertThat(state.isDefaultReadOnly()).isEqualTo(definition.isReadOnly());
+                    transactionManager.commit(status);
+                }
+                assertThat(pools.getPartitionCount()).isEqualTo(3);
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("격리 수준을 번갈아 쓰는 트랜잭션: 단일 풀 vs 하위 풀")
+    void compareAlternatingIsolation() throws Exception {
+        try (HikariDataSource primary = new HikariDataSource(baseConfig());
+             IsolationPartitionedPools pools = new IsolationPartitionedPools(baseConfig(), 8, 2)) {
+            CustomTransactionManager single = new CustomTransactionManager(primary);
+            CustomTransactionManager partitioned = new CustomTransactionManager(primary);
+            partitioned.setPartitionedPools(pools);
+            try {
+                // 워밍업
+                runAlternating(single, TRANSACTIONS / 5);
+                runAlternating(partitioned, TRANSACTIONS / 5);
+
+                long singleNanos = runAlternating(single, TRANSACTIONS);
+                long partitionedNanos = runAlternating(partitioned, TRANSACTIONS);
+
+                log.info("[하위 풀] 트랜잭션 {}건 - 단일 풀 {}ms, 하위 풀 {}ms",
+                        TRANSACTIONS, TimeUnit.NANOSECONDS.toMillis(singleNanos),
+                        TimeUnit.NANOSECONDS.toMillis(partitionedNanos));
+            } finally {
+                single.destroy();
+                partitioned.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("균형기는 수요가 많은 하위 풀로 용량을 옮기고 전체 크기는 유지")
+    void balancerMovesCapacityTowardDemand() throws Exception {
+        int total = 10;
+        try (HikariDataSource primary = new HikariDataSource(baseConfig());
+             IsolationPartitionedPools pools = new IsolationPartitionedPools(baseConfig(), total, 2)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(primary);
+            transactionManager.setPartitionedPools(pools);
+
+            // 두 하위 풀 생성
+            transactionManager.commit(transactionManager.getTransaction(READ_COMMITTED));
+            transactionManager.commit(transactionManager.getTransaction(SERIALIZABLE));
+
+            ExecutorService executor = Executors.newFixedThreadPool(12);
+            List<Future<?>> holders = new ArrayList<>();
+            try {
+                // SERIALIZABLE 하위 풀에만 수요를 몰아줌 (커넥션을 잡고 잠시 대기)
+                for (int i = 0; i < 12; i++) {
+                    holders.add(executor.submit(() -> {
+                        CustomTransactionStatus status = transactionManager.getTransaction(SERIALIZABLE);
+                        try {
+                            Thread.sleep(300);
+                        } finally {
+                            transactionManager.commit(status);
+                        }
+                        return null;
+                    }));
+                }
+                Thread.sleep(100);
+                for (int i = 0; i < 5; i++) {
+                    pools.rebalance();
+                }
+
+                List<IsolationPartitionedPools.PartitionSnapshot> snapshots = pools.getSnapshots();
+                snapshots.forEach(snapshot -> log.info("[하위 풀] {} 최대 {}, 사용 {}, 대기 {}, 수요 {}",
+                        snapshot.getPoolName(), snapshot.getMaximumPoolSize(), snapshot.getActiveConnections(),
+                        snapshot.getThreadsAwaitingConnection(), String.format("%.1f", snapshot.getDemand())));
+
+                int serializableMax = maxOf(snapshots, Isolation.SERIALIZABLE);
+                int readCommittedMax = maxOf(snapshots, Isolation.READ_COMMITTED);
+                assertThat(serializableMax + readCommittedMax).isEqualTo(total);
+                assertThat(serializableMax).isGreaterThan(readCommittedMax);
+                assertThat(readCommittedMax).isGreaterThanOrEqualTo(2);
+                assertThat(connectionsOf(snapshots)).isLessThanOrEqualTo(total);
+
+                for (Future<?> holder : holders) {
+                    holder.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("하위 풀 수 한도를 넘는 조합은 기존 하위 풀에 합쳐지고 최대 크기 합은 전체 크기를 넘지 않음")
+    void mergesPartitionsBeyondTotal() throws Exception {
+        int total = 4;
+        try (HikariDataSource primary = new HikariDataSource(baseConfig());
+             IsolationPartitionedPools pools = new IsolationPartitionedPools(baseConfig(), total, 2)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(primary);
+            transactionManager.setPartitionedPools(pools);
+            try {
+                CustomTransactionDefinition serializableReadOnly = definition(Isolation.SERIALIZABLE, true);
+                for (CustomTransactionDefinition definition : List.of(
+                        SERIALIZABLE, READ_COMMITTED, definition(Isolation.REPEATABLE_READ, false), serializableReadOnly)) {
+                    CustomTransactionStatus status = transactionManager.getTransaction(definition);
+                    ConnectionState state = status.getTransactionInfo().getConnectionState();
+                    // 합쳐진 조합도 트랜잭션 동안은 요청한 모드
+                    assertThat(state.isReadOnly()).isEqualTo(definition.isReadOnly());
+                    transactionManager.commit(status);
+                }
+
+                List<IsolationPartitionedPools.PartitionSnapshot> snapshots = pools.getSnapshots();
+                assertThat(pools.getMaxPartitions()).isEqualTo(2);
+                assertThat(pools.getPartitionCount()).isEqualTo(2);
+                assertThat(snapshots.stream().mapToInt(IsolationPartitionedPools.PartitionSnapshot::getMaximumPoolSize).sum())
+                        .isEqualTo(total);
+                // SERIALIZABLE readOnly는 같은 격리 수준의 SERIALIZABLE 하위 풀로 합쳐짐
+                assertThat(pools.route(serializableReadOnly)).isSameAs(pools.route(SERIALIZABLE));
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("줄어든 하위 풀은 커넥션을 한꺼번에 닫지 않고 새 최대 크기 이상의 커넥션을 만들지 않음")
+    void shrinkingPartitionKeepsConnections() throws Exception {
+        int total = 6;
+        try (HikariDataSource primary = new HikariDataSource(baseConfig());
+             IsolationPartitionedPools pools = new IsolationPartitionedPools(baseConfig(), total, 2)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(primary);
+            transactionManager.setPartitionedPools(pools);
+            transactionManager.commit(transactionManager.getTransaction(READ_COMMITTED));
+            transactionManager.commit(transactionManager.getTransaction(SERIALIZABLE));
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                // SERIALIZABLE 하위 풀을 키워서 커넥션을 채운 뒤 수요를 READ_COMMITTED로 옮김
+                holdConnections(transactionManager, pools, executor, SERIALIZABLE);
+                int serializableConnections = connectionsOf(pools.getSnapshots(), Isolation.SERIALIZABLE);
+                holdConnections(transactionManager, pools, executor, READ_COMMITTED);
+
+                List<IsolationPartitionedPools.PartitionSnapshot> snapshots = pools.getSnapshots();
+                snapshots.forEach(snapshot -> log.info("[하위 풀] {} 최대 {}, 사용 {}, 유휴 {}",
+                        snapshot.getPoolName(), snapshot.getMaximumPoolSize(),
+                        snapshot.getActiveConnections(), snapshot.getIdleConnections()));
+
+                int shrunkMax = maxOf(snapshots, Isolation.SERIALIZABLE);
+                assertThat(serializableConnections).isGreaterThan(2);
+                assertThat(shrunkMax).isLessThan(serializableConnections);
+                // 줄여도 물리 커넥션은 최소 새 최대 크기만큼 남음 (재배분마다 전부 재연결하지 않음)
+                assertThat(connectionsOf(snapshots, Isolation.SERIALIZABLE)).isGreaterThanOrEqualTo(shrunkMax);
+                assertThat(snapshots.stream().mapToInt(IsolationPartitionedPools.PartitionSnapshot::getMaximumPoolSize).sum())
+                        .isEqualTo(total);
+
+                // 줄어든 하위 풀을 다시 써도 이미 있는 커넥션만 재사용 (새로 만들지 않음)
+                int before = connectionsOf(pools.getSnapshots(), Isolation.SERIALIZABLE);
+                for (int i = 0; i < 10; i++) {
+                    transactionManager.commit(transactionManager.getTransaction(SERIALIZABLE));
+                }
+                assertThat(connectionsOf(pools.getSnapshots(), Isolation.SERIALIZABLE)).isLessThanOrEqualTo(before);
+            } finally {
+                executor.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    /**
+     * 한 하위 풀에 수요를 몰아서 재배분한 뒤, 한 번 더 몰아서 늘어난 크기만큼 커넥션을 채움
+     */
+    private static void holdConnections(CustomTransactionManager transactionManager, IsolationPartitionedPools pools,
+                                        ExecutorService executor, CustomTransactionDefinition definition) throws Exception {
+        List<Future<?>> holders = submitHolders(transactionManager, executor, definition);
+        Thread.sleep(100);
+        for (int i = 0; i < 5; i++) {
+            pools.rebalance();
+        }
+        awaitAll(holders);
+        // Hikari는 커넥션을 기다리기 시작할 때만 새 커넥션을 만들므로 늘어난 크기는 다음 요청부터 채워짐
+        awaitAll(submitHolders(transactionManager, executor, definition));
+    }
+
+    private static List<Future<?>> submitHolders(CustomTransactionManager transactionManager, ExecutorService executor,
+                                                 CustomTransactionDefinition definition) {
+        List<Future<?>> holders = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            holders.add(executor.submit(() -> {
+                CustomTransactionStatus status = transactionManager.getTransaction(definition);
+                try {
+                    Thread.sleep(200);
+                } finally {
+                    transactionManager.commit(status);
+                }
+                return null;
+            }));
+        }
+        return holders;
+    }
+
+    private static void awaitAll(List<Future<?>> holders) throws Exception {
+        for (Future<?> holder : holders) {
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int connectionsOf(List<IsolationPartitionedPools.PartitionSnapshot> snapshots) {
+        return snapshots.stream()
+                .mapToInt(snapshot -> snapshot.getActiveConnections() + snapshot.getIdleConnections())
+                .sum();
+    }
+
+    private static int connectionsOf(List<IsolationPartitionedPools.PartitionSnapshot> snapshots, Isolation isolation) {
+        return snapshots.stream()
+                .filter(snapshot -> snapshot.getIsolation() == isolation)
+                .mapToInt(snapshot -> snapshot.getActiveConnections() + snapshot.getIdleConnections())
+                .sum();
+    }
+
+    private static long runAlternating(CustomTransactionManager transactionManager, int transactions) throws Exception {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < transactions; i++) {
+            CustomTransactionStatus status = transactionManager.getTransaction(i % 2 == 0 ? SERIALIZABLE : READ_COMMITTED);
+            Connection connection = status.getTransactionInfo().getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+            transactionManager.commit(status);
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static int maxOf(List<IsolationPartitionedPools.PartitionSnapshot> snapshots, Isolation isolation) {
+        return snapshots.stream()
+                .filter(snapshot -> snapshot.getIsolation() == isolation)
+                .findFirst()
+                .orElseThrow()
+                .getMaximumPoolSize();
+    }
+
+    private static HikariConfig baseConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        config.setConnectionTimeout(TimeUnit.SECONDS.toMillis(5));
+        return config;
+    }
+
+    private static CustomTransactionDefinition definition(Isolation isolation, boolean readOnly) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, isolation, readOnly, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "IsolationPartitionedPoolsTest." + isolation
+        );
+    }
+}
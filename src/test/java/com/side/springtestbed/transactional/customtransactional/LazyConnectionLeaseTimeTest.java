@@ -0,0 +1,127 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.conn.FlexyPoolConfiguration;
+import com.side.springtestbed.utils.conn.FlexyPoolDataSource;
+import com.side.springtestbed.utils.data.DataSourcePoolAdapter;
+import com.side.springtestbed.utils.metrics.SimpleMetrics;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커넥션 지연 획득 모드의 커넥션 점유(lease) 시간 측정
+ * - FlexyPoolDataSource의 connectionLeaseMillis 타이머 사용
+ * - 트랜잭션마다 첫 SQL 전에 애플리케이션 로직(5ms)을 수행하고, 4번 중 1번은 SQL 없이 종료
+ */
+@DisplayName("커넥션 지연 획득 점유 시간 비교")
+class LazyConnectionLeaseTimeTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(LazyConnectionLeaseTimeTest.class);
+
+    private static final int WARM_UP_ITERATIONS = 50;
+
+    private static final int MEASURE_ITERATIONS = 200;
+
+    private static final long APPLICATION_LOGIC_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final CustomTransactionDefinition DEFINITION = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.READ_COMMITTED, false, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "LazyConnectionLeaseTimeTest.importData"
+    );
+
+    @Test
+    @DisplayName("즉시 획득 vs 지연 획득 connectionLeaseMillis")
+    void testConnectionLeaseTime() throws Exception {
+        SimpleMetrics.SimpleTimer eager = measureConnectionLeaseTime("즉시 획득", false);
+        SimpleMetrics.SimpleTimer lazy = measureConnectionLeaseTime("지연 획득", true);
+
+        // SQL 없는 트랜잭션은 커넥션을 아예 빌리지 않음
+        assertThat(lazy.getCount()).isLessThan(eager.getCount());
+        assertThat(lazy.getMeanMillis()).isLessThan(eager.getMeanMillis());
+    }
+
+    private SimpleMetrics.SimpleTimer measureConnectionLeaseTime(String label, boolean lazy) throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:lazyLease;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        try (HikariDataSource hikariDataSource = new HikariDataSource(config);
+             FlexyPoolDataSource<DataSource> flexyPoolDataSource = new FlexyPoolDataSource<>(
+                 new FlexyPoolConfiguration.Builder<DataSource>("lazyLease", hikariDataSource, DataSourcePoolAdapter.FACTORY)
+                     .setMetricsFactory(configurationProperties -> metrics)
+                     .setJmxEnabled(false)
+                     .build()
+             )) {
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(flexyPoolDataSource);
+            transactionManager.setLazyConnectionAcquisition(lazy);
+
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                importData(transactionManager, i);
+            }
+
+            flexyPoolDataSource.start();
+            for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+                importData(transactionManager, i);
+            }
+            flexyPoolDataSource.stop();
+            transactionManager.destroy();
+
+            SimpleMetrics.SimpleTimer leaseTimer = metrics.timer(FlexyPoolDataSource.CONNECTION_LEASE_MILLIS);
+            log.info("[{}] 트랜잭션 {}개, 커넥션 대여 {}회, 평균 점유 {}ms, 최대 점유 {}ms",
+                    label, MEASURE_ITERATIONS, leaseTimer.getCount(),
+                    String.format("%.2f", leaseTimer.getMeanMillis()), leaseTimer.getMaxMillis());
+            return leaseTimer;
+        }
+    }
+
+    /**
+     * SQL 전에 애플리케이션 로직이 있는 트랜잭션
+     * - 4번 중 1번은 검증 실패 등으로 SQL 없이 종료
+     */
+    private void importData(CustomTransactionManager transactionManager, int iteration) throws Exception {
+        CustomTransactionStatus status = transactionManager.getTransaction(DEFINITION);
+        try {
+            LockSupport.parkNanos(APPLICATION_LOGIC_NANOS);
+
+            if (iteration % 4 != 0) {
+                Connection connection = status.getTransactionInfo().getConnection();
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                    assertThat(resultSet.next()).isTrue();
+                }
+            }
+            transactionManager.commit(status);
+        } catch (Exception e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 외부 트랜잭션 하나에 NESTED 작업 1,000개를 실행하는 Savepoint 벤치마크
+ * - 작업 10개 중 1개는 Savepoint로 롤백, 나머지는 Savepoint 해제
+ * - 롤백된 작업만 빠지고 나머지는 외부 커밋으로 반영되는지 함께 검증
+ */
+@DisplayName("NESTED Savepoint 벤치마크")
+class NestedSavepointBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(NestedSavepointBenchmarkTest.class);
+
+    private static final int NESTED_UNITS = 1_000;
+
+    private static final int WARM_UP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static final CustomTransactionDefinition OUTER = definition(Propagation.REQUIRED, "NestedSavepointBenchmarkTest.outer");
+
+    private static final CustomTransactionDefinition NESTED = definition(Propagation.NESTED, "NestedSavepointBenchmarkTest.unit");
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "H2, jdbc:h2:mem:nestedSavepoint;DB_CLOSE_DELAY=-1",
+            "HSQLDB, jdbc:hsqldb:mem:nestedSavepoint"
+    })
+    @DisplayName("외부 트랜잭션당 NESTED 1,000개")
+    void nestedUnitsPerOuterTransaction(String database, String jdbcUrl) throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE nested_unit (id INT PRIMARY KEY)");
+            }
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                runOuterTransaction(transactionManager);
+            }
+
+            long totalNanos = 0;
+            for (int i = 0; i < MEASURE_ROUNDS; i++) {
+                long startNanos = System.nanoTime();
+                runOuterTransaction(transactionManager);
+                totalNanos += System.nanoTime() - startNanos;
+
+                assertThat(countRows(dataSource)).isEqualTo(NESTED_UNITS - NESTED_UNITS / 10);
+            }
+            transactionManager.destroy();
+
+            long averageMicros = TimeUnit.NANOSECONDS.toMicros(totalNanos / MEASURE_ROUNDS);
+            log.info("[{}] NESTED {}개/외부 트랜잭션: 평균 {}ms, NESTED 1개당 {}µs",
+                    database, NESTED_UNITS, averageMicros / 1000, averageMicros / NESTED_UNITS);
+        }
+    }
+
+    /**
+     * 테이블을 비우고 NESTED 작업 1,000개 실행 후 외부 트랜잭션 커밋
+     */
+    private static void runOuterTransaction(CustomTransactionManager transactionManager) throws SQLException {
+        CustomTransactionStatus outer = transactionManager.getTransaction(OUTER);
+        Connection connection = outer.getTransactionInfo().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM nested_unit");
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO nested_unit (id) VALUES (?)")) {
+            for (int id = 0; id < NESTED_UNITS; id++) {
+                CustomTransactionStatus nested = transactionManager.getTransaction(NESTED);
+                insert.setInt(1, id);
+                insert.executeUpdate();
+
+                if (id % 10 == 0) {
+                    transactionManager.rollback(nested);
+                } else {
+                    transactionManager.commit(nested);
+                }
+            }
+        }
+        transactionManager.commit(outer);
+    }
+
+    private static int countRows(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM nested_unit")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static CustomTransactionDefinition definition(Propagation propagation, String name) {
+        return new CustomTransactionDefinition(
+                propagation, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, name
+        );
+    }
+}
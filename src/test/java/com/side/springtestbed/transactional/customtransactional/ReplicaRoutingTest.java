@@ -0,0 +1,198 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * readOnly 트랜잭션의 replica 라우팅 검증
+ * - primary, replica 각각 별도 H2 인메모리 DB (node 테이블에 자기 이름 저장)
+ * - 처리량 측정: replica 풀 크기를 제한하고 조회마다 지연을 넣어 replica 추가에 따른 읽기 처리량 비교
+ * - 처리량 비교는 실행 환경에 따라 흔들리므로 로그로만 남기고, 동시 조회 수가 풀 크기 합을 넘지 않는지만 검증
+ */
+@DisplayName("readOnly 트랜잭션 replica 라우팅")
+class ReplicaRoutingTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional", Level.WARN);
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingTest.class);
+
+    private static final CustomTransactionDefinition READ_ONLY = definition(true, "ReplicaRoutingTest.read");
+
+    private static final CustomTransactionDefinition READ_WRITE = definition(false, "ReplicaRoutingTest.write");
+
+    private static final int READER_THREADS = 16;
+
+    private static final int READS = 600;
+
+    private static final int QUERY_LATENCY_MILLIS = 2;
+
+    private static final int POOL_SIZE = 2;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    @AfterEach
+    void closeDataSources() {
+        dataSources.forEach(HikariDataSource::close);
+        dataSources.clear();
+    }
+
+    @Test
+    @DisplayName("쓰기는 primary, 읽기는 replica 라운드 로빈")
+    void routeReadOnlyTransactionsToReplicas() throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(newDatabase("primary", 4));
+        transactionManager.setReplicaDataSources(List.of(newDatabase("replica1", 4), newDatabase("replica2", 4)));
+
+        assertThat(queryNode(transactionManager, READ_WRITE)).isEqualTo("primary");
+        assertThat(queryNode(transactionManager, READ_WRITE)).isEqualTo("primary");
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(queryNode(transactionManager, READ_ONLY));
+        }
+        assertThat(reads).containsExactly("replica1", "replica2", "replica1", "replica2");
+
+        transactionManager.destroy();
+    }
+
+    @Test
+    @DisplayName("replica 수에 따른 읽기 처리량 측정, 동시 조회는 읽기 풀 크기 합 이내")
+    void readThroughputWithReplicas() throws Exception {
+        long[] throughputs = new long[3];
+        for (int replicaCount = 0; replicaCount <= 2; replicaCount++) {
+            // 워밍업
+            measureReadThroughput(replicaCount, new AtomicInteger());
+            AtomicInteger peakConcurrentReads = new AtomicInteger();
+            throughputs[replicaCount] = measureReadThroughput(replicaCount, peakConcurrentReads);
+            closeDataSources();
+
+            // 읽기는 replica 풀(없으면 primary 풀)에서만 커넥션을 얻으므로 동시 조회 수는 풀 크기 합이 상한
+            int readPoolCapacity = POOL_SIZE * Math.max(1, replicaCount);
+            log.info("[읽기 동시성] replica {}개: 최대 동시 조회 {} (상한 {})",
+                    replicaCount, peakConcurrentReads.get(), readPoolCapacity);
+            assertThat(peakConcurrentReads.get()).isBetween(1, readPoolCapacity);
+        }
+
+        log.info("[읽기 처리량] primary만: {} tx/s, replica 1개: {} tx/s, replica 2개: {} tx/s",
+                throughputs[0], throughputs[1], throughputs[2]);
+    }
+
+    private long measureReadThroughput(int replicaCount, AtomicInteger peakConcurrentReads) throws Exception {
+        CustomTransactionManager transactionManager = new CustomTransactionManager(newDatabase("primary", POOL_SIZE));
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 1; i <= replicaCount; i++) {
+            replicas.add(newDatabase("replica" + i, POOL_SIZE));
+        }
+        transactionManager.setReplicaDataSources(replicas);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READER_THREADS);
+        AtomicInteger remaining = new AtomicInteger(READS);
+        AtomicInteger concurrentReads = new AtomicInteger();
+        try {
+            long startNanos = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < READER_THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        queryNodeWithLatency(transactionManager, concurrentReads, peakConcurrentReads);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return READS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        } finally {
+            executor.shutdown();
+            transactionManager.destroy();
+        }
+    }
+
+    private static String queryNode(CustomTransactionManager transactionManager,
+                                    CustomTransactionDefinition definition) throws SQLException {
+        CustomTransactionStatus status = transactionManager.getTransaction(definition);
+        try (Statement statement = status.getTransactionInfo().getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            String node = resultSet.getString(1);
+            transactionManager.commit(status);
+            return node;
+        }
+    }
+
+    private static void queryNodeWithLatency(CustomTransactionManager transactionManager,
+                                             AtomicInteger concurrentReads,
+                                             AtomicInteger peakConcurrentReads) throws SQLException {
+        CustomTransactionStatus status = transactionManager.getTransaction(READ_ONLY);
+        // 커넥션을 쥔 동안만 집계 (획득 후 ~ 커밋 전)
+        peakConcurrentReads.accumulateAndGet(concurrentReads.incrementAndGet(), Math::max);
+        try (Statement statement = status.getTransactionInfo().getConnection().createStatement()) {
+            statement.execute("CALL SLEEP(" + QUERY_LATENCY_MILLIS + ")");
+        } finally {
+            concurrentReads.decrementAndGet();
+        }
+        transactionManager.commit(status);
+    }
+
+    /**
+     * node 테이블에 자기 이름을 가진 H2 인메모리 DB 생성
+     * - SLEEP 함수로 쿼리 지연 흉내
+     */
+    private DataSource newDatabase(String name, int poolSize) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(poolSize);
+        config.setConnectionTimeout(TimeUnit.SECONDS.toMillis(60));
+        HikariDataSource dataSource = new HikariDataSource(config);
+        dataSources.add(dataSource);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(50))");
+            statement.execute("DELETE FROM node");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+            statement.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR 'java.lang.Thread.sleep(long)'");
+        }
+        return dataSource;
+    }
+
+    private static CustomTransactionDefinition definition(boolean readOnly, String name) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, readOnly, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, name
+        );
+    }
+}
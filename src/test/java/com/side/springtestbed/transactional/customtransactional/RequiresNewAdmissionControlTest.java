@@ -0,0 +1,327 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.TransactionAdmissionException;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.ConnectionAdmissionController;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * REQUIRES_NEW 풀 자기 교착 재현 및 승인 제어 비교
+ * - 외부 트랜잭션이 풀의 모든 커넥션을 쥔 상태에서 각자 REQUIRES_NEW 실행
+ * - 승인 제어 없음: 풀 타임아웃까지 교착 후 실패
+ * - 여유분 예약: 외부 트랜잭션 수를 제한해서 모두 성공
+ * - 즉시 실패: 포화된 풀에 대한 내부 요청을 기다리지 않고 거부
+ */
+@DisplayName("REQUIRES_NEW 커넥션 승인 제어")
+class RequiresNewAdmissionControlTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.ERROR)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.ERROR)
+            .set("com.zaxxer.hikari", Level.ERROR);
+
+    private static final Logger log = LoggerFactory.getLogger(RequiresNewAdmissionControlTest.class);
+
+    private static final int POOL_SIZE = 4;
+
+    private static final long POOL_TIMEOUT_MILLIS = 1_000;
+
+    private static final CustomTransactionDefinition OUTER = definition(Propagation.REQUIRED, "RequiresNewAdmissionControlTest.outer");
+
+    private static final CustomTransactionDefinition INNER = definition(Propagation.REQUIRES_NEW, "RequiresNewAdmissionControlTest.inner");
+
+    private static final CustomTransactionDefinition READ_ONLY = new CustomTransactionDefinition(
+            Propagation.REQUIRED, Isolation.DEFAULT, true, 30,
+            new Class[]{RuntimeException.class}, new Class[]{}, "RequiresNewAdmissionControlTest.readOnly"
+    );
+
+    @Test
+    @DisplayName("승인 제어 없음: 외부 트랜잭션이 풀을 모두 쥐면 내부 트랜잭션이 풀 타임아웃까지 교착")
+    void reproduceSelfDeadlock() throws Exception {
+        List<Throwable> failures = runSaturatedOuterTransactions(dataSource -> null);
+
+        assertThat(failures).hasSize(POOL_SIZE);
+        assertThat(failures).allSatisfy(failure ->
+                assertThat(failure).hasRootCauseInstanceOf(SQLTransientConnectionException.class));
+    }
+
+    @Test
+    @DisplayName("여유분 예약: 외부 트랜잭션을 풀 크기 - 1개로 제한해서 모두 성공")
+    void reserveHeadroomAvoidsDeadlock() throws Exception {
+        List<Throwable> failures = runSaturatedOuterTransactions(
+                dataSource -> ConnectionAdmissionController.reserveHeadroom(dataSource, 1));
+
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    @DisplayName("즉시 실패: 포화된 풀에 대한 내부 요청을 풀 타임아웃 전에 거부")
+    void failFastRejectsNestedAcquisition() throws Exception {
+        long startNanos = System.nanoTime();
+        List<Throwable> failures = runSaturatedOuterTransactions(ConnectionAdmissionController::failFast);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertThat(failures).hasSize(POOL_SIZE);
+        assertThat(failures).allSatisfy(failure ->
+                assertThat(failure).isInstanceOf(TransactionAdmissionException.class));
+        assertThat(elapsedMillis).isLessThan(POOL_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    @DisplayName("replica로 라우팅된 트랜잭션은 primary 승인을 소모하지 않음")
+    void replicaTrafficDoesNotTakePrimaryPermits() throws Exception {
+        try (HikariDataSource primary = newDataSource("requiresNewPrimary", 2);
+             HikariDataSource replica = newDataSource("requiresNewReplica", 2)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(primary);
+            transactionManager.setReplicaDataSources(List.of(replica));
+            ConnectionAdmissionController controller = ConnectionAdmissionController.reserveHeadroom(primary, 1);
+            transactionManager.setAdmissionController(controller);
+
+            // 쓰기 트랜잭션이 primary의 외부 승인 1개를 모두 사용
+            CustomTransactionStatus write = transactionManager.getTransaction(OUTER);
+            execute(write);
+            assertThat(controller.getAvailableOuterPermits()).isZero();
+
+            // 다른 스레드의 읽기 전용 트랜잭션은 replica로 라우팅되어 승인 대기 없이 실행
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                long elapsedMillis = executor.submit(() -> {
+                    long startNanos = System.nanoTime();
+                    CustomTransactionStatus read = transactionManager.getTransaction(READ_ONLY);
+                    execute(read);
+                    transactionManager.commit(read);
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                }).get(10, TimeUnit.SECONDS);
+
+                assertThat(elapsedMillis).isLessThan(POOL_TIMEOUT_MILLIS);
+                assertThat(controller.getAvailableOuterPermits()).isZero();
+            } finally {
+                executor.shutdown();
+                transactionManager.commit(write);
+                transactionManager.destroy();
+            }
+            assertThat(controller.getAvailableOuterPermits()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("스레드당 최대 커넥션 수를 늘리면 REQUIRES_NEW 두 단계 중첩 허용")
+    void configurableMaxConnectionsPerThread() throws Exception {
+        try (HikariDataSource dataSource = newDataSource("requiresNewDepth", POOL_SIZE)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            try {
+                transactionManager.setAdmissionController(
+                        ConnectionAdmissionController.reserveHeadroom(dataSource, POOL_SIZE, 2));
+                assertThatThrownBy(() -> runNestedRequiresNew(transactionManager, 2))
+                        .isInstanceOf(TransactionAdmissionException.class);
+
+                transactionManager.setAdmissionController(
+                        ConnectionAdmissionController.reserveHeadroom(dataSource, POOL_SIZE, 2, 3));
+                runNestedRequiresNew(transactionManager, 2);
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("풀 포화 상태 처리량 비교")
+    void compareThroughputAtSaturation() throws Exception {
+        measureThroughput("승인 제어 없음", dataSource -> null);
+        measureThroughput("여유분 예약(2)", dataSource -> ConnectionAdmissionController.reserveHeadroom(dataSource, 2));
+        measureThroughput("즉시 실패", ConnectionAdmissionController::failFast);
+    }
+
+    /**
+     * 풀 크기만큼의 스레드가 외부 트랜잭션으로 커넥션을 하나씩 쥔 뒤 REQUIRES_NEW 실행
+     * - 승인 제어로 외부 트랜잭션이 막힌 스레드가 있어도 멈추지 않도록 대기 시간 제한
+     */
+    private List<Throwable> runSaturatedOuterTransactions(
+            Function<HikariDataSource, ConnectionAdmissionController> admissionControllerFactory) throws Exception {
+        try (HikariDataSource dataSource = newDataSource("requiresNewDeadlock", POOL_SIZE)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            transactionManager.setAdmissionController(admissionControllerFactory.apply(dataSource));
+
+            CountDownLatch outersReady = new CountDownLatch(POOL_SIZE);
+            ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < POOL_SIZE; i++) {
+                futures.add(executor.submit(() -> {
+                    runOuterWithRequiresNew(transactionManager, () -> {
+                        outersReady.countDown();
+                        outersReady.await(300, TimeUnit.MILLISECONDS);
+                    });
+                    return null;
+                }));
+            }
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            executor.shutdown();
+            transactionManager.destroy();
+            return failures;
+        }
+    }
+
+    private void measureThroughput(String label,
+                                   Function<HikariDataSource, ConnectionAdmissionController> admissionControllerFactory)
+            throws Exception {
+        int threads = 16;
+        int tasks = 400;
+        try (HikariDataSource dataSource = newDataSource("requiresNewThroughput", 8)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            transactionManager.setAdmissionController(admissionControllerFactory.apply(dataSource));
+
+            AtomicInteger remaining = new AtomicInteger(tasks);
+            AtomicInteger committed = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            long startNanos = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        try {
+                            runOuterWithRequiresNew(transactionManager,
+                                    () -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1)));
+                            committed.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            executor.shutdown();
+            transactionManager.destroy();
+
+            log.info("[{}] 성공 {}건, 실패 {}건, {}ms, 성공 처리량 {} tx/s",
+                    label, committed.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    committed.get() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+            assertThat(committed.get() + failed.get()).isEqualTo(tasks);
+        }
+    }
+
+    /**
+     * 외부 트랜잭션에서 SQL 실행 후 REQUIRES_NEW 내부 트랜잭션 실행
+     */
+    private static void runOuterWithRequiresNew(CustomTransactionManager transactionManager,
+                                                InterruptibleAction beforeInner) throws Exception {
+        CustomTransactionStatus outer = transactionManager.getTransaction(OUTER);
+        try {
+            execute(outer);
+            beforeInner.run();
+
+            CustomTransactionStatus inner = transactionManager.getTransaction(INNER);
+            try {
+                execute(inner);
+                transactionManager.commit(inner);
+            } catch (Exception e) {
+                transactionManager.rollback(inner);
+                throw e;
+            }
+
+            // 내부 트랜잭션 완료 후 외부 트랜잭션이 다시 현재 트랜잭션이어야 함
+            assertThat(CustomTransactionSynchronizationManager.getCurrentTransactionInfo())
+                    .isSameAs(outer.getTransactionInfo());
+            transactionManager.commit(outer);
+        } catch (Exception e) {
+            if (!outer.isCompleted()) {
+                transactionManager.rollback(outer);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 외부 트랜잭션 안에서 REQUIRES_NEW를 depth 단계 중첩 실행
+     */
+    private static void runNestedRequiresNew(CustomTransactionManager transactionManager, int depth) throws SQLException {
+        CustomTransactionStatus status = transactionManager.getTransaction(OUTER);
+        List<CustomTransactionStatus> statuses = new ArrayList<>(List.of(status));
+        try {
+            execute(status);
+            for (int i = 0; i < depth; i++) {
+                CustomTransactionStatus inner = transactionManager.getTransaction(INNER);
+                statuses.add(inner);
+                execute(inner);
+            }
+        } finally {
+            for (int i = statuses.size() - 1; i >= 0; i--) {
+                if (!statuses.get(i).isCompleted()) {
+                    transactionManager.rollback(statuses.get(i));
+                }
+            }
+        }
+    }
+
+    private static void execute(CustomTransactionStatus status) throws SQLException {
+        try (Statement statement = status.getTransactionInfo().getConnection().createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private static HikariDataSource newDataSource(String name, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(POOL_TIMEOUT_MILLIS);
+        return new HikariDataSource(config);
+    }
+
+    private static CustomTransactionDefinition definition(Propagation propagation, String name) {
+        return new CustomTransactionDefinition(
+                propagation, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, name
+        );
+    }
+
+    @FunctionalInterface
+    private interface InterruptibleAction {
+        void run() throws InterruptedException;
+    }
+}
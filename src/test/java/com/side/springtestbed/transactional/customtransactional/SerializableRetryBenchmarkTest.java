@@ -0,0 +1,275 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionalInterceptor;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionSynchronizationManager;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionRetryPolicy;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionMetrics;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SERIALIZABLE 경합 상황에서 재시도 정책 유무에 따른 처리량 비교
+ * - 스레드 8개가 hot row 4개를 읽고 증가시키는 read-modify-write 트랜잭션 실행
+ * - 재시도 없음: 직렬화 실패한 요청은 그대로 실패
+ * - 재시도 있음: 인터셉터가 새 트랜잭션으로 다시 실행
+ * - 성공한 증가 횟수와 테이블 합계가 일치하는지 함께 검증 (재시도가 중복 반영되지 않음)
+ * - 검사 예외(SQLException)로 실패한 시도도 롤백된 뒤 재시도되는지 검증
+ */
+@DisplayName("SERIALIZABLE 직렬화 실패 재시도 벤치마크")
+class SerializableRetryBenchmarkTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.ERROR)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.OFF);
+
+    private static final Logger log = LoggerFactory.getLogger(SerializableRetryBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int HOT_ROWS = 4;
+
+    private static final int WARM_UP_CALLS = 1_000;
+
+    private static final int MEASURE_CALLS = 5_000;
+
+    @Test
+    @DisplayName("중복 SQLState 허용, next 예외 체인의 SQLState도 재시도 대상")
+    void retryableStatesFollowNextException() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 10, 100, new String[]{"40001", "40P01", "40001"});
+
+        BatchUpdateException batchFailure = new BatchUpdateException("배치 실패", "HY000", new int[]{1, -3});
+        batchFailure.setNextException(new SQLException("직렬화 실패", "40001"));
+
+        assertThat(policy.getSqlStates()).containsExactlyInAnyOrder("40001", "40P01");
+        assertThat(policy.isRetryable(new RuntimeException("커밋 실패", batchFailure))).isTrue();
+        assertThat(policy.isRetryable(new SQLException("제약 조건 위반", "23505"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("검사 예외로 실패한 시도는 커밋하지 않고 롤백한 뒤 재시도")
+    void checkedRetryableExceptionRollsBackBeforeRetry() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:checkedRetry;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE transfer_log (attempt INT NOT NULL)");
+            }
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TransferService());
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            TransferService transferService = proxyFactory.getProxy();
+            try {
+                transferService.transfer();
+
+                List<Integer> attempts = new ArrayList<>();
+                try (Connection connection = dataSource.getConnection();
+                     Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT attempt FROM transfer_log ORDER BY attempt")) {
+                    while (resultSet.next()) {
+                        attempts.add(resultSet.getInt(1));
+                    }
+                }
+                log.info("[검사 예외 재시도] 실행 {}회, 남은 기록 {}", transferService.attempts.get(), attempts);
+
+                // 첫 시도의 기록은 롤백되고 재시도한 기록만 남음
+                assertThat(transferService.attempts).hasValue(2);
+                assertThat(attempts).containsExactly(2);
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("재시도 없음 vs 재시도 있음 성공 처리량")
+    void compareThroughputUnderContention() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:serializableRetry;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=1000");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(THREADS);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE hot_counter (id INT PRIMARY KEY, amount INT NOT NULL)");
+                for (int id = 0; id < HOT_ROWS; id++) {
+                    statement.execute("INSERT INTO hot_counter (id, amount) VALUES (" + id + ", 0)");
+                }
+            }
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new CounterService());
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            CounterService counterService = proxyFactory.getProxy();
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                // 워밍업
+                run(executor, counterService::incrementWithoutRetry, WARM_UP_CALLS);
+                run(executor, counterService::incrementWithRetry, WARM_UP_CALLS);
+                transactionManager.getMetricsRegistry().reset();
+
+                int baseline = sum(dataSource);
+                Result withoutRetry = run(executor, counterService::incrementWithoutRetry, MEASURE_CALLS);
+                assertThat(sum(dataSource) - baseline).isEqualTo(withoutRetry.succeeded);
+
+                baseline = sum(dataSource);
+                Result withRetry = run(executor, counterService::incrementWithRetry, MEASURE_CALLS);
+                assertThat(sum(dataSource) - baseline).isEqualTo(withRetry.succeeded);
+
+                TransactionMetrics retryMetrics = transactionManager.getMetricsRegistry()
+                        .getMetrics("CounterService.incrementWithRetry");
+                long retries = retryMetrics != null ? retryMetrics.getRetries().sum() : 0;
+
+                log.info("[재시도 없음] 성공 {}/{}, 실패 {}, {} tx/s",
+                        withoutRetry.succeeded, MEASURE_CALLS, withoutRetry.failed, withoutRetry.perSecond());
+                log.info("[재시도 있음] 성공 {}/{}, 실패 {}, 재시도 {}회, {} tx/s",
+                        withRetry.succeeded, MEASURE_CALLS, withRetry.failed, retries, withRetry.perSecond());
+
+                assertThat(withRetry.succeeded).isGreaterThanOrEqualTo(withoutRetry.succeeded);
+            } finally {
+                executor.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    private static Result run(ExecutorService executor, IntConsumer call, int calls) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(calls);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            int rowId = i % HOT_ROWS;
+            futures.add(executor.submit(() -> {
+                try {
+                    call.accept(rowId);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return new Result(succeeded.get(), failed.get(), System.nanoTime() - startNanos);
+    }
+
+    private static int sum(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT SUM(amount) FROM hot_counter")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static class Result {
+
+        private final int succeeded;
+
+        private final int failed;
+
+        private final long elapsedNanos;
+
+        Result(int succeeded, int failed, long elapsedNanos) {
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        long perSecond() {
+            return succeeded * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+
+    public static class CounterService {
+
+        @CustomTransactional(isolation = Isolation.SERIALIZABLE)
+        public void incrementWithoutRetry(int id) {
+            increment(id);
+        }
+
+        // H2는 동시 갱신 충돌을 90131(Concurrent update)로 보고하므로 함께 재시도 대상에 포함
+        @CustomTransactional(isolation = Isolation.SERIALIZABLE, maxAttempts = 10, retryBackoffMillis = 2,
+                retryForSqlStates = {"40001", "40P01", "90131"})
+        public void incrementWithRetry(int id) {
+            increment(id);
+        }
+
+        private static void increment(int id) {
+            Connection connection = CustomTransactionSynchronizationManager.getCurrentTransactionInfo().getConnection();
+            try (PreparedStatement select = connection.prepareStatement("SELECT amount FROM hot_counter WHERE id = ?");
+                 PreparedStatement update = connection.prepareStatement("UPDATE hot_counter SET amount = ? WHERE id = ?")) {
+                select.setInt(1, id);
+                int amount;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    amount = resultSet.getInt(1);
+                }
+                update.setInt(1, amount + 1);
+                update.setInt(2, id);
+                update.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException("카운터 증가 실패", e);
+            }
+        }
+    }
+
+    public static class TransferService {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        // 롤백 규칙상 검사 예외는 커밋 대상이지만, 재시도 대상 SQLState면 롤백 후 재시도
+        @CustomTransactional(maxAttempts = 3, retryForSqlStates = "40001")
+        public void transfer() throws SQLException {
+            int attempt = attempts.incrementAndGet();
+            Connection connection = CustomTransactionSynchronizationManager.getCurrentTransactionInfo().getConnection();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO transfer_log (attempt) VALUES (?)")) {
+                insert.setInt(1, attempt);
+                insert.executeUpdate();
+            }
+            if (attempt == 1) {
+                throw new SQLException("직렬화 실패", "40001");
+            }
+        }
+    }
+}
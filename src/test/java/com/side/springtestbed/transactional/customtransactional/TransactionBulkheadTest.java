@@ -0,0 +1,222 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.common.exception.BulkheadFullException;
+import com.side.springtestbed.transactional.customtransactional.annotation.CustomTransactional;
+import com.side.springtestbed.transactional.customtransactional.aop.CustomTransactionalInterceptor;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.TransactionBulkhead;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 메서드별 벌크헤드
+ * - 느린 메서드가 한도 이상 커넥션을 잡지 못하고, 같은 풀을 쓰는 다른 메서드는 영향을 받지 않는지 검증
+ * - 대기열의 우선순위/도착 순서 검증
+ * - 같은 이름의 벌크헤드를 다른 한도로 선언하면 해석 시점에 실패
+ */
+@DisplayName("@CustomTransactional 벌크헤드")
+class TransactionBulkheadTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN)
+            .set("com.side.springtestbed.transactional.customtransactional.aop", Level.ERROR);
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBulkheadTest.class);
+
+    @Test
+    @DisplayName("느린 메서드는 한도까지만 실행되고 나머지는 거부, 다른 메서드는 풀을 계속 사용")
+    void slowMethodCannotStarveOthers() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        config.setConnectionTimeout(500);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new WorkloadService());
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            WorkloadService service = proxyFactory.getProxy();
+
+            ExecutorService executor = Executors.newFixedThreadPool(12);
+            try {
+                AtomicInteger slowRejected = new AtomicInteger();
+                List<Future<?>> slowCalls = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    slowCalls.add(executor.submit(() -> {
+                        try {
+                            service.slowReport();
+                        } catch (BulkheadFullException e) {
+                            slowRejected.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+
+                // 느린 작업이 도는 동안에도 빠른 작업은 커넥션을 얻음
+                TimeUnit.MILLISECONDS.sleep(50);
+                long startNanos = System.nanoTime();
+                for (int i = 0; i < 20; i++) {
+                    assertThat(service.fastLookup()).isEqualTo(1);
+                }
+                long fastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+                for (Future<?> call : slowCalls) {
+                    call.get(10, TimeUnit.SECONDS);
+                }
+
+                TransactionBulkhead.Snapshot snapshot = transactionManager.getBulkheadRegistry()
+                        .getBulkhead("reporting").snapshot();
+                long rejectionMetric = transactionManager.getMetricsRegistry()
+                        .getMetrics("WorkloadService.slowReport").getBulkheadRejections().sum();
+
+                log.info("[벌크헤드] 느린 작업 승인 {}건, 거부 {}건, 빠른 작업 20건 {}ms",
+                        snapshot.getAdmitted(), snapshot.getRejected(), fastMillis);
+
+                // 한도 2 + 대기열 2 = 4건만 실행, 나머지 6건 거부
+                assertThat(snapshot.getAdmitted()).isEqualTo(4);
+                assertThat(snapshot.getRejected()).isEqualTo(6);
+                assertThat(slowRejected.get()).isEqualTo(6);
+                assertThat(rejectionMetric).isEqualTo(6);
+                assertThat(snapshot.getActive()).isZero();
+            } finally {
+                executor.shutdownNow();
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("대기열은 우선순위가 높은 순, 같으면 도착 순서")
+    void waitersAreServedByPriorityThenArrival() throws Exception {
+        TransactionBulkhead bulkhead = new TransactionBulkhead("ordering", 1, 10);
+        bulkhead.acquire(0, 0, "holder");
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(submitWaiter(executor, bulkhead, "low-1", 0, order));
+            waitForWaiting(bulkhead, 1);
+            futures.add(submitWaiter(executor, bulkhead, "low-2", 0, order));
+            waitForWaiting(bulkhead, 2);
+            futures.add(submitWaiter(executor, bulkhead, "high", 10, order));
+            waitForWaiting(bulkhead, 3);
+
+            bulkhead.release();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(order).containsExactly("high", "low-1", "low-2");
+            assertThat(bulkhead.snapshot().getActive()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        bulkhead.acquire(0, 0, "holder");
+        assertThatThrownBy(() -> bulkhead.acquire(0, TimeUnit.MILLISECONDS.toNanos(20), "late"))
+                .isInstanceOf(BulkheadFullException.class);
+    }
+
+    @Test
+    @DisplayName("같은 이름의 벌크헤드를 다른 한도로 선언하면 IllegalStateException")
+    void conflictingLimitsForSameBulkheadFailFast() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:bulkheadConflict;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ConflictingBulkheadService());
+            proxyFactory.addAspect(new CustomTransactionalInterceptor(transactionManager));
+            ConflictingBulkheadService service = proxyFactory.getProxy();
+            try {
+                assertThat(service.export()).isEqualTo(1);
+                // 대기 시간/우선순위만 다른 메서드는 같은 벌크헤드를 공유
+                assertThat(service.exportWithLongerWait()).isEqualTo(1);
+
+                assertThatThrownBy(service::exportWithWiderLimit)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("'export'")
+                        .hasMessageContaining("exportWithWiderLimit");
+                log.info("벌크헤드 'export' 한도: {}",
+                        transactionManager.getBulkheadRegistry().getBulkhead("export").snapshot());
+            } finally {
+                transactionManager.destroy();
+            }
+        }
+    }
+
+    private static Future<?> submitWaiter(ExecutorService executor, TransactionBulkhead bulkhead,
+                                          String name, int priority, List<String> order) {
+        return executor.submit(() -> {
+            bulkhead.acquire(priority, TimeUnit.SECONDS.toNanos(5), name);
+            order.add(name);
+            bulkhead.release();
+        });
+    }
+
+    private static void waitForWaiting(TransactionBulkhead bulkhead, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.snapshot().getWaiting() < waiting && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    public static class WorkloadService {
+
+        @CustomTransactional(maxConcurrency = 2, bulkhead = "reporting", bulkheadQueueSize = 2,
+                bulkheadMaxWaitMillis = 5_000)
+        public void slowReport() throws InterruptedException {
+            Thread.sleep(200);
+        }
+
+        @CustomTransactional
+        public int fastLookup() {
+            return 1;
+        }
+    }
+
+    public static class ConflictingBulkheadService {
+
+        @CustomTransactional(maxConcurrency = 2, bulkhead = "export")
+        public int export() {
+            return 1;
+        }
+
+        @CustomTransactional(maxConcurrency = 2, bulkhead = "export", bulkheadMaxWaitMillis = 1_000, bulkheadPriority = 5)
+        public int exportWithLongerWait() {
+            return 1;
+        }
+
+        @CustomTransactional(maxConcurrency = 8, bulkhead = "export")
+        public int exportWithWiderLimit() {
+            return 1;
+        }
+    }
+}
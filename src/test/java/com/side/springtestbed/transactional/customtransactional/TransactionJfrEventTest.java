@@ -0,0 +1,111 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import ch.qos.logback.classic.Level;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.utils.utils.LogLevelExtension;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커스텀 트랜잭션 JFR 이벤트
+ * - REQUIRED → REQUIRES_NEW → NESTED(롤백) 흐름을 기록한 뒤 덤프 파일에서 이벤트 종류/필드 확인
+ * - NESTED 롤백은 Savepoint 롤백 후 해제까지 하므로 Savepoint 이벤트는 생성/해제 2건
+ */
+@DisplayName("커스텀 트랜잭션 JFR 이벤트")
+class TransactionJfrEventTest {
+
+    @RegisterExtension
+    static final LogLevelExtension LOG_LEVELS = new LogLevelExtension()
+            .set("com.side.springtestbed.transactional.customtransactional.core", Level.WARN);
+
+    private static final String PREFIX = "com.side.springtestbed.CustomTransaction";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("시작/중단/재개/Savepoint/커밋/롤백 이벤트 기록")
+    void recordsLifecycleEvents() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:transactionJfr;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+
+        Path dump = tempDir.resolve("transactions.jfr");
+        try (HikariDataSource dataSource = new HikariDataSource(config);
+             Recording recording = new Recording()) {
+            recording.enable(PREFIX + "Begin");
+            recording.enable(PREFIX + "Suspend");
+            recording.enable(PREFIX + "Resume");
+            recording.enable(PREFIX + "Savepoint");
+            recording.enable(PREFIX + "Commit");
+            recording.enable(PREFIX + "Rollback");
+            recording.start();
+
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+            try {
+                CustomTransactionStatus outer = transactionManager.getTransaction(definition(Propagation.REQUIRED, "outer"));
+                CustomTransactionStatus inner = transactionManager.getTransaction(definition(Propagation.REQUIRES_NEW, "inner"));
+                transactionManager.commit(inner);
+                CustomTransactionStatus nested = transactionManager.getTransaction(definition(Propagation.NESTED, "nested"));
+                transactionManager.rollback(nested);
+                transactionManager.commit(outer);
+            } finally {
+                transactionManager.destroy();
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+                .collect(Collectors.toList());
+        Map<String, Long> counts = events.stream()
+                .collect(Collectors.groupingBy(
+                        event -> event.getEventType().getName().substring(PREFIX.length()),
+                        Collectors.counting()));
+
+        assertThat(counts).containsEntry("Begin", 3L)
+                .containsEntry("Suspend", 1L)
+                .containsEntry("Resume", 1L)
+                .containsEntry("Savepoint", 2L)
+                .containsEntry("Commit", 2L)
+                .containsEntry("Rollback", 1L);
+
+        RecordedEvent rollback = events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + "Rollback"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(rollback.getString("transactionName")).isEqualTo("TransactionJfrEventTest.nested");
+        assertThat(rollback.getString("propagation")).isEqualTo("NESTED");
+        assertThat(rollback.getBoolean("nested")).isTrue();
+        assertThat(rollback.getInt("depth")).isEqualTo(2);
+    }
+
+    private static CustomTransactionDefinition definition(Propagation propagation, String name) {
+        return new CustomTransactionDefinition(
+                propagation, Isolation.READ_COMMITTED, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, "TransactionJfrEventTest." + name
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package com.side.springtestbed.transactional.customtransactional;
+
+import com.side.springtestbed.common.exception.UnexpectedRollbackException;
+import com.side.springtestbed.common.metrics.LatencyHistogram;
+import com.side.springtestbed.transactional.customtransactional.annotation.Isolation;
+import com.side.springtestbed.transactional.customtransactional.annotation.Propagation;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionDefinition;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionManager;
+import com.side.springtestbed.transactional.customtransactional.core.CustomTransactionStatus;
+import com.side.springtestbed.transactional.customtransactional.metrics.TransactionMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 메서드별 트랜잭션 지표 기록 검증
+ */
+@DisplayName("트랜잭션 지표")
+class TransactionMetricsTest {
+
+    private static final CustomTransactionDefinition OUTER = definition("OrderService.placeOrder");
+
+    private static final CustomTransactionDefinition INNER = definition("StockService.decrease");
+
+    @Test
+    @DisplayName("히스토그램 백분위수는 상대 오차 범위 안")
+    void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1_000);
+        assertThat(histogram.getMaxNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1_000));
+        assertThat((double) histogram.getPercentileNanos(50)).isCloseTo(500_000, within(500_000 * 0.07));
+        assertThat((double) histogram.getPercentileNanos(99)).isCloseTo(990_000, within(990_000 * 0.07));
+    }
+
+    @Test
+    @DisplayName("커밋/롤백/rollback-only 마킹과 커넥션 점유 시간 기록")
+    void recordPerMethodMetrics() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:transactionMetrics;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            CustomTransactionManager transactionManager = new CustomTransactionManager(dataSource);
+
+            // 커밋 2회 (커넥션을 약 2ms 점유)
+            for (int i = 0; i < 2; i++) {
+                CustomTransactionStatus status = transactionManager.getTransaction(OUTER);
+                try (Statement statement = status.getTransactionInfo().getConnection().createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                transactionManager.commit(status);
+            }
+
+            // 참여 트랜잭션 예외 → rollback-only 마킹 → 외부 커밋 시도가 롤백으로 바뀜
+            CustomTransactionStatus outer = transactionManager.getTransaction(OUTER);
+            CustomTransactionStatus inner = transactionManager.getTransaction(INNER);
+            transactionManager.rollback(inner);
+            assertThatThrownBy(() -> transactionManager.commit(outer))
+                    .isInstanceOf(UnexpectedRollbackException.class);
+
+            TransactionMetrics outerMetrics = transactionManager.getMetricsRegistry().getMetrics(OUTER.getName());
+            TransactionMetrics innerMetrics = transactionManager.getMetricsRegistry().getMetrics(INNER.getName());
+
+            assertThat(outerMetrics.getCommits().sum()).isEqualTo(2);
+            assertThat(outerMetrics.getRollbacks().sum()).isEqualTo(1);
+            assertThat(outerMetrics.getTransactionTime().getCount()).isEqualTo(3);
+            assertThat(outerMetrics.getConnectionHoldTime().getCount()).isEqualTo(3);
+            assertThat(outerMetrics.getConnectionHoldTime().getMaxNanos())
+                    .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+            assertThat(innerMetrics.getRollbackOnlyMarks().sum()).isEqualTo(1);
+
+            List<TransactionMetrics.Snapshot> snapshots = transactionManager.getMetricsRegistry().getSnapshots();
+            assertThat(snapshots.get(0).getName()).isEqualTo(OUTER.getName());
+
+            transactionManager.destroy();
+        }
+    }
+
+    private static CustomTransactionDefinition definition(String name) {
+        return new CustomTransactionDefinition(
+                Propagation.REQUIRED, Isolation.DEFAULT, false, 30,
+                new Class[]{RuntimeException.class}, new Class[]{}, name
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package com.side.springtestbed.transactional.propagation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PropagationAnalyzer 링 버퍼
+ * - 여러 스레드가 동시에 캡처해도 버퍼 크기를 넘지 않고, 복원된 스냅샷이 섞이지 않는지 검증
+ * - 캡처 1건당 비용 측정
+ */
+@DisplayName("PropagationAnalyzer 링 버퍼")
+class PropagationAnalyzerRingBufferTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PropagationAnalyzerRingBufferTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int CAPTURES_PER_THREAD = 200_000;
+
+    private static final int CAPACITY = 1024;
+
+    @Test
+    @DisplayName("다중 생산자 캡처 후 최근 스냅샷만 버퍼 크기만큼 남음")
+    void boundedUnderConcurrentCapture() throws Exception {
+        PropagationAnalyzer analyzer = new PropagationAnalyzer(CAPACITY, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String location = "worker-" + t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CAPTURES_PER_THREAD; i++) {
+                        analyzer.captureSnapshot(location);
+                    }
+                    return null;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            List<PropagationAnalyzer.TransactionSnapshot> snapshots = analyzer.getSnapshots();
+            assertThat(analyzer.getSnapshotCount()).isEqualTo(CAPACITY);
+            assertThat(snapshots).hasSizeLessThanOrEqualTo(CAPACITY).isNotEmpty();
+            // 복원된 값이 기록한 값 범위 안에 있는지
+            assertThat(snapshots).allSatisfy(snapshot -> {
+                assertThat(snapshot.location).startsWith("worker-");
+                assertThat(snapshot.hasActiveTransaction).isFalse();
+                assertThat(snapshot.stackDepth).isZero();
+            });
+
+            long captures = (long) THREADS * CAPTURES_PER_THREAD;
+            log.info("[링 버퍼] 스레드 {}개, 캡처 {}건, 캡처당 {}ns, 남은 스냅샷 {}건",
+                    THREADS, captures, elapsedNanos * THREADS / captures, snapshots.size());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("샘플링 비율만큼 기록 건수가 줄어듦")
+    void samplingReducesRecordedSnapshots() {
+        PropagationAnalyzer analyzer = new PropagationAnalyzer(CAPACITY, 64);
+        analyzer.setSampleRate(10);
+
+        int recorded = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (analyzer.captureSnapshot("sampled")) {
+                recorded++;
+            }
+        }
+
+        assertThat(recorded).isBetween(8_000, 12_000);
+        assertThat(analyzer.getSnapshotCount()).isEqualTo(CAPACITY);
+
+        analyzer.setEnabled(false);
+        assertThat(analyzer.captureSnapshot("disabled")).isFalse();
+    }
+}
@@ -0,0 +1,17 @@
+package com.side.springtestbed.utils.conn;
+
+/**
+ * 기본 ConnectionDecoratorFactory 제공 (META-INF/services 등록)
+ */
+public class DefaultConnectionDecoratorFactoryService implements ConnectionDecoratorFactoryService {
+
+    @Override
+    public int loadingIndex() {
+        return 0;
+    }
+
+    @Override
+    public ConnectionDecoratorFactory load() {
+        return new ConnectionDecoratorFactory();
+    }
+}
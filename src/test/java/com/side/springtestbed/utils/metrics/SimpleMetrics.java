@@ -0,0 +1,106 @@
+package com.side.springtestbed.utils.metrics;
+
+import com.side.springtestbed.utils.utils.Histogram;
+import com.side.springtestbed.utils.utils.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메모리 기반 Metrics 구현
+ * - 외부 메트릭 라이브러리 없이 FlexyPoolDataSource의 타이머/히스토그램 값을 집계
+ * - start() 호출 시 지금까지의 값을 초기화 (워밍업 이후 측정 구간 시작)
+ */
+public class SimpleMetrics implements Metrics {
+
+    private final Map<String, SimpleTimer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, SimpleHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public SimpleHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new SimpleHistogram());
+    }
+
+    @Override
+    public SimpleTimer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new SimpleTimer());
+    }
+
+    @Override
+    public void start() {
+        timers.values().forEach(SimpleTimer::reset);
+        histograms.values().forEach(SimpleHistogram::reset);
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    /**
+     * 밀리초 단위 타이머 (건수, 합계, 최댓값)
+     */
+    public static class SimpleTimer implements Timer {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalMillis = new LongAdder();
+
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public void update(long duration, TimeUnit unit) {
+            long millis = unit.toMillis(duration);
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis.sum();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public double getMeanMillis() {
+            long samples = count.sum();
+            return samples == 0 ? 0 : (double) totalMillis.sum() / samples;
+        }
+
+        void reset() {
+            count.reset();
+            totalMillis.reset();
+            maxMillis.reset();
+        }
+    }
+
+    /**
+     * 최댓값만 기억하는 히스토그램
+     */
+    public static class SimpleHistogram implements Histogram {
+
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public void update(long value) {
+            max.accumulate(value);
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        void reset() {
+            max.reset();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.side.springtestbed.utils.metrics;
+
+/**
+ * 기본 MetricsFactory 제공 (META-INF/services 등록)
+ */
+public class SimpleMetricsFactoryService implements MetricsFactoryService {
+
+    @Override
+    public MetricsFactory load() {
+        return configurationProperties -> new SimpleMetrics();
+    }
+}
@@ -0,0 +1,56 @@
+package com.side.springtestbed.utils.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 테스트 클래스 동안만 로그 레벨을 바꾸는 JUnit 확장
+ * - 벤치마크 테스트에서 트랜잭션 로그가 측정값을 덮지 않도록 레벨을 낮춤
+ * - 모든 테스트가 끝나면 원래 레벨로 복원 (같은 JVM의 다른 테스트 클래스에 영향 없음)
+ * - static 필드에 @RegisterExtension으로 등록
+ */
+public class LogLevelExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private final Map<String, Level> levels = new LinkedHashMap<>();
+
+    /**
+     * 바꾸기 전 레벨 (null이면 상위 로거 레벨을 상속하던 상태)
+     */
+    private final Map<String, Level> previousLevels = new HashMap<>();
+
+    public LogLevelExtension set(String loggerName, Level level) {
+        levels.put(loggerName, level);
+        return this;
+    }
+
+    public LogLevelExtension set(Class<?> loggerType, Level level) {
+        return set(loggerType.getName(), level);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        levels.forEach((loggerName, level) -> {
+            Logger logger = logger(loggerName);
+            previousLevels.put(loggerName, logger.getLevel());
+            logger.setLevel(level);
+        });
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        previousLevels.forEach((loggerName, level) -> logger(loggerName).setLevel(level));
+        previousLevels.clear();
+    }
+
+    private static Logger logger(String loggerName) {
+        return (Logger) LoggerFactory.getLogger(loggerName);
+    }
+}
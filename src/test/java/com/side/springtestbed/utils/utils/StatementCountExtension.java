@@ -0,0 +1,42 @@
+package com.side.springtestbed.utils.utils;
+
+import com.side.springtestbed.common.utils.StatementCountScope;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * 테스트 메서드마다 StatementCountScope를 열고 닫는 JUnit 확장
+ * - SQLStatementCountValidator의 인자 없는 assert도 이 범위를 읽으므로 병렬 실행 테스트끼리 카운트가 섞이지 않음
+ * - 테스트 메서드 파라미터로 StatementCountScope를 받을 수 있음
+ */
+public class StatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(StatementCountExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(StatementCountScope.class, StatementCountScope.open(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        StatementCountScope scope = context.getStore(NAMESPACE).remove(StatementCountScope.class, StatementCountScope.class);
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == StatementCountScope.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(StatementCountScope.class, StatementCountScope.class);
+    }
+}